@@ -0,0 +1,35 @@
+package io.github.coderodde.compressor.app.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs all the benchmarks with the GC profiler attached so that 
+ * the allocation rate is reported next to the throughput. The optional 
+ * argument is a regular expression selecting the benchmarks to run.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class BenchmarkRunner {
+    
+    private BenchmarkRunner() {
+        
+    }
+    
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = 
+                new OptionsBuilder()
+                        .include(args.length == 0 ? 
+                                 PipelineBenchmark.class.getSimpleName() : 
+                                 args[0])
+                        .addProfiler(GCProfiler.class)
+                        .build();
+        
+        new Runner(options).run();
+    }
+}
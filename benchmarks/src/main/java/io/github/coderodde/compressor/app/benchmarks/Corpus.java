@@ -0,0 +1,109 @@
+package io.github.coderodde.compressor.app.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This enumeration lists the shapes of the raw data the benchmarks run on.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public enum Corpus {
+    
+    /**
+     * Uniformly random bytes. Every codeword is about 8 bits long.
+     */
+    UNIFORM {
+        @Override
+        void fill(final byte[] rawData, final Random random) {
+            random.nextBytes(rawData);
+        }
+    },
+    
+    /**
+     * English-like text built of common words with Zipfian frequencies.
+     */
+    ENGLISH {
+        @Override
+        void fill(final byte[] rawData, final Random random) {
+            int index = 0;
+            
+            while (index < rawData.length) {
+                // Picks the word of the rank r with the probability ~ 1 / r:
+                final double u = random.nextDouble();
+                final int rank = 
+                        (int) Math.pow(WORDS.length + 1, u) - 1;
+                
+                final byte[] word = 
+                        (random.nextInt(12) == 0 ? 
+                                WORDS[rank] + ". " : 
+                                WORDS[rank] + " ")
+                        .getBytes(StandardCharsets.US_ASCII);
+                
+                final int length = Math.min(word.length, 
+                                            rawData.length - index);
+                
+                System.arraycopy(word, 0, rawData, index, length);
+                index += length;
+            }
+        }
+    },
+    
+    /**
+     * Bytes with geometrically distributed values: the byte {@code i} occurs
+     * with the probability {@code 2^-(i + 1)}.
+     */
+    SKEWED {
+        @Override
+        void fill(final byte[] rawData, final Random random) {
+            for (int i = 0; i < rawData.length; ++i) {
+                rawData[i] = 
+                        (byte) Integer.numberOfTrailingZeros(
+                                random.nextInt() | Integer.MIN_VALUE);
+            }
+        }
+    },
+    
+    /**
+     * A single repeated byte. Every codeword is empty.
+     */
+    SINGLE_SYMBOL {
+        @Override
+        void fill(final byte[] rawData, final Random random) {
+            Arrays.fill(rawData, (byte) 'a');
+        }
+    };
+    
+    private static final String[] WORDS = {
+        "the", "of", "and", "to", "a", "in", "is", "that", "it", "was",
+        "for", "on", "are", "as", "with", "his", "they", "at", "be", "this",
+        "from", "have", "or", "by", "one", "had", "not", "but", "what", "all",
+        "were", "when", "we", "there", "can", "an", "your", "which", "their",
+        "said", "if", "do", "will", "each", "about", "how", "up", "out", 
+        "them", "then", "she", "many", "some", "so", "these", "would", 
+        "other", "into", "has", "more", "her", "two", "like", "him", "see",
+        "time", "could", "no", "make", "than", "first", "been", "its", "who",
+        "now", "people", "my", "made", "over", "did", "down", "only", "way",
+        "find", "use", "may", "water", "long", "little", "very", "after",
+        "words", "called", "just", "where", "most", "know", "Huffman",
+        "compression", "entropy"
+    };
+    
+    /**
+     * Generates {@code length} bytes of this corpus.
+     * 
+     * @param length the number of bytes to generate.
+     * @param seed   the seed of the random number generator.
+     * @return the generated raw data.
+     */
+    public byte[] generate(final int length, final long seed) {
+        final byte[] rawData = new byte[length];
+        fill(rawData, new Random(seed));
+        return rawData;
+    }
+    
+    abstract void fill(byte[] rawData, Random random);
+}
@@ -0,0 +1,86 @@
+package io.github.coderodde.compressor.app.benchmarks;
+
+import io.github.coderodde.compressor.app.ByteArrayHeaderWriter;
+import io.github.coderodde.compressor.app.ByteFrequencyDistribution;
+import io.github.coderodde.compressor.app.ByteHuffmanCodeTable;
+import io.github.coderodde.compressor.app.ByteHuffmanCodeTableBuilder;
+import io.github.coderodde.compressor.app.ByteHuffmanDecodingTable;
+import io.github.coderodde.compressor.app.ByteHuffmanEncodingTable;
+import io.github.coderodde.compressor.app.ByteArrayCompressedDataWriter;
+import io.github.coderodde.compressor.app.ByteWeightDistributionBuilder;
+import io.github.coderodde.compressor.app.Utils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This state holds the raw data of a corpus together with everything the 
+ * pipeline stages derive from it, so that each benchmark measures a single 
+ * stage.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+    
+    private static final long SEED = 13L;
+    
+    @Param({ "UNIFORM", "ENGLISH", "SKEWED", "SINGLE_SYMBOL" })
+    public Corpus corpus;
+    
+    @Param({ "1048576" })
+    public int length;
+    
+    public byte[] rawData;
+    public double megabytes;
+    public ByteFrequencyDistribution distribution;
+    public ByteHuffmanCodeTable codeTable;
+    public ByteHuffmanEncodingTable encodingTable;
+    public ByteHuffmanDecodingTable decodingTable;
+    
+    /**
+     * The compressed data without the header.
+     */
+    public byte[] compressedData;
+    
+    /**
+     * The room for the decompressed data.
+     */
+    public byte[] decompressedData;
+    
+    /**
+     * The header of the compressed data.
+     */
+    public byte[] header;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        rawData = corpus.generate(length, SEED);
+        megabytes = length / 1e6;
+        
+        distribution = 
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(rawData);
+        
+        codeTable = ByteHuffmanCodeTableBuilder.buildCode(distribution);
+        encodingTable = new ByteHuffmanEncodingTable(codeTable);
+        decodingTable = new ByteHuffmanDecodingTable(codeTable);
+        
+        compressedData = 
+                new byte[(int) Utils.countBitsInRawData(codeTable, rawData)];
+        
+        new ByteArrayCompressedDataWriter(compressedData, 
+                                          rawData, 
+                                          0L, 
+                                          encodingTable).write();
+        
+        decompressedData = new byte[length];
+        header = new byte[Utils.countBytesInCodeHeader(codeTable.size())];
+        
+        new ByteArrayHeaderWriter(length, header, codeTable).write();
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.coderodde.compressor.app.benchmarks;
+
+import io.github.coderodde.compressor.app.ByteArrayCompressedDataReader;
+import io.github.coderodde.compressor.app.ByteArrayCompressedDataWriter;
+import io.github.coderodde.compressor.app.ByteArrayHeaderReader;
+import io.github.coderodde.compressor.app.ByteArrayHeaderWriter;
+import io.github.coderodde.compressor.app.ByteFrequencyDistribution;
+import io.github.coderodde.compressor.app.ByteHuffmanCodeTable;
+import io.github.coderodde.compressor.app.ByteHuffmanCodeTableBuilder;
+import io.github.coderodde.compressor.app.ByteWeightDistributionBuilder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks each stage of the compression pipeline separately. 
+ * Besides the operation rate, each benchmark reports the raw data megabytes 
+ * processed per second via {@link Throughput}; run with {@code -prof gc} in 
+ * order to get the allocation rate as well.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineBenchmark {
+    
+    @Benchmark
+    public ByteFrequencyDistribution 
+        buildByteWeightDistribution(final CorpusState state,
+                                    final Throughput throughput) {
+            
+        throughput.megabytes += state.megabytes;
+        
+        return ByteWeightDistributionBuilder
+                .buildByteWeightDistribution(state.rawData);
+    }
+    
+    @Benchmark
+    public ByteHuffmanCodeTable buildCode(final CorpusState state) {
+        return ByteHuffmanCodeTableBuilder.buildCode(state.distribution);
+    }
+    
+    @Benchmark
+    public byte[] writeCompressedData(final CorpusState state,
+                                      final Throughput throughput) {
+        
+        new ByteArrayCompressedDataWriter(state.compressedData,
+                                          state.rawData,
+                                          0L,
+                                          state.encodingTable).write();
+        
+        throughput.megabytes += state.megabytes;
+        return state.compressedData;
+    }
+    
+    @Benchmark
+    public byte[] readCompressedData(final CorpusState state,
+                                     final Throughput throughput) {
+        
+        new ByteArrayCompressedDataReader(state.decompressedData,
+                                          state.compressedData,
+                                          0L,
+                                          state.decodingTable).read();
+        
+        throughput.megabytes += state.megabytes;
+        return state.decompressedData;
+    }
+    
+    @Benchmark
+    public byte[] writeHeader(final CorpusState state) {
+        new ByteArrayHeaderWriter(state.length, 
+                                  state.header, 
+                                  state.codeTable).write();
+        
+        return state.header;
+    }
+    
+    @Benchmark
+    public ByteHuffmanCodeTable readHeader(final CorpusState state) {
+        return new ByteArrayHeaderReader(state.header).getCodeTable();
+    }
+}
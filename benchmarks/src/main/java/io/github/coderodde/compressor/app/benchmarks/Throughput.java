@@ -0,0 +1,30 @@
+package io.github.coderodde.compressor.app.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * This auxiliary counter makes JMH report the number of raw data megabytes 
+ * processed per second next to the operation rate.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Throughput {
+    
+    /**
+     * The number of raw data megabytes (10^6 bytes) processed so far.
+     */
+    public double megabytes;
+    
+    @Setup(Level.Iteration)
+    public void reset() {
+        megabytes = 0.0;
+    }
+}
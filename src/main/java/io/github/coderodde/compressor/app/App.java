@@ -2,14 +2,20 @@ package io.github.coderodde.compressor.app;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class implements a Huffman compressor for binary (byte-wise) data.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 14, 2025))
  */
 public final class App {
@@ -23,6 +29,74 @@ public final class App {
      * This extension is added to the compressed files.
      */
     private static final String COMPRESSED_FILE_EXTENSION = ".huf";
+    
+    /**
+     * The option switching the compression to the block mode. Its value is the
+     * block size in mebibytes.
+     */
+    private static final String BLOCK_SIZE_OPTION = "--block-size=";
+    
+    /**
+     * The option training a dictionary. Its value is the dictionary ID.
+     */
+    private static final String TRAIN_DICTIONARY_OPTION = "--train-dictionary=";
+    
+    /**
+     * The option compressing or decompressing with a dictionary. Its value is
+     * the path of the dictionary file.
+     */
+    private static final String DICTIONARY_OPTION = "--dictionary=";
+    
+    /**
+     * The option mapping the input and output files into memory regardless of
+     * their size so that the data is not copied through the heap.
+     */
+    private static final String MMAP_OPTION = "--mmap";
+    
+    /**
+     * The option compressing all the files given as paths, directories or 
+     * glob patterns within this JVM.
+     */
+    private static final String BATCH_OPTION = "--batch";
+    
+    /**
+     * The option decompressing all the {@code .huf} files given as paths, 
+     * directories or glob patterns within this JVM.
+     */
+    private static final String BATCH_DECOMPRESS_OPTION = "--batch-decompress";
+    
+    /**
+     * The option compressing a file with the CRC32C checksums of its 
+     * checkpoint segments.
+     */
+    private static final String CHECKSUM_OPTION = "--checksum";
+    
+    /**
+     * The option verifying the checksums of the compressed files without
+     * writing any output.
+     */
+    private static final String VERIFY_OPTION = "--verify";
+    
+    /**
+     * The option choosing the entropy coder by its name.
+     */
+    private static final String CODEC_OPTION = "--codec=";
+    
+    /**
+     * The option compressing a file while overlapping the reading, the 
+     * encoding and the writing of its blocks.
+     */
+    private static final String PIPELINE_OPTION = "--pipeline";
+    
+    /**
+     * The characters marking a glob pattern.
+     */
+    private static final String GLOB_CHARACTERS = "*?[{";
+    
+    /**
+     * The number of bytes in a mebibyte.
+     */
+    private static final int BYTES_PER_MEBIBYTE = 1 << 20;
 
     private App() {
         
@@ -31,7 +105,41 @@ public final class App {
     public static void main(String[] args) {
         
         try {
-            if (args.length == 1) {
+            if (args.length == 2 && args[0].startsWith(BLOCK_SIZE_OPTION)) {
+                compressFileInBlocks(args[1], parseBlockSize(args[0]));
+            } else if (args.length >= 2 && args[0].equals(BATCH_OPTION)) {
+                runBatch(args, true);
+            } else if (args.length >= 2 
+                    && args[0].equals(BATCH_DECOMPRESS_OPTION)) {
+                runBatch(args, false);
+            } else if (args.length == 2 && args[0].equals(CHECKSUM_OPTION)) {
+                compressFileWithChecksums(args[1]);
+            } else if (args.length == 2 && args[0].startsWith(CODEC_OPTION)) {
+                compressFileWithCodec(
+                        args[1], 
+                        ByteEntropyCoder.forName(
+                                args[0].substring(CODEC_OPTION.length())));
+            } else if (args.length == 2 && args[0].equals(PIPELINE_OPTION)) {
+                compressFilePipelined(args[1]);
+            } else if (args.length >= 2 && args[0].equals(VERIFY_OPTION)) {
+                verifyFiles(args);
+            } else if (args.length == 2 && args[0].equals(MMAP_OPTION)) {
+                compressMappedFile(args[1]);
+            } else if (args.length == 3 && args[0].equals(MMAP_OPTION)) {
+                decompressMappedFile(args[1], args[2]);
+            } else if (args.length >= 3 
+                    && args[0].startsWith(TRAIN_DICTIONARY_OPTION)) {
+                trainDictionary(args);
+            } else if (args.length == 2 
+                    && args[0].startsWith(DICTIONARY_OPTION)) {
+                compressFileWithDictionary(args[1], loadDictionary(args[0]));
+            } else if (args.length == 3 
+                    && args[0].startsWith(DICTIONARY_OPTION)) {
+                HuffmanByteDecompressor.registerDictionary(
+                        loadDictionary(args[0]));
+                
+                decompressFile(args[1], args[2]);
+            } else if (args.length == 1) {
                 compressFile(args[0]);
             } else if (args.length == 2) {
                 decompressFile(args[0], args[1]);
@@ -57,11 +165,283 @@ public final class App {
                         "       %s FILE.huf OUTPUT_FILE - " + 
                         "to decompress FILE.huf into OUTPUT_FILE\n", 
                         jarName));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %sMIB FILE - " + 
+                        "to compress FILE in parallel into blocks of MIB " + 
+                        "mebibytes\n", 
+                        jarName,
+                        BLOCK_SIZE_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %s PATH... - " + 
+                        "to compress all the files, directories and globs " + 
+                        "PATH in parallel\n", 
+                        jarName,
+                        BATCH_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %s PATH... - " + 
+                        "to decompress all the .huf files in PATH in " + 
+                        "parallel\n", 
+                        jarName,
+                        BATCH_DECOMPRESS_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %s FILE - " + 
+                        "to compress FILE with the checksums of its " + 
+                        "segments\n", 
+                        jarName,
+                        CHECKSUM_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %sNAME FILE - " + 
+                        "to compress FILE with the entropy coder NAME " + 
+                        "(huffman or fse)\n", 
+                        jarName,
+                        CODEC_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %s FILE - " + 
+                        "to compress FILE overlapping its reading, " + 
+                        "compressing and writing\n", 
+                        jarName,
+                        PIPELINE_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %s FILE.huf... - " + 
+                        "to verify the checksums without decompressing " + 
+                        "to a file\n", 
+                        jarName,
+                        VERIFY_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %s FILE - " + 
+                        "to compress FILE via memory-mapped I/O\n", 
+                        jarName,
+                        MMAP_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %s FILE.huf OUTPUT_FILE - " + 
+                        "to decompress FILE.huf via memory-mapped I/O\n", 
+                        jarName,
+                        MMAP_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %sID DICTIONARY_FILE SAMPLE_FILE... - " + 
+                        "to train the dictionary ID on the sample files\n", 
+                        jarName,
+                        TRAIN_DICTIONARY_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %sDICTIONARY_FILE FILE - " + 
+                        "to compress FILE with a dictionary\n", 
+                        jarName,
+                        DICTIONARY_OPTION));
+        
+        System.out.printf(
+                String.format(
+                        "       %s %sDICTIONARY_FILE FILE.huf OUTPUT_FILE - " + 
+                        "to decompress FILE.huf with a dictionary\n", 
+                        jarName,
+                        DICTIONARY_OPTION));
     }
     
-    private static void compressFile(final String inputFileName) throws IOException {
+    private static int parseBlockSize(final String option) {
+        final int blockSizeMebibytes = 
+                Integer.parseInt(option.substring(BLOCK_SIZE_OPTION.length()));
+        
+        if (blockSizeMebibytes < 1 || 
+            blockSizeMebibytes > Integer.MAX_VALUE / BYTES_PER_MEBIBYTE) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid block size: %d MiB.", 
+                                  blockSizeMebibytes));
+        }
+        
+        return blockSizeMebibytes * BYTES_PER_MEBIBYTE;
+    }
+    
+    private static void runBatch(final String[] args, final boolean compress) 
+            throws IOException, InterruptedException {
+        
+        final List<Path> inputPaths = new ArrayList<>();
+        
+        for (int i = 1; i < args.length; ++i) {
+            collectFiles(args[i], compress, inputPaths);
+        }
+        
+        final int parallelism = HuffmanBatchCompressor.getDefaultParallelism();
+        
+        final HuffmanBatchCompressor.Result result = 
+                compress ? HuffmanBatchCompressor.compress(inputPaths, 
+                                                           parallelism) 
+                         : HuffmanBatchCompressor.decompress(inputPaths, 
+                                                             parallelism);
+        
+        result.getFailures().forEach(
+                (path, cause) -> error(String.format("%s: %s\n", 
+                                                     path, 
+                                                     cause.getMessage())));
+        
+        info(String.format(
+                "%s %d files on %d threads in %d milliseconds: " + 
+                "%d bytes -> %d bytes, %.1f MB/s.\n",
+                compress ? "Compressed" : "Decompressed",
+                result.getFileCount(),
+                parallelism,
+                result.getDurationNanos() / 1_000_000L,
+                result.getInputBytes(),
+                result.getOutputBytes(),
+                result.getThroughput()));
+        
+        if (!result.getFailures().isEmpty()) {
+            error(String.format("%d files failed.\n", 
+                                result.getFailures().size()));
+            
+            System.exit(EXIT_FAILURE);
+        }
+    }
+    
+    /**
+     * Adds the files denoted by {@code argument} to {@code paths}. The 
+     * argument is either a file, a directory searched recursively, or a glob
+     * pattern. Only the {@code .huf} files are collected for decompression, 
+     * and only the other files for compression, unless a file is named 
+     * explicitly.
+     */
+    private static void collectFiles(final String argument, 
+                                     final boolean compress,
+                                     final List<Path> paths) 
+            throws IOException {
+        
+        final int globIndex = indexOfGlobCharacter(argument);
+        
+        if (globIndex < 0 && !Files.isDirectory(Path.of(argument))) {
+            paths.add(Path.of(argument));
+            return;
+        }
+        
+        final Path basePath;
+        final PathMatcher matcher;
+        final int maximumDepth;
+        
+        if (globIndex < 0) {
+            basePath     = Path.of(argument);
+            matcher      = path -> true;
+            maximumDepth = Integer.MAX_VALUE;
+        } else {
+            // Walk only the directory preceding the first glob component:
+            final int separatorIndex = 
+                    argument.lastIndexOf(File.separatorChar, globIndex);
+            
+            basePath = Path.of(separatorIndex < 0 
+                               ? "" 
+                               : argument.substring(0, separatorIndex));
+            
+            matcher = FileSystems.getDefault()
+                                 .getPathMatcher("glob:" + argument);
+            
+            maximumDepth = argument.contains("**") 
+                    ? Integer.MAX_VALUE 
+                    : (int) argument.chars()
+                                    .skip(separatorIndex + 1)
+                                    .filter(c -> c == File.separatorChar)
+                                    .count() + 1;
+        }
+        
+        try (final Stream<Path> stream = Files.walk(basePath, maximumDepth)) {
+            stream.filter(Files::isRegularFile)
+                  .filter(matcher::matches)
+                  .filter(path -> path.toString()
+                                      .endsWith(COMPRESSED_FILE_EXTENSION) 
+                                  != compress)
+                  .sorted()
+                  .forEach(paths::add);
+        }
+    }
+    
+    private static int indexOfGlobCharacter(final String argument) {
+        for (int i = 0; i < argument.length(); ++i) {
+            if (GLOB_CHARACTERS.indexOf(argument.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        
+        return -1;
+    }
+    
+    private static ByteHuffmanDictionary loadDictionary(final String option) 
+            throws IOException {
+        
+        return ByteHuffmanDictionary.load(
+                Path.of(option.substring(DICTIONARY_OPTION.length())));
+    }
+    
+    private static void trainDictionary(final String[] args) 
+            throws IOException {
+        
+        final int id = 
+                Integer.parseInt(
+                        args[0].substring(TRAIN_DICTIONARY_OPTION.length()));
+        
+        final List<byte[]> samples = new ArrayList<>(args.length - 2);
+        
+        for (int i = 2; i < args.length; ++i) {
+            samples.add(Files.readAllBytes(Path.of(args[i])));
+        }
+        
+        final long ta = System.currentTimeMillis();
+        final ByteHuffmanDictionary dictionary = 
+                ByteHuffmanDictionary.train(id, samples);
+        final long tb = System.currentTimeMillis();
+        
+        dictionary.save(Path.of(args[1]));
+        
+        info(String.format(
+                "Trained the dictionary %d on %d samples in %d " + 
+                "milliseconds.\n",
+                id,
+                samples.size(),
+                tb - ta));
+    }
+    
+    private static void compressFileWithDictionary(
+            final String inputFileName,
+            final ByteHuffmanDictionary dictionary) throws IOException {
+        
         final File inputFile = new File(inputFileName);
+        checkInputFile(inputFile, inputFileName);
+        
+        final byte[] rawData = Files.readAllBytes(inputFile.toPath());
         
+        final long ta = System.currentTimeMillis();
+        final byte[] compressedData = 
+                HuffmanByteCompressor.compress(rawData, dictionary);
+        final long tb = System.currentTimeMillis();
+        
+        Files.write(Path.of(inputFileName + COMPRESSED_FILE_EXTENSION), 
+                    compressedData);
+        
+        info(String.format(
+                "Compressed the data with the dictionary %d in %d " + 
+                "milliseconds.\n", 
+                dictionary.getId(),
+                tb - ta));
+    }
+    
+    private static void checkInputFile(final File inputFile, 
+                                       final String inputFileName) {
         if (!inputFile.exists()) {
             error(String.format("The input file '%s' does not exist.\n", 
                                 inputFileName));
@@ -75,8 +455,48 @@ public final class App {
             
             System.exit(EXIT_FAILURE);
         }
+    }
+    
+    private static void compressFileInBlocks(final String inputFileName,
+                                             final int blockSize) 
+            throws IOException {
+        
+        final File inputFile = new File(inputFileName);
+        checkInputFile(inputFile, inputFileName);
+        
+        final File outputFile = 
+                new File(inputFileName + COMPRESSED_FILE_EXTENSION);
+        
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        
+        final long ta = System.currentTimeMillis();
+        HuffmanBlockCompressor.compress(inputFile.toPath(), 
+                                        outputFile.toPath(),
+                                        blockSize,
+                                        pool);
+        final long tb = System.currentTimeMillis();
+        
+        info(String.format(
+                "Compressed the file in blocks of %d bytes on %d threads " + 
+                "in %d milliseconds.\n", 
+                blockSize,
+                pool.getParallelism(),
+                tb - ta));
+    }
+    
+    private static void compressFile(final String inputFileName) throws IOException {
+        final File inputFile = new File(inputFileName);
+        checkInputFile(inputFile, inputFileName);
         
         final Path path = inputFile.toPath();
+        final File outputFile = 
+                new File(inputFileName + COMPRESSED_FILE_EXTENSION);
+        
+        if (inputFile.length() > Configuration.MAXIMUM_ARRAY_LENGTH) {
+            // The file does not fit in a byte array; map it into memory:
+            compressMappedFile(path, outputFile.toPath());
+            return;
+        }
         
         long ta = System.currentTimeMillis();
         final byte[] rawData = Files.readAllBytes(path);
@@ -92,9 +512,6 @@ public final class App {
         info(String.format(
                 "Compressed the data in %d milliseconds.\n", tb - ta));
         
-        final File outputFile = 
-                new File(inputFileName + COMPRESSED_FILE_EXTENSION);
-        
         ta = System.currentTimeMillis();
         Files.write(outputFile.toPath(), 
                     compressedData);
@@ -104,6 +521,146 @@ public final class App {
                 "Written the compressed data in %d milliseconds.\n", tb - ta));
     }
     
+    private static void compressFileWithChecksums(final String inputFileName) 
+            throws IOException {
+        
+        final File inputFile = new File(inputFileName);
+        checkInputFile(inputFile, inputFileName);
+        
+        final long ta = System.currentTimeMillis();
+        
+        HuffmanByteCompressor.compress(
+                inputFile.toPath(), 
+                Path.of(inputFileName + COMPRESSED_FILE_EXTENSION),
+                Configuration.DEFAULT_CHECKPOINT_INTERVAL,
+                true);
+        
+        final long tb = System.currentTimeMillis();
+        
+        info(String.format(
+                "Compressed the file with checksums in %d milliseconds.\n", 
+                tb - ta));
+    }
+    
+    private static void compressFileWithCodec(final String inputFileName,
+                                              final ByteEntropyCoder coder) 
+            throws IOException {
+        
+        final File inputFile = new File(inputFileName);
+        checkInputFile(inputFile, inputFileName);
+        
+        final byte[] rawData = Files.readAllBytes(inputFile.toPath());
+        
+        final long ta = System.currentTimeMillis();
+        final byte[] compressedData = coder.compress(rawData);
+        final long tb = System.currentTimeMillis();
+        
+        Files.write(Path.of(inputFileName + COMPRESSED_FILE_EXTENSION), 
+                    compressedData);
+        
+        info(String.format(
+                "Compressed the data via %s in %d milliseconds.\n", 
+                coder.getName(),
+                tb - ta));
+    }
+    
+    /**
+     * Compresses the file into a block container reading the next block and
+     * writing the previous one while the current one is being compressed, so
+     * that the I/O time is hidden behind the compression time and vice versa.
+     */
+    private static void compressFilePipelined(final String inputFileName) 
+            throws IOException {
+        
+        final File inputFile = new File(inputFileName);
+        checkInputFile(inputFile, inputFileName);
+        
+        final long ta = System.currentTimeMillis();
+        
+        HuffmanPipelinedCompressor.compress(
+                inputFile.toPath(), 
+                Path.of(inputFileName + COMPRESSED_FILE_EXTENSION));
+        
+        final long tb = System.currentTimeMillis();
+        
+        info(String.format(
+                "Read, compressed and written the file in %d milliseconds " + 
+                "(%.1f MB/s).\n", 
+                tb - ta,
+                inputFile.length() / 1_000.0 / Math.max(1L, tb - ta)));
+    }
+    
+    /**
+     * Verifies the checksums of each compressed file given after the option.
+     * The decoded data is discarded, so that no output file is written. 
+     * Exits with the failure status if a file is corrupted.
+     */
+    private static void verifyFiles(final String[] args) {
+        int failures = 0;
+        
+        for (int i = 1; i < args.length; ++i) {
+            try {
+                if (HuffmanByteDecompressor.verify(Path.of(args[i]))) {
+                    info(String.format("%s: OK\n", args[i]));
+                } else {
+                    info(String.format("%s: no checksums to verify\n", 
+                                       args[i]));
+                }
+            } catch (final Exception ex) {
+                error(String.format("%s: %s\n", args[i], ex.getMessage()));
+                failures++;
+            }
+        }
+        
+        if (failures > 0) {
+            System.exit(EXIT_FAILURE);
+        }
+    }
+    
+    private static void compressMappedFile(final String inputFileName) 
+            throws IOException {
+        
+        final File inputFile = new File(inputFileName);
+        checkInputFile(inputFile, inputFileName);
+        
+        compressMappedFile(inputFile.toPath(), 
+                           Path.of(inputFileName + COMPRESSED_FILE_EXTENSION));
+    }
+    
+    /**
+     * Compresses the mapped input file into the mapped output file. The 
+     * output file is preallocated to the exact compressed length computed 
+     * from the byte histogram, and neither file is copied through the heap.
+     */
+    private static void compressMappedFile(final Path inputFilePath,
+                                           final Path outputFilePath) 
+            throws IOException {
+        
+        final long ta = System.currentTimeMillis();
+        HuffmanByteCompressor.compress(inputFilePath, outputFilePath);
+        final long tb = System.currentTimeMillis();
+        
+        info(String.format(
+                "Compressed the mapped file in %d milliseconds.\n", 
+                tb - ta));
+    }
+    
+    private static void decompressMappedFile(final String compressedFileName,
+                                             final String outputFileName) 
+            throws IOException {
+        
+        final File compressedFile = new File(compressedFileName);
+        
+        if (!compressedFile.exists()) {
+            error(String.format("Compressed file '%s' does not exist.\n", 
+                                compressedFileName));
+            
+            System.exit(EXIT_FAILURE);
+        }
+        
+        decompressMappedFile(compressedFile.toPath(), Path.of(outputFileName));
+    }
+    
     private static void decompressFile(final String compressedFileName,
                                        final String outputFileName) throws IOException {
         
@@ -122,6 +679,12 @@ public final class App {
         }
         
         final Path compressedFilePath = compressedFile.toPath();
+        final Path outputFilePath = outputFile.toPath();
+        
+        if (compressedFile.length() > Configuration.MAXIMUM_ARRAY_LENGTH) {
+            decompressMappedFile(compressedFilePath, outputFilePath);
+            return;
+        }
         
         long ta = System.currentTimeMillis();
         final byte[] compressedData = Files.readAllBytes(compressedFilePath);
@@ -130,7 +693,12 @@ public final class App {
         info(String.format(
                 "Read the compressed data in %d milliseconds.\n", tb - ta));
         
-        final Path outputFilePath = outputFile.toPath();
+        if (HuffmanByteDecompressor.getRawDataLength(compressedData) 
+                > Configuration.MAXIMUM_ARRAY_LENGTH) {
+            // The decompressed data does not fit in a byte array:
+            decompressMappedFile(compressedFilePath, outputFilePath);
+            return;
+        }
         
         ta = System.currentTimeMillis();
         final byte[] originalData =
@@ -149,6 +717,19 @@ public final class App {
                 tb - ta));
     }
     
+    private static void decompressMappedFile(final Path compressedFilePath,
+                                             final Path outputFilePath) 
+            throws IOException {
+        
+        final long ta = System.currentTimeMillis();
+        HuffmanByteDecompressor.decompress(compressedFilePath, outputFilePath);
+        final long tb = System.currentTimeMillis();
+        
+        info(String.format(
+                "Decompressed the mapped file in %d milliseconds.\n",
+                tb - ta));
+    }
+    
     private static void error(final String message) {
         System.err.printf("[ERROR] %s", message);
     }
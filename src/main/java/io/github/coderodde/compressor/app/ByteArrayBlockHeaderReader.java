@@ -0,0 +1,190 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_COUNT;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_RAW_DATA_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_BLOCKS;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_MAGIC;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Objects;
+
+/**
+ * This class implements the reader of the block container header written by
+ * {@link io.github.coderodde.compressor.app.ByteArrayBlockHeaderWriter}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class ByteArrayBlockHeaderReader {
+    
+    /**
+     * The length of the raw data in bytes.
+     */
+    private final long rawDataLength;
+    
+    /**
+     * The maximum number of raw data bytes per block.
+     */
+    private final int blockSize;
+    
+    /**
+     * The byte offsets of the blocks relative to the beginning of the block 
+     * container.
+     */
+    private final long[] blockOffsets;
+    
+    /**
+     * The length of the entire block container in bytes.
+     */
+    private final long containerLength;
+    
+    public ByteArrayBlockHeaderReader(final MemorySegment compressedData) {
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        
+        if (!isBlockContainer(compressedData)) {
+            throw new IllegalArgumentException("Not a block container");
+        }
+        
+        checkHeaderLength(compressedData, Utils.countBytesInBlockHeader(0));
+        
+        long cursor = Utils.getHeaderPrefixLength() 
+                    - BYTES_PER_RAW_DATA_LENGTH;
+        
+        this.rawDataLength = compressedData.get(Utils.LONG_LE, cursor);
+        cursor += BYTES_PER_RAW_DATA_LENGTH;
+        
+        this.blockSize = compressedData.get(Utils.INT_LE, cursor);
+        cursor += BYTES_PER_BLOCK_SIZE;
+        
+        final int blockCount = compressedData.get(Utils.INT_LE, cursor);
+        cursor += BYTES_PER_BLOCK_COUNT;
+        
+        if (blockSize < 1 || 
+            blockCount != Utils.countBlocks(rawDataLength, blockSize)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Malformed block container: %d blocks of %d " + 
+                            "bytes cannot hold %d bytes.",
+                            blockCount,
+                            blockSize,
+                            rawDataLength));
+        }
+        
+        checkHeaderLength(compressedData, 
+                          Utils.countBytesInBlockHeader(blockCount));
+        
+        this.blockOffsets = new long[blockCount];
+        this.containerLength = compressedData.byteSize();
+        
+        for (int i = 0; i < blockCount; ++i) {
+            blockOffsets[i] = compressedData.get(Utils.LONG_LE, cursor);
+            cursor += BYTES_PER_BLOCK_OFFSET;
+        }
+    }
+    
+    /**
+     * Checks that {@code compressedData} holds the {@code headerLength} bytes
+     * of the block container header.
+     */
+    private static void checkHeaderLength(final MemorySegment compressedData,
+                                          final long headerLength) {
+        
+        if (compressedData.byteSize() < headerLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Truncated block container header: expected " + 
+                            "%d bytes, found %d.", 
+                            headerLength,
+                            compressedData.byteSize()));
+        }
+    }
+    
+    /**
+     * Checks whether the input compressed data is a block container.
+     * 
+     * @param compressedData the compressed data to check.
+     * @return {@code true} if the data starts with a block container header.
+     */
+    public static boolean isBlockContainer(final MemorySegment compressedData) {
+        final long flagsOffset = FORMAT_MAGIC.length + BYTES_PER_FORMAT_VERSION;
+        
+        if (compressedData.byteSize() <= flagsOffset) {
+            return false;
+        }
+        
+        for (int i = 0; i < FORMAT_MAGIC.length; ++i) {
+            if (compressedData.get(ValueLayout.JAVA_BYTE, i) 
+                    != FORMAT_MAGIC[i]) {
+                return false;
+            }
+        }
+        
+        return Utils.isSupportedFormatVersion(
+                    compressedData.get(ValueLayout.JAVA_BYTE, 
+                                       FORMAT_MAGIC.length))
+            && (compressedData.get(ValueLayout.JAVA_BYTE, flagsOffset) 
+                    & FLAG_BLOCKS) != 0;
+    }
+    
+    public long getRawDataLength() {
+        return rawDataLength;
+    }
+    
+    public int getBlockSize() {
+        return blockSize;
+    }
+    
+    public int getBlockCount() {
+        return blockOffsets.length;
+    }
+    
+    /**
+     * Returns the offset of the first raw data byte of the given block.
+     * 
+     * @param blockIndex the index of the block.
+     * @return the raw data offset of the block.
+     */
+    public long getRawDataOffset(final int blockIndex) {
+        return (long) blockIndex * blockSize;
+    }
+    
+    /**
+     * Returns the number of raw data bytes in the given block.
+     * 
+     * @param blockIndex the index of the block.
+     * @return the raw data length of the block.
+     */
+    public int getRawDataLength(final int blockIndex) {
+        return (int) Math.min(blockSize, 
+                              rawDataLength - getRawDataOffset(blockIndex));
+    }
+    
+    /**
+     * Returns the byte offset of the given block within the block container.
+     * 
+     * @param blockIndex the index of the block.
+     * @return the offset of the compressed block.
+     */
+    public long getBlockOffset(final int blockIndex) {
+        return blockOffsets[blockIndex];
+    }
+    
+    /**
+     * Returns the length of the given compressed block in bytes.
+     * 
+     * @param blockIndex the index of the block.
+     * @return the length of the compressed block.
+     */
+    public long getBlockLength(final int blockIndex) {
+        final long blockEnd = blockIndex + 1 < blockOffsets.length ? 
+                              blockOffsets[blockIndex + 1] : 
+                              containerLength;
+        
+        return blockEnd - blockOffsets[blockIndex];
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_COUNT;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_RAW_DATA_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_BLOCKS;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_MAGIC;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_VERSION;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Objects;
+
+/**
+ * This class writes the header of a block container. The header consists of 
+ * the format magic, the format version, the flags with 
+ * {@link Configuration#FLAG_BLOCKS} set, the 64-bit length of the raw data, 
+ * the block size, the number of blocks and the byte offset of each block. Each
+ * block is a regular compressed file with its own code table so that it may be
+ * decompressed independently of the other blocks.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class ByteArrayBlockHeaderWriter {
+    
+    /**
+     * The length of the raw data in bytes.
+     */
+    private final long rawDataLength;
+    
+    /**
+     * The maximum number of raw data bytes per block.
+     */
+    private final int blockSize;
+    
+    /**
+     * The byte offsets of the blocks relative to the beginning of the block 
+     * container.
+     */
+    private final long[] blockOffsets;
+    
+    /**
+     * The output data containing the block container.
+     */
+    private final MemorySegment outputData;
+    
+    public ByteArrayBlockHeaderWriter(final long rawDataLength,
+                                      final int blockSize,
+                                      final long[] blockOffsets,
+                                      final MemorySegment outputData) {
+        
+        this.rawDataLength = rawDataLength;
+        this.blockSize     = blockSize;
+        this.blockOffsets  = 
+                Objects.requireNonNull(blockOffsets, 
+                                       "The block offsets are null");
+        this.outputData    = 
+                Objects.requireNonNull(outputData, 
+                                       "The output data segment is null");
+        
+        if (blockOffsets.length != Utils.countBlocks(rawDataLength, 
+                                                     blockSize)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The number of block offsets (%d) does not match" +
+                            " the number of blocks (%d).", 
+                            blockOffsets.length, 
+                            Utils.countBlocks(rawDataLength, blockSize)));
+        }
+    }
+    
+    public void write() {
+        MemorySegment.copy(FORMAT_MAGIC, 
+                           0, 
+                           outputData, 
+                           ValueLayout.JAVA_BYTE, 
+                           0, 
+                           FORMAT_MAGIC.length);
+        
+        long cursor = FORMAT_MAGIC.length;
+        
+        outputData.set(ValueLayout.JAVA_BYTE, cursor, FORMAT_VERSION);
+        cursor += BYTES_PER_FORMAT_VERSION;
+        
+        outputData.set(ValueLayout.JAVA_BYTE, cursor++, FLAG_BLOCKS);
+        
+        outputData.set(Utils.LONG_LE, cursor, rawDataLength);
+        cursor += BYTES_PER_RAW_DATA_LENGTH;
+        
+        outputData.set(Utils.INT_LE, cursor, blockSize);
+        cursor += BYTES_PER_BLOCK_SIZE;
+        
+        outputData.set(Utils.INT_LE, cursor, blockOffsets.length);
+        cursor += BYTES_PER_BLOCK_COUNT;
+        
+        for (final long blockOffset : blockOffsets) {
+            outputData.set(Utils.LONG_LE, cursor, blockOffset);
+            cursor += BYTES_PER_BLOCK_OFFSET;
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package io.github.coderodde.compressor.app;
 
+import static io.github.coderodde.compressor.app.Configuration.STREAM_COUNT;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.util.Objects;
 
 /**
  * This class is responsible for decompressing the actual compressed data to the
- * compression source data.
+ * compression source data. Both the input and the output may be byte arrays 
+ * or memory segments; in the latter case the data may exceed 2 GiB. The data 
+ * split into {@link Configuration#STREAM_COUNT} interleaved streams is decoded
+ * by following the independent codeword chains of the streams in a single 
+ * loop, so that the CPU may overlap their table lookups.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 17, 2025)
  */
 public final class ByteArrayCompressedDataReader {
@@ -15,12 +22,12 @@ public final class ByteArrayCompressedDataReader {
     /**
      * The resultant decompressed data.
      */
-    private final byte[] outputRawData;
+    private final MemorySegment outputRawData;
     
     /**
      * The input compressed data.
      */
-    private final byte[] inputCompressedData;
+    private final MemorySegment inputCompressedData;
     
     /**
      * The index of the bit where compressed data begins.
@@ -28,10 +35,23 @@ public final class ByteArrayCompressedDataReader {
     private final long startingBitIndex;
     
     /**
-     * The (Huffman) decoder tree.
+     * The (Huffman) decoder tree. Is {@code null} if this reader uses a 
+     * decoding table.
      */
     private final ByteHuffmanDecoderTree decoderTree;
     
+    /**
+     * The (Huffman) decoder. Is {@code null} if this reader uses a decoder 
+     * tree.
+     */
+    private final ByteHuffmanDecoder decoder;
+    
+    /**
+     * The indices of the first bits of the interleaved streams, or 
+     * {@code null} if the data is a single stream.
+     */
+    private final long[] streamBitIndices;
+    
     /**
      * Constructs this compressed data reader/decompressor.
      * 
@@ -47,6 +67,71 @@ public final class ByteArrayCompressedDataReader {
                                          final ByteHuffmanDecoderTree 
                                                  decoderTree) {
         
+        this.outputRawData = 
+                MemorySegment.ofArray(
+                        Objects.requireNonNull(
+                                outputRawData, 
+                                "The output raw data is null"));
+        
+        this.inputCompressedData = 
+                MemorySegment.ofArray(
+                        Objects.requireNonNull(
+                                inputCompressedData,
+                                "The input compressed data is null"));
+        
+        this.decoderTree =
+                Objects.requireNonNull(
+                        decoderTree, 
+                        "The input decoder tree is null");
+        
+        this.decoder          = null;
+        this.startingBitIndex = startingBitIndex;
+        this.streamBitIndices = null;
+    }
+    
+    /**
+     * Constructs this compressed data reader/decompressor relying on a 
+     * stateless decoder such as a table-driven one.
+     * 
+     * @param outputRawData       the resultant decompressed data.
+     * @param inputCompressedData the input compressed data.
+     * @param startingBitIndex    the index of the first bit to decompress right
+     *                            after the header.
+     * @param decoder             the decoder.
+     */
+    public ByteArrayCompressedDataReader(final byte[] outputRawData,
+                                         final byte[] inputCompressedData,
+                                         final long startingBitIndex,
+                                         final ByteHuffmanDecoder decoder) {
+        
+        this(MemorySegment.ofArray(
+                     Objects.requireNonNull(
+                             outputRawData, 
+                             "The output raw data is null")),
+             MemorySegment.ofArray(
+                     Objects.requireNonNull(
+                             inputCompressedData,
+                             "The input compressed data is null")),
+             startingBitIndex,
+             decoder);
+    }
+    
+    /**
+     * Constructs this compressed data reader/decompressor relying on a 
+     * stateless decoder such as a table-driven one.
+     * 
+     * @param outputRawData       the resultant decompressed data.
+     * @param inputCompressedData the input compressed data.
+     * @param startingBitIndex    the index of the first bit to decompress right
+     *                            after the header.
+     * @param decoder             the decoder.
+     */
+    public ByteArrayCompressedDataReader(final MemorySegment outputRawData,
+                                         final MemorySegment 
+                                                 inputCompressedData,
+                                         final long startingBitIndex,
+                                         final ByteHuffmanDecoder decoder) {
+        
         this.outputRawData = 
                 Objects.requireNonNull(
                         outputRawData, 
@@ -57,29 +142,191 @@ public final class ByteArrayCompressedDataReader {
                         inputCompressedData,
                         "The input compressed data is null");
         
-        this.decoderTree =
+        this.decoder =
                 Objects.requireNonNull(
-                        decoderTree, 
-                        "The input decoder tree is null");
+                        decoder, 
+                        "The input decoder is null");
         
+        this.decoderTree      = null;
         this.startingBitIndex = startingBitIndex;
+        this.streamBitIndices = null;
+    }
+    
+    /**
+     * Constructs this compressed data reader/decompressor for the data split
+     * into {@link Configuration#STREAM_COUNT} interleaved streams. The stream 
+     * {@code i} decodes into the {@code i}th run of 
+     * {@link Utils#getStreamLength(long)} bytes of {@code outputRawData}.
+     * 
+     * @param outputRawData       the resultant decompressed data.
+     * @param inputCompressedData the input compressed data.
+     * @param streamBitIndices    the indices of the first bits of the streams.
+     * @param decoder             the decoder.
+     */
+    public ByteArrayCompressedDataReader(final MemorySegment outputRawData,
+                                         final MemorySegment 
+                                                 inputCompressedData,
+                                         final long[] streamBitIndices,
+                                         final ByteHuffmanDecoder decoder) {
+        
+        this.outputRawData = 
+                Objects.requireNonNull(
+                        outputRawData, 
+                        "The output raw data is null");
+        
+        this.inputCompressedData = 
+                Objects.requireNonNull(
+                        inputCompressedData,
+                        "The input compressed data is null");
+        
+        this.decoder =
+                Objects.requireNonNull(
+                        decoder, 
+                        "The input decoder is null");
+        
+        Objects.requireNonNull(streamBitIndices, 
+                               "The input stream bit indices are null");
+        
+        if (streamBitIndices.length != STREAM_COUNT) {
+            throw new IllegalArgumentException(
+                    String.format("Expected %d streams, received %d.", 
+                                  STREAM_COUNT, 
+                                  streamBitIndices.length));
+        }
+        
+        this.decoderTree      = null;
+        this.startingBitIndex = streamBitIndices[0];
+        this.streamBitIndices = streamBitIndices.clone();
     }
     
     /**
      * Decompresses and reads the compressed data.
      */
     public void read() {
-        final int totalBytes = outputRawData.length;
+        if (streamBitIndices != null) {
+            readInterleaved();
+        } else if (decoder != null) {
+            readViaDecoder();
+        } else {
+            readViaDecoderTree();
+        }
+    }
+    
+    private void readViaDecoder() {
+        final long totalBytes = outputRawData.byteSize();
         long currentBitIndex = startingBitIndex;
         
-        for (int byteIndex = 0; 
-                 byteIndex != totalBytes;
-                 byteIndex++) {
+        for (long byteIndex = 0; 
+                  byteIndex != totalBytes;
+                  byteIndex++) {
+            
+            final int entry = decoder.decode(inputCompressedData,
+                                             currentBitIndex);
+            
+            outputRawData.set(ValueLayout.JAVA_BYTE,
+                              byteIndex,
+                              ByteHuffmanDecoder.getSymbol(entry));
+            
+            currentBitIndex += ByteHuffmanDecoder.getCodeLength(entry);
+        }
+    }
+    
+    /**
+     * Decodes the four streams in lockstep. Each iteration decodes one byte 
+     * per stream, and as the four bit indices do not depend on each other, 
+     * the lookups of the four streams may run in parallel. The remaining 
+     * bytes of the longer streams are decoded afterwards one stream at a 
+     * time.
+     */
+    private void readInterleaved() {
+        final long totalBytes   = outputRawData.byteSize();
+        final long streamLength = Utils.getStreamLength(totalBytes);
+        final long offset1      = Math.min(totalBytes, streamLength);
+        final long offset2      = Math.min(totalBytes, 2 * streamLength);
+        final long offset3      = Math.min(totalBytes, 3 * streamLength);
+        
+        // The last stream is the shortest one:
+        final long lockstepLength = totalBytes - offset3;
+        
+        long bitIndex0 = streamBitIndices[0];
+        long bitIndex1 = streamBitIndices[1];
+        long bitIndex2 = streamBitIndices[2];
+        long bitIndex3 = streamBitIndices[3];
+        
+        for (long i = 0; i != lockstepLength; ++i) {
+            final int entry0 = decoder.decode(inputCompressedData, bitIndex0);
+            final int entry1 = decoder.decode(inputCompressedData, bitIndex1);
+            final int entry2 = decoder.decode(inputCompressedData, bitIndex2);
+            final int entry3 = decoder.decode(inputCompressedData, bitIndex3);
+            
+            outputRawData.set(ValueLayout.JAVA_BYTE, 
+                              i, 
+                              ByteHuffmanDecoder.getSymbol(entry0));
+            
+            outputRawData.set(ValueLayout.JAVA_BYTE, 
+                              offset1 + i, 
+                              ByteHuffmanDecoder.getSymbol(entry1));
+            
+            outputRawData.set(ValueLayout.JAVA_BYTE, 
+                              offset2 + i, 
+                              ByteHuffmanDecoder.getSymbol(entry2));
+            
+            outputRawData.set(ValueLayout.JAVA_BYTE, 
+                              offset3 + i, 
+                              ByteHuffmanDecoder.getSymbol(entry3));
+            
+            bitIndex0 += ByteHuffmanDecoder.getCodeLength(entry0);
+            bitIndex1 += ByteHuffmanDecoder.getCodeLength(entry1);
+            bitIndex2 += ByteHuffmanDecoder.getCodeLength(entry2);
+            bitIndex3 += ByteHuffmanDecoder.getCodeLength(entry3);
+        }
+        
+        readStream(bitIndex0, lockstepLength, offset1);
+        readStream(bitIndex1, offset1 + lockstepLength, offset2);
+        readStream(bitIndex2, offset2 + lockstepLength, offset3);
+    }
+    
+    /**
+     * Decodes the raw data bytes in the range 
+     * {@code [fromByteIndex, toByteIndex)} starting at the bit 
+     * {@code streamBitIndex}.
+     */
+    private void readStream(final long streamBitIndex, 
+                            final long fromByteIndex,
+                            final long toByteIndex) {
+        
+        long bitIndex = streamBitIndex;
+        
+        for (long byteIndex = fromByteIndex; 
+                  byteIndex < toByteIndex; 
+                  byteIndex++) {
+            
+            final int entry = decoder.decode(inputCompressedData, bitIndex);
+            
+            outputRawData.set(ValueLayout.JAVA_BYTE,
+                              byteIndex,
+                              ByteHuffmanDecoder.getSymbol(entry));
+            
+            bitIndex += ByteHuffmanDecoder.getCodeLength(entry);
+        }
+    }
+    
+    private void readViaDecoderTree() {
+        final long totalBytes = outputRawData.byteSize();
+        long currentBitIndex = startingBitIndex;
+        
+        for (long byteIndex = 0; 
+                  byteIndex != totalBytes;
+                  byteIndex++) {
+            
+            final int entry = decoderTree.decodeEntry(inputCompressedData,
+                                                      currentBitIndex);
+            
+            outputRawData.set(ValueLayout.JAVA_BYTE,
+                              byteIndex,
+                              ByteHuffmanDecoder.getSymbol(entry));
             
-            final Byte dataByte = decoderTree.decode(inputCompressedData,
-                                                     currentBitIndex);
-            outputRawData[byteIndex] = dataByte;
-            currentBitIndex += decoderTree.getPreviousCodeLength();
+            currentBitIndex += ByteHuffmanDecoder.getCodeLength(entry);
         }
     }
 }
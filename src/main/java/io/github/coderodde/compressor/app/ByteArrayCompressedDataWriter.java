@@ -1,27 +1,35 @@
 package io.github.coderodde.compressor.app;
 
+import static io.github.coderodde.compressor.app.Configuration.STREAM_COUNT;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.util.Objects;
 
 /**
  * This class is responsible for writing the actual compressed data to a byte 
- * array. This class does not handle the compression header; it is handled by
+ * array or a memory segment. This class does not handle the compression 
+ * header; it is handled by
  * {@link io.github.coderodde.compressor.app.ByteArrayHeaderWriter}.
+ * <p>
+ * The codewords are accumulated in a 64-bit bit buffer which is flushed to the
+ * output 32 bits at a time. All the indices are {@code long}s so that the data
+ * may exceed 2 GiB when working on memory segments.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 24, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 17, 2025)
  */
 public final class ByteArrayCompressedDataWriter {
 
     /**
-     * The target byte array to which all the compressed data will end up.
+     * The target segment to which all the compressed data will end up.
      */
-    private final byte[] compressedOutputData;
+    private final MemorySegment compressedOutputData;
     
     /**
      * The actual data to be compressed.
      */
-    private final byte[] inputRawData;
+    private final MemorySegment inputRawData;
     
     /**
      * The index of the first bit in the compressed data. We need this in order
@@ -30,9 +38,9 @@ public final class ByteArrayCompressedDataWriter {
     private final long startingBitIndex;
     
     /**
-     * The actual (Huffman) code table.
+     * The actual (Huffman) code table in primitive form.
      */
-    private final ByteHuffmanCodeTable codeTable;
+    private final ByteHuffmanEncodingTable encodingTable;
     
     /**
      * Constructs this writer.
@@ -48,6 +56,55 @@ public final class ByteArrayCompressedDataWriter {
             final long startingBitIndex,
             final ByteHuffmanCodeTable codeTable) {
         
+        this(compressedOutputData,
+             inputRawData,
+             startingBitIndex,
+             new ByteHuffmanEncodingTable(
+                     Objects.requireNonNull(
+                             codeTable,
+                             "The input code table is null")));
+    }
+    
+    /**
+     * Constructs this writer.
+     * 
+     * @param compressedOutputData the compressed data byte array.
+     * @param inputRawData         the input raw data byte array.
+     * @param startingBitIndex     the starting bit index for the writing.
+     * @param encodingTable        the precomputed encoding table.
+     */
+    public ByteArrayCompressedDataWriter(
+            final byte[] compressedOutputData,
+            final byte[] inputRawData,
+            final long startingBitIndex,
+            final ByteHuffmanEncodingTable encodingTable) {
+        
+        this(MemorySegment.ofArray(
+                     Objects.requireNonNull(
+                             compressedOutputData,
+                             "The output compressed data is null")),
+             MemorySegment.ofArray(
+                     Objects.requireNonNull(
+                             inputRawData, 
+                             "The input raw data is null")),
+             startingBitIndex,
+             encodingTable);
+    }
+    
+    /**
+     * Constructs this writer.
+     * 
+     * @param compressedOutputData the compressed data segment.
+     * @param inputRawData         the input raw data segment.
+     * @param startingBitIndex     the starting bit index for the writing.
+     * @param encodingTable        the precomputed encoding table.
+     */
+    public ByteArrayCompressedDataWriter(
+            final MemorySegment compressedOutputData,
+            final MemorySegment inputRawData,
+            final long startingBitIndex,
+            final ByteHuffmanEncodingTable encodingTable) {
+        
         this.compressedOutputData = 
                 Objects.requireNonNull(
                         compressedOutputData,
@@ -58,10 +115,10 @@ public final class ByteArrayCompressedDataWriter {
                         inputRawData, 
                         "The input raw data is null");
         
-        this.codeTable = 
+        this.encodingTable = 
                 Objects.requireNonNull(
-                        codeTable, 
-                        "The input code table is null");
+                        encodingTable, 
+                        "The input encoding table is null");
         
         this.startingBitIndex = startingBitIndex;
     }
@@ -70,68 +127,163 @@ public final class ByteArrayCompressedDataWriter {
      * Writes the entire compressed data of {@code inputRawData}.
      */
     public void write() {
-        long currentBitIndex = startingBitIndex;
+        write(Long.MAX_VALUE, null);
+    }
+    
+    /**
+     * Writes the entire compressed data of {@code inputRawData} and records a
+     * checkpoint every {@code checkpointInterval} raw data bytes. The 
+     * checkpoint {@code i} is the bit offset, relative to the starting bit 
+     * index, of the codeword of the raw data byte 
+     * {@code i * checkpointInterval}.
+     * 
+     * @param checkpointInterval   the number of raw data bytes between two 
+     *                             consecutive checkpoints.
+     * @param checkpointBitOffsets the array receiving the checkpoints. May be
+     *                             {@code null} if checkpoints are not needed.
+     */
+    public void write(final long checkpointInterval,
+                      final long[] checkpointBitOffsets) {
         
-        for (final byte b : inputRawData) {
-            final CodeWord codeword  = codeTable.get(b).reverse();
-            final int codewordLength = codeword.length();
-            
-            writeCodeWord(compressedOutputData,
-                          currentBitIndex,
-                          codeword);
-            
-            currentBitIndex += codewordLength;
-        }
+        write(checkpointInterval, checkpointBitOffsets, null);
+    }
+    
+    /**
+     * Writes the entire compressed data of {@code inputRawData}, records a
+     * checkpoint every {@code checkpointInterval} raw data bytes and the 
+     * CRC32C checksum of each checkpoint segment. Each segment is checksummed
+     * right after it is encoded, while it is still in the cache.
+     * 
+     * @param checkpointInterval   the number of raw data bytes between two 
+     *                             consecutive checkpoints.
+     * @param checkpointBitOffsets the array receiving the checkpoints. May be
+     *                             {@code null} if checkpoints are not needed.
+     * @param checksums            the array receiving the checksums. May be 
+     *                             {@code null} if checksums are not needed.
+     */
+    public void write(final long checkpointInterval,
+                      final long[] checkpointBitOffsets,
+                      final int[] checksums) {
+        
+        write(checkpointInterval, checkpointBitOffsets, checksums, null);
     }
     
     /**
-     * Writes a single codeword to the compressed output data byte array.
+     * Writes the entire compressed data of {@code inputRawData}, records a
+     * checkpoint every {@code checkpointInterval} raw data bytes, the CRC32C
+     * checksum of each checkpoint segment and the bit offsets of the 
+     * {@link Configuration#STREAM_COUNT} interleaved streams of each segment.
+     * The streams are consecutive in the single bitstream, so that the data 
+     * may still be decoded sequentially.
      * 
-     * @param compressedOutputData the compressed output data byte array.
-     * @param currentBitIndex      the current bit index.
-     * @param codeword             the codeword to write.
+     * @param checkpointInterval   the number of raw data bytes between two 
+     *                             consecutive checkpoints.
+     * @param checkpointBitOffsets the array receiving the checkpoints. May be
+     *                             {@code null} if checkpoints are not needed.
+     * @param checksums            the array receiving the checksums. May be 
+     *                             {@code null} if checksums are not needed.
+     * @param streamBitOffsets     the array receiving the bit offsets of all
+     *                             the streams but the first one of each 
+     *                             segment, relative to the starting bit index.
+     *                             May be {@code null} if the segments are not
+     *                             split into streams.
      */
-    private static void writeCodeWord(final byte[] compressedOutputData,
-                                      final long currentBitIndex,
-                                      final CodeWord codeword) {
+    public void write(final long checkpointInterval,
+                      final long[] checkpointBitOffsets,
+                      final int[] checksums,
+                      final long[] streamBitOffsets) {
+        
+        if (checkpointInterval < 1L) {
+            throw new IllegalArgumentException(
+                    String.format("checkpointInterval(%d) < 1", 
+                                  checkpointInterval));
+        }
+        
+        final long rawDataLength = inputRawData.byteSize();
+        long byteIndex = startingBitIndex / Byte.SIZE;
         
-        int byteIndex = (int) (currentBitIndex / Byte.SIZE); 
-        int bitIndex  = (int) (currentBitIndex % Byte.SIZE);
+        // Keep the bits preceding the starting bit index intact:
+        int bitCount = (int) (startingBitIndex % Byte.SIZE);
+        long bitBuffer = 
+                bitCount == 0 ? 
+                0L : 
+                compressedOutputData.get(ValueLayout.JAVA_BYTE, byteIndex) 
+                        & ((1 << bitCount) - 1);
         
-        final int codewordLength = codeword.length();
+        int checkpointIndex = 0;
+        int segmentIndex = 0;
+        int streamOffsetIndex = 0;
+        final int streamCount = streamBitOffsets == null ? 1 : STREAM_COUNT;
         
-        for (int codewordBitIndex = 0;
-                 codewordBitIndex < codewordLength;
-                 codewordBitIndex++) {
+        for (long chunkStart = 0; 
+                  chunkStart < rawDataLength; 
+                  chunkStart += checkpointInterval) {
             
-            if (codeword.get(codewordBitIndex)) {
-                setBit(compressedOutputData,
-                       byteIndex,
-                       bitIndex);
+            if (checkpointBitOffsets != null) {
+                checkpointBitOffsets[checkpointIndex++] = 
+                        byteIndex * Byte.SIZE + bitCount - startingBitIndex;
             }
             
-            bitIndex++;
+            final long chunkEnd = 
+                    Math.min(rawDataLength, chunkStart + checkpointInterval);
             
-            if (bitIndex == Byte.SIZE) {
-                bitIndex = 0;
-                byteIndex++;
+            final long streamLength = 
+                    streamBitOffsets == null 
+                            ? chunkEnd - chunkStart
+                            : Utils.getStreamLength(chunkEnd - chunkStart);
+            
+            for (int stream = 0; stream < streamCount; ++stream) {
+                final long streamStart = 
+                        Math.min(chunkEnd, chunkStart + stream * streamLength);
+                
+                final long streamEnd = 
+                        Math.min(chunkEnd, streamStart + streamLength);
+                
+                if (stream > 0) {
+                    streamBitOffsets[streamOffsetIndex++] = 
+                            byteIndex * Byte.SIZE + bitCount - startingBitIndex;
+                }
+                
+                for (long i = streamStart; i != streamEnd; ++i) {
+                    final int value = 
+                            Byte.toUnsignedInt(
+                                    inputRawData.get(ValueLayout.JAVA_BYTE, 
+                                                     i));
+
+                    bitBuffer |= 
+                            Integer.toUnsignedLong(
+                                    encodingTable.getCode(value)) 
+                            << bitCount;
+
+                    bitCount += encodingTable.getCodeLength(value);
+
+                    if (bitCount >= Integer.SIZE) {
+                        compressedOutputData.set(Utils.INT_LE, 
+                                                 byteIndex, 
+                                                 (int) bitBuffer);
+
+                        byteIndex += Integer.BYTES;
+                        bitBuffer >>>= Integer.SIZE;
+                        bitCount -= Integer.SIZE;
+                    }
+                }
+            }
+            
+            if (checksums != null) {
+                checksums[segmentIndex++] = 
+                        Utils.computeChecksum(
+                                inputRawData.asSlice(chunkStart, 
+                                                     chunkEnd - chunkStart));
             }
         }
-    }
-    
-    /**
-     * Sets the {@code bitIndex}th bit in 
-     * {@code compressedOutputData[byteIndex]}.
-     * 
-     * @param compressedOutputData the compressed output data byte array.
-     * @param byteIndex            the target byte index.
-     * @param bitIndex             the target bit index.
-     */
-    private static void setBit(final byte[] compressedOutputData,
-                               final int byteIndex,
-                               final int bitIndex) {
         
-        final byte mask = (byte)(1 << bitIndex);
-        compressedOutputData[byteIndex] |= mask;
+        // Flush the remaining bits:
+        while (bitCount > 0) {
+            compressedOutputData.set(ValueLayout.JAVA_BYTE, 
+                                     byteIndex++, 
+                                     (byte) bitBuffer);
+            bitBuffer >>>= Byte.SIZE;
+            bitCount -= Byte.SIZE;
+        }
     }
 }
@@ -1,50 +1,344 @@
 package io.github.coderodde.compressor.app;
 
-import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODEWORD_MAX;
+import static io.github.coderodde.compressor.app.ByteHuffmanCodeLengthsBuilder.NO_CODEWORD;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKPOINT_INTERVAL;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKPOINT_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKSUM;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CANONICAL_CODE_SIZE;
 import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODE_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_DICTIONARY_ID;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_BIT_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_NORMALIZED_COUNT;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_TABLE_LOG;
 import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_RAW_DATA_LENGTH;
-import java.nio.ByteBuffer;
-import java.util.Objects;
-import java.nio.ByteOrder;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_STREAM_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_SYMBOL_BITMAP;
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_CHECKPOINTS;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_CHECKSUMS;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_DICTIONARY;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_FSE;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_RUN_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_STORED;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_STREAMS;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_MAGIC;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.LEGACY_BYTES_PER_RAW_DATA_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.SPARSE_CODE_TABLE_MAX_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.STREAM_COUNT;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.util.Arrays;
+import java.util.Objects;
 
 /**
  * This class implements the reader returning the file header data such as the 
- * length of the raw data being compressed and its decoding Huffman tree.
+ * length of the raw data being compressed and its decoding Huffman tree. The
+ * current format storing only the canonical codeword lengths, the format 
+ * version 2 storing the full codewords, and the format version 1, which has no
+ * magic and stores the raw data length in 32 bits, are all supported. The 
+ * headers of the data encoded with a pretrained dictionary hold only the ID 
+ * of the dictionary, which must be registered via 
+ * {@link HuffmanByteDecompressor#registerDictionary(ByteHuffmanDictionary)}.
+ * The stored and the run-length encoded data have no code table at all.
+ * The optional stream table locates the interleaved streams of each 
+ * checkpoint segment. The headers of the data coded via tANS/FSE hold the 
+ * normalized symbol counts in place of the code table.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 16, 2025)
  */
 public final class ByteArrayHeaderReader {
 
     /**
-     * The compressed data byte array containing the header.
+     * The compressed data containing the header.
      */
-    private final byte[] compressedData;
+    private final MemorySegment compressedData;
     
     /**
      * We cache this in order users of this class can query the length of the 
      * raw data that would result from decompression.
      */
-    private final int rawDataLength;
+    private final long rawDataLength;
     
     /**
      * The code table being read.
      */
     private final ByteHuffmanCodeTable codeTable;
     
+    /**
+     * The FSE table the data is coded with, or {@code null} if the data is 
+     * Huffman-coded.
+     */
+    private final ByteFseTable fseTable;
+    
+    /**
+     * The length of the FSE bitstream in bits, or zero if the data is not 
+     * coded via tANS/FSE.
+     */
+    private final long fseBitLength;
+    
+    /**
+     * The dictionary the data is encoded with, or {@code null} if the header 
+     * holds the code table.
+     */
+    private final ByteHuffmanDictionary dictionary;
+    
+    /**
+     * The CRC32C checksums of the checkpoint segments, or an empty array if 
+     * the header has no checksum table.
+     */
+    private final int[] checksums;
+    
+    /**
+     * The bit offsets, relative to {@code dataStartBitIndex}, of all the 
+     * streams but the first one of each checkpoint segment, or an empty array
+     * if the header has no stream table.
+     */
+    private final long[] streamBitOffsets;
+    
+    /**
+     * The header flags. The format version 1 has none.
+     */
+    private final byte flags;
+    
+    /**
+     * The index of the bit at which the compressed data begins.
+     */
+    private final long dataStartBitIndex;
+    
+    /**
+     * The number of raw data bytes between two consecutive checkpoints, or 
+     * zero if there is no checkpoint index.
+     */
+    private final int checkpointInterval;
+    
+    /**
+     * The checkpoint bit offsets relative to {@code dataStartBitIndex}.
+     */
+    private final long[] checkpointBitOffsets;
+    
     public ByteArrayHeaderReader(final byte[] compressedData) {
+        this(MemorySegment.ofArray(
+                Objects.requireNonNull(compressedData,
+                                       "The input compressed data is null")));
+    }
+    
+    public ByteArrayHeaderReader(final MemorySegment compressedData) {
         this.compressedData =
                 Objects.requireNonNull(compressedData,
                                        "The input compressed data is null");
         
-        final int codeTableSize = readCodeTableSize();
-        this.rawDataLength = readRawDataLength();
-        this.codeTable = readCodeTable(codeTableSize);
+        long byteCursor;
+        ByteFseTable fseTable = null;
+        
+        if (hasMagic()) {
+            checkHeaderLength(Utils.getHeaderPrefixLength());
+            
+            final byte formatVersion = readFormatVersion();
+            this.flags = readFlags();
+            
+            final long rawDataLengthOffset = Utils.getHeaderPrefixLength() 
+                                           - BYTES_PER_RAW_DATA_LENGTH;
+            
+            this.rawDataLength = compressedData.get(Utils.LONG_LE, 
+                                                    rawDataLengthOffset);
+            
+            if (formatVersion == FORMAT_VERSION && hasUnencodedData()) {
+                this.dictionary = null;
+                this.codeTable  = null;
+                byteCursor = Utils.getHeaderPrefixLength();
+            } else if (formatVersion == FORMAT_VERSION 
+                    && (flags & FLAG_FSE) != 0) {
+                
+                this.dictionary = null;
+                this.codeTable  = null;
+                
+                final int[] normalizedCounts = new int[CODE_TABLE_CAPACITY];
+                final int tableLog = 
+                        Byte.toUnsignedInt(
+                                compressedData.get(
+                                        ValueLayout.JAVA_BYTE, 
+                                        Utils.getHeaderPrefixLength()));
+                
+                byteCursor = readNormalizedCounts(
+                        compressedData, 
+                        Utils.getHeaderPrefixLength() 
+                                + BYTES_PER_FSE_TABLE_LOG,
+                        normalizedCounts);
+                
+                fseTable = new ByteFseTable(normalizedCounts, tableLog);
+            } else if (formatVersion == FORMAT_VERSION 
+                    && (flags & FLAG_DICTIONARY) != 0) {
+                
+                final int dictionaryId = 
+                        compressedData.get(Utils.INT_LE, 
+                                           Utils.getHeaderPrefixLength());
+                
+                this.dictionary = 
+                        HuffmanByteDecompressor.getDictionary(dictionaryId);
+                
+                this.codeTable = dictionary.getCodeTable();
+                byteCursor = Utils.getHeaderPrefixLength() 
+                           + BYTES_PER_DICTIONARY_ID;
+            } else if (formatVersion == FORMAT_VERSION) {
+                this.dictionary = null;
+                
+                final int codeTableSize = 
+                        Byte.toUnsignedInt(
+                                compressedData.get(
+                                        ValueLayout.JAVA_BYTE, 
+                                        Utils.getHeaderPrefixLength())) + 1;
+                
+                final long codeTableOffset = Utils.getHeaderPrefixLength() 
+                                           + BYTES_PER_CANONICAL_CODE_SIZE;
+                
+                final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+                
+                byteCursor = readCodeLengths(compressedData, 
+                                             codeTableOffset, 
+                                             codeTableSize,
+                                             codeLengths);
+                
+                this.codeTable = 
+                        ByteHuffmanCodeTableBuilder
+                                .buildCanonicalCode(codeLengths);
+            } else {
+                // The format version 2:
+                if ((flags & (FLAG_DICTIONARY 
+                            | FLAG_STORED 
+                            | FLAG_RUN_LENGTH 
+                            | FLAG_CHECKSUMS
+                            | FLAG_STREAMS
+                            | FLAG_FSE)) != 0) {
+                    throw new IllegalArgumentException(
+                            String.format(
+                                    "The header flags %d require the " + 
+                                    "format version %d.",
+                                    flags,
+                                    FORMAT_VERSION));
+                }
+                
+                this.dictionary = null;
+                
+                final int codeTableSize = 
+                        compressedData.get(Utils.INT_LE, 
+                                           Utils.getHeaderPrefixLength());
+                
+                final long codeTableOffset = Utils.getHeaderPrefixLength() 
+                                           + BYTES_PER_CODE_SIZE;
+                
+                this.codeTable = readCodeTable(codeTableOffset, codeTableSize);
+                byteCursor = codeTableOffset 
+                           + (long) codeTableSize * Utils.getCodeEntryLength();
+            }
+        } else {
+            // The format version 1:
+            checkHeaderLength(BYTES_PER_CODE_SIZE 
+                                    + LEGACY_BYTES_PER_RAW_DATA_LENGTH);
+            
+            final int codeTableSize = compressedData.get(Utils.INT_LE, 0L);
+            
+            this.rawDataLength = compressedData.get(Utils.INT_LE, 
+                                                    BYTES_PER_CODE_SIZE);
+            
+            final long codeTableOffset = BYTES_PER_CODE_SIZE 
+                                       + LEGACY_BYTES_PER_RAW_DATA_LENGTH;
+            this.flags = 0;
+            
+            this.dictionary = null;
+            this.codeTable = readCodeTable(codeTableOffset, codeTableSize);
+            byteCursor = codeTableOffset 
+                       + (long) codeTableSize * Utils.getCodeEntryLength();
+        }
+        
+        if ((flags & FLAG_CHECKPOINTS) != 0) {
+            this.checkpointInterval = compressedData.get(Utils.INT_LE, 
+                                                         byteCursor);
+            
+            checkCheckpointInterval();
+            byteCursor += BYTES_PER_CHECKPOINT_INTERVAL;
+            
+            final int checkpointCount = 
+                    Utils.countCheckpoints(rawDataLength, checkpointInterval);
+            
+            checkHeaderEntries(byteCursor, 
+                               checkpointCount, 
+                               BYTES_PER_CHECKPOINT_OFFSET,
+                               "checkpoint offsets");
+            
+            this.checkpointBitOffsets = new long[checkpointCount];
+            
+            for (int i = 0; i < checkpointBitOffsets.length; ++i) {
+                checkpointBitOffsets[i] = compressedData.get(Utils.LONG_LE, 
+                                                             byteCursor);
+                byteCursor += BYTES_PER_CHECKPOINT_OFFSET;
+            }
+        } else {
+            this.checkpointInterval = 0;
+            this.checkpointBitOffsets = new long[0];
+        }
+        
+        if ((flags & FLAG_CHECKSUMS) != 0) {
+            final int checksumCount = 
+                    Utils.countChecksums(checkpointBitOffsets.length);
+            
+            checkHeaderEntries(byteCursor, 
+                               checksumCount, 
+                               BYTES_PER_CHECKSUM,
+                               "checksums");
+            
+            this.checksums = new int[checksumCount];
+            
+            for (int i = 0; i < checksums.length; ++i) {
+                checksums[i] = compressedData.get(Utils.INT_LE, byteCursor);
+                byteCursor += BYTES_PER_CHECKSUM;
+            }
+        } else {
+            this.checksums = new int[0];
+        }
+        
+        if ((flags & FLAG_STREAMS) != 0) {
+            final int streamOffsetCount = 
+                    Utils.countStreamOffsets(checkpointBitOffsets.length);
+            
+            checkHeaderEntries(byteCursor, 
+                               streamOffsetCount, 
+                               BYTES_PER_STREAM_OFFSET,
+                               "stream offsets");
+            
+            this.streamBitOffsets = new long[streamOffsetCount];
+            
+            for (int i = 0; i < streamBitOffsets.length; ++i) {
+                streamBitOffsets[i] = compressedData.get(Utils.LONG_LE, 
+                                                         byteCursor);
+                byteCursor += BYTES_PER_STREAM_OFFSET;
+            }
+        } else {
+            this.streamBitOffsets = new long[0];
+        }
+        
+        this.fseTable = fseTable;
+        
+        if (fseTable != null) {
+            this.fseBitLength = compressedData.get(Utils.LONG_LE, byteCursor);
+            byteCursor += BYTES_PER_FSE_BIT_LENGTH;
+        } else {
+            this.fseBitLength = 0L;
+        }
+        
+        this.dataStartBitIndex = byteCursor * Byte.SIZE;
+        
+        if (hasUnencodedData()) {
+            checkUnencodedDataLength();
+        } else if (isFse()) {
+            checkFseBitLength();
+        }
     }
     
-    public int getRawDataLength() {
+    public long getRawDataLength() {
         return rawDataLength;
     }
     
@@ -52,37 +346,562 @@ public final class ByteArrayHeaderReader {
         return codeTable;
     }
     
-    private int readCodeTableSize() {
-        final byte[] codeTableSizeBytes = new byte[BYTES_PER_CODE_SIZE];
+    /**
+     * Returns the dictionary the data is encoded with.
+     * 
+     * @return the dictionary, or {@code null} if the header holds the code 
+     *         table.
+     */
+    public ByteHuffmanDictionary getDictionary() {
+        return dictionary;
+    }
+    
+    /**
+     * Tells whether the data is coded via tANS/FSE rather than 
+     * Huffman-coded.
+     * 
+     * @return {@code true} if the header holds the normalized symbol counts.
+     */
+    public boolean isFse() {
+        return fseTable != null;
+    }
+    
+    /**
+     * Returns the FSE table the data is coded with.
+     * 
+     * @return the FSE table, or {@code null} if the data is Huffman-coded.
+     */
+    public ByteFseTable getFseTable() {
+        return fseTable;
+    }
+    
+    /**
+     * Returns the length of the FSE bitstream starting at 
+     * {@link #getDataStartBitIndex()}.
+     * 
+     * @return the length of the bitstream in bits.
+     */
+    public long getFseBitLength() {
+        return fseBitLength;
+    }
+    
+    /**
+     * Tells whether the header has the checksum table.
+     * 
+     * @return {@code true} if the raw data has checksums.
+     */
+    public boolean hasChecksums() {
+        return checksums.length > 0;
+    }
+    
+    /**
+     * Returns the CRC32C checksum of the raw data of the checkpoint segment 
+     * {@code segmentIndex}. If there are no checkpoints, the only segment is
+     * the whole raw data.
+     * 
+     * @param segmentIndex the index of the segment.
+     * @return the checksum.
+     */
+    public int getChecksum(final int segmentIndex) {
+        return checksums[segmentIndex];
+    }
+    
+    /**
+     * Tells whether the checkpoint segments are split into 
+     * {@link Configuration#STREAM_COUNT} interleaved streams.
+     * 
+     * @return {@code true} if the header has the stream table.
+     */
+    public boolean hasStreams() {
+        return streamBitOffsets.length > 0;
+    }
+    
+    /**
+     * Returns the index of the bit at which the stream {@code streamIndex} of
+     * the checkpoint segment {@code segmentIndex} begins. If there are no 
+     * checkpoints, the only segment is the whole raw data.
+     * 
+     * @param segmentIndex the index of the segment.
+     * @param streamIndex  the index of the stream within the segment.
+     * @return the absolute bit index of the stream.
+     */
+    public long getStreamBitIndex(final int segmentIndex, 
+                                  final int streamIndex) {
+        if (streamIndex == 0) {
+            return getSegmentBitIndex(segmentIndex);
+        }
+        
+        return dataStartBitIndex 
+             + streamBitOffsets[segmentIndex * (STREAM_COUNT - 1) 
+                                + streamIndex - 1];
+    }
+    
+    /**
+     * Returns the index of the bit at which the checkpoint segment 
+     * {@code segmentIndex} begins.
+     * 
+     * @param segmentIndex the index of the segment.
+     * @return the absolute bit index of the segment.
+     */
+    public long getSegmentBitIndex(final int segmentIndex) {
+        return checkpointBitOffsets.length == 0 
+                ? dataStartBitIndex 
+                : getCheckpointBitIndex(segmentIndex);
+    }
+    
+    /**
+     * Tells whether the raw data follows the header as is.
+     * 
+     * @return {@code true} if the data is stored.
+     */
+    public boolean isStored() {
+        return (flags & FLAG_STORED) != 0;
+    }
+    
+    /**
+     * Tells whether the raw data consists of a single repeated byte following
+     * the header.
+     * 
+     * @return {@code true} if the data is run-length encoded.
+     */
+    public boolean isRunLength() {
+        return (flags & FLAG_RUN_LENGTH) != 0;
+    }
+    
+    /**
+     * Tells whether the data is either stored or run-length encoded, and 
+     * hence there is no code table.
+     * 
+     * @return {@code true} if the data is not Huffman-coded.
+     */
+    public boolean hasUnencodedData() {
+        return isStored() || isRunLength();
+    }
+    
+    public long getDataStartBitIndex() {
+        return dataStartBitIndex;
+    }
+    
+    /**
+     * Returns the number of raw data bytes between two consecutive 
+     * checkpoints.
+     * 
+     * @return the checkpoint interval, or zero if there are no checkpoints.
+     */
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+    
+    public int getCheckpointCount() {
+        return checkpointBitOffsets.length;
+    }
+    
+    /**
+     * Returns the index of the bit at which the codeword of the raw data byte
+     * {@code checkpointIndex * getCheckpointInterval()} begins.
+     * 
+     * @param checkpointIndex the index of the checkpoint.
+     * @return the absolute bit index of the checkpoint.
+     */
+    public long getCheckpointBitIndex(final int checkpointIndex) {
+        return dataStartBitIndex + checkpointBitOffsets[checkpointIndex];
+    }
+    
+    private boolean hasMagic() {
+        if (compressedData.byteSize() < FORMAT_MAGIC.length) {
+            return false;
+        }
         
-        System.arraycopy(compressedData,
-                         0,
-                         codeTableSizeBytes, 
-                         0, 
-                         codeTableSizeBytes.length);
+        for (int i = 0; i < FORMAT_MAGIC.length; ++i) {
+            if (compressedData.get(ValueLayout.JAVA_BYTE, i) 
+                    != FORMAT_MAGIC[i]) {
+                return false;
+            }
+        }
         
-        final ByteBuffer byteBuffer = ByteBuffer.wrap(codeTableSizeBytes);
-        return byteBuffer.order(ByteOrder.LITTLE_ENDIAN).getInt();
+        return true;
     }
     
-    private int readRawDataLength() {
-        final byte[] rawDataLengthBytes = new byte[BYTES_PER_RAW_DATA_LENGTH];
+    private byte readFormatVersion() {
+        final byte formatVersion = 
+                compressedData.get(ValueLayout.JAVA_BYTE, FORMAT_MAGIC.length);
         
-        System.arraycopy(compressedData,
-                         BYTES_PER_CODE_SIZE,
-                         rawDataLengthBytes, 
-                         0, 
-                         rawDataLengthBytes.length);
+        if (!Utils.isSupportedFormatVersion(formatVersion)) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported format version: %d.", 
+                                  formatVersion));
+        }
         
-        final ByteBuffer byteBuffer = ByteBuffer.wrap(rawDataLengthBytes);
-        return byteBuffer.order(ByteOrder.LITTLE_ENDIAN).getInt();
+        return formatVersion;
     }
     
-    private ByteHuffmanCodeTable readCodeTable(final int codeTableSize) {
+    private byte readFlags() {
+        final byte flags = 
+                compressedData.get(ValueLayout.JAVA_BYTE, 
+                                   FORMAT_MAGIC.length + 
+                                   BYTES_PER_FORMAT_VERSION);
+        
+        if ((flags & ~(FLAG_CHECKPOINTS 
+                     | FLAG_DICTIONARY 
+                     | FLAG_STORED 
+                     | FLAG_RUN_LENGTH
+                     | FLAG_CHECKSUMS
+                     | FLAG_STREAMS
+                     | FLAG_FSE)) != 0) {
+            throw new IllegalArgumentException(
+                    String.format("Unsupported header flags: %d.", flags));
+        }
+        
+        // Stored, run-length and FSE data have neither a Huffman code nor 
+        // checkpoints nor streams:
+        if ((flags & (FLAG_STORED | FLAG_RUN_LENGTH | FLAG_FSE)) != 0 
+                && Integer.bitCount(Byte.toUnsignedInt(flags) 
+                                    & ~FLAG_CHECKSUMS) != 1) {
+            throw new IllegalArgumentException(
+                    String.format("Conflicting header flags: %d.", flags));
+        }
+        
+        return flags;
+    }
+    
+    private void checkUnencodedDataLength() {
+        final long dataLength = isStored() ? rawDataLength : 1L;
+        final long dataStartByteIndex = dataStartBitIndex / Byte.SIZE;
+        
+        if (compressedData.byteSize() - dataStartByteIndex < dataLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Truncated data: expected %d bytes after the " + 
+                            "header, found %d.", 
+                            dataLength,
+                            compressedData.byteSize() - dataStartByteIndex));
+        }
+    }
+    
+    private void checkFseBitLength() {
+        final long dataStartByteIndex = dataStartBitIndex / Byte.SIZE;
+        final long dataLength = (fseBitLength + Byte.SIZE - 1) / Byte.SIZE;
+        
+        if (fseBitLength < fseTable.getTableLog() 
+                || compressedData.byteSize() - dataStartByteIndex 
+                        < dataLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Truncated data: expected a bitstream of %d " + 
+                            "bits after the header, found %d bytes.", 
+                            fseBitLength,
+                            compressedData.byteSize() - dataStartByteIndex));
+        }
+    }
+    
+    /**
+     * Checks that the compressed data holds at least the {@code headerLength}
+     * bytes of the fixed part of the header.
+     */
+    private void checkHeaderLength(final long headerLength) {
+        if (compressedData.byteSize() < headerLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Truncated header: expected at least %d bytes, " + 
+                            "found %d.", 
+                            headerLength,
+                            compressedData.byteSize()));
+        }
+    }
+    
+    /**
+     * Checks that the {@code entryCount} header entries of 
+     * {@code bytesPerEntry} bytes each, starting at {@code byteCursor}, fit in
+     * the compressed data before their array is allocated, so that a corrupt
+     * raw data length or checkpoint interval cannot exhaust the heap.
+     */
+    private void checkHeaderEntries(final long byteCursor,
+                                    final int entryCount,
+                                    final int bytesPerEntry,
+                                    final String entryName) {
+        
+        final long entriesLength = (long) entryCount * bytesPerEntry;
+        
+        if (compressedData.byteSize() - byteCursor < entriesLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Truncated header: expected %d bytes of %d %s, " + 
+                            "found %d.", 
+                            entriesLength,
+                            entryCount,
+                            entryName,
+                            Math.max(0L, 
+                                     compressedData.byteSize() - byteCursor)));
+        }
+    }
+    
+    private void checkCheckpointInterval() {
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid checkpoint interval: %d.", 
+                                  checkpointInterval));
+        }
+    }
+    
+    /**
+     * Tells whether {@code compressedData} is a single container of the 
+     * current format version, whose header may be read via 
+     * {@link #readCodeLengths(MemorySegment, int[])} without building a code
+     * table.
+     * 
+     * @param compressedData the compressed data.
+     * @return {@code true} if the container is of the current format version.
+     */
+    static boolean hasCodeLengths(final MemorySegment compressedData) {
+        final int prefixLength = Utils.getHeaderPrefixLength();
+        
+        if (compressedData.byteSize() <= prefixLength) {
+            return false;
+        }
+        
+        for (int i = 0; i < FORMAT_MAGIC.length; ++i) {
+            if (compressedData.get(ValueLayout.JAVA_BYTE, i) 
+                    != FORMAT_MAGIC[i]) {
+                return false;
+            }
+        }
+        
+        final byte formatVersion = 
+                compressedData.get(ValueLayout.JAVA_BYTE, FORMAT_MAGIC.length);
+        
+        final byte flags = 
+                compressedData.get(ValueLayout.JAVA_BYTE, 
+                                   FORMAT_MAGIC.length + 
+                                   BYTES_PER_FORMAT_VERSION);
+        
+        return formatVersion == FORMAT_VERSION 
+                && (flags & ~FLAG_CHECKPOINTS) == 0;
+    }
+    
+    /**
+     * Returns the raw data length of a container accepted by 
+     * {@link #hasCodeLengths(MemorySegment)}.
+     * 
+     * @param compressedData the compressed data.
+     * @return the length of the raw data.
+     */
+    static long readRawDataLength(final MemorySegment compressedData) {
+        return compressedData.get(Utils.LONG_LE, 
+                                  Utils.getHeaderPrefixLength() 
+                                          - BYTES_PER_RAW_DATA_LENGTH);
+    }
+    
+    /**
+     * Reads the codeword lengths of a container accepted by 
+     * {@link #hasCodeLengths(MemorySegment)} and skips its checkpoint index.
+     * Unlike the instances of this class, this method allocates nothing.
+     * 
+     * @param compressedData the compressed data.
+     * @param codeLengths    the array receiving the codeword lengths indexed
+     *                       by unsigned byte values. The absent bytes get
+     *                       {@link ByteHuffmanCodeLengthsBuilder#NO_CODEWORD}.
+     * @return the index of the bit at which the encoded data begins.
+     */
+    static long readCodeLengths(final MemorySegment compressedData,
+                                final int[] codeLengths) {
+        
+        final int codeTableSize = 
+                Byte.toUnsignedInt(
+                        compressedData.get(ValueLayout.JAVA_BYTE, 
+                                           Utils.getHeaderPrefixLength())) + 1;
+        
+        long byteCursor = 
+                readCodeLengths(compressedData,
+                                Utils.getHeaderPrefixLength() 
+                                        + BYTES_PER_CANONICAL_CODE_SIZE,
+                                codeTableSize,
+                                codeLengths);
+        
+        final byte flags = 
+                compressedData.get(ValueLayout.JAVA_BYTE, 
+                                   FORMAT_MAGIC.length + 
+                                   BYTES_PER_FORMAT_VERSION);
+        
+        if ((flags & FLAG_CHECKPOINTS) != 0) {
+            final int checkpointInterval = 
+                    compressedData.get(Utils.INT_LE, byteCursor);
+            
+            if (checkpointInterval < 1) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid checkpoint interval: %d.", 
+                                      checkpointInterval));
+            }
+            
+            byteCursor += BYTES_PER_CHECKPOINT_INTERVAL 
+                        + (long) Utils.countCheckpoints(
+                                  readRawDataLength(compressedData), 
+                                  checkpointInterval) 
+                                * BYTES_PER_CHECKPOINT_OFFSET;
+        }
+        
+        return byteCursor * Byte.SIZE;
+    }
+    
+    /**
+     * Reads {@code codeTableSize} codeword lengths starting at 
+     * {@code codeTableOffset}.
+     * 
+     * @return the index of the byte following the codeword lengths.
+     */
+    private static long readCodeLengths(final MemorySegment compressedData,
+                                        final long codeTableOffset,
+                                        final int codeTableSize,
+                                        final int[] codeLengths) {
+        
+        Arrays.fill(codeLengths, NO_CODEWORD);
+        long byteCursor = codeTableOffset;
+        
+        if (codeTableSize <= SPARSE_CODE_TABLE_MAX_SIZE) {
+            for (int codeIndex = 0; codeIndex < codeTableSize; ++codeIndex) {
+                final byte value = compressedData.get(ValueLayout.JAVA_BYTE, 
+                                                      byteCursor++);
+                
+                final byte length = compressedData.get(ValueLayout.JAVA_BYTE, 
+                                                       byteCursor++);
+                
+                if (codeLengths[Byte.toUnsignedInt(value)] != NO_CODEWORD) {
+                    throw new IllegalArgumentException(
+                            String.format("Duplicate codeword for byte %d.", 
+                                          value));
+                }
+                
+                codeLengths[Byte.toUnsignedInt(value)] = 
+                        Byte.toUnsignedInt(length);
+            }
+            
+            return byteCursor;
+        }
+        
+        long lengthCursor = byteCursor + BYTES_PER_SYMBOL_BITMAP;
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            final int bitmapByte = 
+                    compressedData.get(ValueLayout.JAVA_BYTE, 
+                                       byteCursor + i / Byte.SIZE);
+            
+            if ((bitmapByte & (1 << (i % Byte.SIZE))) == 0) {
+                continue;
+            }
+            
+            final byte length = compressedData.get(ValueLayout.JAVA_BYTE, 
+                                                   lengthCursor++);
+            
+            codeLengths[i] = Byte.toUnsignedInt(length);
+        }
+        
+        final long bitmapCodeTableSize = 
+                lengthCursor - byteCursor - BYTES_PER_SYMBOL_BITMAP;
+        
+        if (bitmapCodeTableSize != codeTableSize) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The code size %d does not match the " + 
+                            "bitmap of %d bytes.",
+                            codeTableSize,
+                            bitmapCodeTableSize));
+        }
+        
+        return lengthCursor;
+    }
+    
+    /**
+     * Reads the symbol count followed by the normalized counts starting at 
+     * {@code byteCursor}. The counts are laid out just like the codeword 
+     * lengths, only two bytes wide.
+     * 
+     * @return the index of the byte following the normalized counts.
+     */
+    private static long readNormalizedCounts(final MemorySegment compressedData,
+                                             final long byteCursor,
+                                             final int[] normalizedCounts) {
+        
+        final int symbolCount = 
+                Byte.toUnsignedInt(
+                        compressedData.get(ValueLayout.JAVA_BYTE, 
+                                           byteCursor)) + 1;
+        
+        long countCursor = byteCursor + BYTES_PER_CANONICAL_CODE_SIZE;
+        
+        if (symbolCount <= SPARSE_CODE_TABLE_MAX_SIZE) {
+            for (int i = 0; i < symbolCount; ++i) {
+                final int value = 
+                        Byte.toUnsignedInt(
+                                compressedData.get(ValueLayout.JAVA_BYTE, 
+                                                   countCursor++));
+                
+                if (normalizedCounts[value] != 0) {
+                    throw new IllegalArgumentException(
+                            String.format("Duplicate count for byte %d.", 
+                                          value));
+                }
+                
+                normalizedCounts[value] = readNormalizedCount(compressedData, 
+                                                              countCursor);
+                
+                countCursor += BYTES_PER_FSE_NORMALIZED_COUNT;
+            }
+            
+            return countCursor;
+        }
+        
+        final long bitmapCursor = countCursor;
+        countCursor += BYTES_PER_SYMBOL_BITMAP;
+        int bitmapSymbolCount = 0;
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            final int bitmapByte = 
+                    compressedData.get(ValueLayout.JAVA_BYTE, 
+                                       bitmapCursor + i / Byte.SIZE);
+            
+            if ((bitmapByte & (1 << (i % Byte.SIZE))) == 0) {
+                continue;
+            }
+            
+            normalizedCounts[i] = readNormalizedCount(compressedData, 
+                                                      countCursor);
+            
+            countCursor += BYTES_PER_FSE_NORMALIZED_COUNT;
+            ++bitmapSymbolCount;
+        }
+        
+        if (bitmapSymbolCount != symbolCount) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The symbol count %d does not match the " + 
+                            "bitmap of %d bytes.",
+                            symbolCount,
+                            bitmapSymbolCount));
+        }
+        
+        return countCursor;
+    }
+    
+    private static int readNormalizedCount(final MemorySegment compressedData,
+                                           final long byteCursor) {
+        
+        final int normalizedCount = 
+                Short.toUnsignedInt(
+                        compressedData.get(Utils.SHORT_LE, byteCursor));
+        
+        if (normalizedCount == 0) {
+            throw new IllegalArgumentException(
+                    "A present byte has the normalized count of zero.");
+        }
+        
+        return normalizedCount;
+    }
+    
+    private ByteHuffmanCodeTable readCodeTable(final long codeTableOffset,
+                                               final int codeTableSize) {
         final ByteHuffmanCodeTable codeTable = new ByteHuffmanCodeTable();
         final int codeEntryLength = Utils.getCodeEntryLength();
         
-        int byteCursor = BYTES_PER_CODE_SIZE + BYTES_PER_RAW_DATA_LENGTH;
+        long byteCursor = codeTableOffset;
         
         for (int codeIndex = 0; codeIndex < codeTableSize; ++codeIndex) {
             readCodeEntry(codeTable,
@@ -96,26 +915,22 @@ public final class ByteArrayHeaderReader {
     }
     
     private static void readCodeEntry(final ByteHuffmanCodeTable codeTable,
-                                      final byte[] compressedData,
-                                      final int byteCursor) {
-        final byte value  = compressedData[byteCursor];
-        final byte length = compressedData[byteCursor + 1];
-        final byte[] codeEntryData = 
-                Arrays.copyOfRange(compressedData, 
-                                   byteCursor + 2, 
-                                   byteCursor + 2 + BYTES_PER_CODEWORD_MAX);
+                                      final MemorySegment compressedData,
+                                      final long byteCursor) {
+        final byte value  = compressedData.get(ValueLayout.JAVA_BYTE, 
+                                               byteCursor);
+        
+        final byte length = compressedData.get(ValueLayout.JAVA_BYTE, 
+                                               byteCursor + 1);
         
-        final CodeWord codeword = inferCodeWord(length, codeEntryData);
+        final int bits = compressedData.get(Utils.INT_LE, byteCursor + 2);
+        final CodeWord codeword = inferCodeWord(length, bits);
         
         codeTable.put(value, codeword);
     }
     
     private static CodeWord inferCodeWord(final int length,
-                                          final byte[] codeData) {
-        final int bits = ByteBuffer.wrap(codeData)
-                                   .order(ByteOrder.LITTLE_ENDIAN)
-                                   .getInt();
-        
+                                          final int bits) {
         final CodeWord codeword = new CodeWord(length);
         
         int mask = 1;
@@ -1,18 +1,58 @@
 package io.github.coderodde.compressor.app;
 
-import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODEWORD_MAX;
-import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODE_SIZE;
+import static io.github.coderodde.compressor.app.ByteHuffmanCodeLengthsBuilder.NO_CODEWORD;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKPOINT_INTERVAL;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKPOINT_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKSUM;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CANONICAL_CODE_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_DICTIONARY_ID;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FLAGS;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_BIT_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_NORMALIZED_COUNT;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_TABLE_LOG;
 import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_RAW_DATA_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_STREAM_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_SYMBOL_BITMAP;
 import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_CHECKPOINTS;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_CHECKSUMS;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_DICTIONARY;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_FSE;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_RUN_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_STORED;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_STREAMS;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_MAGIC;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.SPARSE_CODE_TABLE_MAX_SIZE;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.util.Objects;
 
 /**
- * This class writes the file header to the compressed file.
+ * This class writes the file header to the compressed file. The header 
+ * consists of the format magic, the format version, the flags, the 64-bit 
+ * length of the raw data, the size of the code and the codeword lengths of 
+ * the canonical code table. If {@link Configuration#FLAG_DICTIONARY} is set, 
+ * the ID of a pretrained dictionary takes the place of the code size and the
+ * codeword lengths. If {@link Configuration#FLAG_CHECKPOINTS} is set, the 
+ * code table is followed by the checkpoint interval and the checkpoint bit 
+ * offsets, which are filled in via {@link #writeCheckpoints(long[])} once the
+ * data is encoded. If {@link Configuration#FLAG_CHECKSUMS} is set, the 
+ * CRC32C checksums of the checkpoint segments, filled in via 
+ * {@link #writeChecksums(int[])}, come next. If 
+ * {@link Configuration#FLAG_STREAMS} is set, the bit offsets of the 
+ * interleaved streams of each checkpoint segment, filled in via 
+ * {@link #writeStreamOffsets(long[])}, follow. The data not worth 
+ * Huffman-coding is written with a bare prefix flagged by 
+ * {@link Configuration#FLAG_STORED} or {@link Configuration#FLAG_RUN_LENGTH}
+ * followed by the optional checksum. The data coded via tANS/FSE is 
+ * flagged by {@link Configuration#FLAG_FSE}; its prefix is followed by the 
+ * normalized symbol counts, the optional checksum and the length of the 
+ * bitstream in bits.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 16, 2025)
  */
 public final class ByteArrayHeaderWriter {
@@ -20,17 +60,40 @@ public final class ByteArrayHeaderWriter {
     /**
      * The minimum length of the raw data byte array.
      */
-    private static final int MINIMUM_RAW_DATA_LENGTH = 1;
+    private static final long MINIMUM_RAW_DATA_LENGTH = 1L;
+    
+    /**
+     * The index of the byte holding the format version.
+     */
+    private static final int FORMAT_VERSION_OFFSET = FORMAT_MAGIC.length;
+    
+    /**
+     * The index of the byte holding the header flags.
+     */
+    private static final int FLAGS_OFFSET = FORMAT_VERSION_OFFSET 
+                                          + BYTES_PER_FORMAT_VERSION;
+    
+    /**
+     * The index of the first byte of the raw data length.
+     */
+    private static final int RAW_DATA_LENGTH_OFFSET = FLAGS_OFFSET 
+                                                    + BYTES_PER_FLAGS;
+    
+    /**
+     * The index of the first byte of the code size.
+     */
+    private static final int CODE_SIZE_OFFSET = RAW_DATA_LENGTH_OFFSET 
+                                              + BYTES_PER_RAW_DATA_LENGTH;
     
     /**
      * The length of the raw data in bytes.
      */
-    private final int rawDataLength;
+    private final long rawDataLength;
     
     /**
      * The output data containing the compressed file.
      */
-    private final byte[] outputData;
+    private final MemorySegment outputData;
     
     /**
      * The index of the bit in the compressed data byte array at which writing
@@ -39,28 +102,425 @@ public final class ByteArrayHeaderWriter {
     private long dataStartBitIndex;
     
     /**
-     * The code table to write to the compressed file header.
+     * The codeword lengths of the code table to write to the compressed file 
+     * header indexed by unsigned byte values.
+     */
+    private final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+    
+    /**
+     * The number of codewords in the code table.
+     */
+    private final int codeSize;
+    
+    /**
+     * The dictionary whose ID to write in place of the code table, or 
+     * {@code null} if the code table is written.
+     */
+    private final ByteHuffmanDictionary dictionary;
+    
+    /**
+     * The number of raw data bytes between two consecutive checkpoints.
+     */
+    private final int checkpointInterval;
+    
+    /**
+     * The number of checkpoints in the checkpoint index. Zero if there is no 
+     * checkpoint index.
+     */
+    private final int checkpointCount;
+    
+    /**
+     * The index of the first byte of the checkpoint bit offsets.
      */
-    private final ByteHuffmanCodeTable codeTable;
+    private long checkpointOffsetsByteIndex;
     
-    public ByteArrayHeaderWriter(final int rawDataLength,
+    /**
+     * Indicates whether to write the checksum table.
+     */
+    private final boolean checksums;
+    
+    /**
+     * The index of the first byte of the checksum table.
+     */
+    private long checksumsByteIndex;
+    
+    /**
+     * Indicates whether to split the checkpoint segments into interleaved 
+     * streams.
+     */
+    private final boolean streams;
+    
+    /**
+     * The index of the first byte of the stream table.
+     */
+    private long streamOffsetsByteIndex;
+    
+    public ByteArrayHeaderWriter(final long rawDataLength,
                                  final byte[] outputData,
                                  final ByteHuffmanCodeTable codeTable) {
         
+        this(rawDataLength,
+             MemorySegment.ofArray(
+                     Objects.requireNonNull(
+                             outputData, 
+                             "The output data array is null")),
+             codeTable);
+    }
+    
+    public ByteArrayHeaderWriter(final long rawDataLength,
+                                 final MemorySegment outputData,
+                                 final ByteHuffmanCodeTable codeTable) {
+        
+        this(rawDataLength, outputData, codeTable, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Constructs this header writer.
+     * 
+     * @param rawDataLength      the length of the raw data.
+     * @param outputData         the output data.
+     * @param codeTable          the code table.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints. No checkpoint index is
+     *                           written if the raw data is not longer than 
+     *                           this.
+     */
+    public ByteArrayHeaderWriter(final long rawDataLength,
+                                 final MemorySegment outputData,
+                                 final ByteHuffmanCodeTable codeTable,
+                                 final int checkpointInterval) {
+        
+        this(rawDataLength, outputData, codeTable, checkpointInterval, false);
+    }
+    
+    /**
+     * Constructs this header writer.
+     * 
+     * @param rawDataLength      the length of the raw data.
+     * @param outputData         the output data.
+     * @param codeTable          the code table.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints. No checkpoint index is
+     *                           written if the raw data is not longer than 
+     *                           this.
+     * @param checksums          whether to write the checksum table filled in
+     *                           via {@link #writeChecksums(int[])}.
+     */
+    public ByteArrayHeaderWriter(final long rawDataLength,
+                                 final MemorySegment outputData,
+                                 final ByteHuffmanCodeTable codeTable,
+                                 final int checkpointInterval,
+                                 final boolean checksums) {
+        
+        this(rawDataLength, 
+             outputData, 
+             codeTable, 
+             checkpointInterval, 
+             checksums, 
+             false);
+    }
+    
+    /**
+     * Constructs this header writer.
+     * 
+     * @param rawDataLength      the length of the raw data.
+     * @param outputData         the output data.
+     * @param codeTable          the code table.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints. No checkpoint index is
+     *                           written if the raw data is not longer than 
+     *                           this.
+     * @param checksums          whether to write the checksum table filled in
+     *                           via {@link #writeChecksums(int[])}.
+     * @param streams            whether to write the stream table filled in
+     *                           via {@link #writeStreamOffsets(long[])}.
+     */
+    public ByteArrayHeaderWriter(final long rawDataLength,
+                                 final MemorySegment outputData,
+                                 final ByteHuffmanCodeTable codeTable,
+                                 final int checkpointInterval,
+                                 final boolean checksums,
+                                 final boolean streams) {
+        
         checkRawDataLength(rawDataLength);
-        Objects.requireNonNull(outputData, "The output data array is null");
+        Objects.requireNonNull(outputData, "The output data segment is null");
         Objects.requireNonNull(codeTable, "The input code table is null");
         checkCodeTable(codeTable);
+        checkCheckpointInterval(checkpointInterval);
+        
+        this.rawDataLength      = rawDataLength;
+        this.outputData         = outputData;
+        this.codeSize           = codeTable.size();
+        this.dictionary         = null;
+        this.checksums          = checksums;
+        this.streams            = streams;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointCount    = Utils.countCheckpoints(rawDataLength, 
+                                                         checkpointInterval);
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            final CodeWord codeword = codeTable.get((byte) i);
+            codeLengths[i] = codeword == null ? NO_CODEWORD : codeword.length();
+        }
+    }
+    
+    /**
+     * Constructs this header writer for the data encoded with 
+     * {@code dictionary}. The header holds the dictionary ID in place of the
+     * code table.
+     * 
+     * @param rawDataLength      the length of the raw data.
+     * @param outputData         the output data.
+     * @param dictionary         the dictionary.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints. No checkpoint index is
+     *                           written if the raw data is not longer than 
+     *                           this.
+     */
+    public ByteArrayHeaderWriter(final long rawDataLength,
+                                 final MemorySegment outputData,
+                                 final ByteHuffmanDictionary dictionary,
+                                 final int checkpointInterval) {
+        
+        checkRawDataLength(rawDataLength);
+        Objects.requireNonNull(outputData, "The output data segment is null");
+        Objects.requireNonNull(dictionary, "The input dictionary is null");
+        checkCheckpointInterval(checkpointInterval);
         
-        this.rawDataLength = rawDataLength;
-        this.outputData    = outputData;
-        this.codeTable     = codeTable;
+        this.rawDataLength      = rawDataLength;
+        this.outputData         = outputData;
+        this.codeSize           = 0;
+        this.dictionary         = dictionary;
+        this.checksums          = false;
+        this.streams            = false;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointCount    = Utils.countCheckpoints(rawDataLength, 
+                                                         checkpointInterval);
     }
     
     public void write() {
-        writeCodeSize();
-        writeRawDataLength();
-        writeCodeTable();
+        byte flags = checkpointCount == 0 ? 0 : FLAG_CHECKPOINTS;
+        
+        if (dictionary != null) {
+            flags |= FLAG_DICTIONARY;
+        }
+        
+        if (checksums) {
+            flags |= FLAG_CHECKSUMS;
+        }
+        
+        if (streams) {
+            flags |= FLAG_STREAMS;
+        }
+        
+        writePrefix(outputData, rawDataLength, flags);
+        
+        if (dictionary == null) {
+            this.dataStartBitIndex = 
+                    writeCodeLengths(outputData, codeLengths, codeSize) 
+                            * Byte.SIZE;
+        } else {
+            outputData.set(Utils.INT_LE, CODE_SIZE_OFFSET, dictionary.getId());
+            
+            this.dataStartBitIndex = 
+                    (CODE_SIZE_OFFSET + BYTES_PER_DICTIONARY_ID) * Byte.SIZE;
+        }
+        
+        writeCheckpointInterval();
+        reserveChecksumTable();
+        reserveStreamTable();
+    }
+    
+    /**
+     * Writes the header having no checkpoint index for the canonical code 
+     * given by its codeword lengths. Unlike the instances of this class, this
+     * method allocates nothing.
+     * 
+     * @param outputData    the output data.
+     * @param rawDataLength the length of the raw data.
+     * @param codeLengths   the codeword lengths indexed by unsigned byte 
+     *                      values. The absent bytes have 
+     *                      {@link ByteHuffmanCodeLengthsBuilder#NO_CODEWORD}.
+     * @param codeSize      the number of codewords.
+     * @return the index of the bit at which the encoded data begins.
+     */
+    static long writeHeader(final MemorySegment outputData,
+                            final long rawDataLength,
+                            final int[] codeLengths,
+                            final int codeSize) {
+        
+        checkRawDataLength(rawDataLength);
+        writePrefix(outputData, rawDataLength, (byte) 0);
+        return writeCodeLengths(outputData, codeLengths, codeSize) * Byte.SIZE;
+    }
+    
+    /**
+     * Writes the whole container storing {@code rawData} as is.
+     * 
+     * @param outputData the output data.
+     * @param rawData    the raw data.
+     * @param checksums  whether to write the checksum of the raw data.
+     */
+    static void writeStoredContainer(final MemorySegment outputData,
+                                     final MemorySegment rawData,
+                                     final boolean checksums) {
+        
+        checkRawDataLength(rawData.byteSize());
+        
+        final long byteIndex = 
+                writeUnencodedHeader(
+                        outputData, 
+                        rawData.byteSize(), 
+                        FLAG_STORED,
+                        checksums,
+                        checksums ? Utils.computeChecksum(rawData) : 0);
+        
+        MemorySegment.copy(rawData, 
+                           0L, 
+                           outputData, 
+                           byteIndex, 
+                           rawData.byteSize());
+    }
+    
+    /**
+     * Writes the whole container of the raw data consisting of 
+     * {@code rawDataLength} copies of {@code value}.
+     * 
+     * @param outputData    the output data.
+     * @param rawDataLength the length of the raw data.
+     * @param value         the only byte of the raw data.
+     * @param checksums     whether to write the checksum of the raw data.
+     */
+    static void writeRunLengthContainer(final MemorySegment outputData,
+                                        final long rawDataLength,
+                                        final byte value,
+                                        final boolean checksums) {
+        
+        checkRawDataLength(rawDataLength);
+        
+        final long byteIndex = 
+                writeUnencodedHeader(
+                        outputData, 
+                        rawDataLength, 
+                        FLAG_RUN_LENGTH,
+                        checksums,
+                        checksums 
+                                ? Utils.computeRunChecksum(value, 
+                                                           rawDataLength) 
+                                : 0);
+        
+        outputData.set(ValueLayout.JAVA_BYTE, byteIndex, value);
+    }
+    
+    /**
+     * Writes the header of the container whose data is coded via tANS/FSE. 
+     * The header takes {@link Utils#countBytesInFseHeader(int, boolean)} 
+     * bytes, after which the bitstream begins.
+     * 
+     * @param outputData    the output data.
+     * @param rawDataLength the length of the raw data.
+     * @param table         the FSE table the data is coded with.
+     * @param checksums     whether to write the checksum of the raw data.
+     * @param checksum      the checksum of the raw data. Ignored if 
+     *                      {@code checksums} is {@code false}.
+     * @param bitLength     the length of the bitstream in bits.
+     */
+    static void writeFseHeader(final MemorySegment outputData,
+                               final long rawDataLength,
+                               final ByteFseTable table,
+                               final boolean checksums,
+                               final int checksum,
+                               final long bitLength) {
+        
+        checkRawDataLength(rawDataLength);
+        
+        writePrefix(outputData, 
+                    rawDataLength, 
+                    checksums ? (byte)(FLAG_FSE | FLAG_CHECKSUMS) : FLAG_FSE);
+        
+        final int symbolCount = table.getSymbolCount();
+        long byteIndex = Utils.getHeaderPrefixLength();
+        
+        outputData.set(ValueLayout.JAVA_BYTE, 
+                       byteIndex, 
+                       (byte) table.getTableLog());
+        
+        byteIndex += BYTES_PER_FSE_TABLE_LOG;
+        
+        outputData.set(ValueLayout.JAVA_BYTE, 
+                       byteIndex, 
+                       (byte) (symbolCount - 1));
+        
+        byteIndex += BYTES_PER_CANONICAL_CODE_SIZE;
+        
+        final boolean sparse = symbolCount <= SPARSE_CODE_TABLE_MAX_SIZE;
+        final int[] normalizedCounts = new int[CODE_TABLE_CAPACITY];
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            normalizedCounts[i] = table.getNormalizedCount((byte) i);
+        }
+        
+        if (!sparse) {
+            // Zero counts mark the absent bytes just like the missing 
+            // codewords do:
+            final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+            
+            for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+                codeLengths[i] = normalizedCounts[i] == 0 
+                               ? NO_CODEWORD 
+                               : normalizedCounts[i];
+            }
+            
+            writeSymbolBitmap(outputData, codeLengths, byteIndex);
+            byteIndex += BYTES_PER_SYMBOL_BITMAP;
+        }
+        
+        for (int intValue = 0; intValue < CODE_TABLE_CAPACITY; ++intValue) {
+            if (normalizedCounts[intValue] == 0) {
+                continue;
+            }
+            
+            if (sparse) {
+                outputData.set(ValueLayout.JAVA_BYTE, 
+                               byteIndex++, 
+                               (byte)(intValue & 0xff));
+            }
+            
+            outputData.set(Utils.SHORT_LE, 
+                           byteIndex, 
+                           (short) normalizedCounts[intValue]);
+            
+            byteIndex += BYTES_PER_FSE_NORMALIZED_COUNT;
+        }
+        
+        if (checksums) {
+            outputData.set(Utils.INT_LE, byteIndex, checksum);
+            byteIndex += BYTES_PER_CHECKSUM;
+        }
+        
+        outputData.set(Utils.LONG_LE, byteIndex, bitLength);
+    }
+    
+    /**
+     * Writes the prefix and the optional checksum of a stored or a run-length
+     * container.
+     * 
+     * @return the index of the byte following the header.
+     */
+    private static long writeUnencodedHeader(final MemorySegment outputData,
+                                             final long rawDataLength,
+                                             final byte flags,
+                                             final boolean checksums,
+                                             final int checksum) {
+        
+        if (!checksums) {
+            writePrefix(outputData, rawDataLength, flags);
+            return Utils.getHeaderPrefixLength();
+        }
+        
+        writePrefix(outputData, rawDataLength, (byte)(flags | FLAG_CHECKSUMS));
+        outputData.set(Utils.INT_LE, Utils.getHeaderPrefixLength(), checksum);
+        return Utils.getHeaderPrefixLength() + BYTES_PER_CHECKSUM;
     }
     
     public long getDataStartBitIndex() {
@@ -68,77 +528,251 @@ public final class ByteArrayHeaderWriter {
     }
     
     /**
-     * Writes the code size to the very first 32-bit integer of the compressed
-     * file.
+     * Returns the number of checkpoints to pass to 
+     * {@link #writeCheckpoints(long[])}.
+     * 
+     * @return the number of checkpoints, or zero if there is no checkpoint 
+     *         index.
+     */
+    public int getCheckpointCount() {
+        return checkpointCount;
+    }
+    
+    /**
+     * Returns the number of checksums to pass to 
+     * {@link #writeChecksums(int[])}.
+     * 
+     * @return the number of checksums, or zero if there is no checksum table.
+     */
+    public int getChecksumCount() {
+        return checksums ? Utils.countChecksums(checkpointCount) : 0;
+    }
+    
+    /**
+     * Writes the checksums recorded by 
+     * {@link ByteArrayCompressedDataWriter#write(long, long[], int[])}.
+     * 
+     * @param checksums the checksums of the checkpoint segments.
+     */
+    public void writeChecksums(final int[] checksums) {
+        if (checksums.length != getChecksumCount()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Expected %d checksums, received %d.",
+                            getChecksumCount(),
+                            checksums.length));
+        }
+        
+        long byteIndex = checksumsByteIndex;
+        
+        for (final int checksum : checksums) {
+            outputData.set(Utils.INT_LE, byteIndex, checksum);
+            byteIndex += BYTES_PER_CHECKSUM;
+        }
+    }
+    
+    /**
+     * Returns the number of stream bit offsets to pass to 
+     * {@link #writeStreamOffsets(long[])}.
+     * 
+     * @return the number of stream offsets, or zero if there is no stream 
+     *         table.
+     */
+    public int getStreamOffsetCount() {
+        return streams ? Utils.countStreamOffsets(checkpointCount) : 0;
+    }
+    
+    /**
+     * Writes the stream bit offsets recorded by 
+     * {@link ByteArrayCompressedDataWriter#write(long, long[], int[], long[])}.
+     * 
+     * @param streamBitOffsets the bit offsets of all the streams but the first
+     *                         one of each segment relative to the data start
+     *                         bit index.
+     */
+    public void writeStreamOffsets(final long[] streamBitOffsets) {
+        if (streamBitOffsets.length != getStreamOffsetCount()) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Expected %d stream offsets, received %d.",
+                            getStreamOffsetCount(),
+                            streamBitOffsets.length));
+        }
+        
+        long byteIndex = streamOffsetsByteIndex;
+        
+        for (final long streamBitOffset : streamBitOffsets) {
+            outputData.set(Utils.LONG_LE, byteIndex, streamBitOffset);
+            byteIndex += BYTES_PER_STREAM_OFFSET;
+        }
+    }
+    
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+    
+    /**
+     * Writes the checkpoint bit offsets recorded by 
+     * {@link ByteArrayCompressedDataWriter#write(long, long[])}.
+     * 
+     * @param checkpointBitOffsets the checkpoint bit offsets relative to the 
+     *                             data start bit index.
      */
-    private void writeCodeSize() {
-        final byte[] codeSizeBytes = 
-                ByteBuffer.allocate(BYTES_PER_CODE_SIZE)
-                          .order(ByteOrder.LITTLE_ENDIAN)
-                          .putInt(codeTable.size())
-                          .array();
+    public void writeCheckpoints(final long[] checkpointBitOffsets) {
+        if (checkpointBitOffsets.length != checkpointCount) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Expected %d checkpoints, received %d.",
+                            checkpointCount,
+                            checkpointBitOffsets.length));
+        }
         
-        System.arraycopy(codeSizeBytes, 
-                         0, 
-                         outputData, 
-                         0, 
-                         codeSizeBytes.length);
+        long byteIndex = checkpointOffsetsByteIndex;
+        
+        for (final long checkpointBitOffset : checkpointBitOffsets) {
+            outputData.set(Utils.LONG_LE, byteIndex, checkpointBitOffset);
+            byteIndex += BYTES_PER_CHECKPOINT_OFFSET;
+        }
     }
     
     /**
-     * Writes the length of the raw data file to the second 32-bit word in the 
-     * compressed file.
+     * Writes the format magic, the format version, the flags and the length 
+     * of the raw data as a 64-bit integer.
      */
-    private void writeRawDataLength() {
-        final byte[] rawDataLengthBytes = 
-                ByteBuffer.allocate(BYTES_PER_RAW_DATA_LENGTH)
-                          .order(ByteOrder.LITTLE_ENDIAN)
-                          .putInt(rawDataLength)
-                          .array();
+    private static void writePrefix(final MemorySegment outputData,
+                                    final long rawDataLength,
+                                    final byte flags) {
+        MemorySegment.copy(FORMAT_MAGIC, 
+                           0, 
+                           outputData, 
+                           ValueLayout.JAVA_BYTE, 
+                           0, 
+                           FORMAT_MAGIC.length);
+        
+        outputData.set(ValueLayout.JAVA_BYTE, 
+                       FORMAT_VERSION_OFFSET, 
+                       FORMAT_VERSION);
         
-        System.arraycopy(rawDataLengthBytes,
-                         0,
-                         outputData, 
-                         BYTES_PER_CODE_SIZE, 
-                         rawDataLengthBytes.length);
+        outputData.set(ValueLayout.JAVA_BYTE, FLAGS_OFFSET, flags);
+        outputData.set(Utils.LONG_LE, RAW_DATA_LENGTH_OFFSET, rawDataLength);
     }
     
     /**
-     * Writes the actual code table to the compressed file header to starting 
-     * from the 8th byte.
+     * Writes the code size minus one as a single byte followed by the 
+     * codeword lengths. Small codes are written as (byte, length) pairs; 
+     * larger codes as a bitmap of the present bytes followed by their 
+     * codeword lengths in the order of the byte values.
+     * 
+     * @return the index of the byte following the codeword lengths.
      */
-    private void writeCodeTable() {
-        int currentByteIndex = BYTES_PER_CODE_SIZE 
-                             + BYTES_PER_RAW_DATA_LENGTH;
+    private static long writeCodeLengths(final MemorySegment outputData,
+                                         final int[] codeLengths,
+                                         final int codeSize) {
+        outputData.set(ValueLayout.JAVA_BYTE, 
+                       CODE_SIZE_OFFSET, 
+                       (byte) (codeSize - 1));
+        
+        long currentByteIndex = CODE_SIZE_OFFSET 
+                              + BYTES_PER_CANONICAL_CODE_SIZE;
+        
+        final boolean sparse = codeSize <= SPARSE_CODE_TABLE_MAX_SIZE;
+        
+        if (!sparse) {
+            writeSymbolBitmap(outputData, codeLengths, currentByteIndex);
+            currentByteIndex += BYTES_PER_SYMBOL_BITMAP;
+        }
         
         for (int intValue = 0; 
                  intValue < CODE_TABLE_CAPACITY; 
                  intValue++) {
         
-            // Extract the least significant byte from 'intValue':
-            final byte value = (byte)(intValue & 0xff);
-            final CodeWord codeword = codeTable.get(value);
+            if (codeLengths[intValue] == NO_CODEWORD) {
+                continue;
+            }
             
-            if (codeword != null) {
-                outputData[currentByteIndex++] = value;
-                outputData[currentByteIndex++] = (byte) codeword.length();
-                
-                final byte[] codewordBytes = codeword.toByteArray();
-
-                System.arraycopy(codewordBytes, 
-                                 0, 
-                                 outputData, 
-                                 currentByteIndex, 
-                                 codewordBytes.length);
+            if (sparse) {
+                // Extract the least significant byte from 'intValue':
+                outputData.set(ValueLayout.JAVA_BYTE, 
+                               currentByteIndex++, 
+                               (byte)(intValue & 0xff));
+            }
 
-                currentByteIndex += BYTES_PER_CODEWORD_MAX;
+            outputData.set(ValueLayout.JAVA_BYTE, 
+                           currentByteIndex++, 
+                           (byte) codeLengths[intValue]);
+        }
+        
+        return currentByteIndex;
+    }
+    
+    /**
+     * Writes the bitmap whose bit {@code i} is set if and only if the byte 
+     * {@code i} has a codeword.
+     * 
+     * @param byteIndex the index of the first byte of the bitmap.
+     */
+    private static void writeSymbolBitmap(final MemorySegment outputData,
+                                          final int[] codeLengths,
+                                          final long byteIndex) {
+        for (int i = 0; i < BYTES_PER_SYMBOL_BITMAP; ++i) {
+            int bitmapByte = 0;
+            
+            for (int bit = 0; bit < Byte.SIZE; ++bit) {
+                if (codeLengths[i * Byte.SIZE + bit] != NO_CODEWORD) {
+                    bitmapByte |= 1 << bit;
+                }
             }
+            
+            outputData.set(ValueLayout.JAVA_BYTE, 
+                           byteIndex + i, 
+                           (byte) bitmapByte);
+        }
+    }
+    
+    /**
+     * Writes the checkpoint interval and reserves the room for the checkpoint
+     * bit offsets right after the code table.
+     */
+    private void writeCheckpointInterval() {
+        if (checkpointCount == 0) {
+            return;
         }
         
+        long currentByteIndex = dataStartBitIndex / Byte.SIZE;
+        
+        outputData.set(Utils.INT_LE, currentByteIndex, checkpointInterval);
+        
+        currentByteIndex += BYTES_PER_CHECKPOINT_INTERVAL;
+        checkpointOffsetsByteIndex = currentByteIndex;
+        currentByteIndex += (long) checkpointCount 
+                                 * BYTES_PER_CHECKPOINT_OFFSET;
+        
         this.dataStartBitIndex = currentByteIndex * Byte.SIZE;
     }
     
-    private static void checkRawDataLength(final int rawDataLength) {
+    private void reserveChecksumTable() {
+        if (!checksums) {
+            return;
+        }
+        
+        checksumsByteIndex = dataStartBitIndex / Byte.SIZE;
+        
+        this.dataStartBitIndex += 
+                Utils.countBytesInChecksumTable(checkpointCount) * Byte.SIZE;
+    }
+    
+    private void reserveStreamTable() {
+        if (!streams) {
+            return;
+        }
+        
+        streamOffsetsByteIndex = dataStartBitIndex / Byte.SIZE;
+        
+        this.dataStartBitIndex += 
+                Utils.countBytesInStreamTable(checkpointCount) * Byte.SIZE;
+    }
+    
+    private static void checkRawDataLength(final long rawDataLength) {
         if (rawDataLength < MINIMUM_RAW_DATA_LENGTH) {
             throw new TooShortRawDataLengthException(
                     String.format(
@@ -149,9 +783,27 @@ public final class ByteArrayHeaderWriter {
         }
     }
     
+    private static void checkCheckpointInterval(
+            final int checkpointInterval) {
+        
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException(
+                    String.format("checkpointInterval(%d) < 1", 
+                                  checkpointInterval));
+        }
+    }
+    
     private static void checkCodeTable(final ByteHuffmanCodeTable codeTable) {
         if (codeTable.isEmpty()) {
             throw new EmptyCodeTableException();
         }
+        
+        // Only the codeword lengths are written, so the reader rebuilds the 
+        // canonical code:
+        if (!codeTable.equals(
+                ByteHuffmanCodeTableBuilder.buildCanonicalCode(codeTable))) {
+            throw new IllegalArgumentException(
+                    "The input code table is not canonical");
+        }
     }
 }
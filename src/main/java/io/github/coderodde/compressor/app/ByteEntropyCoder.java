@@ -0,0 +1,96 @@
+package io.github.coderodde.compressor.app;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This interface defines the entropy coders compressing byte-wise data into 
+ * a container of the current format. The coder is recorded in the header 
+ * flags, so that {@link HuffmanByteDecompressor} decompresses the output of 
+ * any coder without being told which one produced it.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public interface ByteEntropyCoder {
+    
+    /**
+     * The Huffman coder.
+     */
+    ByteEntropyCoder HUFFMAN = new HuffmanEntropyCoder();
+    
+    /**
+     * The tANS/FSE coder.
+     */
+    ByteEntropyCoder FSE = new FseEntropyCoder();
+    
+    /**
+     * Returns the name of this coder as accepted by {@link #forName(String)}.
+     * 
+     * @return the name of this coder.
+     */
+    String getName();
+    
+    /**
+     * Compresses the {@code rawData} {@code byte}-array recording, if 
+     * {@code checksums} is set, the CRC32C checksums of the raw data.
+     * 
+     * @param rawData   the non-empty raw data to compress.
+     * @param checksums whether to record the checksums.
+     * @return the full binary {@code byte}-array containing all the data 
+     *         needed to decompress the compressed file.
+     */
+    byte[] compress(byte[] rawData, boolean checksums);
+    
+    /**
+     * Compresses the {@code rawData} {@code byte}-array.
+     * 
+     * @param rawData the non-empty raw data to compress.
+     * @return the full binary {@code byte}-array containing all the data 
+     *         needed to decompress the compressed file.
+     */
+    default byte[] compress(final byte[] rawData) {
+        return compress(rawData, false);
+    }
+    
+    /**
+     * Decompresses the {@code compressedData} {@code byte}-array produced by 
+     * any coder.
+     * 
+     * @param compressedData the compressed data.
+     * @return the raw data.
+     */
+    default byte[] decompress(final byte[] compressedData) {
+        return HuffmanByteDecompressor.decompress(compressedData);
+    }
+    
+    /**
+     * Returns all the coders.
+     * 
+     * @return the list of the coders.
+     */
+    static List<ByteEntropyCoder> getCoders() {
+        return List.of(HUFFMAN, FSE);
+    }
+    
+    /**
+     * Returns the coder named {@code name}.
+     * 
+     * @param name the name of the coder.
+     * @return the coder.
+     * @throws IllegalArgumentException if there is no such coder.
+     */
+    static ByteEntropyCoder forName(final String name) {
+        Objects.requireNonNull(name, "The input coder name is null");
+        
+        for (final ByteEntropyCoder coder : getCoders()) {
+            if (coder.getName().equals(name)) {
+                return coder;
+            }
+        }
+        
+        throw new IllegalArgumentException(
+                String.format("Unknown codec: %s.", name));
+    }
+}
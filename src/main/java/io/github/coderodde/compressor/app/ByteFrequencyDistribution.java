@@ -46,6 +46,16 @@ public final class ByteFrequencyDistribution {
         ++frequencies[Byte.toUnsignedInt(value)];
     }
     
+    /**
+     * Adds {@code frequency} to the frequency of the byte {@code value}.
+     * 
+     * @param value     the byte value.
+     * @param frequency the frequency to add.
+     */
+    public void addFrequency(final byte value, final long frequency) {
+        frequencies[Byte.toUnsignedInt(value)] += frequency;
+    }
+    
     public long getFrequency(final byte value) {
         return frequencies[Byte.toUnsignedInt(value)];
     }
@@ -0,0 +1,528 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import static io.github.coderodde.compressor.app.Configuration.FSE_MAXIMUM_TABLE_LOG;
+import static io.github.coderodde.compressor.app.Configuration.FSE_MINIMUM_TABLE_LOG;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements the state tables of a table-based asymmetric numeral
+ * system (tANS), also known as Finite State Entropy (FSE). The symbol
+ * frequencies are normalized into counts summing up to the size of the state
+ * table, {@code 2^tableLog}, and each symbol occupies as many states as its
+ * normalized count. Unlike a Huffman code, a symbol may thus cost a
+ * fractional number of bits, which approaches the entropy of skewed data.
+ * <p>
+ * The encoder processes the raw data backwards and appends the low bits of
+ * its state to the bitstream at each symbol; the final state comes last. The
+ * decoder starts from the final state and consumes the bitstream backwards, so
+ * that it produces the raw data in order. Each decoding step is a single
+ * indexed load followed by reading at most {@code tableLog} bits.
+ * <p>
+ * The instances of this class are immutable, so that a single table may be
+ * shared by any number of threads.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class ByteFseTable {
+
+    /**
+     * The base-2 logarithm of the number of states.
+     */
+    private final int tableLog;
+
+    /**
+     * The normalized counts indexed by unsigned byte values. They sum up to
+     * {@code 2^tableLog}.
+     */
+    private final int[] normalizedCounts;
+
+    /**
+     * The encoder states, grouped by symbol, in the order of the spread
+     * symbols. Each entry is {@code 2^tableLog} plus a decoder state.
+     */
+    private final int[] encodingStates;
+
+    /**
+     * Added to an encoder state of a symbol, yields the number of bits to
+     * flush in the bits above the 16 least significant ones.
+     */
+    private final int[] deltaBitCounts = new int[CODE_TABLE_CAPACITY];
+
+    /**
+     * The offset of the encoder states of a symbol in {@link #encodingStates}
+     * minus its normalized count.
+     */
+    private final int[] deltaStates = new int[CODE_TABLE_CAPACITY];
+
+    /**
+     * The symbols indexed by decoder states.
+     */
+    private final byte[] decodingSymbols;
+
+    /**
+     * The numbers of bits to read after decoding a symbol, indexed by decoder
+     * states.
+     */
+    private final byte[] decodingBitCounts;
+
+    /**
+     * The bases of the next decoder states indexed by decoder states. The
+     * bits read are added to the base.
+     */
+    private final int[] decodingStateBases;
+
+    /**
+     * Constructs this table.
+     *
+     * @param normalizedCounts the normalized counts indexed by unsigned byte
+     *                         values summing up to {@code 2^tableLog}.
+     * @param tableLog         the base-2 logarithm of the number of states.
+     */
+    public ByteFseTable(final int[] normalizedCounts, final int tableLog) {
+        Objects.requireNonNull(normalizedCounts,
+                               "The input normalized counts are null");
+
+        checkTableLog(tableLog);
+        checkNormalizedCounts(normalizedCounts, tableLog);
+
+        final int tableSize = 1 << tableLog;
+
+        this.tableLog           = tableLog;
+        this.normalizedCounts   = normalizedCounts.clone();
+        this.encodingStates     = new int[tableSize];
+        this.decodingSymbols    = new byte[tableSize];
+        this.decodingBitCounts  = new byte[tableSize];
+        this.decodingStateBases = new int[tableSize];
+
+        final byte[] spreadSymbols = spreadSymbols();
+
+        buildEncodingTable(spreadSymbols);
+        buildDecodingTable(spreadSymbols);
+    }
+
+    /**
+     * Builds the table for {@code rawDataLength} bytes of the given
+     * frequencies. The table is the larger the more data and the more
+     * distinct bytes there are.
+     *
+     * @param frequencyDistribution the byte frequencies.
+     * @param rawDataLength         the total number of bytes.
+     * @return the table.
+     */
+    public static ByteFseTable
+        build(final ByteFrequencyDistribution frequencyDistribution,
+              final long rawDataLength) {
+
+        Objects.requireNonNull(frequencyDistribution,
+                               "The input frequency distribution is null");
+
+        if (frequencyDistribution.isEmpty()) {
+            throw new EmptyCodeTableException();
+        }
+
+        final int dataTableLog =
+                Long.SIZE - Long.numberOfLeadingZeros(rawDataLength - 1);
+
+        // Each symbol needs a state, and some room to spare:
+        final int symbolTableLog =
+                Integer.SIZE
+                - Integer.numberOfLeadingZeros(frequencyDistribution.size())
+                + 1;
+
+        final int tableLog =
+                Math.max(FSE_MINIMUM_TABLE_LOG,
+                         Math.max(symbolTableLog,
+                                  Math.min(FSE_MAXIMUM_TABLE_LOG,
+                                           dataTableLog)));
+
+        return new ByteFseTable(normalize(frequencyDistribution,
+                                          rawDataLength,
+                                          tableLog),
+                                tableLog);
+    }
+
+    public int getTableLog() {
+        return tableLog;
+    }
+
+    /**
+     * Returns the normalized count of {@code value}.
+     *
+     * @param value the byte value.
+     * @return the normalized count, or zero if the byte does not occur.
+     */
+    public int getNormalizedCount(final byte value) {
+        return normalizedCounts[Byte.toUnsignedInt(value)];
+    }
+
+    /**
+     * Returns the number of bytes having a non-zero normalized count.
+     *
+     * @return the number of symbols.
+     */
+    public int getSymbolCount() {
+        int symbolCount = 0;
+
+        for (final int normalizedCount : normalizedCounts) {
+            if (normalizedCount != 0) {
+                ++symbolCount;
+            }
+        }
+
+        return symbolCount;
+    }
+
+    /**
+     * Returns the upper bound of the length of the bitstream encoding
+     * {@code rawDataLength} bytes.
+     *
+     * @param rawDataLength the number of the bytes to encode.
+     * @return the maximum number of bytes in the bitstream.
+     */
+    public long getMaximumEncodedLength(final long rawDataLength) {
+        return ((rawDataLength + 1) * tableLog + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    /**
+     * Encodes {@code rawData} into the bitstream starting at the byte
+     * {@code byteIndex} of {@code outputData}. The output must have room for
+     * {@link #getMaximumEncodedLength(long)} bytes.
+     *
+     * @param rawData    the raw data to encode.
+     * @param outputData the output data.
+     * @param byteIndex  the index of the first byte of the bitstream.
+     * @return the length of the bitstream in bits.
+     */
+    public long encode(final MemorySegment rawData,
+                       final MemorySegment outputData,
+                       final long byteIndex) {
+
+        long outputByteIndex = byteIndex;
+        long bitBuffer = 0L;
+        int bitCount = 0;
+
+        int state = 1 << tableLog;
+
+        for (long i = rawData.byteSize() - 1; i >= 0; --i) {
+            final int value =
+                    Byte.toUnsignedInt(rawData.get(ValueLayout.JAVA_BYTE, i));
+
+            final int stateBitCount = (state + deltaBitCounts[value]) >>> 16;
+
+            bitBuffer |= (long) (state & ((1 << stateBitCount) - 1))
+                         << bitCount;
+
+            bitCount += stateBitCount;
+            state = encodingStates[(state >>> stateBitCount)
+                                   + deltaStates[value]];
+
+            if (bitCount >= Integer.SIZE) {
+                outputData.set(Utils.INT_LE, outputByteIndex, (int) bitBuffer);
+                outputByteIndex += Integer.BYTES;
+                bitBuffer >>>= Integer.SIZE;
+                bitCount -= Integer.SIZE;
+            }
+        }
+
+        // The final state is read first by the decoder:
+        bitBuffer |= (long) (state - (1 << tableLog)) << bitCount;
+        bitCount += tableLog;
+
+        final long bitLength =
+                (outputByteIndex - byteIndex) * Byte.SIZE + bitCount;
+
+        while (bitCount > 0) {
+            outputData.set(ValueLayout.JAVA_BYTE,
+                           outputByteIndex++,
+                           (byte) bitBuffer);
+            bitBuffer >>>= Byte.SIZE;
+            bitCount -= Byte.SIZE;
+        }
+
+        return bitLength;
+    }
+
+    /**
+     * Decodes the bitstream of {@code bitLength} bits starting at the byte
+     * {@code byteIndex} of {@code compressedData} into {@code rawData}.
+     *
+     * @param compressedData the compressed data.
+     * @param byteIndex      the index of the first byte of the bitstream.
+     * @param bitLength      the length of the bitstream in bits.
+     * @param rawData        the segment receiving the raw data.
+     */
+    public void decode(final MemorySegment compressedData,
+                       final long byteIndex,
+                       final long bitLength,
+                       final MemorySegment rawData) {
+
+        final MemorySegment bitstream =
+                compressedData.asSlice(byteIndex,
+                                       (bitLength + Byte.SIZE - 1)
+                                               / Byte.SIZE);
+
+        long bitIndex = bitLength - tableLog;
+
+        if (bitIndex < 0L) {
+            throw new IllegalArgumentException(
+                    String.format("Truncated bitstream of %d bits.",
+                                  bitLength));
+        }
+
+        int state = (int) readBits(bitstream, bitIndex, tableLog);
+
+        for (long i = 0; i != rawData.byteSize(); ++i) {
+            final int stateBitCount = decodingBitCounts[state];
+
+            rawData.set(ValueLayout.JAVA_BYTE, i, decodingSymbols[state]);
+
+            bitIndex -= stateBitCount;
+
+            if (bitIndex < 0L) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The bitstream of %d bits ended at the raw " +
+                                "data byte %d.",
+                                bitLength,
+                                i));
+            }
+
+            state = decodingStateBases[state]
+                  + (int) readBits(bitstream, bitIndex, stateBitCount);
+        }
+    }
+
+    /**
+     * Normalizes the frequencies into counts summing up to
+     * {@code 2^tableLog}. Each present byte gets a count of at least one; the
+     * rounding error is charged to the most frequent bytes, whose relative
+     * precision suffers the least.
+     */
+    static int[] normalize(final ByteFrequencyDistribution frequencyDistribution,
+                           final long rawDataLength,
+                           final int tableLog) {
+
+        final int tableSize = 1 << tableLog;
+        final int[] normalizedCounts = new int[CODE_TABLE_CAPACITY];
+        int total = 0;
+
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final long frequency =
+                    frequencyDistribution.getFrequency((byte) value);
+
+            if (frequency == 0L) {
+                continue;
+            }
+
+            normalizedCounts[value] =
+                    (int) Math.max(1L,
+                                   Math.round((double) frequency * tableSize
+                                              / rawDataLength));
+
+            total += normalizedCounts[value];
+        }
+
+        while (total != tableSize) {
+            final int largestValue = indexOfMaximum(normalizedCounts);
+
+            if (total < tableSize) {
+                normalizedCounts[largestValue] += tableSize - total;
+                total = tableSize;
+            } else {
+                final int excess =
+                        Math.min(total - tableSize,
+                                 normalizedCounts[largestValue] / 2);
+
+                normalizedCounts[largestValue] -= excess;
+                total -= excess;
+            }
+        }
+
+        return normalizedCounts;
+    }
+
+    private static int indexOfMaximum(final int[] array) {
+        int index = 0;
+
+        for (int i = 1; i < array.length; ++i) {
+            if (array[i] > array[index]) {
+                index = i;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Spreads the symbols over the states with an odd step, so that the
+     * states of each symbol are scattered across the whole table.
+     *
+     * @return the symbols indexed by states.
+     */
+    private byte[] spreadSymbols() {
+        final int tableSize = 1 << tableLog;
+        final int mask = tableSize - 1;
+        final int step = (tableSize >>> 1) + (tableSize >>> 3) + 3;
+        final byte[] spreadSymbols = new byte[tableSize];
+        int position = 0;
+
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            for (int i = 0; i < normalizedCounts[value]; ++i) {
+                spreadSymbols[position] = (byte) value;
+                position = (position + step) & mask;
+            }
+        }
+
+        return spreadSymbols;
+    }
+
+    private void buildEncodingTable(final byte[] spreadSymbols) {
+        final int tableSize = 1 << tableLog;
+        final int[] cumulativeCounts = new int[CODE_TABLE_CAPACITY];
+        int total = 0;
+
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final int normalizedCount = normalizedCounts[value];
+            cumulativeCounts[value] = total;
+
+            if (normalizedCount == 0) {
+                continue;
+            }
+
+            final int maximumBitCount =
+                    tableLog - Math.max(0,
+                                        Integer.SIZE - 1 - Integer
+                                                .numberOfLeadingZeros(
+                                                        normalizedCount - 1));
+
+            deltaBitCounts[value] = (maximumBitCount << 16)
+                                  - (normalizedCount << maximumBitCount);
+
+            deltaStates[value] = total - normalizedCount;
+            total += normalizedCount;
+        }
+
+        for (int state = 0; state < tableSize; ++state) {
+            final int value = Byte.toUnsignedInt(spreadSymbols[state]);
+            encodingStates[cumulativeCounts[value]++] = tableSize + state;
+        }
+    }
+
+    private void buildDecodingTable(final byte[] spreadSymbols) {
+        final int tableSize = 1 << tableLog;
+        final int[] nextStates = normalizedCounts.clone();
+
+        for (int state = 0; state < tableSize; ++state) {
+            final byte symbol = spreadSymbols[state];
+            final int nextState = nextStates[Byte.toUnsignedInt(symbol)]++;
+            final int bitCount =
+                    tableLog
+                    - (Integer.SIZE - 1
+                       - Integer.numberOfLeadingZeros(nextState));
+
+            decodingSymbols[state]    = symbol;
+            decodingBitCounts[state]  = (byte) bitCount;
+            decodingStateBases[state] = (nextState << bitCount) - tableSize;
+        }
+    }
+
+    /**
+     * Returns the {@code bitCount} bits of the bitstream starting at the bit
+     * {@code bitIndex}, the first one being the least significant.
+     */
+    private static long readBits(final MemorySegment bitstream,
+                                 final long bitIndex,
+                                 final int bitCount) {
+
+        final long byteIndex = bitIndex >>> 3;
+        final int bitOffset  = (int) (bitIndex & 7);
+        final long length    = bitstream.byteSize();
+        long word;
+
+        if (byteIndex <= length - Long.BYTES) {
+            word = bitstream.get(Utils.LONG_LE, byteIndex);
+        } else {
+            word = 0L;
+
+            for (int i = 0; i < Long.BYTES && byteIndex + i < length; ++i) {
+                word |= Byte.toUnsignedLong(
+                            bitstream.get(ValueLayout.JAVA_BYTE,
+                                          byteIndex + i))
+                        << (i * Byte.SIZE);
+            }
+        }
+
+        return (word >>> bitOffset) & ((1L << bitCount) - 1);
+    }
+
+    private static void checkTableLog(final int tableLog) {
+        if (tableLog < FSE_MINIMUM_TABLE_LOG
+                || tableLog > FSE_MAXIMUM_TABLE_LOG) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The table log %d is out of range [%d, %d].",
+                            tableLog,
+                            FSE_MINIMUM_TABLE_LOG,
+                            FSE_MAXIMUM_TABLE_LOG));
+        }
+    }
+
+    private static void checkNormalizedCounts(final int[] normalizedCounts,
+                                              final int tableLog) {
+
+        if (normalizedCounts.length != CODE_TABLE_CAPACITY) {
+            throw new IllegalArgumentException(
+                    String.format("Expected %d normalized counts, received %d.",
+                                  CODE_TABLE_CAPACITY,
+                                  normalizedCounts.length));
+        }
+
+        long total = 0L;
+
+        for (final int normalizedCount : normalizedCounts) {
+            if (normalizedCount < 0) {
+                throw new IllegalArgumentException(
+                        String.format("Negative normalized count: %d.",
+                                      normalizedCount));
+            }
+
+            total += normalizedCount;
+        }
+
+        if (total != 1L << tableLog) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The normalized counts sum up to %d instead of " +
+                            "%d.",
+                            total,
+                            1 << tableLog));
+        }
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof ByteFseTable)) {
+            return false;
+        }
+
+        final ByteFseTable other = (ByteFseTable) object;
+
+        return tableLog == other.tableLog
+            && Arrays.equals(normalizedCounts, other.normalizedCounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * tableLog + Arrays.hashCode(normalizedCounts);
+    }
+}
@@ -0,0 +1,319 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import java.util.Arrays;
+
+/**
+ * This class computes Huffman codeword lengths and canonical codewords on 
+ * primitive arrays only. The codeword lengths are computed via the in-place 
+ * algorithm of Moffat and Katajainen over the frequencies sorted in 
+ * ascending order; if they exceed the length limit, the package-merge 
+ * algorithm is used instead. An instance keeps its scratch arrays so that it
+ * may be reused without allocating.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+final class ByteHuffmanCodeLengthsBuilder {
+    
+    /**
+     * Marks the bytes having no codeword in the codeword length arrays.
+     */
+    static final int NO_CODEWORD = -1;
+    
+    /**
+     * The number of bits the byte value occupies in a sort key. The rest of 
+     * the key is the frequency.
+     */
+    private static final int SORT_KEY_SYMBOL_BITS = Byte.SIZE;
+    
+    /**
+     * The sort keys of the present bytes; each holds the frequency in its 
+     * upper bits and the byte value in its lowest byte.
+     */
+    private final long[] sortKeys = new long[CODE_TABLE_CAPACITY];
+    
+    /**
+     * The in-place working array of the Moffat-Katajainen algorithm.
+     */
+    private final long[] weights = new long[CODE_TABLE_CAPACITY];
+    
+    /**
+     * The numbers of the codewords of each length.
+     */
+    private final int[] lengthCounts = new int[Long.SIZE];
+    
+    /**
+     * The next canonical codeword of each length.
+     */
+    private final long[] nextCodes = new long[Long.SIZE];
+    
+    /**
+     * Computes the codeword lengths of the bytes whose frequencies are given 
+     * in {@code frequencies}. The bytes with zero frequency get 
+     * {@link #NO_CODEWORD}. A single present byte gets the empty codeword.
+     * 
+     * @param frequencies       the frequencies indexed by unsigned bytes.
+     * @param maximumCodeLength the maximum codeword length.
+     * @param codeLengths       the array receiving the codeword lengths 
+     *                          indexed by unsigned bytes.
+     * @return the number of codewords.
+     */
+    int buildCodeLengths(final long[] frequencies, 
+                         final int maximumCodeLength,
+                         final int[] codeLengths) {
+        
+        int codeSize = 0;
+        
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final long frequency = frequencies[value];
+            codeLengths[value] = NO_CODEWORD;
+            
+            if (frequency == 0L) {
+                continue;
+            }
+            
+            if ((frequency >>> (Long.SIZE - 1 - SORT_KEY_SYMBOL_BITS)) != 0L) {
+                throw new IllegalArgumentException(
+                        String.format("The frequency of byte %d is too large: "
+                                      + "%d.", 
+                                      value, 
+                                      frequency));
+            }
+            
+            sortKeys[codeSize++] = (frequency << SORT_KEY_SYMBOL_BITS) | value;
+        }
+        
+        if (codeSize == 1) {
+            codeLengths[(int) (sortKeys[0] & 0xff)] = 0;
+            return codeSize;
+        }
+        
+        Arrays.sort(sortKeys, 0, codeSize);
+        
+        for (int i = 0; i < codeSize; ++i) {
+            weights[i] = sortKeys[i] >>> SORT_KEY_SYMBOL_BITS;
+        }
+        
+        computeLengthsInPlace(weights, codeSize);
+        
+        // The lengths are non-increasing, so the lightest byte has the 
+        // longest codeword:
+        if (weights[0] > maximumCodeLength) {
+            for (int i = 0; i < codeSize; ++i) {
+                weights[i] = sortKeys[i] >>> SORT_KEY_SYMBOL_BITS;
+            }
+            
+            computeLengthLimitedLengths(weights, codeSize, maximumCodeLength);
+        }
+        
+        for (int i = 0; i < codeSize; ++i) {
+            codeLengths[(int) (sortKeys[i] & 0xff)] = (int) weights[i];
+        }
+        
+        return codeSize;
+    }
+    
+    /**
+     * Computes the canonical codewords of the given codeword lengths. The 
+     * codeword of the byte {@code i} is stored in the {@code codeLengths[i]}
+     * least significant bits of {@code codes[i]}; its most significant bit is
+     * the first bit of the codeword.
+     * 
+     * @param codeLengths the codeword lengths indexed by unsigned bytes.
+     * @param codes       the array receiving the codewords.
+     */
+    void buildCanonicalCodes(final int[] codeLengths, final long[] codes) {
+        Arrays.fill(lengthCounts, 0);
+        
+        int codeSize = 0;
+        int maximumLength = 0;
+        
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final int length = codeLengths[value];
+            
+            if (length == NO_CODEWORD) {
+                continue;
+            }
+            
+            if (length < 0 || length >= Long.SIZE) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "The codeword length %d is out of range. " + 
+                                "Must be less than %d.",
+                                length,
+                                Long.SIZE));
+            }
+            
+            ++lengthCounts[length];
+            ++codeSize;
+            maximumLength = Math.max(maximumLength, length);
+        }
+        
+        if (lengthCounts[0] != 0 && codeSize != 1) {
+            throw new IllegalArgumentException(
+                    "Only a single-byte code may have an empty codeword");
+        }
+        
+        long code = 0L;
+        
+        for (int length = 1; length <= maximumLength; ++length) {
+            code = (code + (length == 1 ? 0 : lengthCounts[length - 1])) << 1;
+            nextCodes[length] = code;
+        }
+        
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final int length = codeLengths[value];
+            
+            if (length <= 0) {
+                codes[value] = 0L;
+                continue;
+            }
+            
+            final long bits = nextCodes[length]++;
+            
+            if ((bits >>> length) != 0L) {
+                throw new IllegalArgumentException(
+                        "The codeword lengths do not form a prefix code");
+            }
+            
+            codes[value] = bits;
+        }
+    }
+    
+    /**
+     * Replaces the first {@code n} weights, sorted in ascending order, with 
+     * the codeword lengths of the corresponding symbols. This is the 
+     * algorithm of Moffat and Katajainen (1995); it needs at least two 
+     * weights.
+     */
+    private static void computeLengthsInPlace(final long[] a, final int n) {
+        // Phase 1: build the tree storing the parent pointers of the internal
+        // nodes in place of the consumed weights.
+        a[0] += a[1];
+        int root = 0;
+        int leaf = 2;
+        
+        for (int next = 1; next < n - 1; ++next) {
+            if (leaf >= n || a[root] < a[leaf]) {
+                a[next] = a[root];
+                a[root++] = next;
+            } else {
+                a[next] = a[leaf++];
+            }
+            
+            if (leaf >= n || (root < next && a[root] < a[leaf])) {
+                a[next] += a[root];
+                a[root++] = next;
+            } else {
+                a[next] += a[leaf++];
+            }
+        }
+        
+        // Phase 2: convert the parent pointers into internal node depths.
+        a[n - 2] = 0L;
+        
+        for (int next = n - 3; next >= 0; --next) {
+            a[next] = a[(int) a[next]] + 1L;
+        }
+        
+        // Phase 3: convert the internal node depths into leaf depths.
+        int available = 1;
+        int used = 0;
+        long depth = 0L;
+        root = n - 2;
+        int next = n - 1;
+        
+        while (available > 0) {
+            while (root >= 0 && a[root] == depth) {
+                ++used;
+                --root;
+            }
+            
+            while (available > used) {
+                a[next--] = depth;
+                --available;
+            }
+            
+            available = 2 * used;
+            ++depth;
+            used = 0;
+        }
+    }
+    
+    /**
+     * Replaces the first {@code n} weights, sorted in ascending order, with 
+     * the optimal codeword lengths not exceeding {@code maximumCodeLength} 
+     * via the package-merge algorithm. The list of the level 1 is the leaves;
+     * the list of each next level is the leaves merged with the 
+     * <i>packages</i> formed by pairing the consecutive items of the previous
+     * list. Taking the first {@code 2n - 2} items of the last list, the 
+     * codeword length of a symbol is the number of the taken items 
+     * containing it.
+     */
+    private static void computeLengthLimitedLengths(
+            final long[] leafWeights,
+            final int n,
+            final int maximumCodeLength) {
+        
+        // isPackage[level][i] tells whether the i-th item of the list of the
+        // level 'level + 1' is a package:
+        final boolean[][] isPackage = new boolean[maximumCodeLength][];
+        long[] weights = Arrays.copyOf(leafWeights, n);
+        isPackage[0] = new boolean[n];
+        
+        for (int level = 1; level < maximumCodeLength; ++level) {
+            final int packageCount = weights.length / 2;
+            final long[] mergedWeights = new long[n + packageCount];
+            final boolean[] mergedIsPackage = new boolean[n + packageCount];
+            
+            int leafIndex = 0;
+            int packageIndex = 0;
+            
+            for (int i = 0; i < mergedWeights.length; ++i) {
+                final long packageWeight = 
+                        packageIndex < packageCount ? 
+                        weights[2 * packageIndex] + 
+                        weights[2 * packageIndex + 1] :
+                        Long.MAX_VALUE;
+                
+                if (leafIndex < n && leafWeights[leafIndex] <= packageWeight) {
+                    mergedWeights[i] = leafWeights[leafIndex++];
+                } else {
+                    mergedWeights[i] = packageWeight;
+                    mergedIsPackage[i] = true;
+                    packageIndex++;
+                }
+            }
+            
+            weights = mergedWeights;
+            isPackage[level] = mergedIsPackage;
+        }
+        
+        final int[] lengths = new int[n];
+        int takenItemCount = 2 * n - 2;
+        
+        for (int level = maximumCodeLength - 1; level >= 0; --level) {
+            int takenPackageCount = 0;
+            
+            for (int i = 0; i < takenItemCount; ++i) {
+                if (isPackage[level][i]) {
+                    takenPackageCount++;
+                }
+            }
+            
+            // The leaves are merged in sorted order, so the taken leaves are 
+            // the lightest ones:
+            for (int i = 0; i < takenItemCount - takenPackageCount; ++i) {
+                lengths[i]++;
+            }
+            
+            takenItemCount = 2 * takenPackageCount;
+        }
+        
+        for (int i = 0; i < n; ++i) {
+            leafWeights[i] = lengths[i];
+        }
+    }
+}
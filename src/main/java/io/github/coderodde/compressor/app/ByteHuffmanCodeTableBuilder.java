@@ -1,17 +1,20 @@
 package io.github.coderodde.compressor.app;
 
+import static io.github.coderodde.compressor.app.ByteHuffmanCodeLengthsBuilder.NO_CODEWORD;
+import static io.github.coderodde.compressor.app.ByteHuffmanEncodingTable.MAXIMUM_CODEWORD_LENGTH;
 import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
-import java.util.HashSet;
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_MAXIMUM_CODE_LENGTH;
 import java.util.Objects;
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.Set;
 
 /**
  * This class implements the Huffman code builder over weight distributions.
+ * The resultant codes are <i>canonical</i>: the codewords of the same length 
+ * are consecutive binary numbers in the order of the byte values, and all the
+ * shorter codewords precede the longer ones. Hence, a canonical code is fully
+ * determined by its codeword lengths.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 12, 2025)
  */
 public final class ByteHuffmanCodeTableBuilder {
@@ -20,9 +23,35 @@ public final class ByteHuffmanCodeTableBuilder {
         // Hide constructor.
     }
     
+    /**
+     * Builds the canonical Huffman code whose codewords are at most 
+     * {@link Configuration#DEFAULT_MAXIMUM_CODE_LENGTH} bits long.
+     * 
+     * @param byteFrequencyDistribution the byte frequencies.
+     * @return the canonical code table.
+     */
     public static ByteHuffmanCodeTable
         buildCode(final ByteFrequencyDistribution byteFrequencyDistribution) {
             
+        return buildCode(byteFrequencyDistribution, 
+                         DEFAULT_MAXIMUM_CODE_LENGTH);
+    }
+    
+    /**
+     * Builds the canonical Huffman code whose codewords are at most 
+     * {@code maximumCodeLength} bits long. If the unrestricted Huffman code 
+     * has longer codewords, the optimal length-limited code is computed via 
+     * the package-merge algorithm instead. The codeword lengths are computed
+     * by {@link ByteHuffmanCodeLengthsBuilder} on primitive arrays.
+     * 
+     * @param byteFrequencyDistribution the byte frequencies.
+     * @param maximumCodeLength         the maximum codeword length in bits.
+     * @return the canonical code table.
+     */
+    public static ByteHuffmanCodeTable
+        buildCode(final ByteFrequencyDistribution byteFrequencyDistribution,
+                  final int maximumCodeLength) {
+            
         Objects.requireNonNull(byteFrequencyDistribution,
                                "The input byte frequency distribution is null");
         
@@ -31,44 +60,116 @@ public final class ByteHuffmanCodeTableBuilder {
                     "The input byte frequency distribution is empty");
         }
         
-        final ByteHuffmanCodeTable codeTable = new ByteHuffmanCodeTable();
-        final Queue<WeightedByteSet> queue   = new PriorityQueue<>();
+        checkMaximumCodeLength(maximumCodeLength, 
+                               byteFrequencyDistribution.size());
+        
+        final long[] frequencies = new long[CODE_TABLE_CAPACITY];
         
         for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
-            // Grab the 8 least significant bits of 'i':
-            final byte value = (byte)(i & 0xff);
-            final long frequency =
-                    byteFrequencyDistribution.getFrequency(value);
-            
-            if (frequency > 0L) {
-                // Once here, value is present in the compressed data:
-                final Set<Byte> set = new HashSet<>();
-                set.add(value);
-                codeTable.put(value, new CodeWord(0));
-                queue.add(new WeightedByteSet(set, frequency));
-            }
+            frequencies[i] = byteFrequencyDistribution.getFrequency((byte) i);
+        }
+        
+        final ByteHuffmanCodeLengthsBuilder builder = 
+                new ByteHuffmanCodeLengthsBuilder();
+        
+        final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+        builder.buildCodeLengths(frequencies, maximumCodeLength, codeLengths);
+        return buildCanonicalCode(builder, codeLengths);
+    }
+    
+    private static void checkMaximumCodeLength(final int maximumCodeLength,
+                                               final int codeSize) {
+        
+        if (maximumCodeLength < 1 
+                || maximumCodeLength > MAXIMUM_CODEWORD_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The maximum code length %d is out of range " + 
+                            "[1, %d].",
+                            maximumCodeLength,
+                            MAXIMUM_CODEWORD_LENGTH));
+        }
+        
+        if ((1L << maximumCodeLength) < codeSize) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "%d bytes do not fit in codewords of at most " + 
+                            "%d bits.",
+                            codeSize,
+                            maximumCodeLength));
         }
+    }
+    
+    /**
+     * Builds the canonical code having the same codeword lengths as 
+     * {@code codeTable}. Only the lengths of the input codewords are 
+     * consulted.
+     * 
+     * @param codeTable the code table whose codeword lengths to use.
+     * @return the canonical code table.
+     */
+    public static ByteHuffmanCodeTable 
+        buildCanonicalCode(final ByteHuffmanCodeTable codeTable) {
+        
+        Objects.requireNonNull(codeTable, "The input code table is null");
         
-        while (queue.size() > 1) {
-            final WeightedByteSet entry1 = queue.remove();
-            final WeightedByteSet entry2 = queue.remove();
+        final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            final CodeWord codeword = codeTable.get((byte) i);
+            codeLengths[i] = codeword == null ? NO_CODEWORD : codeword.length();
+        }
+        
+        return buildCanonicalCode(codeLengths);
+    }
+    
+    /**
+     * Builds the canonical code having the given codeword lengths.
+     * 
+     * @param codeLengths the codeword lengths indexed by unsigned byte values.
+     *                    The absent bytes have 
+     *                    {@link ByteHuffmanCodeLengthsBuilder#NO_CODEWORD}.
+     * @return the canonical code table.
+     */
+    static ByteHuffmanCodeTable buildCanonicalCode(final int[] codeLengths) {
+        return buildCanonicalCode(new ByteHuffmanCodeLengthsBuilder(), 
+                                  codeLengths);
+    }
+    
+    private static ByteHuffmanCodeTable 
+        buildCanonicalCode(final ByteHuffmanCodeLengthsBuilder builder,
+                           final int[] codeLengths) {
             
-            for (final byte value : entry1.getSet()) {
-                codeTable.get(value).prependBit(true);
+        final long[] codes = new long[CODE_TABLE_CAPACITY];
+        builder.buildCanonicalCodes(codeLengths, codes);
+        
+        final ByteHuffmanCodeTable canonicalCodeTable = 
+                new ByteHuffmanCodeTable();
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            if (codeLengths[i] != NO_CODEWORD) {
+                canonicalCodeTable.put((byte) i, 
+                                       toCodeWord(codes[i], codeLengths[i]));
             }
-            
-            for (final byte value : entry2.getSet()) {
-                codeTable.get(value).prependBit(false);
+        }
+        
+        return canonicalCodeTable;
+    }
+    
+    /**
+     * Converts the {@code length} least significant bits of {@code bits} into
+     * a codeword. The most significant of them becomes the first bit of the 
+     * codeword.
+     */
+    private static CodeWord toCodeWord(final long bits, final int length) {
+        final CodeWord codeword = new CodeWord(length);
+        
+        for (int i = 0; i < length; ++i) {
+            if ((bits & (1L << i)) != 0L) {
+                codeword.set(i);
             }
-            
-            entry1.getSet().addAll(entry2.getSet());
-            
-            queue.add(new WeightedByteSet(
-                            entry1.getSet(),
-                            entry1.getTotalWeight() + 
-                            entry2.getTotalWeight()));
         }
         
-        return codeTable;
+        return codeword;
     }
 }
@@ -0,0 +1,69 @@
+package io.github.coderodde.compressor.app;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * This interface defines the API of the Huffman decoders. A decoder returns 
+ * the decoded symbol and the length of its codeword packed into a single 
+ * {@code int} <i>entry</i>: the symbol occupies the 8 least significant bits
+ * and the codeword length the bits above them. Since a decoder keeps no state
+ * between the calls, the immutable implementations may be shared by any 
+ * number of threads.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public interface ByteHuffmanDecoder {
+    
+    /**
+     * Decodes the codeword starting at the bit {@code bitIndex}.
+     *
+     * @param compressedData the compressed data.
+     * @param bitIndex       the index of the first bit of the codeword.
+     * @return the entry holding the decoded symbol and the length of its
+     *         codeword.
+     */
+    int decode(byte[] compressedData, long bitIndex);
+    
+    /**
+     * Decodes the codeword starting at the bit {@code bitIndex}.
+     *
+     * @param compressedData the compressed data.
+     * @param bitIndex       the index of the first bit of the codeword.
+     * @return the entry holding the decoded symbol and the length of its
+     *         codeword.
+     */
+    int decode(MemorySegment compressedData, long bitIndex);
+    
+    /**
+     * Extracts the decoded symbol from an entry.
+     *
+     * @param entry the entry returned by {@link #decode(byte[], long)}.
+     * @return the decoded symbol.
+     */
+    static byte getSymbol(final int entry) {
+        return (byte) entry;
+    }
+
+    /**
+     * Extracts the codeword length from an entry.
+     *
+     * @param entry the entry returned by {@link #decode(byte[], long)}.
+     * @return the length of the decoded codeword.
+     */
+    static int getCodeLength(final int entry) {
+        return entry >>> Byte.SIZE;
+    }
+    
+    /**
+     * Packs a symbol and the length of its codeword into an entry.
+     * 
+     * @param symbol     the symbol.
+     * @param codeLength the length of the codeword of {@code symbol}.
+     * @return the entry.
+     */
+    static int toEntry(final byte symbol, final int codeLength) {
+        return (codeLength << Byte.SIZE) | Byte.toUnsignedInt(symbol);
+    }
+}
@@ -1,12 +1,14 @@
 package io.github.coderodde.compressor.app;
 
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.util.Objects;
 
 /**
  * This class implements the Huffman decoding tree.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 14, 2025)
  */
 public final class ByteHuffmanDecoderTree {
@@ -53,7 +55,9 @@ public final class ByteHuffmanDecoderTree {
     }
     
     /**
-     * Decodes a codeword to a symbol.
+     * Decodes a codeword to a symbol. This method records the codeword length
+     * for {@link #getPreviousCodeLength()}, so a tree decoding via it may not
+     * be shared by threads; use {@link #decodeEntry(byte[], long)} instead.
      * 
      * @param compressedData the compressed data for decompression.
      * @param bitIndex       the index of the starting bit of a codeword to 
@@ -61,10 +65,79 @@ public final class ByteHuffmanDecoderTree {
      * @return the encoded symbol.
      */
     public byte decode(final byte[] compressedData, long bitIndex) {
+        final int entry = decodeEntry(compressedData, bitIndex);
+        previousCodeLength = ByteHuffmanDecoder.getCodeLength(entry);
+        return ByteHuffmanDecoder.getSymbol(entry);
+    }
+    
+    /**
+     * Decodes a codeword to a symbol. This method records the codeword length
+     * for {@link #getPreviousCodeLength()}, so a tree decoding via it may not
+     * be shared by threads; use {@link #decodeEntry(MemorySegment, long)} 
+     * instead.
+     * 
+     * @param compressedData the compressed data for decompression.
+     * @param bitIndex       the index of the starting bit of a codeword to 
+     *                       scan.
+     * @return the encoded symbol.
+     */
+    public byte decode(final MemorySegment compressedData, long bitIndex) {
+        final int entry = decodeEntry(compressedData, bitIndex);
+        previousCodeLength = ByteHuffmanDecoder.getCodeLength(entry);
+        return ByteHuffmanDecoder.getSymbol(entry);
+    }
+    
+    /**
+     * Decodes a codeword to a symbol without modifying this tree, so that a 
+     * single tree may be shared by threads.
+     * 
+     * @param compressedData the compressed data for decompression.
+     * @param bitIndex       the index of the starting bit of a codeword to 
+     *                       scan.
+     * @return the entry packing the encoded symbol and its codeword length as
+     *         described in {@link ByteHuffmanDecoder}.
+     */
+    public int decodeEntry(final byte[] compressedData, long bitIndex) {
         Objects.requireNonNull(compressedData, "The input raw data is null");
         
-        previousCodeLength = 0;
+        int codeLength = 0;
+        TreeNode node = root;
         
+        while (node.value == null) {
+            final boolean bit = readBit(compressedData,
+                                        bitIndex);
+            
+            node = bit ? node.oneChild : node.zeroChild;
+            
+            if (node == null) {
+                // Only corrupted data leads off the tree:
+                throw new IllegalStateException(
+                        String.format(
+                                "No codeword matches the bits at index %d.",
+                                bitIndex - codeLength));
+            }
+            
+            ++bitIndex;
+            ++codeLength;
+        }
+        
+        return ByteHuffmanDecoder.toEntry(node.value, codeLength);
+    }
+    
+    /**
+     * Decodes a codeword to a symbol without modifying this tree, so that a 
+     * single tree may be shared by threads.
+     * 
+     * @param compressedData the compressed data for decompression.
+     * @param bitIndex       the index of the starting bit of a codeword to 
+     *                       scan.
+     * @return the entry packing the encoded symbol and its codeword length as
+     *         described in {@link ByteHuffmanDecoder}.
+     */
+    public int decodeEntry(final MemorySegment compressedData, long bitIndex) {
+        Objects.requireNonNull(compressedData, "The input raw data is null");
+        
+        int codeLength = 0;
         TreeNode node = root;
         
         while (node.value == null) {
@@ -73,11 +146,19 @@ public final class ByteHuffmanDecoderTree {
             
             node = bit ? node.oneChild : node.zeroChild;
             
+            if (node == null) {
+                // Only corrupted data leads off the tree:
+                throw new IllegalStateException(
+                        String.format(
+                                "No codeword matches the bits at index %d.",
+                                bitIndex - codeLength));
+            }
+            
             ++bitIndex;
-            ++previousCodeLength;
+            ++codeLength;
         }
         
-        return node.value;
+        return ByteHuffmanDecoder.toEntry(node.value, codeLength);
     }
     
     public long getPreviousCodeLength() {
@@ -92,6 +173,16 @@ public final class ByteHuffmanDecoderTree {
         return ((mask & targetByte) != 0);
     }
     
+    private static boolean readBit(final MemorySegment rawData, 
+                                   final long bitIndex) {
+        final byte targetByte = rawData.get(ValueLayout.JAVA_BYTE,
+                                            bitIndex / Byte.SIZE);
+        
+        final byte mask = (byte)(1 << (bitIndex % Byte.SIZE));
+        
+        return ((mask & targetByte) != 0);
+    }
+    
     /**
      * Inserts the symbol/codeword pair into this tree.
      * 
@@ -0,0 +1,281 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.ByteHuffmanCodeLengthsBuilder.NO_CODEWORD;
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * This class implements a table-driven Huffman decoder. Instead of walking a
+ * decoding tree one bit at a time, it peeks
+ * {@link Configuration#DECODING_TABLE_PRIMARY_BITS} bits at once and resolves
+ * the symbol with a single indexed load. Codewords longer than that are
+ * resolved via secondary tables.
+ * <p>
+ * Each table entry is an {@code int}. A non-negative entry is a <i>leaf</i>
+ * packing the decoded symbol into its 8 least significant bits and the length
+ * of the codeword into the bits above them. A negative entry is either
+ * {@link #INVALID_ENTRY} or a <i>link</i> to a secondary table.
+ * <p>
+ * The instances of this class are immutable, so that a single table may be 
+ * shared by any number of threads decoding the data of the same code.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class ByteHuffmanDecodingTable implements ByteHuffmanDecoder {
+
+    /**
+     * Marks the table entries that do not correspond to any codeword.
+     */
+    static final int INVALID_ENTRY = -1;
+
+    /**
+     * Marks the table entries that point to a secondary table.
+     */
+    static final int LINK_FLAG = 0x8000_0000;
+
+    /**
+     * The number of bits in a link entry reserved for the number of bits the
+     * secondary table resolves.
+     */
+    static final int LINK_BITS_WIDTH = 4;
+
+    /**
+     * The mask extracting the number of secondary table bits from a link
+     * entry.
+     */
+    private static final int LINK_BITS_MASK = (1 << LINK_BITS_WIDTH) - 1;
+
+    /**
+     * Used for reading 8 bytes at a time from the compressed data.
+     */
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class,
+                                                 ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The actual table entries. The primary table occupies the first
+     * {@code 2^primaryBits} entries and is followed by the secondary tables.
+     */
+    private final int[] entries;
+
+    /**
+     * The number of bits resolved by the primary table.
+     */
+    private final int primaryBits;
+
+    /**
+     * Constructs this decoding table.
+     *
+     * @param codeTable the code table for which to construct the decoding
+     *                  table.
+     */
+    public ByteHuffmanDecodingTable(final ByteHuffmanCodeTable codeTable) {
+        Objects.requireNonNull(codeTable, "The input code table is null");
+
+        final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+        final long[] codes = new long[CODE_TABLE_CAPACITY];
+
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final CodeWord codeword = codeTable.get((byte) value);
+
+            if (codeword == null) {
+                codeLengths[value] = NO_CODEWORD;
+            } else {
+                codeLengths[value] = codeword.length();
+                codes[value]       = codeword.toLong();
+            }
+        }
+
+        final ReusableByteHuffmanDecodingTable table = 
+                new ReusableByteHuffmanDecodingTable();
+
+        table.build(codeLengths, codes);
+
+        this.entries     = table.copyEntries();
+        this.primaryBits = table.getPrimaryBits();
+    }
+
+    @Override
+    public int decode(final byte[] compressedData, final long bitIndex) {
+        return decode(entries, primaryBits, compressedData, bitIndex);
+    }
+
+    @Override
+    public int decode(final MemorySegment compressedData, 
+                      final long bitIndex) {
+        return decode(entries, primaryBits, compressedData, bitIndex);
+    }
+
+    /**
+     * Extracts the decoded symbol from a leaf entry.
+     *
+     * @param entry the leaf entry returned by
+     *              {@link #decode(byte[], long)}.
+     * @return the decoded symbol.
+     */
+    public static byte getSymbol(final int entry) {
+        return ByteHuffmanDecoder.getSymbol(entry);
+    }
+
+    /**
+     * Extracts the codeword length from a leaf entry.
+     *
+     * @param entry the leaf entry returned by
+     *              {@link #decode(byte[], long)}.
+     * @return the length of the decoded codeword.
+     */
+    public static int getCodeLength(final int entry) {
+        return ByteHuffmanDecoder.getCodeLength(entry);
+    }
+
+    /**
+     * Decodes the codeword starting at the bit {@code bitIndex} via the 
+     * given table entries.
+     *
+     * @param entries        the table entries.
+     * @param primaryBits    the number of bits resolved by the primary table.
+     * @param compressedData the compressed data.
+     * @param bitIndex       the index of the first bit of the codeword.
+     * @return the leaf entry holding the decoded symbol and the length of its
+     *         codeword.
+     */
+    static int decode(final int[] entries,
+                      final int primaryBits,
+                      final byte[] compressedData, 
+                      final long bitIndex) {
+        
+        int entry = entries[(int) peekBits(compressedData, bitIndex)
+                            & ((1 << primaryBits) - 1)];
+
+        long cursor = bitIndex + primaryBits;
+
+        while (entry < 0) {
+            checkEntry(entry, bitIndex);
+            
+            final int bits   = entry & LINK_BITS_MASK;
+            final int offset = (entry & ~LINK_FLAG) >>> LINK_BITS_WIDTH;
+
+            entry = entries[offset + ((int) peekBits(compressedData, cursor)
+                                      & ((1 << bits) - 1))];
+            cursor += bits;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Decodes the codeword starting at the bit {@code bitIndex} via the 
+     * given table entries.
+     *
+     * @param entries        the table entries.
+     * @param primaryBits    the number of bits resolved by the primary table.
+     * @param compressedData the compressed data.
+     * @param bitIndex       the index of the first bit of the codeword.
+     * @return the leaf entry holding the decoded symbol and the length of its
+     *         codeword.
+     */
+    static int decode(final int[] entries,
+                      final int primaryBits,
+                      final MemorySegment compressedData, 
+                      final long bitIndex) {
+        
+        int entry = entries[(int) peekBits(compressedData, bitIndex)
+                            & ((1 << primaryBits) - 1)];
+
+        long cursor = bitIndex + primaryBits;
+
+        while (entry < 0) {
+            checkEntry(entry, bitIndex);
+
+            final int bits   = entry & LINK_BITS_MASK;
+            final int offset = (entry & ~LINK_FLAG) >>> LINK_BITS_WIDTH;
+
+            entry = entries[offset + ((int) peekBits(compressedData, cursor)
+                                      & ((1 << bits) - 1))];
+            cursor += bits;
+        }
+
+        return entry;
+    }
+
+    private static void checkEntry(final int entry, final long bitIndex) {
+        if (entry == INVALID_ENTRY) {
+            throw new IllegalStateException(
+                    String.format(
+                            "No codeword matches the bits at index %d.",
+                            bitIndex));
+        }
+    }
+
+    /**
+     * Returns at least 57 next bits of the compressed data starting from the
+     * bit {@code bitIndex}. The bits beyond the end of the compressed data are
+     * zeros.
+     *
+     * @param compressedData the compressed data.
+     * @param bitIndex       the index of the first bit to return.
+     * @return the peeked bits with the first one being the least significant.
+     */
+    private static long peekBits(final byte[] compressedData,
+                                 final long bitIndex) {
+
+        final int byteIndex = (int) (bitIndex >>> 3);
+        final int bitOffset = (int) (bitIndex & 7);
+
+        if (byteIndex <= compressedData.length - Long.BYTES) {
+            return (long) LONG_VIEW.get(compressedData, byteIndex)
+                    >>> bitOffset;
+        }
+
+        long word = 0L;
+
+        for (int i = 0;
+                 i < Long.BYTES && byteIndex + i < compressedData.length;
+                 ++i) {
+
+            word |= Byte.toUnsignedLong(compressedData[byteIndex + i])
+                    << (i * Byte.SIZE);
+        }
+
+        return word >>> bitOffset;
+    }
+
+    /**
+     * Returns at least 57 next bits of the compressed data starting from the
+     * bit {@code bitIndex}. The bits beyond the end of the compressed data are
+     * zeros.
+     *
+     * @param compressedData the compressed data.
+     * @param bitIndex       the index of the first bit to return.
+     * @return the peeked bits with the first one being the least significant.
+     */
+    private static long peekBits(final MemorySegment compressedData,
+                                 final long bitIndex) {
+
+        final long byteIndex = bitIndex >>> 3;
+        final int bitOffset  = (int) (bitIndex & 7);
+        final long length    = compressedData.byteSize();
+
+        if (byteIndex <= length - Long.BYTES) {
+            return compressedData.get(Utils.LONG_LE, byteIndex) >>> bitOffset;
+        }
+
+        long word = 0L;
+
+        for (int i = 0; i < Long.BYTES && byteIndex + i < length; ++i) {
+            word |= Byte.toUnsignedLong(
+                        compressedData.get(ValueLayout.JAVA_BYTE,
+                                           byteIndex + i))
+                    << (i * Byte.SIZE);
+        }
+
+        return word >>> bitOffset;
+    }
+}
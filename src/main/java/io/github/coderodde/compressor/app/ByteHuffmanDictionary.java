@@ -0,0 +1,242 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODEWORD_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_DICTIONARY_ID;
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_MAXIMUM_CODE_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.DICTIONARY_MAGIC;
+import static io.github.coderodde.compressor.app.Configuration.HISTOGRAM_LANES;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements a pretrained dictionary, i.e., a canonical code 
+ * table built offline from a sample corpus. The data compressed with a 
+ * dictionary carries only the dictionary ID in place of the code table, which
+ * pays off for messages so small that the code table would outweigh them. 
+ * Every byte value has a codeword in a dictionary, so that any data may be 
+ * compressed with it.
+ * <p>
+ * A dictionary file consists of {@link Configuration#DICTIONARY_MAGIC}, the 
+ * 32-bit dictionary ID and the codeword lengths of all the 256 byte values. 
+ * The dictionaries are immutable; their prebuilt decoding tables are shared 
+ * by all the threads decompressing with them.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class ByteHuffmanDictionary {
+    
+    /**
+     * The ID written to the compressed data.
+     */
+    private final int id;
+    
+    /**
+     * The codeword lengths indexed by unsigned byte values.
+     */
+    private final int[] codeLengths;
+    
+    /**
+     * The canonical code table of this dictionary.
+     */
+    private final ByteHuffmanCodeTable codeTable;
+    
+    /**
+     * The encoding table of {@code codeTable}.
+     */
+    private final ByteHuffmanEncodingTable encodingTable;
+    
+    /**
+     * The decoding table of {@code codeTable}.
+     */
+    private final ByteHuffmanDecodingTable decodingTable;
+    
+    private ByteHuffmanDictionary(final int id, final int[] codeLengths) {
+        this.id            = id;
+        this.codeLengths   = codeLengths;
+        this.codeTable     = 
+                ByteHuffmanCodeTableBuilder.buildCanonicalCode(codeLengths);
+        this.encodingTable = new ByteHuffmanEncodingTable(codeTable);
+        this.decodingTable = new ByteHuffmanDecodingTable(codeTable);
+    }
+    
+    /**
+     * Trains a dictionary on the given samples. Each byte value gets a 
+     * codeword even if the samples lack it.
+     * 
+     * @param id      the ID of the dictionary.
+     * @param samples the sample messages.
+     * @return the trained dictionary.
+     */
+    public static ByteHuffmanDictionary train(final int id,
+                                              final Iterable<byte[]> samples) {
+        
+        Objects.requireNonNull(samples, "The input samples are null");
+        
+        final long[] frequencies = new long[CODE_TABLE_CAPACITY];
+        final int[] lanes = new int[HISTOGRAM_LANES * CODE_TABLE_CAPACITY];
+        
+        // Count each byte value once more so that all of them get a codeword:
+        Arrays.fill(frequencies, 1L);
+        
+        for (final byte[] sample : samples) {
+            Objects.requireNonNull(sample, "A sample is null");
+            
+            ByteWeightDistributionBuilder.countFrequencies(
+                    MemorySegment.ofArray(sample), 
+                    frequencies, 
+                    lanes);
+        }
+        
+        final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+        
+        new ByteHuffmanCodeLengthsBuilder()
+                .buildCodeLengths(frequencies, 
+                                  DEFAULT_MAXIMUM_CODE_LENGTH, 
+                                  codeLengths);
+        
+        return new ByteHuffmanDictionary(id, codeLengths);
+    }
+    
+    /**
+     * Reads a dictionary from its byte representation returned by 
+     * {@link #toByteArray()}.
+     * 
+     * @param data the dictionary data.
+     * @return the dictionary.
+     */
+    public static ByteHuffmanDictionary fromByteArray(final byte[] data) {
+        Objects.requireNonNull(data, "The input dictionary data is null");
+        
+        if (data.length != getByteArrayLength() 
+                || !Arrays.equals(data, 
+                                  0, 
+                                  DICTIONARY_MAGIC.length, 
+                                  DICTIONARY_MAGIC, 
+                                  0, 
+                                  DICTIONARY_MAGIC.length)) {
+            throw new IllegalArgumentException("Not a Huffman dictionary");
+        }
+        
+        final MemorySegment segment = MemorySegment.ofArray(data);
+        final int id = segment.get(Utils.INT_LE, DICTIONARY_MAGIC.length);
+        final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+        final int codeLengthsOffset = DICTIONARY_MAGIC.length 
+                                    + BYTES_PER_DICTIONARY_ID;
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            codeLengths[i] = Byte.toUnsignedInt(data[codeLengthsOffset + i]);
+            
+            if (codeLengths[i] == 0 
+                    || codeLengths[i] 
+                       > ByteHuffmanEncodingTable.MAXIMUM_CODEWORD_LENGTH) {
+                throw new IllegalArgumentException(
+                        String.format(
+                                "Invalid codeword length %d of the byte %d.", 
+                                codeLengths[i],
+                                i));
+            }
+        }
+        
+        return new ByteHuffmanDictionary(id, codeLengths);
+    }
+    
+    /**
+     * Loads the dictionary file {@code path}.
+     * 
+     * @param path the path of the dictionary file.
+     * @return the dictionary.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static ByteHuffmanDictionary load(final Path path) 
+            throws IOException {
+        
+        Objects.requireNonNull(path, "The input path is null");
+        return fromByteArray(Files.readAllBytes(path));
+    }
+    
+    /**
+     * Saves this dictionary into the file {@code path}.
+     * 
+     * @param path the path of the dictionary file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void save(final Path path) throws IOException {
+        Objects.requireNonNull(path, "The input path is null");
+        Files.write(path, toByteArray());
+    }
+    
+    /**
+     * Returns the byte representation of this dictionary.
+     * 
+     * @return the dictionary data.
+     */
+    public byte[] toByteArray() {
+        final byte[] data = new byte[getByteArrayLength()];
+        final MemorySegment segment = MemorySegment.ofArray(data);
+        
+        MemorySegment.copy(DICTIONARY_MAGIC, 
+                           0, 
+                           segment, 
+                           ValueLayout.JAVA_BYTE, 
+                           0L, 
+                           DICTIONARY_MAGIC.length);
+        
+        segment.set(Utils.INT_LE, DICTIONARY_MAGIC.length, id);
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            data[DICTIONARY_MAGIC.length + BYTES_PER_DICTIONARY_ID + i] = 
+                    (byte) codeLengths[i];
+        }
+        
+        return data;
+    }
+    
+    public int getId() {
+        return id;
+    }
+    
+    public ByteHuffmanCodeTable getCodeTable() {
+        return codeTable;
+    }
+    
+    ByteHuffmanEncodingTable getEncodingTable() {
+        return encodingTable;
+    }
+    
+    ByteHuffmanDecodingTable getDecodingTable() {
+        return decodingTable;
+    }
+    
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) {
+            return true;
+        }
+        
+        if (!(object instanceof ByteHuffmanDictionary)) {
+            return false;
+        }
+        
+        final ByteHuffmanDictionary other = (ByteHuffmanDictionary) object;
+        return id == other.id && Arrays.equals(codeLengths, other.codeLengths);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Integer.hashCode(id) + Arrays.hashCode(codeLengths);
+    }
+    
+    private static int getByteArrayLength() {
+        return DICTIONARY_MAGIC.length 
+             + BYTES_PER_DICTIONARY_ID 
+             + CODE_TABLE_CAPACITY * BYTES_PER_CODEWORD_LENGTH;
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.ByteHuffmanCodeLengthsBuilder.NO_CODEWORD;
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import java.util.Objects;
+
+/**
+ * This class holds the codewords of a
+ * {@link io.github.coderodde.compressor.app.ByteHuffmanCodeTable} in primitive
+ * arrays. Each codeword is stored in the bit order in which it is written to
+ * the compressed data so that the encoder may append it to its bit buffer with
+ * a single shift.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class ByteHuffmanEncodingTable {
+
+    /**
+     * The maximum supported codeword length in bits.
+     */
+    static final int MAXIMUM_CODEWORD_LENGTH = Integer.SIZE;
+
+    /**
+     * The codewords indexed by unsigned byte values. The first bit of each
+     * codeword in the compressed data is the least significant bit.
+     */
+    private final int[] codes = new int[CODE_TABLE_CAPACITY];
+
+    /**
+     * The codeword lengths indexed by unsigned byte values.
+     */
+    private final byte[] lengths = new byte[CODE_TABLE_CAPACITY];
+
+    /**
+     * Constructs an empty encoding table to be filled via 
+     * {@link #setCodes(int[], long[])}.
+     */
+    ByteHuffmanEncodingTable() {
+        
+    }
+
+    /**
+     * Constructs this encoding table.
+     *
+     * @param codeTable the code table to convert.
+     */
+    public ByteHuffmanEncodingTable(final ByteHuffmanCodeTable codeTable) {
+        Objects.requireNonNull(codeTable, "The input code table is null");
+
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final CodeWord codeword = codeTable.get((byte) value);
+
+            if (codeword != null) {
+                setCode(value, codeword.toLong(), codeword.length());
+            }
+        }
+    }
+
+    /**
+     * Replaces all the codewords of this table. The codeword of the byte
+     * {@code i} is stored in the {@code codeLengths[i]} least significant 
+     * bits of {@code codes[i]}, the most significant of them being the first
+     * one.
+     *
+     * @param codeLengths the codeword lengths indexed by unsigned byte values.
+     *                    The absent bytes have 
+     *                    {@link ByteHuffmanCodeLengthsBuilder#NO_CODEWORD}.
+     * @param codes       the codewords indexed by unsigned byte values.
+     */
+    void setCodes(final int[] codeLengths, final long[] codes) {
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            if (codeLengths[value] == NO_CODEWORD) {
+                lengths[value] = 0;
+                this.codes[value] = 0;
+            } else {
+                setCode(value, codes[value], codeLengths[value]);
+            }
+        }
+    }
+
+    /**
+     * Returns the codeword of the byte {@code value} in stream bit order.
+     *
+     * @param value the unsigned byte value.
+     * @return the codeword bits.
+     */
+    int getCode(final int value) {
+        return codes[value];
+    }
+
+    /**
+     * Returns the length of the codeword of the byte {@code value}.
+     *
+     * @param value the unsigned byte value.
+     * @return the codeword length in bits.
+     */
+    int getCodeLength(final int value) {
+        return lengths[value];
+    }
+
+    private void setCode(final int value, final long code, final int length) {
+        if (length > MAXIMUM_CODEWORD_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The codeword of byte %d is too long: %d. " +
+                            "Must be at most %d.",
+                            value,
+                            length,
+                            MAXIMUM_CODEWORD_LENGTH));
+        }
+
+        lengths[value] = (byte) length;
+        codes[value]   = length == 0 ?
+                         0 :
+                         Integer.reverse((int) code) 
+                                 >>> (Integer.SIZE - length);
+    }
+}
@@ -1,12 +1,26 @@
 package io.github.coderodde.compressor.app;
 
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import static io.github.coderodde.compressor.app.Configuration.HISTOGRAM_LANES;
+import static io.github.coderodde.compressor.app.Configuration.HISTOGRAM_LANE_FLUSH_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.PARALLEL_HISTOGRAM_SLICE_LENGTH;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * This class provides a method for building instances of
  * {@link io.github.coderodde.compressor.app.ByteFrequencyDistribution} over byte-wise
- * data.
+ * data. The data is read 8 bytes at a time, and the consecutive bytes are 
+ * counted in {@link Configuration#HISTOGRAM_LANES} interleaved count tables 
+ * merged at the end, so that repeated bytes do not stall on a single 
+ * counter.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 16, 2025)
  */
 public final class ByteWeightDistributionBuilder {
@@ -25,13 +39,176 @@ public final class ByteWeightDistributionBuilder {
     public static ByteFrequencyDistribution 
         buildByteWeightDistribution(final byte[] rawData) {
         
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        
+        return buildByteWeightDistribution(MemorySegment.ofArray(rawData));
+    }
+    
+    /**
+     * Builds and returns the weight distribution of the input raw data.
+     * 
+     * @param rawData the memory segment holding the data to compress.
+     * 
+     * @return the weight distribution.
+     */
+    public static ByteFrequencyDistribution 
+        buildByteWeightDistribution(final MemorySegment rawData) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        
+        return toDistribution(countFrequencies(rawData));
+    }
+    
+    /**
+     * Builds and returns the weight distribution of the input raw data 
+     * counting its slices in parallel on {@code pool}. The segment must be 
+     * accessible from the pool threads.
+     * 
+     * @param rawData the memory segment holding the data to compress.
+     * @param pool    the pool running the counting tasks.
+     * 
+     * @return the weight distribution.
+     */
+    public static ByteFrequencyDistribution 
+        buildByteWeightDistribution(final MemorySegment rawData,
+                                    final ForkJoinPool pool) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        Objects.requireNonNull(pool, "The input pool is null");
+        
+        return toDistribution(pool.invoke(new CountFrequenciesTask(rawData)));
+    }
+    
+    private static ByteFrequencyDistribution 
+        toDistribution(final long[] frequencies) {
+            
         final ByteFrequencyDistribution frequencyDistribution =
                 new ByteFrequencyDistribution();
         
-        for (final byte value : rawData) {
-            frequencyDistribution.incrementFrequency(value);
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            frequencyDistribution.addFrequency((byte) i, frequencies[i]);
         }
         
         return frequencyDistribution;
     }
+    
+    /**
+     * Counts the bytes of {@code rawData}.
+     * 
+     * @param rawData the data to count.
+     * @return the array mapping the unsigned byte values to their counts.
+     */
+    private static long[] countFrequencies(final MemorySegment rawData) {
+        final long[] frequencies = new long[CODE_TABLE_CAPACITY];
+        
+        countFrequencies(rawData, 
+                         frequencies, 
+                         new int[HISTOGRAM_LANES * CODE_TABLE_CAPACITY]);
+        
+        return frequencies;
+    }
+    
+    /**
+     * Adds the counts of the bytes of {@code rawData} to {@code frequencies}.
+     * The lanes must be all zeros and are left so; passing the same arrays 
+     * over and over again makes counting allocation-free.
+     * 
+     * @param rawData     the data to count.
+     * @param frequencies the array mapping the unsigned byte values to their
+     *                    counts.
+     * @param lanes       the {@link Configuration#HISTOGRAM_LANES} count 
+     *                    tables.
+     */
+    static void countFrequencies(final MemorySegment rawData,
+                                 final long[] frequencies,
+                                 final int[] lanes) {
+        
+        final long rawDataLength = rawData.byteSize();
+        
+        for (long chunkStart = 0; 
+                  chunkStart < rawDataLength; 
+                  chunkStart += HISTOGRAM_LANE_FLUSH_LENGTH) {
+            
+            final long chunkEnd = 
+                    Math.min(rawDataLength, 
+                             chunkStart + HISTOGRAM_LANE_FLUSH_LENGTH);
+            
+            countChunk(rawData, chunkStart, chunkEnd, lanes);
+            
+            for (int i = 0; i < lanes.length; ++i) {
+                frequencies[i % CODE_TABLE_CAPACITY] += lanes[i];
+            }
+            
+            Arrays.fill(lanes, 0);
+        }
+    }
+    
+    private static void countChunk(final MemorySegment rawData,
+                                   final long chunkStart,
+                                   final long chunkEnd,
+                                   final int[] lanes) {
+        long i = chunkStart;
+        
+        for (; i + Long.BYTES <= chunkEnd; i += Long.BYTES) {
+            final long word = rawData.get(Utils.LONG_LE, i);
+            
+            ++lanes[(int) (word & 0xff)];
+            ++lanes[(int) ((word >>>  8) & 0xff) + CODE_TABLE_CAPACITY];
+            ++lanes[(int) ((word >>> 16) & 0xff) + CODE_TABLE_CAPACITY * 2];
+            ++lanes[(int) ((word >>> 24) & 0xff) + CODE_TABLE_CAPACITY * 3];
+            ++lanes[(int) ((word >>> 32) & 0xff)];
+            ++lanes[(int) ((word >>> 40) & 0xff) + CODE_TABLE_CAPACITY];
+            ++lanes[(int) ((word >>> 48) & 0xff) + CODE_TABLE_CAPACITY * 2];
+            ++lanes[(int) (word >>> 56) + CODE_TABLE_CAPACITY * 3];
+        }
+        
+        for (; i < chunkEnd; ++i) {
+            ++lanes[Byte.toUnsignedInt(rawData.get(ValueLayout.JAVA_BYTE, i))];
+        }
+    }
+    
+    /**
+     * This task counts the bytes of a segment by splitting it in halves until
+     * the slices are short enough and summing the counts of the halves.
+     */
+    private static final class CountFrequenciesTask 
+            extends RecursiveTask<long[]> {
+        
+        private final MemorySegment rawData;
+        
+        CountFrequenciesTask(final MemorySegment rawData) {
+            this.rawData = rawData;
+        }
+        
+        @Override
+        protected long[] compute() {
+            final long rawDataLength = rawData.byteSize();
+            
+            if (rawDataLength <= 2 * PARALLEL_HISTOGRAM_SLICE_LENGTH) {
+                return countFrequencies(rawData);
+            }
+            
+            // Split at a multiple of 8 bytes so that each half reads whole 
+            // words:
+            final long middle = (rawDataLength / 2) & ~(Long.BYTES - 1L);
+            
+            final CountFrequenciesTask right = 
+                    new CountFrequenciesTask(
+                            rawData.asSlice(middle));
+            
+            right.fork();
+            
+            final long[] frequencies = 
+                    new CountFrequenciesTask(
+                            rawData.asSlice(0L, middle)).compute();
+            
+            final long[] rightFrequencies = right.join();
+            
+            for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+                frequencies[i] += rightFrequencies[i];
+            }
+            
+            return frequencies;
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package io.github.coderodde.compressor.app;
+
+/**
+ * The instances of this class denote the situations where the decompressed 
+ * data does not match its checksum stored in the compressed file.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class ChecksumMismatchException extends RuntimeException {
+
+    public ChecksumMismatchException(final String exceptionMessage) {
+        super(exceptionMessage);
+    }
+}
@@ -5,7 +5,7 @@ package io.github.coderodde.compressor.app;
  * scenarios.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Oct 28, 2025)
  */
 public class CodeWord {
@@ -46,6 +46,17 @@ public class CodeWord {
         return byteArray;
     }
     
+    /**
+     * Returns the bits of this codeword packed into a {@code long}. The 
+     * {@code i}th bit of this codeword is the {@code i}th least significant 
+     * bit of the returned value.
+     * 
+     * @return the bits of this codeword.
+     */
+    public long toLong() {
+        return bits;
+    }
+    
     public void prependBit(final boolean bit) {
         ++length;
         
@@ -0,0 +1,55 @@
+package io.github.coderodde.compressor.app;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This JDK Flight Recorder event is committed by 
+ * {@link HuffmanByteCompressor} for each compressed container. The duration of
+ * the event covers the whole compression, and the timespans break it down 
+ * into the stages.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+@Name("io.github.coderodde.compressor.Compression")
+@Label("Compression")
+@Category("Huffman Compressor")
+@Description("Compression of a single container")
+@StackTrace(false)
+public final class CompressionEvent extends jdk.jfr.Event {
+    
+    @Label("Raw Bytes")
+    @DataAmount
+    long rawBytes;
+    
+    @Label("Compressed Bytes")
+    @DataAmount
+    long compressedBytes;
+    
+    @Label("Mode")
+    @Description("huffman, dictionary, stored or run-length")
+    String mode;
+    
+    @Label("Histogram Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long histogramTime;
+    
+    @Label("Table Build Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long tableBuildTime;
+    
+    @Label("Header Write Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long headerWriteTime;
+    
+    @Label("Encode Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long encodeTime;
+}
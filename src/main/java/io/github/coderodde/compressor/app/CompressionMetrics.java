@@ -0,0 +1,408 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.METRICS_HISTOGRAM_BUCKETS;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class collects the process-wide compression and decompression metrics
+ * published as an MXBean. The collection is off until {@link #register()} is
+ * called, so that the compressor pays only for a single volatile read per
+ * call when nobody is watching. The counters and the histogram buckets are
+ * {@link LongAdder}s, so that the threads compressing in parallel do not
+ * contend on them.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class CompressionMetrics implements CompressionMetricsMXBean {
+
+    /**
+     * The name under which the metrics are registered in the platform MBean
+     * server.
+     */
+    public static final String OBJECT_NAME =
+            "io.github.coderodde.compressor:type=CompressionMetrics";
+
+    /**
+     * The stages whose time is measured.
+     */
+    enum Stage {
+        HISTOGRAM,
+        TABLE_BUILD,
+        HEADER_WRITE,
+        ENCODE,
+        HEADER_READ,
+        DECODE
+    }
+
+    /**
+     * The only instance of this class.
+     */
+    private static final CompressionMetrics INSTANCE = new CompressionMetrics();
+
+    /**
+     * Indicates whether the metrics are collected.
+     */
+    private static volatile boolean enabled;
+
+    private final LongAdder compressionCount      = new LongAdder();
+    private final LongAdder compressionBytesIn    = new LongAdder();
+    private final LongAdder compressionBytesOut   = new LongAdder();
+    private final LongAdder decompressionCount    = new LongAdder();
+    private final LongAdder decompressionBytesIn  = new LongAdder();
+    private final LongAdder decompressionBytesOut = new LongAdder();
+    private final LongAdder bufferPoolHits        = new LongAdder();
+    private final LongAdder bufferPoolMisses      = new LongAdder();
+
+    /**
+     * The total time of each stage indexed by the stage ordinals. The
+     * {@link Stage#TABLE_BUILD} entry is the time of the compressions only.
+     */
+    private final LongAdder[] stageTimes =
+            new LongAdder[Stage.values().length];
+
+    /**
+     * The time histogram of each stage indexed by the stage ordinals. The
+     * {@link Stage#TABLE_BUILD} entry is the histogram of the compressions
+     * only.
+     */
+    private final LongAdder[][] stageTimeHistograms =
+            new LongAdder[Stage.values().length][];
+
+    /**
+     * The total time of building the decoding tables.
+     */
+    private final LongAdder decompressionTableBuildTime = new LongAdder();
+
+    /**
+     * The time histogram of building the decoding tables.
+     */
+    private final LongAdder[] decompressionTableBuildTimeHistogram =
+            newHistogram();
+
+    /**
+     * The histogram of the raw data lengths of the compressed data.
+     */
+    private final LongAdder[] compressionRawBytesHistogram = newHistogram();
+
+    /**
+     * The histogram of the raw data lengths of the decompressed data.
+     */
+    private final LongAdder[] decompressionRawBytesHistogram = newHistogram();
+
+    private CompressionMetrics() {
+        for (int i = 0; i < stageTimes.length; ++i) {
+            stageTimes[i] = new LongAdder();
+            stageTimeHistograms[i] = newHistogram();
+        }
+    }
+
+    public static CompressionMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server under
+     * {@link #OBJECT_NAME} and starts collecting them.
+     *
+     * @throws JMException if the registration fails.
+     */
+    public static synchronized void register() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(OBJECT_NAME);
+
+        if (!server.isRegistered(objectName)) {
+            server.registerMBean(INSTANCE, objectName);
+        }
+
+        enabled = true;
+    }
+
+    /**
+     * Stops collecting the metrics and unregisters them from the platform
+     * MBean server. The collected values are kept.
+     *
+     * @throws JMException if the unregistration fails.
+     */
+    public static synchronized void unregister() throws JMException {
+        enabled = false;
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(OBJECT_NAME);
+
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a compression of {@code rawBytes} bytes into
+     * {@code compressedBytes} bytes.
+     *
+     * @param stageTimes the time of each stage indexed by the stage ordinals.
+     */
+    void recordCompression(final long rawBytes,
+                           final long compressedBytes,
+                           final long[] stageTimes) {
+
+        compressionCount.increment();
+        compressionBytesIn.add(rawBytes);
+        compressionBytesOut.add(compressedBytes);
+        recordStageTimes(stageTimes, Stage.HISTOGRAM, Stage.ENCODE);
+        increment(compressionRawBytesHistogram, rawBytes);
+    }
+
+    /**
+     * Records a decompression of {@code compressedBytes} bytes into
+     * {@code rawBytes} bytes.
+     *
+     * @param stageTimes the time of each stage indexed by the stage ordinals.
+     */
+    void recordDecompression(final long compressedBytes,
+                             final long rawBytes,
+                             final long[] stageTimes) {
+
+        decompressionCount.increment();
+        decompressionBytesIn.add(compressedBytes);
+        decompressionBytesOut.add(rawBytes);
+        recordStageTime(decompressionTableBuildTime,
+                        decompressionTableBuildTimeHistogram,
+                        stageTimes[Stage.TABLE_BUILD.ordinal()]);
+        recordStageTimes(stageTimes, Stage.HEADER_READ, Stage.DECODE);
+        increment(decompressionRawBytesHistogram, rawBytes);
+    }
+
+    /**
+     * Records whether a reused output buffer had room for the appended data.
+     *
+     * @param hit {@code true} if the buffer did not have to grow.
+     */
+    void recordBufferPoolAccess(final boolean hit) {
+        (hit ? bufferPoolHits : bufferPoolMisses).increment();
+    }
+
+    @Override
+    public long getCompressionCount() {
+        return compressionCount.sum();
+    }
+
+    @Override
+    public long getCompressionBytesIn() {
+        return compressionBytesIn.sum();
+    }
+
+    @Override
+    public long getCompressionBytesOut() {
+        return compressionBytesOut.sum();
+    }
+
+    @Override
+    public long getDecompressionCount() {
+        return decompressionCount.sum();
+    }
+
+    @Override
+    public long getDecompressionBytesIn() {
+        return decompressionBytesIn.sum();
+    }
+
+    @Override
+    public long getDecompressionBytesOut() {
+        return decompressionBytesOut.sum();
+    }
+
+    @Override
+    public double getCompressionRatio() {
+        final long bytesOut = compressionBytesOut.sum();
+        return bytesOut == 0L ? 0.0 : (double) compressionBytesIn.sum()
+                                              / bytesOut;
+    }
+
+    @Override
+    public long getHistogramTime() {
+        return stageTimes[Stage.HISTOGRAM.ordinal()].sum();
+    }
+
+    @Override
+    public long getCompressionTableBuildTime() {
+        return stageTimes[Stage.TABLE_BUILD.ordinal()].sum();
+    }
+
+    @Override
+    public long getDecompressionTableBuildTime() {
+        return decompressionTableBuildTime.sum();
+    }
+
+    @Override
+    public long getHeaderWriteTime() {
+        return stageTimes[Stage.HEADER_WRITE.ordinal()].sum();
+    }
+
+    @Override
+    public long getEncodeTime() {
+        return stageTimes[Stage.ENCODE.ordinal()].sum();
+    }
+
+    @Override
+    public long getHeaderReadTime() {
+        return stageTimes[Stage.HEADER_READ.ordinal()].sum();
+    }
+
+    @Override
+    public long getDecodeTime() {
+        return stageTimes[Stage.DECODE.ordinal()].sum();
+    }
+
+    @Override
+    public long[] getHistogramTimeHistogram() {
+        return toArray(stageTimeHistograms[Stage.HISTOGRAM.ordinal()]);
+    }
+
+    @Override
+    public long[] getCompressionTableBuildTimeHistogram() {
+        return toArray(stageTimeHistograms[Stage.TABLE_BUILD.ordinal()]);
+    }
+
+    @Override
+    public long[] getDecompressionTableBuildTimeHistogram() {
+        return toArray(decompressionTableBuildTimeHistogram);
+    }
+
+    @Override
+    public long[] getHeaderWriteTimeHistogram() {
+        return toArray(stageTimeHistograms[Stage.HEADER_WRITE.ordinal()]);
+    }
+
+    @Override
+    public long[] getEncodeTimeHistogram() {
+        return toArray(stageTimeHistograms[Stage.ENCODE.ordinal()]);
+    }
+
+    @Override
+    public long[] getHeaderReadTimeHistogram() {
+        return toArray(stageTimeHistograms[Stage.HEADER_READ.ordinal()]);
+    }
+
+    @Override
+    public long[] getDecodeTimeHistogram() {
+        return toArray(stageTimeHistograms[Stage.DECODE.ordinal()]);
+    }
+
+    @Override
+    public long[] getCompressionRawBytesHistogram() {
+        return toArray(compressionRawBytesHistogram);
+    }
+
+    @Override
+    public long[] getDecompressionRawBytesHistogram() {
+        return toArray(decompressionRawBytesHistogram);
+    }
+
+    @Override
+    public long getBufferPoolHits() {
+        return bufferPoolHits.sum();
+    }
+
+    @Override
+    public long getBufferPoolMisses() {
+        return bufferPoolMisses.sum();
+    }
+
+    @Override
+    public void reset() {
+        compressionCount.reset();
+        compressionBytesIn.reset();
+        compressionBytesOut.reset();
+        decompressionCount.reset();
+        decompressionBytesIn.reset();
+        decompressionBytesOut.reset();
+        bufferPoolHits.reset();
+        bufferPoolMisses.reset();
+
+        for (int i = 0; i < stageTimes.length; ++i) {
+            stageTimes[i].reset();
+            clear(stageTimeHistograms[i]);
+        }
+
+        decompressionTableBuildTime.reset();
+        clear(decompressionTableBuildTimeHistogram);
+
+        clear(compressionRawBytesHistogram);
+        clear(decompressionRawBytesHistogram);
+    }
+
+    /**
+     * Records the times of the stages from {@code first} to {@code last}
+     * inclusive.
+     */
+    private void recordStageTimes(final long[] stageTimes,
+                                  final Stage first,
+                                  final Stage last) {
+
+        for (int i = first.ordinal(); i <= last.ordinal(); ++i) {
+            recordStageTime(this.stageTimes[i],
+                            stageTimeHistograms[i],
+                            stageTimes[i]);
+        }
+    }
+
+    /**
+     * Records the {@code time} of a stage. The stages that did not run, such
+     * as building the code table of a stored container, take no time and are
+     * not recorded, so that they do not crowd the lowest histogram bucket.
+     */
+    private static void recordStageTime(final LongAdder totalTime,
+                                        final LongAdder[] histogram,
+                                        final long time) {
+        if (time == 0L) {
+            return;
+        }
+
+        totalTime.add(time);
+        increment(histogram, time);
+    }
+
+    private static LongAdder[] newHistogram() {
+        final LongAdder[] histogram = new LongAdder[METRICS_HISTOGRAM_BUCKETS];
+
+        for (int i = 0; i < histogram.length; ++i) {
+            histogram[i] = new LongAdder();
+        }
+
+        return histogram;
+    }
+
+    private static void increment(final LongAdder[] histogram,
+                                  final long value) {
+
+        final int bucket = Long.SIZE - 1
+                         - Long.numberOfLeadingZeros(Math.max(1L, value));
+
+        histogram[Math.min(bucket, METRICS_HISTOGRAM_BUCKETS - 1)].increment();
+    }
+
+    private static long[] toArray(final LongAdder[] histogram) {
+        final long[] array = new long[histogram.length];
+
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = histogram[i].sum();
+        }
+
+        return array;
+    }
+
+    private static void clear(final LongAdder[] histogram) {
+        for (final LongAdder bucket : histogram) {
+            bucket.reset();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.coderodde.compressor.app;
+
+/**
+ * This interface defines the JMX view of {@link CompressionMetrics}. The 
+ * times are in nanoseconds. Each histogram is an array of 
+ * {@link Configuration#METRICS_HISTOGRAM_BUCKETS} counts, the count 
+ * {@code i} being the number of the values in {@code [2^i, 2^(i + 1))}.
+ * The stages that did not run, such as encoding a stored container, are not
+ * counted in the stage time histograms.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public interface CompressionMetricsMXBean {
+    
+    long getCompressionCount();
+    
+    long getCompressionBytesIn();
+    
+    long getCompressionBytesOut();
+    
+    long getDecompressionCount();
+    
+    long getDecompressionBytesIn();
+    
+    long getDecompressionBytesOut();
+    
+    /**
+     * Returns the ratio of the raw bytes to the compressed bytes over all the
+     * compressions.
+     * 
+     * @return the compression ratio, or zero if nothing was compressed.
+     */
+    double getCompressionRatio();
+    
+    long getHistogramTime();
+    
+    /**
+     * Returns the total time of building the code tables of the compressions.
+     * 
+     * @return the table build time of the compressions.
+     */
+    long getCompressionTableBuildTime();
+    
+    /**
+     * Returns the total time of building the decoding tables of the 
+     * decompressions.
+     * 
+     * @return the table build time of the decompressions.
+     */
+    long getDecompressionTableBuildTime();
+    
+    long getHeaderWriteTime();
+    
+    long getEncodeTime();
+    
+    long getHeaderReadTime();
+    
+    long getDecodeTime();
+    
+    long[] getHistogramTimeHistogram();
+    
+    long[] getCompressionTableBuildTimeHistogram();
+    
+    long[] getDecompressionTableBuildTimeHistogram();
+    
+    long[] getHeaderWriteTimeHistogram();
+    
+    long[] getEncodeTimeHistogram();
+    
+    long[] getHeaderReadTimeHistogram();
+    
+    long[] getDecodeTimeHistogram();
+    
+    /**
+     * Returns the histogram of the raw data lengths of the compressed data.
+     * 
+     * @return the raw data length histogram of the compressions.
+     */
+    long[] getCompressionRawBytesHistogram();
+    
+    /**
+     * Returns the histogram of the raw data lengths of the decompressed data.
+     * 
+     * @return the raw data length histogram of the decompressions.
+     */
+    long[] getDecompressionRawBytesHistogram();
+    
+    /**
+     * Returns the number of times a reused output buffer had room for the 
+     * compressed data.
+     * 
+     * @return the number of buffer pool hits.
+     */
+    long getBufferPoolHits();
+    
+    /**
+     * Returns the number of times a reused output buffer had to grow.
+     * 
+     * @return the number of buffer pool misses.
+     */
+    long getBufferPoolMisses();
+    
+    /**
+     * Resets all the counters and histograms to zero.
+     */
+    void reset();
+}
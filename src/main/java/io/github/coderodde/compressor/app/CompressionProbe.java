@@ -0,0 +1,170 @@
+package io.github.coderodde.compressor.app;
+
+import io.github.coderodde.compressor.app.CompressionMetrics.Stage;
+
+/**
+ * This class measures the stages of a single compression or decompression
+ * and reports them to the JDK Flight Recorder and to
+ * {@link CompressionMetrics}. If neither the event is enabled nor the metrics
+ * are collected, the shared disabled probe is returned, whose methods do
+ * nothing and do not even read the clock.
+ * <p>
+ * A probe is not thread-safe; it belongs to the thread calling the
+ * compressor or the decompressor.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+final class CompressionProbe {
+
+    /**
+     * The probe measuring nothing.
+     */
+    static final CompressionProbe DISABLED = new CompressionProbe(null, null);
+
+    /**
+     * The compression event, or {@code null} if measuring a decompression.
+     */
+    private final CompressionEvent compressionEvent;
+
+    /**
+     * The decompression event, or {@code null} if measuring a compression.
+     */
+    private final DecompressionEvent decompressionEvent;
+
+    /**
+     * The time of each stage indexed by the stage ordinals.
+     */
+    private final long[] stageTimes = new long[Stage.values().length];
+
+    /**
+     * The time at which the current stage began.
+     */
+    private long stageStartTime = System.nanoTime();
+
+    private CompressionProbe(final CompressionEvent compressionEvent,
+                             final DecompressionEvent decompressionEvent) {
+        this.compressionEvent   = compressionEvent;
+        this.decompressionEvent = decompressionEvent;
+    }
+
+    /**
+     * Begins measuring a compression.
+     *
+     * @return the probe.
+     */
+    static CompressionProbe beginCompression() {
+        final CompressionEvent event = new CompressionEvent();
+
+        if (!event.isEnabled() && !CompressionMetrics.isEnabled()) {
+            return DISABLED;
+        }
+
+        event.begin();
+        return new CompressionProbe(event, null);
+    }
+
+    /**
+     * Begins measuring a decompression.
+     *
+     * @return the probe.
+     */
+    static CompressionProbe beginDecompression() {
+        final DecompressionEvent event = new DecompressionEvent();
+
+        if (!event.isEnabled() && !CompressionMetrics.isEnabled()) {
+            return DISABLED;
+        }
+
+        event.begin();
+        return new CompressionProbe(null, event);
+    }
+
+    /**
+     * Ends the stage {@code stage}, which began at the end of the previous
+     * stage, and begins the next one.
+     *
+     * @param stage the stage that ended.
+     */
+    void endStage(final Stage stage) {
+        if (this == DISABLED) {
+            return;
+        }
+
+        final long time = System.nanoTime();
+        stageTimes[stage.ordinal()] += time - stageStartTime;
+        stageStartTime = time;
+    }
+
+    /**
+     * Ends measuring the compression of {@code rawBytes} bytes into
+     * {@code compressedBytes} bytes.
+     *
+     * @param rawBytes        the length of the raw data.
+     * @param compressedBytes the length of the compressed data.
+     * @param mode            the way the data was written.
+     */
+    void endCompression(final long rawBytes,
+                        final long compressedBytes,
+                        final String mode) {
+        if (this == DISABLED) {
+            return;
+        }
+
+        compressionEvent.end();
+
+        if (compressionEvent.shouldCommit()) {
+            compressionEvent.rawBytes        = rawBytes;
+            compressionEvent.compressedBytes = compressedBytes;
+            compressionEvent.mode            = mode;
+            compressionEvent.histogramTime   = getTime(Stage.HISTOGRAM);
+            compressionEvent.tableBuildTime  = getTime(Stage.TABLE_BUILD);
+            compressionEvent.headerWriteTime = getTime(Stage.HEADER_WRITE);
+            compressionEvent.encodeTime      = getTime(Stage.ENCODE);
+            compressionEvent.commit();
+        }
+
+        if (CompressionMetrics.isEnabled()) {
+            CompressionMetrics.getInstance()
+                              .recordCompression(rawBytes,
+                                                 compressedBytes,
+                                                 stageTimes);
+        }
+    }
+
+    /**
+     * Ends measuring the decompression of {@code compressedBytes} bytes into
+     * {@code rawBytes} bytes.
+     *
+     * @param compressedBytes the length of the compressed data.
+     * @param rawBytes        the length of the raw data.
+     */
+    void endDecompression(final long compressedBytes, final long rawBytes) {
+        if (this == DISABLED) {
+            return;
+        }
+
+        decompressionEvent.end();
+
+        if (decompressionEvent.shouldCommit()) {
+            decompressionEvent.compressedBytes = compressedBytes;
+            decompressionEvent.rawBytes        = rawBytes;
+            decompressionEvent.headerReadTime  = getTime(Stage.HEADER_READ);
+            decompressionEvent.tableBuildTime  = getTime(Stage.TABLE_BUILD);
+            decompressionEvent.decodeTime      = getTime(Stage.DECODE);
+            decompressionEvent.commit();
+        }
+
+        if (CompressionMetrics.isEnabled()) {
+            CompressionMetrics.getInstance()
+                              .recordDecompression(compressedBytes,
+                                                   rawBytes,
+                                                   stageTimes);
+        }
+    }
+
+    private long getTime(final Stage stage) {
+        return stageTimes[stage.ordinal()];
+    }
+}
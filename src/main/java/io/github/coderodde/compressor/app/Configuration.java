@@ -4,7 +4,7 @@ package io.github.coderodde.compressor.app;
  * This class contains configuration constants.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 19, 2025)
  */
 final class Configuration {
@@ -23,9 +23,249 @@ final class Configuration {
     
     /**
      * Specifies how many bytes to use in order to communicate the actual length
-     * (in bytes) of the input byte array.
+     * (in bytes) of the input data.
      */
-    static final int BYTES_PER_RAW_DATA_LENGTH = 4;
+    static final int BYTES_PER_RAW_DATA_LENGTH = 8;
+    
+    /**
+     * Specifies how many bytes the headers of the format version 1 use in order
+     * to communicate the actual length of the input data.
+     */
+    static final int LEGACY_BYTES_PER_RAW_DATA_LENGTH = 4;
+    
+    /**
+     * The magic bytes opening each compressed file since the format version 2.
+     * The files of the format version 1 have no magic and start with the size
+     * of the code instead.
+     */
+    static final byte[] FORMAT_MAGIC = { 'H', 'U', 'F' };
+    
+    /**
+     * The current format version written right after {@link #FORMAT_MAGIC}.
+     * Since this version, the header stores only the lengths of the canonical
+     * codewords.
+     */
+    static final byte FORMAT_VERSION = 3;
+    
+    /**
+     * The format version storing each codeword in full in the header. Still 
+     * readable.
+     */
+    static final byte FULL_CODE_TABLE_FORMAT_VERSION = 2;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the size of the
+     * canonical Huffman code. The stored value is the size minus one.
+     */
+    static final int BYTES_PER_CANONICAL_CODE_SIZE = 1;
+    
+    /**
+     * The maximum size of a canonical Huffman code stored as a list of 
+     * (byte, codeword length) pairs. Larger codes are stored as a bitmap of 
+     * the present bytes followed by their codeword lengths.
+     */
+    static final int SPARSE_CODE_TABLE_MAX_SIZE = 16;
+    
+    /**
+     * Specifies how many bytes the bitmap of the present bytes occupies.
+     */
+    static final int BYTES_PER_SYMBOL_BITMAP = CODE_TABLE_CAPACITY / Byte.SIZE;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the format 
+     * version.
+     */
+    static final int BYTES_PER_FORMAT_VERSION = 1;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the header 
+     * flags.
+     */
+    static final int BYTES_PER_FLAGS = 1;
+    
+    /**
+     * The header flag marking a block container, i.e., a compressed file 
+     * consisting of independently compressed blocks.
+     */
+    static final byte FLAG_BLOCKS = 0x01;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the block size
+     * of a block container.
+     */
+    static final int BYTES_PER_BLOCK_SIZE = 4;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the number of 
+     * blocks in a block container.
+     */
+    static final int BYTES_PER_BLOCK_COUNT = 4;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the offset of a
+     * block in a block container.
+     */
+    static final int BYTES_PER_BLOCK_OFFSET = 8;
+    
+    /**
+     * The default number of raw data bytes per block in a block container.
+     */
+    static final int DEFAULT_BLOCK_SIZE = 4 << 20;
+    
+    /**
+     * The header flag marking a compressed file with a checkpoint index, i.e., 
+     * the bit offsets of the codewords of every 
+     * {@code checkpointInterval}th raw data byte.
+     */
+    static final byte FLAG_CHECKPOINTS = 0x02;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the number of 
+     * raw data bytes between two consecutive checkpoints.
+     */
+    static final int BYTES_PER_CHECKPOINT_INTERVAL = 4;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the bit offset of
+     * a checkpoint.
+     */
+    static final int BYTES_PER_CHECKPOINT_OFFSET = 8;
+    
+    /**
+     * The default number of raw data bytes between two consecutive 
+     * checkpoints. Inputs not longer than this get no checkpoint index.
+     */
+    static final int DEFAULT_CHECKPOINT_INTERVAL = 1 << 20;
+    
+    /**
+     * The header flag marking a compressed file encoded with a pretrained 
+     * dictionary. Such a header stores the dictionary ID in place of the code
+     * table.
+     */
+    static final byte FLAG_DICTIONARY = 0x04;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the ID of a 
+     * dictionary.
+     */
+    static final int BYTES_PER_DICTIONARY_ID = 4;
+    
+    /**
+     * The magic bytes starting a dictionary file.
+     */
+    static final byte[] DICTIONARY_MAGIC = { 'H', 'U', 'F', 'D' };
+    
+    /**
+     * The header flag marking a compressed file storing the raw data as is. 
+     * Chosen when Huffman-coding would not shrink the data.
+     */
+    static final byte FLAG_STORED = 0x08;
+    
+    /**
+     * The header flag marking a compressed file whose raw data consists of a 
+     * single repeated byte. The header is followed by that byte only.
+     */
+    static final byte FLAG_RUN_LENGTH = 0x10;
+    
+    /**
+     * The header flag marking a compressed file with a CRC32C checksum of 
+     * each checkpoint segment of the raw data, or of the whole raw data if 
+     * there are no checkpoints.
+     */
+    static final byte FLAG_CHECKSUMS = 0x20;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate a checksum.
+     */
+    static final int BYTES_PER_CHECKSUM = 4;
+    
+    /**
+     * The header flag marking a compressed file whose checkpoint segments are
+     * each split into {@link #STREAM_COUNT} consecutive streams, so that the
+     * decoder may follow their independent codeword chains in a single loop.
+     * The bit offsets of the streams follow the checksum table.
+     */
+    static final byte FLAG_STREAMS = 0x40;
+    
+    /**
+     * The number of interleaved streams per checkpoint segment.
+     */
+    static final int STREAM_COUNT = 4;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate a stream bit 
+     * offset.
+     */
+    static final int BYTES_PER_STREAM_OFFSET = 8;
+    
+    /**
+     * The minimum length of a checkpoint segment split into streams. The 
+     * shorter segments decode fast enough, and their stream offsets would 
+     * cost more than they save.
+     */
+    static final long MINIMUM_STREAM_SEGMENT_LENGTH = 1L << 14;
+    
+    /**
+     * The header flag marking a compressed file whose data is coded via 
+     * table-based asymmetric numeral systems (tANS/FSE) instead of 
+     * Huffman-coding. The header holds the normalized symbol counts in place
+     * of the codeword lengths.
+     */
+    static final byte FLAG_FSE = (byte) 0x80;
+    
+    /**
+     * The minimum base-2 logarithm of the size of the FSE state table.
+     */
+    static final int FSE_MINIMUM_TABLE_LOG = 5;
+    
+    /**
+     * The maximum base-2 logarithm of the size of the FSE state table. Larger
+     * tables approximate the symbol probabilities better, but no longer fit 
+     * in the L1 cache.
+     */
+    static final int FSE_MAXIMUM_TABLE_LOG = 12;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the base-2 
+     * logarithm of the size of the FSE state table.
+     */
+    static final int BYTES_PER_FSE_TABLE_LOG = 1;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the normalized
+     * count of a symbol.
+     */
+    static final int BYTES_PER_FSE_NORMALIZED_COUNT = 2;
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the length of 
+     * the FSE bitstream in bits.
+     */
+    static final int BYTES_PER_FSE_BIT_LENGTH = 8;
+    
+    /**
+     * The number of interleaved count tables the histogram builder increments
+     * in turn, so that runs of equal bytes do not serialize on a single 
+     * counter.
+     */
+    static final int HISTOGRAM_LANES = 4;
+    
+    /**
+     * The number of bytes the histogram builder counts into its 32-bit lane 
+     * counters before flushing them into the 64-bit totals.
+     */
+    static final long HISTOGRAM_LANE_FLUSH_LENGTH = 1L << 30;
+    
+    /**
+     * The minimum number of bytes per slice when the histogram is built in 
+     * parallel.
+     */
+    static final long PARALLEL_HISTOGRAM_SLICE_LENGTH = 4L << 20;
+    
+    /**
+     * The maximum length of a Java array the JVM is guaranteed to allocate.
+     */
+    static final int MAXIMUM_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
     
     /**
      * Specifies how many bytes to reserve for describing the byte being 
@@ -43,6 +283,66 @@ final class Configuration {
      */
     static final int BYTES_PER_CODEWORD_MAX = 4;
     
+    /**
+     * The default maximum codeword length in bits. With this limit, every
+     * codeword is resolved in at most two table lookups, and the header is 
+     * never broken by the skewed distributions whose unrestricted Huffman 
+     * codewords exceed the register width.
+     */
+    static final int DEFAULT_MAXIMUM_CODE_LENGTH = 15;
+    
+    /**
+     * Specifies how many bits the table decoder peeks at once in its primary
+     * lookup table. Codewords not longer than this are resolved in a single
+     * table lookup.
+     */
+    static final int DECODING_TABLE_PRIMARY_BITS = 11;
+    
+    /**
+     * Specifies the maximum number of bits the table decoder peeks at once in
+     * each secondary lookup table used for codewords longer than
+     * {@link #DECODING_TABLE_PRIMARY_BITS}.
+     */
+    static final int DECODING_TABLE_SECONDARY_BITS = 8;
+    
+    /**
+     * The number of batch threads per core. The extra threads keep the cores 
+     * busy while the others wait for I/O.
+     */
+    static final int BATCH_THREADS_PER_CORE = 2;
+    
+    /**
+     * The minimum length of a file the batch mode maps into memory instead of
+     * reading it into the heap.
+     */
+    static final long BATCH_MAPPED_FILE_LENGTH = 1L << 20;
+    
+    /**
+     * The magic bytes opening each stream written by
+     * {@link io.github.coderodde.compressor.app.HuffmanOutputStream}.
+     */
+    static final byte[] STREAM_MAGIC = { 'H', 'U', 'F', 'S' };
+    
+    /**
+     * Specifies how many bytes to use in order to communicate the length of a
+     * compressed stream frame.
+     */
+    static final int BYTES_PER_FRAME_LENGTH = 4;
+    
+    /**
+     * The default number of raw data bytes compressed into a single stream 
+     * frame.
+     */
+    static final int DEFAULT_STREAM_BLOCK_SIZE = 1 << 20;
+    
+    /**
+     * The number of buckets of the histograms of 
+     * {@link io.github.coderodde.compressor.app.CompressionMetrics}. The 
+     * bucket {@code i} counts the values in {@code [2^i, 2^(i + 1))}; the 
+     * last one also counts all the larger values.
+     */
+    static final int METRICS_HISTOGRAM_BUCKETS = 48;
+    
     private Configuration() {
         
     }
@@ -0,0 +1,47 @@
+package io.github.coderodde.compressor.app;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * This JDK Flight Recorder event is committed by 
+ * {@link HuffmanByteDecompressor} for each decompressed file or byte array. 
+ * The duration of the event covers the whole decompression, and the 
+ * timespans break it down into the stages.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+@Name("io.github.coderodde.compressor.Decompression")
+@Label("Decompression")
+@Category("Huffman Compressor")
+@Description("Decompression of a byte array or a file")
+@StackTrace(false)
+public final class DecompressionEvent extends jdk.jfr.Event {
+    
+    @Label("Compressed Bytes")
+    @DataAmount
+    long compressedBytes;
+    
+    @Label("Raw Bytes")
+    @DataAmount
+    long rawBytes;
+    
+    @Label("Header Read Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long headerReadTime;
+    
+    @Label("Table Build Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long tableBuildTime;
+    
+    @Label("Decode Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long decodeTime;
+}
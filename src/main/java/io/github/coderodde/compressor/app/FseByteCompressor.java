@@ -0,0 +1,125 @@
+package io.github.coderodde.compressor.app;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements a method for compressing byte-wise data via
+ * table-based asymmetric numeral systems (tANS), also known as Finite State
+ * Entropy (FSE). On skewed data, where the most frequent bytes would get
+ * one-bit Huffman codewords, FSE spends a fractional number of bits per byte
+ * and thus compresses better. The compressed data is a single container
+ * flagged by {@link Configuration#FLAG_FSE} and is decompressed by
+ * {@link HuffmanByteDecompressor} and {@link HuffmanDecoder} like any other
+ * container. Since the FSE state runs through the whole data, there are no
+ * checkpoints, so the data is decoded on a single thread.
+ * <p>
+ * Just like with Huffman-coding, the data of a single byte value is
+ * run-length encoded, and the data FSE would not shrink is stored as is.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class FseByteCompressor {
+
+    private FseByteCompressor() {
+
+    }
+
+    /**
+     * Compresses the {@code rawData} {@code byte}-array.
+     *
+     * @param rawData the raw data to compress.
+     * @return the full binary {@code byte}-array containing all the data needed
+     *         to decompress the compressed file.
+     */
+    public static byte[] compress(final byte[] rawData) {
+        return compress(rawData, false);
+    }
+
+    /**
+     * Compresses the {@code rawData} {@code byte}-array recording, if
+     * {@code checksums} is set, the CRC32C checksum of the raw data.
+     *
+     * @param rawData   the raw data to compress.
+     * @param checksums whether to record the checksum.
+     * @return the full binary {@code byte}-array containing all the data needed
+     *         to decompress the compressed file.
+     */
+    public static byte[] compress(final byte[] rawData,
+                                  final boolean checksums) {
+
+        Objects.requireNonNull(rawData, "The input raw data is null");
+
+        if (rawData.length == 0) {
+            throw new IllegalArgumentException("The input byte array is empty");
+        }
+
+        final MemorySegment rawDataSegment = MemorySegment.ofArray(rawData);
+
+        final ByteFrequencyDistribution frequencyDistribution =
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(rawDataSegment);
+
+        if (frequencyDistribution.size() == 1) {
+            final byte[] compressedData =
+                    new byte[Utils.countBytesInRunLengthContainer(checksums)];
+
+            ByteArrayHeaderWriter.writeRunLengthContainer(
+                    MemorySegment.ofArray(compressedData),
+                    rawData.length,
+                    rawData[0],
+                    checksums);
+
+            return compressedData;
+        }
+
+        final ByteFseTable table =
+                ByteFseTable.build(frequencyDistribution, rawData.length);
+
+        final int headerLength =
+                Utils.countBytesInFseHeader(table.getSymbolCount(), checksums);
+
+        final long storedContainerLength =
+                Utils.countBytesInStoredContainer(rawData.length, checksums);
+
+        final byte[] outputData =
+                new byte[Utils.toArrayLength(
+                        headerLength
+                                + table.getMaximumEncodedLength(
+                                        rawData.length))];
+
+        final MemorySegment outputSegment = MemorySegment.ofArray(outputData);
+
+        final long bitLength =
+                table.encode(rawDataSegment, outputSegment, headerLength);
+
+        final long compressedLength =
+                headerLength + (bitLength + Byte.SIZE - 1) / Byte.SIZE;
+
+        if (compressedLength >= storedContainerLength) {
+            // FSE does not pay off; store the data as is:
+            final byte[] compressedData =
+                    new byte[Utils.toArrayLength(storedContainerLength)];
+
+            ByteArrayHeaderWriter.writeStoredContainer(
+                    MemorySegment.ofArray(compressedData),
+                    rawDataSegment,
+                    checksums);
+
+            return compressedData;
+        }
+
+        ByteArrayHeaderWriter.writeFseHeader(
+                outputSegment,
+                rawData.length,
+                table,
+                checksums,
+                checksums ? Utils.computeChecksum(rawDataSegment) : 0,
+                bitLength);
+
+        return Arrays.copyOf(outputData, (int) compressedLength);
+    }
+}
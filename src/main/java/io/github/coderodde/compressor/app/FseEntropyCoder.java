@@ -0,0 +1,21 @@
+package io.github.coderodde.compressor.app;
+
+/**
+ * This class adapts {@link FseByteCompressor} to {@link ByteEntropyCoder}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class FseEntropyCoder implements ByteEntropyCoder {
+
+    @Override
+    public String getName() {
+        return "fse";
+    }
+
+    @Override
+    public byte[] compress(final byte[] rawData, final boolean checksums) {
+        return FseByteCompressor.compress(rawData, checksums);
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.MAXIMUM_ARRAY_LENGTH;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+
+/**
+ * This class implements a growable byte buffer the compressor appends the 
+ * compressed data to. Reusing a single buffer for many small inputs avoids 
+ * allocating an output array per input. Whether the buffer had room for the
+ * appended bytes is counted as a buffer pool hit or miss by 
+ * {@link CompressionMetrics}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class GrowableByteBuffer {
+    
+    /**
+     * The default initial capacity of the buffer.
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    
+    /**
+     * The backing array. Only the first {@code size} bytes are valid.
+     */
+    private byte[] array;
+    
+    /**
+     * The number of valid bytes in {@code array}.
+     */
+    private int size;
+    
+    public GrowableByteBuffer() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+    
+    public GrowableByteBuffer(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    String.format("initialCapacity(%d) < 0", 
+                                  initialCapacity));
+        }
+        
+        this.array = new byte[initialCapacity];
+    }
+    
+    /**
+     * Returns the backing array. Only the first {@link #size()} bytes of it 
+     * are valid, and the array is replaced whenever the buffer grows.
+     * 
+     * @return the backing array.
+     */
+    public byte[] array() {
+        return array;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Discards the contents of this buffer keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+    
+    /**
+     * Returns a copy of the valid bytes of this buffer.
+     * 
+     * @return the contents of this buffer.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(array, size);
+    }
+    
+    /**
+     * Appends {@code length} zero bytes to this buffer and returns the segment
+     * viewing them so that the caller may fill them in. The segment is valid 
+     * until the next call to this method.
+     * 
+     * @param length the number of bytes to append.
+     * @return the segment viewing the appended bytes.
+     */
+    MemorySegment append(final long length) {
+        if (length > MAXIMUM_ARRAY_LENGTH - size) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Cannot grow the buffer of %d bytes by %d bytes.",
+                            size,
+                            length));
+        }
+        
+        final int newSize = size + (int) length;
+        
+        if (CompressionMetrics.isEnabled()) {
+            CompressionMetrics.getInstance()
+                              .recordBufferPoolAccess(newSize <= array.length);
+        }
+        
+        if (newSize > array.length) {
+            final int newCapacity = 
+                    (int) Math.min(MAXIMUM_ARRAY_LENGTH, 
+                                   Math.max(newSize, 2L * array.length));
+            
+            array = Arrays.copyOf(array, newCapacity);
+        } else {
+            // The writers expect the reused bytes to be zero:
+            Arrays.fill(array, size, newSize, (byte) 0);
+        }
+        
+        final MemorySegment segment = 
+                MemorySegment.ofArray(array).asSlice(size, length);
+        
+        size = newSize;
+        return segment;
+    }
+}
@@ -0,0 +1,302 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.BATCH_MAPPED_FILE_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.BATCH_THREADS_PER_CORE;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class implements the batch compression of many files within a single
+ * JVM. Each file is compressed into its own {@code .huf} file, or
+ * decompressed from it, by a task of a fixed thread pool. The pool has more
+ * threads than cores so that the threads waiting for I/O do not leave the
+ * cores idle. A failure of a single file does not stop the batch; it is
+ * reported in the {@link Result} instead.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanBatchCompressor {
+
+    /**
+     * This extension is added to the compressed files.
+     */
+    public static final String COMPRESSED_FILE_EXTENSION = ".huf";
+
+    private HuffmanBatchCompressor() {
+
+    }
+
+    /**
+     * Returns the default number of the batch threads.
+     *
+     * @return the default parallelism.
+     */
+    public static int getDefaultParallelism() {
+        return BATCH_THREADS_PER_CORE
+             * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Compresses each file {@code F} in {@code inputPaths} into the file
+     * {@code F.huf} on {@code parallelism} threads.
+     *
+     * @param inputPaths  the paths of the files to compress.
+     * @param parallelism the number of the threads.
+     * @return the result of the batch.
+     * @throws InterruptedException if interrupted while waiting for the files.
+     */
+    public static Result compress(final List<Path> inputPaths,
+                                  final int parallelism)
+            throws InterruptedException {
+
+        return run(inputPaths, parallelism, true);
+    }
+
+    /**
+     * Decompresses each file {@code F.huf} in {@code inputPaths} into the file
+     * {@code F} on {@code parallelism} threads.
+     *
+     * @param inputPaths  the paths of the files to decompress.
+     * @param parallelism the number of the threads.
+     * @return the result of the batch.
+     * @throws InterruptedException if interrupted while waiting for the files.
+     */
+    public static Result decompress(final List<Path> inputPaths,
+                                    final int parallelism)
+            throws InterruptedException {
+
+        return run(inputPaths, parallelism, false);
+    }
+
+    private static Result run(final List<Path> inputPaths,
+                              final int parallelism,
+                              final boolean compress)
+            throws InterruptedException {
+
+        Objects.requireNonNull(inputPaths, "The input paths are null");
+
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    String.format("parallelism(%d) < 1", parallelism));
+        }
+
+        final List<Path> uniquePaths = getUniquePaths(inputPaths);
+        final long startTime = System.nanoTime();
+        final List<Future<long[]>> futures =
+                new ArrayList<>(uniquePaths.size());
+
+        try (final ExecutorService executor =
+                Executors.newFixedThreadPool(parallelism)) {
+
+            for (final Path inputPath : uniquePaths) {
+                futures.add(executor.submit(
+                        () -> compress ? compressFile(inputPath)
+                                       : decompressFile(inputPath)));
+            }
+        }
+
+        final Map<Path, Throwable> failures = new LinkedHashMap<>();
+        long inputBytes  = 0L;
+        long outputBytes = 0L;
+
+        for (int i = 0; i < futures.size(); ++i) {
+            try {
+                final long[] lengths = futures.get(i).get();
+                inputBytes  += lengths[0];
+                outputBytes += lengths[1];
+            } catch (final ExecutionException ex) {
+                failures.put(uniquePaths.get(i), ex.getCause());
+            }
+        }
+
+        return new Result(uniquePaths.size() - failures.size(),
+                          inputBytes,
+                          outputBytes,
+                          System.nanoTime() - startTime,
+                          failures);
+    }
+
+    /**
+     * Returns the {@code inputPaths} without the repeated files, keeping the
+     * first path of each file. A file listed twice, for example explicitly
+     * and via a glob, would otherwise be processed by two tasks writing the
+     * same output file at once.
+     */
+    private static List<Path> getUniquePaths(final List<Path> inputPaths) {
+        final Map<Path, Path> uniquePaths = new LinkedHashMap<>();
+
+        for (final Path inputPath : inputPaths) {
+            Objects.requireNonNull(inputPath, "An input path is null");
+
+            uniquePaths.putIfAbsent(inputPath.toAbsolutePath().normalize(),
+                                    inputPath);
+        }
+
+        return new ArrayList<>(uniquePaths.values());
+    }
+
+    /**
+     * Compresses a single file. Small files are read into the heap, since
+     * mapping costs more than copying them; the larger ones are mapped.
+     *
+     * @return the lengths of the input and the output files.
+     */
+    private static long[] compressFile(final Path inputPath)
+            throws IOException {
+
+        if (inputPath.toString().endsWith(COMPRESSED_FILE_EXTENSION)) {
+            throw new IllegalArgumentException(
+                    String.format("The file '%s' already seems to be " +
+                                  "compressed.",
+                                  inputPath));
+        }
+
+        final Path outputPath =
+                Path.of(inputPath.toString() + COMPRESSED_FILE_EXTENSION);
+
+        final long inputLength = Files.size(inputPath);
+
+        if (inputLength >= BATCH_MAPPED_FILE_LENGTH) {
+            HuffmanByteCompressor.compress(inputPath, outputPath);
+        } else {
+            Files.write(outputPath,
+                        HuffmanByteCompressor.compress(
+                                Files.readAllBytes(inputPath)));
+        }
+
+        return new long[]{ inputLength, Files.size(outputPath) };
+    }
+
+    /**
+     * Decompresses a single file.
+     *
+     * @return the lengths of the input and the output files.
+     */
+    private static long[] decompressFile(final Path inputPath)
+            throws IOException {
+
+        final String inputFileName = inputPath.toString();
+
+        if (!inputFileName.endsWith(COMPRESSED_FILE_EXTENSION)) {
+            throw new IllegalArgumentException(
+                    String.format("The file '%s' has no '%s' extension.",
+                                  inputPath,
+                                  COMPRESSED_FILE_EXTENSION));
+        }
+
+        final Path outputPath =
+                Path.of(inputFileName.substring(
+                        0,
+                        inputFileName.length()
+                                - COMPRESSED_FILE_EXTENSION.length()));
+
+        final long inputLength = Files.size(inputPath);
+
+        if (inputLength >= BATCH_MAPPED_FILE_LENGTH) {
+            HuffmanByteDecompressor.decompress(inputPath, outputPath);
+        } else {
+            final byte[] compressedData = Files.readAllBytes(inputPath);
+
+            if (HuffmanByteDecompressor.getRawDataLength(compressedData)
+                    >= BATCH_MAPPED_FILE_LENGTH) {
+                HuffmanByteDecompressor.decompress(inputPath, outputPath);
+            } else {
+                Files.write(outputPath,
+                            HuffmanByteDecompressor.decompress(
+                                    compressedData));
+            }
+        }
+
+        return new long[]{ inputLength, Files.size(outputPath) };
+    }
+
+    /**
+     * This class holds the aggregate statistics of a batch.
+     */
+    public static final class Result {
+
+        /**
+         * The number of the files processed successfully.
+         */
+        private final int fileCount;
+
+        /**
+         * The total length of the successfully processed input files.
+         */
+        private final long inputBytes;
+
+        /**
+         * The total length of the resultant output files.
+         */
+        private final long outputBytes;
+
+        /**
+         * The wall-clock duration of the batch in nanoseconds.
+         */
+        private final long durationNanos;
+
+        /**
+         * The causes of the failures keyed by the failed input paths.
+         */
+        private final Map<Path, Throwable> failures;
+
+        private Result(final int fileCount,
+                       final long inputBytes,
+                       final long outputBytes,
+                       final long durationNanos,
+                       final Map<Path, Throwable> failures) {
+
+            this.fileCount     = fileCount;
+            this.inputBytes    = inputBytes;
+            this.outputBytes   = outputBytes;
+            this.durationNanos = durationNanos;
+            this.failures      = Collections.unmodifiableMap(failures);
+        }
+
+        public int getFileCount() {
+            return fileCount;
+        }
+
+        public long getInputBytes() {
+            return inputBytes;
+        }
+
+        public long getOutputBytes() {
+            return outputBytes;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public Map<Path, Throwable> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Returns the aggregate throughput of the batch.
+         *
+         * @return the number of input megabytes processed per second.
+         */
+        public double getThroughput() {
+            if (durationNanos == 0L) {
+                return 0.0;
+            }
+
+            return inputBytes * 1e3 / durationNanos;
+        }
+    }
+}
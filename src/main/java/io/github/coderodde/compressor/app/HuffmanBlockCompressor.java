@@ -0,0 +1,264 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_BLOCK_SIZE;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class implements the block mode compression. The input data is split 
+ * into blocks of {@code blockSize} bytes, and each block is compressed with 
+ * its own code table in parallel on a {@link ForkJoinPool}. The resultant 
+ * block container is decompressed by
+ * {@link io.github.coderodde.compressor.app.HuffmanByteDecompressor}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanBlockCompressor {
+    
+    /**
+     * When compressing files, at most this many blocks per worker thread are 
+     * held in memory at a time.
+     */
+    private static final int BLOCKS_PER_WORKER = 2;
+    
+    private HuffmanBlockCompressor() {
+        
+    }
+    
+    /**
+     * Compresses the {@code rawData} into a block container using the default
+     * block size and the common pool.
+     * 
+     * @param rawData the raw data to compress.
+     * @return the block container.
+     */
+    public static byte[] compress(final byte[] rawData) {
+        return compress(rawData, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Compresses the {@code rawData} into a block container.
+     * 
+     * @param rawData   the raw data to compress.
+     * @param blockSize the maximum number of raw data bytes per block.
+     * @param pool      the pool compressing the blocks.
+     * @return the block container.
+     */
+    public static byte[] compress(final byte[] rawData,
+                                  final int blockSize,
+                                  final ForkJoinPool pool) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        Objects.requireNonNull(pool, "The input pool is null");
+        checkBlockSize(blockSize);
+        
+        if (rawData.length == 0) {
+            throw new IllegalArgumentException("The input byte array is empty");
+        }
+        
+        final MemorySegment rawDataSegment = MemorySegment.ofArray(rawData);
+        final int blockCount = Utils.countBlocks(rawData.length, blockSize);
+        final byte[][] compressedBlocks = new byte[blockCount][];
+        
+        pool.invoke(new CompressBlocksTask(rawDataSegment,
+                                           blockSize,
+                                           compressedBlocks,
+                                           0,
+                                           blockCount));
+        
+        final long[] blockOffsets = new long[blockCount];
+        long containerLength = Utils.countBytesInBlockHeader(blockCount);
+        
+        for (int i = 0; i < blockCount; ++i) {
+            blockOffsets[i] = containerLength;
+            containerLength += compressedBlocks[i].length;
+        }
+        
+        final byte[] outputData = 
+                new byte[Utils.toArrayLength(containerLength)];
+        
+        new ByteArrayBlockHeaderWriter(rawData.length,
+                                       blockSize,
+                                       blockOffsets,
+                                       MemorySegment.ofArray(outputData))
+                .write();
+        
+        for (int i = 0; i < blockCount; ++i) {
+            System.arraycopy(compressedBlocks[i], 
+                             0, 
+                             outputData, 
+                             (int) blockOffsets[i], 
+                             compressedBlocks[i].length);
+        }
+        
+        return outputData;
+    }
+    
+    /**
+     * Compresses the file {@code inputPath} into a block container file 
+     * {@code outputPath}. The input file is mapped into memory and only a 
+     * bounded number of compressed blocks is held in memory at a time.
+     * 
+     * @param inputPath  the path of the file to compress.
+     * @param outputPath the path of the resultant block container.
+     * @param blockSize  the maximum number of raw data bytes per block.
+     * @param pool       the pool compressing the blocks.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void compress(final Path inputPath,
+                                final Path outputPath,
+                                final int blockSize,
+                                final ForkJoinPool pool) throws IOException {
+        
+        Objects.requireNonNull(inputPath, "The input path is null");
+        Objects.requireNonNull(outputPath, "The output path is null");
+        Objects.requireNonNull(pool, "The input pool is null");
+        checkBlockSize(blockSize);
+        
+        // The mapped input is accessed by the pool threads, so the arena must
+        // be shared. The input is checked before the output is truncated:
+        try (final Arena arena = Arena.ofShared();
+             final FileChannel inputChannel = 
+                     FileChannel.open(inputPath, StandardOpenOption.READ);
+             final FileChannel outputChannel = 
+                     FileChannel.open(
+                             Utils.checkFilesToCompress(inputPath, 
+                                                        inputChannel.size(), 
+                                                        outputPath), 
+                             StandardOpenOption.CREATE,
+                             StandardOpenOption.TRUNCATE_EXISTING,
+                             StandardOpenOption.WRITE)) {
+            
+            final long rawDataLength = inputChannel.size();
+            
+            final MemorySegment rawData = 
+                    inputChannel.map(FileChannel.MapMode.READ_ONLY, 
+                                     0L, 
+                                     rawDataLength,
+                                     arena);
+            
+            final int blockCount = Utils.countBlocks(rawDataLength, blockSize);
+            final int wave = BLOCKS_PER_WORKER * pool.getParallelism();
+            final byte[][] compressedBlocks = new byte[blockCount][];
+            final long[] blockOffsets = new long[blockCount];
+            long position = Utils.countBytesInBlockHeader(blockCount);
+            
+            for (int waveStart = 0; 
+                     waveStart < blockCount; 
+                     waveStart += wave) {
+                
+                final int waveEnd = Math.min(blockCount, waveStart + wave);
+                
+                pool.invoke(new CompressBlocksTask(rawData,
+                                                   blockSize,
+                                                   compressedBlocks,
+                                                   waveStart,
+                                                   waveEnd));
+                
+                for (int i = waveStart; i < waveEnd; ++i) {
+                    blockOffsets[i] = position;
+                    position += writeFully(outputChannel,
+                                           compressedBlocks[i], 
+                                           position);
+                    
+                    // Let the block be garbage collected:
+                    compressedBlocks[i] = null;
+                }
+            }
+            
+            final byte[] header = 
+                    new byte[(int) Utils.countBytesInBlockHeader(blockCount)];
+            
+            new ByteArrayBlockHeaderWriter(rawDataLength,
+                                           blockSize,
+                                           blockOffsets,
+                                           MemorySegment.ofArray(header))
+                    .write();
+            
+            writeFully(outputChannel, header, 0L);
+        }
+    }
+    
+    private static int writeFully(final FileChannel channel,
+                                  final byte[] data,
+                                  final long position) throws IOException {
+        
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        
+        return data.length;
+    }
+    
+    static void checkBlockSize(final int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException(
+                    String.format("blockSize(%d) < 1", blockSize));
+        }
+    }
+    
+    /**
+     * This task compresses a range of blocks by splitting the range in halves
+     * until a single block remains.
+     */
+    private static final class CompressBlocksTask extends RecursiveAction {
+        
+        private final MemorySegment rawData;
+        private final int blockSize;
+        private final byte[][] compressedBlocks;
+        private final int fromBlockIndex;
+        private final int toBlockIndex;
+        
+        CompressBlocksTask(final MemorySegment rawData,
+                           final int blockSize,
+                           final byte[][] compressedBlocks,
+                           final int fromBlockIndex,
+                           final int toBlockIndex) {
+            
+            this.rawData          = rawData;
+            this.blockSize        = blockSize;
+            this.compressedBlocks = compressedBlocks;
+            this.fromBlockIndex   = fromBlockIndex;
+            this.toBlockIndex     = toBlockIndex;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toBlockIndex - fromBlockIndex == 1) {
+                final long offset = (long) fromBlockIndex * blockSize;
+                final long length = Math.min(blockSize, 
+                                             rawData.byteSize() - offset);
+                
+                compressedBlocks[fromBlockIndex] = 
+                        HuffmanByteCompressor.compress(
+                                rawData.asSlice(offset, length));
+                return;
+            }
+            
+            final int middleBlockIndex = (fromBlockIndex + toBlockIndex) >>> 1;
+            
+            invokeAll(new CompressBlocksTask(rawData, 
+                                             blockSize, 
+                                             compressedBlocks, 
+                                             fromBlockIndex, 
+                                             middleBlockIndex),
+                      new CompressBlocksTask(rawData, 
+                                             blockSize, 
+                                             compressedBlocks, 
+                                             middleBlockIndex, 
+                                             toBlockIndex));
+        }
+    }
+}
@@ -1,13 +1,37 @@
 package io.github.coderodde.compressor.app;
 
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_CHECKPOINT_INTERVAL;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_RUN_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.FLAG_STORED;
+import io.github.coderodde.compressor.app.CompressionMetrics.Stage;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class implements a method for compressing byte-wise files via Huffman-
- * coding.
+ * coding. Besides byte arrays, this class can compress files of arbitrary size
+ * by mapping them into memory. Inputs longer than the checkpoint interval get
+ * a checkpoint index allowing the decompressor to decode them in parallel.
+ * The data Huffman-coding would not shrink, such as already compressed data,
+ * is stored as is, and the data of a single byte value is run-length encoded.
+ * Long checkpoint segments are split into interleaved streams so that even a
+ * single core decodes them faster. The raw data may also be read from, and the
+ * compressed data written into, memory segments and byte buffers, heap or 
+ * off-heap, without copying. Each compression is reported as a 
+ * {@link CompressionEvent} and to {@link CompressionMetrics} when either is 
+ * enabled.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 14, 2025)
  */
 public final class HuffmanByteCompressor {
@@ -33,40 +57,800 @@ public final class HuffmanByteCompressor {
             throw new IllegalArgumentException("The input byte array is empty");
         }
         
-        final ByteFrequencyDistribution byteWeightDistribution =
+        return compress(MemorySegment.ofArray(rawData));
+    }
+    
+    /**
+     * Compresses the {@code rawData} {@code byte}-array recording a checkpoint
+     * every {@code checkpointInterval} raw data bytes. Denser checkpoints 
+     * make {@link HuffmanByteDecompressor#decompressRange(byte[], long, int)}
+     * decode less data in vain and the parallel decompression finer-grained 
+     * at the cost of 8 header bytes per checkpoint.
+     * 
+     * @param rawData            the raw data to compress.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @return the full binary {@code byte}-array containing all the data needed
+     *         to decompress the compressed file.
+     */
+    public static byte[] compress(final byte[] rawData,
+                                  final int checkpointInterval) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        
+        if (rawData.length == 0) {
+            throw new IllegalArgumentException("The input byte array is empty");
+        }
+        
+        return compress(MemorySegment.ofArray(rawData), checkpointInterval);
+    }
+    
+    /**
+     * Compresses the {@code rawData} {@code byte}-array recording a checkpoint
+     * every {@code checkpointInterval} raw data bytes and, if 
+     * {@code checksums} is set, the CRC32C checksum of each checkpoint segment.
+     * The decompressor verifies the checksums, and 
+     * {@link HuffmanByteDecompressor#verify(byte[])} checks them without 
+     * producing any output.
+     * 
+     * @param rawData            the raw data to compress.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @param checksums          whether to record the checksums.
+     * @return the full binary {@code byte}-array containing all the data needed
+     *         to decompress the compressed file.
+     */
+    public static byte[] compress(final byte[] rawData,
+                                  final int checkpointInterval,
+                                  final boolean checksums) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        
+        if (rawData.length == 0) {
+            throw new IllegalArgumentException("The input byte array is empty");
+        }
+        
+        return compress(MemorySegment.ofArray(rawData), 
+                        checkpointInterval, 
+                        checksums);
+    }
+    
+    /**
+     * Compresses the {@code rawData} memory segment into a byte array.
+     * 
+     * @param rawData the non-empty raw data to compress.
+     * @return the full binary {@code byte}-array containing all the data needed
+     *         to decompress the compressed file.
+     */
+    static byte[] compress(final MemorySegment rawData) {
+        return compress(rawData, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+    
+    /**
+     * Compresses the {@code rawData} memory segment into a byte array 
+     * recording a checkpoint every {@code checkpointInterval} raw data bytes.
+     * 
+     * @param rawData            the non-empty raw data to compress.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @return the full binary {@code byte}-array containing all the data needed
+     *         to decompress the compressed file.
+     */
+    static byte[] compress(final MemorySegment rawData, 
+                           final int checkpointInterval) {
+        
+        return compress(rawData, checkpointInterval, false);
+    }
+    
+    /**
+     * Compresses the {@code rawData} memory segment into a byte array 
+     * recording a checkpoint every {@code checkpointInterval} raw data bytes
+     * and optionally the checksums of the checkpoint segments.
+     * 
+     * @param rawData            the non-empty raw data to compress.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @param checksums          whether to record the checksums.
+     * @return the full binary {@code byte}-array containing all the data needed
+     *         to decompress the compressed file.
+     */
+    static byte[] compress(final MemorySegment rawData, 
+                           final int checkpointInterval,
+                           final boolean checksums) {
+        
+        checkCheckpointInterval(checkpointInterval);
+        
+        final CompressionProbe probe = CompressionProbe.beginCompression();
+        
+        final ByteFrequencyDistribution frequencyDistribution = 
                 ByteWeightDistributionBuilder
                         .buildByteWeightDistribution(rawData);
-               
+        
+        probe.endStage(Stage.HISTOGRAM);
+        
         final ByteHuffmanCodeTable codeTable = 
-                ByteHuffmanCodeTableBuilder.buildCode(byteWeightDistribution);
+                ByteHuffmanCodeTableBuilder.buildCode(frequencyDistribution);
+        
+        final long compressedLength = 
+                getCompressedLength(codeTable, 
+                                    frequencyDistribution,
+                                    rawData.byteSize(), 
+                                    checkpointInterval,
+                                    checksums);
+        
+        final byte mode = selectMode(frequencyDistribution, 
+                                     compressedLength, 
+                                     rawData.byteSize(),
+                                     checksums);
+        
+        probe.endStage(Stage.TABLE_BUILD);
+        
+        final byte[] outputData = 
+                new byte[Utils.toArrayLength(
+                        getContainerLength(mode, 
+                                           compressedLength, 
+                                           rawData.byteSize(),
+                                           checksums))];
+        
+        compress(rawData, 
+                 mode,
+                 codeTable, 
+                 MemorySegment.ofArray(outputData),
+                 checkpointInterval,
+                 checksums,
+                 probe);
+        
+        probe.endCompression(rawData.byteSize(), 
+                             outputData.length, 
+                             getModeName(mode));
+        
+        return outputData;
+    }
+    
+    /**
+     * Returns the maximum length of the compressed data of 
+     * {@code rawDataLength} bytes. An output of this length always suffices 
+     * for {@link #compress(MemorySegment, MemorySegment)}.
+     * 
+     * @param rawDataLength the length of the raw data.
+     * @return the upper bound of the compressed length.
+     */
+    public static long getMaximumCompressedLength(final long rawDataLength) {
+        return getMaximumCompressedLength(rawDataLength, false);
+    }
+    
+    /**
+     * Returns the maximum length of the compressed data of 
+     * {@code rawDataLength} bytes. An output of this length always suffices 
+     * for {@link #compress(MemorySegment, MemorySegment, int, boolean)}.
+     * 
+     * @param rawDataLength the length of the raw data.
+     * @param checksums     whether the checksums are recorded.
+     * @return the upper bound of the compressed length.
+     */
+    public static long getMaximumCompressedLength(final long rawDataLength,
+                                                  final boolean checksums) {
+        // The data is stored as is if Huffman-coding does not shrink it:
+        return Utils.countBytesInStoredContainer(rawDataLength, checksums);
+    }
+    
+    /**
+     * Compresses {@code rawData} into the beginning of {@code outputData}. 
+     * The data is encoded directly from one segment into the other, heap or 
+     * off-heap.
+     * 
+     * @param rawData    the non-empty raw data to compress.
+     * @param outputData the segment receiving the compressed data. Having 
+     *                   {@link #getMaximumCompressedLength(long)} bytes, it is
+     *                   always large enough.
+     * @return the number of compressed bytes written.
+     */
+    public static long compress(final MemorySegment rawData,
+                                final MemorySegment outputData) {
+        
+        return compress(rawData, 
+                        outputData, 
+                        DEFAULT_CHECKPOINT_INTERVAL, 
+                        false);
+    }
+    
+    /**
+     * Compresses {@code rawData} into the beginning of {@code outputData}
+     * recording a checkpoint every {@code checkpointInterval} raw data bytes 
+     * and optionally the checksums of the checkpoint segments.
+     * 
+     * @param rawData            the non-empty raw data to compress.
+     * @param outputData         the segment receiving the compressed data.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @param checksums          whether to record the checksums.
+     * @return the number of compressed bytes written.
+     */
+    public static long compress(final MemorySegment rawData,
+                                final MemorySegment outputData,
+                                final int checkpointInterval,
+                                final boolean checksums) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        Objects.requireNonNull(outputData, "The output data is null");
+        checkCheckpointInterval(checkpointInterval);
+        
+        if (rawData.byteSize() == 0L) {
+            throw new IllegalArgumentException("The input segment is empty");
+        }
+        
+        final CompressionProbe probe = CompressionProbe.beginCompression();
+        
+        final ByteFrequencyDistribution frequencyDistribution = 
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(rawData);
+        
+        probe.endStage(Stage.HISTOGRAM);
+        
+        final ByteHuffmanCodeTable codeTable = 
+                ByteHuffmanCodeTableBuilder.buildCode(frequencyDistribution);
+        
+        final long compressedLength = 
+                getCompressedLength(codeTable, 
+                                    frequencyDistribution,
+                                    rawData.byteSize(), 
+                                    checkpointInterval,
+                                    checksums);
+        
+        final byte mode = selectMode(frequencyDistribution, 
+                                     compressedLength, 
+                                     rawData.byteSize(),
+                                     checksums);
+        
+        final long containerLength = getContainerLength(mode, 
+                                                        compressedLength, 
+                                                        rawData.byteSize(),
+                                                        checksums);
+        
+        if (outputData.byteSize() < containerLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The output of %d bytes is too small for %d " + 
+                            "compressed bytes.", 
+                            outputData.byteSize(),
+                            containerLength));
+        }
+        
+        probe.endStage(Stage.TABLE_BUILD);
+        
+        final MemorySegment containerData = 
+                outputData.asSlice(0L, containerLength);
+        
+        // The writers expect the output bytes to be zero:
+        containerData.fill((byte) 0);
+        
+        compress(rawData, 
+                 mode,
+                 codeTable, 
+                 containerData,
+                 checkpointInterval,
+                 checksums,
+                 probe);
+        
+        probe.endCompression(rawData.byteSize(), 
+                             containerLength, 
+                             getModeName(mode));
+        
+        return containerLength;
+    }
+    
+    /**
+     * Compresses the remaining bytes of {@code rawData} into 
+     * {@code outputData} starting at its position. The buffers may be direct
+     * or heap ones. On return, the position of {@code rawData} is its limit,
+     * and the position of {@code outputData} is advanced past the compressed 
+     * data.
+     * 
+     * @param rawData    the buffer holding the non-empty raw data.
+     * @param outputData the buffer receiving the compressed data.
+     * @return the number of compressed bytes written.
+     * @throws ReadOnlyBufferException if {@code outputData} is read-only.
+     */
+    public static int compress(final ByteBuffer rawData,
+                               final ByteBuffer outputData) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        Objects.requireNonNull(outputData, "The output data is null");
+        
+        if (outputData.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        
+        final int compressedLength = 
+                (int) compress(MemorySegment.ofBuffer(rawData), 
+                               MemorySegment.ofBuffer(outputData));
+        
+        rawData.position(rawData.limit());
+        outputData.position(outputData.position() + compressedLength);
+        return compressedLength;
+    }
+    
+    /**
+     * Compresses the {@code rawData} {@code byte}-array with the pretrained 
+     * {@code dictionary}. The compressed data carries only the ID of the 
+     * dictionary instead of a code table, so the dictionary must be 
+     * registered via 
+     * {@link HuffmanByteDecompressor#registerDictionary(ByteHuffmanDictionary)}
+     * in order to decompress it.
+     * 
+     * @param rawData    the raw data to compress.
+     * @param dictionary the dictionary to compress with.
+     * @return the full binary {@code byte}-array containing all the data 
+     *         needed to decompress the compressed file except the dictionary.
+     */
+    public static byte[] compress(final byte[] rawData,
+                                  final ByteHuffmanDictionary dictionary) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        Objects.requireNonNull(dictionary, "The input dictionary is null");
+        
+        if (rawData.length == 0) {
+            throw new IllegalArgumentException("The input byte array is empty");
+        }
+        
+        final CompressionProbe probe = CompressionProbe.beginCompression();
+        final MemorySegment rawDataSegment = MemorySegment.ofArray(rawData);
+        
+        final ByteFrequencyDistribution frequencyDistribution = 
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(rawDataSegment);
         
-        final int countNumberOfBytesInCodeHeader = 
-                Utils.countBytesInCodeHeader(codeTable.size());
+        probe.endStage(Stage.HISTOGRAM);
+        
+        final long countNumberOfBytesInDictionaryHeader = 
+                Utils.countBytesInDictionaryHeader(
+                        Utils.countCheckpoints(rawData.length, 
+                                               DEFAULT_CHECKPOINT_INTERVAL));
         
         final long countNumberOfBytesInRawData = 
-                Utils.countBitsInRawData(codeTable, 
-                                         rawData);
+                Utils.countBitsInRawData(dictionary.getCodeTable(), 
+                                         frequencyDistribution);
         
         final byte[] outputData = 
-                new byte[(int)(countNumberOfBytesInCodeHeader + 
-                               countNumberOfBytesInRawData)];
+                new byte[Utils.toArrayLength(
+                        countNumberOfBytesInDictionaryHeader + 
+                        countNumberOfBytesInRawData)];
+        
+        final MemorySegment outputDataSegment = 
+                MemorySegment.ofArray(outputData);
+        
+        compress(rawDataSegment,
+                 new ByteArrayHeaderWriter(rawData.length,
+                                           outputDataSegment,
+                                           dictionary,
+                                           DEFAULT_CHECKPOINT_INTERVAL),
+                 dictionary.getEncodingTable(),
+                 outputDataSegment,
+                 DEFAULT_CHECKPOINT_INTERVAL,
+                 probe);
+        
+        probe.endCompression(rawData.length, 
+                             outputData.length, 
+                             "dictionary");
+        
+        return outputData;
+    }
+    
+    /**
+     * Compresses the {@code rawData} {@code byte}-array appending the result 
+     * to {@code outputBuffer}. Reusing the output buffer saves allocating an 
+     * output array per call.
+     * 
+     * @param rawData      the raw data to compress.
+     * @param outputBuffer the buffer receiving the compressed data.
+     * @return the number of bytes appended to {@code outputBuffer}.
+     */
+    public static int compress(final byte[] rawData,
+                               final GrowableByteBuffer outputBuffer) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        Objects.requireNonNull(outputBuffer, "The output buffer is null");
+        
+        if (rawData.length == 0) {
+            throw new IllegalArgumentException("The input byte array is empty");
+        }
+        
+        return compress(MemorySegment.ofArray(rawData), outputBuffer);
+    }
+    
+    /**
+     * Compresses the {@code rawData} memory segment appending the result to 
+     * {@code outputBuffer}.
+     * 
+     * @param rawData      the non-empty raw data to compress.
+     * @param outputBuffer the buffer receiving the compressed data.
+     * @return the number of bytes appended to {@code outputBuffer}.
+     */
+    static int compress(final MemorySegment rawData,
+                        final GrowableByteBuffer outputBuffer) {
+        
+        final CompressionProbe probe = CompressionProbe.beginCompression();
+        
+        final ByteFrequencyDistribution frequencyDistribution = 
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(rawData);
+        
+        probe.endStage(Stage.HISTOGRAM);
+        
+        final ByteHuffmanCodeTable codeTable = 
+                ByteHuffmanCodeTableBuilder.buildCode(frequencyDistribution);
+        
+        final long compressedLength = 
+                getCompressedLength(codeTable, 
+                                    frequencyDistribution, 
+                                    rawData.byteSize(), 
+                                    DEFAULT_CHECKPOINT_INTERVAL,
+                                    false);
+        
+        final byte mode = selectMode(frequencyDistribution, 
+                                     compressedLength, 
+                                     rawData.byteSize(),
+                                     false);
+        
+        final long containerLength = getContainerLength(mode, 
+                                                        compressedLength, 
+                                                        rawData.byteSize(),
+                                                        false);
+        
+        probe.endStage(Stage.TABLE_BUILD);
         
-        final ByteArrayHeaderWriter headerWriter = 
-                new ByteArrayHeaderWriter(rawData.length, 
-                                          outputData,
-                                          codeTable);
+        compress(rawData, 
+                 mode,
+                 codeTable, 
+                 outputBuffer.append(containerLength), 
+                 DEFAULT_CHECKPOINT_INTERVAL,
+                 false,
+                 probe);
+        
+        probe.endCompression(rawData.byteSize(), 
+                             containerLength, 
+                             getModeName(mode));
+        
+        return (int) containerLength;
+    }
+    
+    /**
+     * Compresses the file {@code inputPath} into the file {@code outputPath}. 
+     * Both the files are mapped into memory so that their size is not limited
+     * by the maximum length of a Java array.
+     * 
+     * @param inputPath  the path of the file to compress.
+     * @param outputPath the path of the resultant compressed file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void compress(final Path inputPath, final Path outputPath) 
+            throws IOException {
+        
+        compress(inputPath, outputPath, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+    
+    /**
+     * Compresses the file {@code inputPath} into the file {@code outputPath}
+     * recording a checkpoint every {@code checkpointInterval} raw data bytes.
+     * 
+     * @param inputPath          the path of the file to compress.
+     * @param outputPath         the path of the resultant compressed file.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void compress(final Path inputPath, 
+                                final Path outputPath,
+                                final int checkpointInterval) 
+            throws IOException {
+        
+        compress(inputPath, outputPath, checkpointInterval, false);
+    }
+    
+    /**
+     * Compresses the file {@code inputPath} into the file {@code outputPath}
+     * recording a checkpoint every {@code checkpointInterval} raw data bytes
+     * and, if {@code checksums} is set, the CRC32C checksum of each checkpoint
+     * segment.
+     * 
+     * @param inputPath          the path of the file to compress.
+     * @param outputPath         the path of the resultant compressed file.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @param checksums          whether to record the checksums.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void compress(final Path inputPath, 
+                                final Path outputPath,
+                                final int checkpointInterval,
+                                final boolean checksums) 
+            throws IOException {
+        
+        Objects.requireNonNull(inputPath, "The input path is null");
+        Objects.requireNonNull(outputPath, "The output path is null");
+        checkCheckpointInterval(checkpointInterval);
+        
+        // The histogram is built on the pool threads. The input is checked 
+        // before the output is truncated:
+        try (final Arena arena = Arena.ofShared();
+             final FileChannel inputChannel = 
+                     FileChannel.open(inputPath, StandardOpenOption.READ);
+             final FileChannel outputChannel = 
+                     FileChannel.open(
+                             Utils.checkFilesToCompress(inputPath, 
+                                                        inputChannel.size(), 
+                                                        outputPath), 
+                             StandardOpenOption.CREATE,
+                             StandardOpenOption.TRUNCATE_EXISTING,
+                             StandardOpenOption.READ,
+                             StandardOpenOption.WRITE)) {
+            
+            final MemorySegment rawData = 
+                    inputChannel.map(FileChannel.MapMode.READ_ONLY, 
+                                     0L, 
+                                     inputChannel.size(),
+                                     arena);
+            
+            final CompressionProbe probe = 
+                    CompressionProbe.beginCompression();
+            
+            final ByteFrequencyDistribution frequencyDistribution = 
+                    ByteWeightDistributionBuilder
+                            .buildByteWeightDistribution(
+                                    rawData, 
+                                    ForkJoinPool.commonPool());
+            
+            probe.endStage(Stage.HISTOGRAM);
+            
+            final ByteHuffmanCodeTable codeTable = 
+                    ByteHuffmanCodeTableBuilder.buildCode(
+                            frequencyDistribution);
+            
+            final long compressedLength = 
+                    getCompressedLength(codeTable, 
+                                        frequencyDistribution,
+                                        rawData.byteSize(),
+                                        checkpointInterval,
+                                        checksums);
+            
+            final byte mode = selectMode(frequencyDistribution, 
+                                         compressedLength, 
+                                         rawData.byteSize(),
+                                         checksums);
+            
+            probe.endStage(Stage.TABLE_BUILD);
+            
+            final MemorySegment outputData = 
+                    outputChannel.map(FileChannel.MapMode.READ_WRITE, 
+                                      0L, 
+                                      getContainerLength(mode, 
+                                                         compressedLength, 
+                                                         rawData.byteSize(),
+                                                         checksums),
+                                      arena);
+            
+            compress(rawData, 
+                     mode, 
+                     codeTable, 
+                     outputData, 
+                     checkpointInterval, 
+                     checksums,
+                     probe);
+            
+            probe.endCompression(rawData.byteSize(), 
+                                 outputData.byteSize(), 
+                                 getModeName(mode));
+        }
+    }
+    
+    private static void checkCheckpointInterval(
+            final int checkpointInterval) {
+        
+        if (checkpointInterval < 1) {
+            throw new IllegalArgumentException(
+                    String.format("checkpointInterval(%d) < 1", 
+                                  checkpointInterval));
+        }
+    }
+    
+    /**
+     * Returns the exact length of the compressed data. The length of the 
+     * encoded data is computed from the byte frequencies so that the raw data
+     * is not scanned for it.
+     */
+    private static long getCompressedLength(
+            final ByteHuffmanCodeTable codeTable,
+            final ByteFrequencyDistribution frequencyDistribution,
+            final long rawDataLength,
+            final int checkpointInterval,
+            final boolean checksums) {
+        
+        final int checkpointCount = Utils.countCheckpoints(rawDataLength, 
+                                                           checkpointInterval);
+        
+        final long countNumberOfBytesInCodeHeader = 
+                Utils.countBytesInCodeHeader(codeTable.size(), 
+                                             checkpointCount);
+        
+        final long countNumberOfBytesInChecksumTable = 
+                checksums ? Utils.countBytesInChecksumTable(checkpointCount) 
+                          : 0L;
+        
+        final long countNumberOfBytesInStreamTable = 
+                Utils.useStreams(rawDataLength, checkpointInterval) 
+                        ? Utils.countBytesInStreamTable(checkpointCount)
+                        : 0L;
+        
+        final long countNumberOfBytesInRawData = 
+                Utils.countBitsInRawData(codeTable, frequencyDistribution);
+        
+        return countNumberOfBytesInCodeHeader 
+             + countNumberOfBytesInChecksumTable
+             + countNumberOfBytesInStreamTable
+             + countNumberOfBytesInRawData;
+    }
+    
+    /**
+     * Selects the cheapest way of writing the raw data: 
+     * {@link Configuration#FLAG_RUN_LENGTH} if the raw data consists of a 
+     * single byte value, {@link Configuration#FLAG_STORED} if Huffman-coding
+     * would not shrink the data, or zero for Huffman-coding. The lengths are
+     * exact, since the length of the Huffman-coded data is computed from the 
+     * histogram.
+     */
+    private static byte selectMode(
+            final ByteFrequencyDistribution frequencyDistribution,
+            final long compressedLength,
+            final long rawDataLength,
+            final boolean checksums) {
+        
+        if (frequencyDistribution.size() == 1) {
+            return FLAG_RUN_LENGTH;
+        }
+        
+        if (compressedLength >= 
+                Utils.countBytesInStoredContainer(rawDataLength, checksums)) {
+            return FLAG_STORED;
+        }
+        
+        return 0;
+    }
+    
+    private static long getContainerLength(final byte mode,
+                                           final long compressedLength,
+                                           final long rawDataLength,
+                                           final boolean checksums) {
+        if (mode == FLAG_RUN_LENGTH) {
+            return Utils.countBytesInRunLengthContainer(checksums);
+        }
+        
+        if (mode == FLAG_STORED) {
+            return Utils.countBytesInStoredContainer(rawDataLength, checksums);
+        }
+        
+        return compressedLength;
+    }
+    
+    private static void compress(final MemorySegment rawData,
+                                 final byte mode,
+                                 final ByteHuffmanCodeTable codeTable,
+                                 final MemorySegment outputData,
+                                 final int checkpointInterval,
+                                 final boolean checksums,
+                                 final CompressionProbe probe) {
+        
+        if (mode == FLAG_RUN_LENGTH) {
+            ByteArrayHeaderWriter.writeRunLengthContainer(
+                    outputData, 
+                    rawData.byteSize(), 
+                    rawData.get(ValueLayout.JAVA_BYTE, 0L),
+                    checksums);
+            
+            probe.endStage(Stage.HEADER_WRITE);
+            return;
+        }
+        
+        if (mode == FLAG_STORED) {
+            ByteArrayHeaderWriter.writeStoredContainer(outputData, 
+                                                       rawData, 
+                                                       checksums);
+            
+            // Copying the raw data is the encoding of the stored data:
+            probe.endStage(Stage.ENCODE);
+            return;
+        }
+        
+        final ByteHuffmanEncodingTable encodingTable = 
+                new ByteHuffmanEncodingTable(codeTable);
+        
+        probe.endStage(Stage.TABLE_BUILD);
+        
+        compress(rawData,
+                 new ByteArrayHeaderWriter(rawData.byteSize(), 
+                                           outputData,
+                                           codeTable,
+                                           checkpointInterval,
+                                           checksums,
+                                           Utils.useStreams(
+                                                   rawData.byteSize(), 
+                                                   checkpointInterval)),
+                 encodingTable,
+                 outputData, 
+                 checkpointInterval,
+                 probe);
+    }
+    
+    private static void compress(final MemorySegment rawData,
+                                 final ByteArrayHeaderWriter headerWriter,
+                                 final ByteHuffmanEncodingTable encodingTable,
+                                 final MemorySegment outputData,
+                                 final int checkpointInterval,
+                                 final CompressionProbe probe) {
         
         headerWriter.write();
+        probe.endStage(Stage.HEADER_WRITE);
         
         final long startingDataBitIndex = headerWriter.getDataStartBitIndex();
         
         final ByteArrayCompressedDataWriter dataWriter = 
-                new ByteArrayCompressedDataWriter(outputData,
-                                                  rawData, 
-                                                  startingDataBitIndex, 
-                                                  codeTable);
-        dataWriter.write();
+                new ByteArrayCompressedDataWriter(
+                        outputData,
+                        rawData, 
+                        startingDataBitIndex, 
+                        encodingTable);
         
-        return outputData;
+        final long[] checkpointBitOffsets = 
+                headerWriter.getCheckpointCount() == 0 
+                        ? null
+                        : new long[headerWriter.getCheckpointCount()];
+        
+        final int[] checksums = 
+                headerWriter.getChecksumCount() == 0 
+                        ? null
+                        : new int[headerWriter.getChecksumCount()];
+        
+        final long[] streamBitOffsets = 
+                headerWriter.getStreamOffsetCount() == 0
+                        ? null
+                        : new long[headerWriter.getStreamOffsetCount()];
+        
+        // Without checkpoints, the raw data is not longer than the interval,
+        // so it is encoded as a single segment:
+        dataWriter.write(checkpointInterval, 
+                         checkpointBitOffsets, 
+                         checksums, 
+                         streamBitOffsets);
+        
+        probe.endStage(Stage.ENCODE);
+        
+        if (checkpointBitOffsets != null) {
+            headerWriter.writeCheckpoints(checkpointBitOffsets);
+        }
+        
+        if (checksums != null) {
+            headerWriter.writeChecksums(checksums);
+        }
+        
+        if (streamBitOffsets != null) {
+            headerWriter.writeStreamOffsets(streamBitOffsets);
+        }
+        
+        probe.endStage(Stage.HEADER_WRITE);
+    }
+    
+    /**
+     * Returns the name of {@code mode} reported by the 
+     * {@link CompressionEvent}.
+     */
+    private static String getModeName(final byte mode) {
+        if (mode == FLAG_RUN_LENGTH) {
+            return "run-length";
+        }
+        
+        if (mode == FLAG_STORED) {
+            return "stored";
+        }
+        
+        return "huffman";
     }
 }
@@ -1,40 +1,1150 @@
 package io.github.coderodde.compressor.app;
 
+import static io.github.coderodde.compressor.app.Configuration.STREAM_COUNT;
+import io.github.coderodde.compressor.app.CompressionMetrics.Stage;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
 /**
  * This class implements a method for <b>decompressing</b> byte-wise files via 
- * Huffman-coding.
+ * Huffman-coding. Besides byte arrays, this class can decompress files of 
+ * arbitrary size by mapping them into memory. The blocks of a block container 
+ * and the checkpoint segments of a single container are decoded in parallel
+ * on a {@link ForkJoinPool}. The data compressed with a pretrained dictionary
+ * is decoded via the prebuilt decoding table of the dictionary registered 
+ * under its ID. The stored data is copied as is. If the compressed data 
+ * carries checksums, the checksum of each segment is verified right after the 
+ * segment is decoded, while it is still in the cache, and 
+ * {@link ChecksumMismatchException} is thrown on a mismatch. The 
+ * {@code verify} methods check the checksums without producing any output.
+ * The segments split into interleaved streams are decoded stream-parallel 
+ * even within a single task. Besides byte arrays and files, the compressed 
+ * data may be read from and decoded into memory segments and byte buffers, 
+ * heap or off-heap, without copying. Each decompression of a byte 
+ * array or a file is reported as a {@link DecompressionEvent} and to 
+ * {@link CompressionMetrics} when either is enabled.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 14, 2025)
  */
 public final class HuffmanByteDecompressor {
 
+    /**
+     * The registered dictionaries keyed by their IDs. Each dictionary holds 
+     * its prebuilt decoding table.
+     */
+    private static final ConcurrentMap<Integer, ByteHuffmanDictionary> 
+            DICTIONARIES = new ConcurrentHashMap<>();
+    
+    /**
+     * An unstarted thread standing for the pool threads when checking whether
+     * a segment may be accessed by threads other than its owner.
+     */
+    private static final Thread ANY_OTHER_THREAD = 
+            Thread.ofVirtual().unstarted(() -> {});
+    
     private HuffmanByteDecompressor() {
         
     }
     
+    /**
+     * Registers {@code dictionary} so that the data compressed with it may be
+     * decompressed. Registering an equal dictionary again has no effect.
+     * 
+     * @param dictionary the dictionary to register.
+     * @throws IllegalArgumentException if another dictionary with the same ID
+     *                                  is registered.
+     */
+    public static void registerDictionary(
+            final ByteHuffmanDictionary dictionary) {
+        
+        Objects.requireNonNull(dictionary, "The input dictionary is null");
+        
+        final ByteHuffmanDictionary registeredDictionary = 
+                DICTIONARIES.putIfAbsent(dictionary.getId(), dictionary);
+        
+        if (registeredDictionary != null 
+                && !registeredDictionary.equals(dictionary)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Another dictionary with the ID %d is already " + 
+                            "registered.", 
+                            dictionary.getId()));
+        }
+    }
+    
+    /**
+     * Unregisters the dictionary with the ID {@code dictionaryId}.
+     * 
+     * @param dictionaryId the ID of the dictionary to unregister.
+     * @return {@code true} if the dictionary was registered.
+     */
+    public static boolean unregisterDictionary(final int dictionaryId) {
+        return DICTIONARIES.remove(dictionaryId) != null;
+    }
+    
+    /**
+     * Returns the registered dictionary with the ID {@code dictionaryId}.
+     * 
+     * @param dictionaryId the ID of the dictionary.
+     * @return the dictionary.
+     * @throws IllegalArgumentException if no such dictionary is registered.
+     */
+    static ByteHuffmanDictionary getDictionary(final int dictionaryId) {
+        final ByteHuffmanDictionary dictionary = 
+                DICTIONARIES.get(dictionaryId);
+        
+        if (dictionary == null) {
+            throw new IllegalArgumentException(
+                    String.format("Unknown dictionary ID: %d.", 
+                                  dictionaryId));
+        }
+        
+        return dictionary;
+    }
+    
+    /**
+     * Returns the length of the data that would result from decompressing 
+     * {@code compressedData}.
+     * 
+     * @param compressedData the compressed data.
+     * @return the length of the decompressed data.
+     */
+    public static long getRawDataLength(final byte[] compressedData) {
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        
+        final MemorySegment compressedDataSegment = 
+                MemorySegment.ofArray(compressedData);
+        
+        if (ByteArrayBlockHeaderReader
+                .isBlockContainer(compressedDataSegment)) {
+            return new ByteArrayBlockHeaderReader(compressedDataSegment)
+                    .getRawDataLength();
+        }
+        
+        return new ByteArrayHeaderReader(compressedDataSegment)
+                .getRawDataLength();
+    }
+    
     public static byte[] decompress(final byte[] compressedData) {
+        return decompress(compressedData, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Decompresses {@code compressedData} decoding the independent parts of it
+     * in parallel on {@code pool}.
+     * 
+     * @param compressedData the compressed data.
+     * @param pool           the pool running the decoding tasks.
+     * @return the decompressed data.
+     */
+    public static byte[] decompress(final byte[] compressedData,
+                                    final ForkJoinPool pool) {
+        
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        Objects.requireNonNull(pool, "The input pool is null");
+        
+        final CompressionProbe probe = CompressionProbe.beginDecompression();
+        final MemorySegment compressedDataSegment = 
+                MemorySegment.ofArray(compressedData);
+        
+        if (ByteArrayBlockHeaderReader
+                .isBlockContainer(compressedDataSegment)) {
+            
+            final ByteArrayBlockHeaderReader blockHeaderReader = 
+                    new ByteArrayBlockHeaderReader(compressedDataSegment);
+            
+            final byte[] rawData = 
+                    new byte[Utils.toArrayLength(
+                            blockHeaderReader.getRawDataLength())];
+            
+            probe.endStage(Stage.HEADER_READ);
+            
+            decompressBlocks(compressedDataSegment,
+                             blockHeaderReader,
+                             MemorySegment.ofArray(rawData),
+                             pool);
+            
+            // The blocks are decoded in parallel, so their stages overlap:
+            probe.endStage(Stage.DECODE);
+            probe.endDecompression(compressedData.length, rawData.length);
+            return rawData;
+        }
+        
+        final ByteArrayHeaderReader headerReader = 
+                new ByteArrayHeaderReader(compressedDataSegment);
+        
+        final byte[] rawData = 
+                new byte[Utils.toArrayLength(headerReader.getRawDataLength())];
+        
+        probe.endStage(Stage.HEADER_READ);
+        
+        decompress(compressedDataSegment, 
+                   headerReader, 
+                   MemorySegment.ofArray(rawData),
+                   pool,
+                   probe);
+        
+        probe.endDecompression(compressedData.length, rawData.length);
+        return rawData;
+    }
+    
+    /**
+     * Returns the length of the data that would result from decompressing 
+     * {@code compressedData}.
+     * 
+     * @param compressedData the compressed data.
+     * @return the length of the decompressed data.
+     */
+    public static long getRawDataLength(final MemorySegment compressedData) {
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        
+        if (ByteArrayBlockHeaderReader.isBlockContainer(compressedData)) {
+            return new ByteArrayBlockHeaderReader(compressedData)
+                    .getRawDataLength();
+        }
+        
+        return new ByteArrayHeaderReader(compressedData).getRawDataLength();
+    }
+    
+    /**
+     * Decompresses {@code compressedData} into the beginning of 
+     * {@code rawData}, which must have room for 
+     * {@link #getRawDataLength(MemorySegment)} bytes. The data is decoded 
+     * directly from one segment into the other, heap or off-heap. The 
+     * independent parts are decoded in parallel on the common pool unless 
+     * either segment is confined to the calling thread.
+     * 
+     * @param compressedData the compressed data.
+     * @param rawData        the segment receiving the raw data.
+     * @return the number of raw data bytes written.
+     */
+    public static long decompress(final MemorySegment compressedData,
+                                  final MemorySegment rawData) {
+        
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        Objects.requireNonNull(rawData, "The output raw data is null");
+        
+        final CompressionProbe probe = CompressionProbe.beginDecompression();
+        final ForkJoinPool pool = getPool(compressedData, rawData);
+        
+        if (ByteArrayBlockHeaderReader.isBlockContainer(compressedData)) {
+            final ByteArrayBlockHeaderReader blockHeaderReader = 
+                    new ByteArrayBlockHeaderReader(compressedData);
+            
+            final long rawDataLength = blockHeaderReader.getRawDataLength();
+            checkRawDataCapacity(rawData, rawDataLength);
+            probe.endStage(Stage.HEADER_READ);
+            
+            decompressBlocks(compressedData, 
+                             blockHeaderReader, 
+                             rawData.asSlice(0L, rawDataLength), 
+                             pool);
+            
+            probe.endStage(Stage.DECODE);
+            probe.endDecompression(compressedData.byteSize(), rawDataLength);
+            return rawDataLength;
+        }
+        
         final ByteArrayHeaderReader headerReader = 
                 new ByteArrayHeaderReader(compressedData);
         
-        final int rawDataLength = headerReader.getRawDataLength();
-        final byte[] rawData = new byte[rawDataLength];
+        final long rawDataLength = headerReader.getRawDataLength();
+        checkRawDataCapacity(rawData, rawDataLength);
+        probe.endStage(Stage.HEADER_READ);
+        
+        decompress(compressedData, 
+                   headerReader, 
+                   rawData.asSlice(0L, rawDataLength), 
+                   pool, 
+                   probe);
         
-        final ByteHuffmanCodeTable codeTable = headerReader.getCodeTable();
-        final ByteHuffmanDecoderTree decoder = 
-                new ByteHuffmanDecoderTree(codeTable);
+        probe.endDecompression(compressedData.byteSize(), rawDataLength);
+        return rawDataLength;
+    }
+    
+    /**
+     * Decompresses the remaining bytes of {@code compressedData} into 
+     * {@code rawData} starting at its position. The buffers may be direct or
+     * heap ones. On return, the position of {@code compressedData} is its 
+     * limit, and the position of {@code rawData} is advanced past the raw 
+     * data.
+     * 
+     * @param compressedData the buffer holding the compressed data.
+     * @param rawData        the buffer receiving the raw data.
+     * @return the number of raw data bytes written.
+     * @throws ReadOnlyBufferException if {@code rawData} is read-only.
+     */
+    public static int decompress(final ByteBuffer compressedData,
+                                 final ByteBuffer rawData) {
         
-        final int startingBitIndex = 
-                Utils.countBytesInCodeHeader(codeTable.size()) * Byte.SIZE;
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        Objects.requireNonNull(rawData, "The output raw data is null");
         
-        final ByteArrayCompressedDataReader dataReader = 
-                new ByteArrayCompressedDataReader(rawData, 
-                                                  compressedData, 
-                                                  startingBitIndex,
-                                                  decoder);
+        if (rawData.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        
+        final int rawDataLength = 
+                (int) decompress(MemorySegment.ofBuffer(compressedData), 
+                                 MemorySegment.ofBuffer(rawData));
+        
+        compressedData.position(compressedData.limit());
+        rawData.position(rawData.position() + rawDataLength);
+        return rawDataLength;
+    }
+    
+    private static void checkRawDataCapacity(final MemorySegment rawData,
+                                             final long rawDataLength) {
+        
+        if (rawData.byteSize() < rawDataLength) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The output of %d bytes is too small for %d " + 
+                            "raw data bytes.", 
+                            rawData.byteSize(),
+                            rawDataLength));
+        }
+    }
+    
+    /**
+     * Decompresses the file {@code inputPath} into the file 
+     * {@code outputPath}. Both the files are mapped into memory so that their
+     * size is not limited by the maximum length of a Java array.
+     * 
+     * @param inputPath  the path of the compressed file.
+     * @param outputPath the path of the resultant decompressed file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void decompress(final Path inputPath, final Path outputPath) 
+            throws IOException {
+        
+        decompress(inputPath, outputPath, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Decompresses the file {@code inputPath} into the file 
+     * {@code outputPath} decoding the independent parts of it in parallel on
+     * {@code pool}.
+     * 
+     * @param inputPath  the path of the compressed file.
+     * @param outputPath the path of the resultant decompressed file.
+     * @param pool       the pool running the decoding tasks.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void decompress(final Path inputPath, 
+                                  final Path outputPath,
+                                  final ForkJoinPool pool) throws IOException {
+        
+        Objects.requireNonNull(inputPath, "The input path is null");
+        Objects.requireNonNull(outputPath, "The output path is null");
+        Objects.requireNonNull(pool, "The input pool is null");
+        
+        // The pool threads access the mapped segments:
+        try (final Arena arena = Arena.ofShared();
+             final FileChannel inputChannel = 
+                     FileChannel.open(inputPath, StandardOpenOption.READ)) {
+            
+            final MemorySegment compressedData = 
+                    inputChannel.map(FileChannel.MapMode.READ_ONLY, 
+                                     0L, 
+                                     inputChannel.size(),
+                                     arena);
+            
+            final CompressionProbe probe = 
+                    CompressionProbe.beginDecompression();
+            
+            // The header is read before the output is truncated, so that a 
+            // corrupt input leaves the output intact:
+            final ByteArrayBlockHeaderReader blockHeaderReader;
+            final ByteArrayHeaderReader headerReader;
+            final long rawDataLength;
+            
+            if (ByteArrayBlockHeaderReader.isBlockContainer(compressedData)) {
+                blockHeaderReader = 
+                        new ByteArrayBlockHeaderReader(compressedData);
+                headerReader  = null;
+                rawDataLength = blockHeaderReader.getRawDataLength();
+            } else {
+                blockHeaderReader = null;
+                headerReader  = new ByteArrayHeaderReader(compressedData);
+                rawDataLength = headerReader.getRawDataLength();
+            }
+            
+            probe.endStage(Stage.HEADER_READ);
+            Utils.checkDistinctFiles(inputPath, outputPath);
+            
+            try (final FileChannel outputChannel = 
+                         FileChannel.open(
+                                 outputPath, 
+                                 StandardOpenOption.CREATE,
+                                 StandardOpenOption.TRUNCATE_EXISTING,
+                                 StandardOpenOption.READ,
+                                 StandardOpenOption.WRITE)) {
+                
+                final MemorySegment rawData = 
+                        outputChannel.map(FileChannel.MapMode.READ_WRITE,
+                                          0L, 
+                                          rawDataLength, 
+                                          arena);
+                
+                if (blockHeaderReader != null) {
+                    decompressBlocks(compressedData, 
+                                     blockHeaderReader, 
+                                     rawData, 
+                                     pool);
+                    
+                    probe.endStage(Stage.DECODE);
+                } else {
+                    decompress(compressedData, 
+                               headerReader, 
+                               rawData, 
+                               pool, 
+                               probe);
+                }
+                
+                probe.endDecompression(compressedData.byteSize(), 
+                                       rawData.byteSize());
+            }
+        }
+    }
+    
+    /**
+     * Decompresses only the {@code length} raw data bytes starting at 
+     * {@code offset}. Decoding starts at the closest preceding checkpoint so 
+     * that at most one checkpoint interval of data is decoded in vain. The
+     * checksums, if any, are not verified since they cover whole segments.
+     * The data coded via tANS/FSE has no checkpoints and is decoded as a 
+     * whole.
+     * 
+     * @param compressedData the compressed data.
+     * @param offset         the offset of the first raw data byte to return.
+     * @param length         the number of raw data bytes to return.
+     * @return the requested range of the decompressed data.
+     * @throws IndexOutOfBoundsException if the range is out of the raw data.
+     */
+    public static byte[] decompressRange(final byte[] compressedData,
+                                         final long offset,
+                                         final int length) {
+        
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        
+        return decompressRange(MemorySegment.ofArray(compressedData), 
+                               offset, 
+                               length);
+    }
+    
+    /**
+     * Decompresses only the {@code length} raw data bytes starting at 
+     * {@code offset} from the file {@code inputPath}. The file is mapped into
+     * memory so that only the pages holding the header and the requested 
+     * range are read from the disk.
+     * 
+     * @param inputPath the path of the compressed file.
+     * @param offset    the offset of the first raw data byte to return.
+     * @param length    the number of raw data bytes to return.
+     * @return the requested range of the decompressed data.
+     * @throws IndexOutOfBoundsException if the range is out of the raw data.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static byte[] decompressRange(final Path inputPath,
+                                         final long offset,
+                                         final int length) 
+            throws IOException {
+        
+        Objects.requireNonNull(inputPath, "The input path is null");
+        
+        try (final Arena arena = Arena.ofConfined();
+             final FileChannel inputChannel = 
+                     FileChannel.open(inputPath, StandardOpenOption.READ)) {
+            
+            final MemorySegment compressedData = 
+                    inputChannel.map(FileChannel.MapMode.READ_ONLY, 
+                                     0L, 
+                                     inputChannel.size(),
+                                     arena);
+            
+            return decompressRange(compressedData, offset, length);
+        }
+    }
+    
+    /**
+     * Checks the range against the raw data length read from the header 
+     * before allocating the array for it.
+     */
+    private static byte[] decompressRange(final MemorySegment compressedData,
+                                          final long offset,
+                                          final int length) {
+        
+        Objects.checkFromIndexSize(offset, 
+                                   length, 
+                                   getRawDataLength(compressedData));
+        
+        final byte[] rawData = new byte[length];
+        
+        decompressRange(compressedData, 
+                        offset, 
+                        MemorySegment.ofArray(rawData));
         
-        dataReader.read();
         return rawData;
     }
+    
+    private static void decompressRange(final MemorySegment compressedData,
+                                        final long offset,
+                                        final MemorySegment rawData) {
+        
+        if (!ByteArrayBlockHeaderReader.isBlockContainer(compressedData)) {
+            final ByteArrayHeaderReader headerReader = 
+                    new ByteArrayHeaderReader(compressedData);
+            
+            Objects.checkFromIndexSize(offset, 
+                                       rawData.byteSize(), 
+                                       headerReader.getRawDataLength());
+            
+            decompressRange(compressedData, headerReader, offset, rawData);
+            return;
+        }
+        
+        final ByteArrayBlockHeaderReader blockHeaderReader = 
+                new ByteArrayBlockHeaderReader(compressedData);
+        
+        Objects.checkFromIndexSize(offset, 
+                                   rawData.byteSize(), 
+                                   blockHeaderReader.getRawDataLength());
+        
+        final long endOffset = offset + rawData.byteSize();
+        
+        for (int blockIndex = (int) (offset / blockHeaderReader.getBlockSize());
+                 blockIndex < blockHeaderReader.getBlockCount() && 
+                 blockHeaderReader.getRawDataOffset(blockIndex) < endOffset;
+                 blockIndex++) {
+            
+            final long blockRawDataOffset = 
+                    blockHeaderReader.getRawDataOffset(blockIndex);
+            
+            final long fromOffset = Math.max(offset, blockRawDataOffset);
+            final long toOffset = 
+                    Math.min(endOffset, 
+                             blockRawDataOffset + 
+                             blockHeaderReader.getRawDataLength(blockIndex));
+            
+            final MemorySegment compressedBlock = 
+                    compressedData.asSlice(
+                            blockHeaderReader.getBlockOffset(blockIndex),
+                            blockHeaderReader.getBlockLength(blockIndex));
+            
+            decompressRange(compressedBlock,
+                            new ByteArrayHeaderReader(compressedBlock),
+                            fromOffset - blockRawDataOffset,
+                            rawData.asSlice(fromOffset - offset, 
+                                            toOffset - fromOffset));
+        }
+    }
+    
+    private static void decompressRange(
+            final MemorySegment compressedData,
+            final ByteArrayHeaderReader headerReader,
+            final long offset,
+            final MemorySegment rawData) {
+        
+        if (rawData.byteSize() == 0L 
+                || copyUnencodedData(compressedData, 
+                                     headerReader, 
+                                     offset, 
+                                     rawData)) {
+            return;
+        }
+        
+        if (headerReader.isFse()) {
+            // The FSE state depends on all the preceding symbols, so the 
+            // range is cut out of the whole raw data:
+            final MemorySegment allRawData = 
+                    MemorySegment.ofArray(
+                            new byte[Utils.toArrayLength(
+                                    headerReader.getRawDataLength())]);
+            
+            decodeFse(compressedData, headerReader, allRawData);
+            MemorySegment.copy(allRawData, 
+                               offset, 
+                               rawData, 
+                               0L, 
+                               rawData.byteSize());
+            return;
+        }
+        
+        final ByteHuffmanDecoder decoder = getDecoder(headerReader);
+        
+        final int segmentIndex;
+        final long segmentOffset;
+        final long segmentLength;
+        
+        if (headerReader.getCheckpointCount() == 0) {
+            segmentIndex  = 0;
+            segmentOffset = 0L;
+            segmentLength = headerReader.getRawDataLength();
+        } else {
+            segmentIndex  = 
+                    (int) (offset / headerReader.getCheckpointInterval());
+            
+            segmentOffset = 
+                    (long) segmentIndex * headerReader.getCheckpointInterval();
+            
+            segmentLength = 
+                    Math.min(headerReader.getCheckpointInterval(), 
+                             headerReader.getRawDataLength() - segmentOffset);
+        }
+        
+        long bitIndex;
+        long skipLength = offset - segmentOffset;
+        
+        if (headerReader.hasStreams()) {
+            // The streams are consecutive, so decoding may start at the 
+            // closest preceding stream and run past its end:
+            final long streamLength = Utils.getStreamLength(segmentLength);
+            final int streamIndex = (int) (skipLength / streamLength);
+            
+            bitIndex    = headerReader.getStreamBitIndex(segmentIndex, 
+                                                         streamIndex);
+            skipLength -= streamIndex * streamLength;
+        } else {
+            bitIndex = headerReader.getSegmentBitIndex(segmentIndex);
+        }
+        
+        // Skip the codewords preceding the range without storing them:
+        for (long i = 0; i != skipLength; ++i) {
+            bitIndex += ByteHuffmanDecoder.getCodeLength(
+                    decoder.decode(compressedData, bitIndex));
+        }
+        
+        new ByteArrayCompressedDataReader(rawData, 
+                                          compressedData, 
+                                          bitIndex, 
+                                          decoder).read();
+    }
+    
+    private static void decompressBlocks(
+            final MemorySegment compressedData,
+            final ByteArrayBlockHeaderReader blockHeaderReader,
+            final MemorySegment rawData,
+            final ForkJoinPool pool) {
+        
+        invoke(pool, new ForEachIndexTask(
+                0, 
+                blockHeaderReader.getBlockCount(),
+                blockIndex -> decompressBlock(compressedData, 
+                                              blockHeaderReader, 
+                                              rawData, 
+                                              blockIndex,
+                                              pool)));
+    }
+    
+    private static void decompressBlock(
+            final MemorySegment compressedData,
+            final ByteArrayBlockHeaderReader blockHeaderReader,
+            final MemorySegment rawData,
+            final int blockIndex,
+            final ForkJoinPool pool) {
+        
+        final MemorySegment compressedBlock = 
+                getCompressedBlock(compressedData, 
+                                   blockHeaderReader, 
+                                   blockIndex);
+        
+        final ByteArrayHeaderReader headerReader = 
+                readBlockHeader(compressedBlock, blockHeaderReader, blockIndex);
+        
+        // The checkpoint segments of the block are forked into the pool 
+        // decoding the blocks. Without a pool, the segments may be confined to
+        // the calling thread, so they are decoded on it even if it is a pool
+        // worker:
+        decompress(compressedBlock,
+                   headerReader,
+                   rawData.asSlice(
+                           blockHeaderReader.getRawDataOffset(blockIndex),
+                           headerReader.getRawDataLength()),
+                   pool);
+    }
+    
+    private static MemorySegment getCompressedBlock(
+            final MemorySegment compressedData,
+            final ByteArrayBlockHeaderReader blockHeaderReader,
+            final int blockIndex) {
+        
+        return compressedData.asSlice(
+                blockHeaderReader.getBlockOffset(blockIndex),
+                blockHeaderReader.getBlockLength(blockIndex));
+    }
+    
+    private static ByteArrayHeaderReader readBlockHeader(
+            final MemorySegment compressedBlock,
+            final ByteArrayBlockHeaderReader blockHeaderReader,
+            final int blockIndex) {
+        
+        final ByteArrayHeaderReader headerReader = 
+                new ByteArrayHeaderReader(compressedBlock);
+        
+        if (headerReader.getRawDataLength() 
+                != blockHeaderReader.getRawDataLength(blockIndex)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Malformed block %d: expected %d raw bytes, " + 
+                            "found %d.", 
+                            blockIndex,
+                            blockHeaderReader.getRawDataLength(blockIndex),
+                            headerReader.getRawDataLength()));
+        }
+        
+        return headerReader;
+    }
+    
+    /**
+     * Decompresses the single container {@code compressedData} whose header 
+     * is read by {@code headerReader} into {@code rawData}.
+     * 
+     * @param compressedData the compressed data.
+     * @param headerReader   the reader of the header of the compressed data.
+     * @param rawData        the segment receiving the raw data.
+     * @param pool           the pool running the decoding tasks.
+     */
+    static void decompress(final MemorySegment compressedData,
+                           final ByteArrayHeaderReader headerReader,
+                           final MemorySegment rawData,
+                           final ForkJoinPool pool) {
+        
+        decompress(compressedData, 
+                   headerReader, 
+                   rawData, 
+                   pool, 
+                   CompressionProbe.DISABLED);
+    }
+    
+    private static void decompress(final MemorySegment compressedData,
+                                   final ByteArrayHeaderReader headerReader,
+                                   final MemorySegment rawData,
+                                   final ForkJoinPool pool,
+                                   final CompressionProbe probe) {
+        
+        if (copyUnencodedData(compressedData, headerReader, 0L, rawData)) {
+            if (headerReader.hasChecksums()) {
+                checkChecksum(headerReader, 0, Utils.computeChecksum(rawData));
+            }
+            
+            probe.endStage(Stage.DECODE);
+            return;
+        }
+        
+        if (headerReader.isFse()) {
+            decodeFse(compressedData, headerReader, rawData);
+            probe.endStage(Stage.DECODE);
+            return;
+        }
+        
+        final ByteHuffmanDecoder decoder = getDecoder(headerReader);
+        probe.endStage(Stage.TABLE_BUILD);
+        
+        if (headerReader.getCheckpointCount() == 0) {
+            decodeSegment(compressedData, headerReader, decoder, 0, rawData);
+            probe.endStage(Stage.DECODE);
+            return;
+        }
+        
+        // The decoding table is immutable, so all the segments share it:
+        final long checkpointInterval = headerReader.getCheckpointInterval();
+        
+        invoke(pool, new ForEachIndexTask(
+                0,
+                headerReader.getCheckpointCount(),
+                checkpointIndex -> {
+                    final long rawDataOffset = 
+                            checkpointIndex * checkpointInterval;
+                    
+                    final long rawDataLength = 
+                            Math.min(checkpointInterval, 
+                                     rawData.byteSize() - rawDataOffset);
+                    
+                    decodeSegment(
+                            compressedData,
+                            headerReader,
+                            decoder,
+                            checkpointIndex,
+                            rawData.asSlice(rawDataOffset, rawDataLength));
+                }));
+        
+        probe.endStage(Stage.DECODE);
+    }
+    
+    /**
+     * Verifies the checksums of {@code compressedData} decoding the 
+     * independent parts of it in parallel on the common pool. The decoded data
+     * is discarded segment by segment, so that no output is produced.
+     * 
+     * @param compressedData the compressed data.
+     * @return {@code true} if all the data is covered by checksums, and 
+     *         {@code false} if some data carries no checksums.
+     * @throws ChecksumMismatchException if a checksum does not match.
+     */
+    public static boolean verify(final byte[] compressedData) {
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        
+        return verify(MemorySegment.ofArray(compressedData), 
+                      ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Verifies the checksums of the compressed file {@code inputPath}. The 
+     * file is mapped into memory, and the decoded data is discarded segment by
+     * segment, so that no output is produced.
+     * 
+     * @param inputPath the path of the compressed file.
+     * @return {@code true} if all the data is covered by checksums, and 
+     *         {@code false} if some data carries no checksums.
+     * @throws IOException if an I/O error occurs.
+     * @throws ChecksumMismatchException if a checksum does not match.
+     */
+    public static boolean verify(final Path inputPath) throws IOException {
+        Objects.requireNonNull(inputPath, "The input path is null");
+        
+        // The pool threads access the mapped segment:
+        try (final Arena arena = Arena.ofShared();
+             final FileChannel inputChannel = 
+                     FileChannel.open(inputPath, StandardOpenOption.READ)) {
+            
+            return verify(inputChannel.map(FileChannel.MapMode.READ_ONLY, 
+                                           0L, 
+                                           inputChannel.size(),
+                                           arena),
+                          ForkJoinPool.commonPool());
+        }
+    }
+    
+    private static boolean verify(final MemorySegment compressedData,
+                                  final ForkJoinPool pool) {
+        
+        if (!ByteArrayBlockHeaderReader.isBlockContainer(compressedData)) {
+            return verify(compressedData, 
+                          new ByteArrayHeaderReader(compressedData), 
+                          pool);
+        }
+        
+        final ByteArrayBlockHeaderReader blockHeaderReader = 
+                new ByteArrayBlockHeaderReader(compressedData);
+        
+        final AtomicBoolean verified = new AtomicBoolean(true);
+        
+        pool.invoke(new ForEachIndexTask(
+                0, 
+                blockHeaderReader.getBlockCount(),
+                blockIndex -> {
+                    final MemorySegment compressedBlock = 
+                            getCompressedBlock(compressedData, 
+                                               blockHeaderReader, 
+                                               blockIndex);
+                    
+                    if (!verify(compressedBlock,
+                                readBlockHeader(compressedBlock, 
+                                                blockHeaderReader, 
+                                                blockIndex),
+                                ForkJoinTask.getPool())) {
+                        verified.set(false);
+                    }
+                }));
+        
+        return verified.get();
+    }
+    
+    private static boolean verify(final MemorySegment compressedData,
+                                  final ByteArrayHeaderReader headerReader,
+                                  final ForkJoinPool pool) {
+        
+        if (!headerReader.hasChecksums()) {
+            return false;
+        }
+        
+        final long dataStartByteIndex = 
+                headerReader.getDataStartBitIndex() / Byte.SIZE;
+        
+        // The unencoded data is checked in place:
+        if (headerReader.isStored()) {
+            checkChecksum(headerReader, 
+                          0, 
+                          Utils.computeChecksum(
+                                  compressedData.asSlice(
+                                          dataStartByteIndex, 
+                                          headerReader.getRawDataLength())));
+            return true;
+        }
+        
+        if (headerReader.isRunLength()) {
+            checkChecksum(headerReader, 
+                          0,
+                          Utils.computeRunChecksum(
+                                  compressedData.get(ValueLayout.JAVA_BYTE, 
+                                                     dataStartByteIndex), 
+                                  headerReader.getRawDataLength()));
+            return true;
+        }
+        
+        if (headerReader.isFse()) {
+            decodeFse(compressedData, 
+                      headerReader, 
+                      MemorySegment.ofArray(
+                              new byte[Utils.toArrayLength(
+                                      headerReader.getRawDataLength())]));
+            return true;
+        }
+        
+        final ByteHuffmanDecoder decoder = getDecoder(headerReader);
+        
+        if (headerReader.getCheckpointCount() == 0) {
+            // Without checkpoints, the raw data fits in a single interval:
+            decodeSegment(compressedData, 
+                          headerReader, 
+                          decoder, 
+                          0, 
+                          MemorySegment.ofArray(
+                                  new byte[Utils.toArrayLength(
+                                          headerReader.getRawDataLength())]));
+            return true;
+        }
+        
+        final long checkpointInterval = headerReader.getCheckpointInterval();
+        
+        pool.invoke(new ForEachIndexTask(
+                0,
+                headerReader.getCheckpointCount(),
+                checkpointIndex -> {
+                    final long rawDataLength = 
+                            Math.min(checkpointInterval, 
+                                     headerReader.getRawDataLength() 
+                                             - checkpointIndex 
+                                             * checkpointInterval);
+                    
+                    decodeSegment(
+                            compressedData,
+                            headerReader,
+                            decoder,
+                            checkpointIndex,
+                            MemorySegment.ofArray(
+                                    new byte[(int) rawDataLength]));
+                }));
+        
+        return true;
+    }
+    
+    /**
+     * Decodes the segment {@code segmentIndex} into {@code rawData}, 
+     * following its interleaved streams if any, and verifies its checksum, if
+     * any, while the decoded data is still in the cache.
+     */
+    private static void decodeSegment(final MemorySegment compressedData,
+                                      final ByteArrayHeaderReader headerReader,
+                                      final ByteHuffmanDecoder decoder,
+                                      final int segmentIndex,
+                                      final MemorySegment rawData) {
+        
+        if (headerReader.hasStreams()) {
+            final long[] streamBitIndices = new long[STREAM_COUNT];
+            
+            for (int i = 0; i < STREAM_COUNT; ++i) {
+                streamBitIndices[i] = 
+                        headerReader.getStreamBitIndex(segmentIndex, i);
+            }
+            
+            new ByteArrayCompressedDataReader(rawData, 
+                                              compressedData, 
+                                              streamBitIndices, 
+                                              decoder).read();
+        } else {
+            new ByteArrayCompressedDataReader(
+                    rawData, 
+                    compressedData, 
+                    headerReader.getSegmentBitIndex(segmentIndex), 
+                    decoder).read();
+        }
+        
+        if (headerReader.hasChecksums()) {
+            checkChecksum(headerReader, 
+                          segmentIndex, 
+                          Utils.computeChecksum(rawData));
+        }
+    }
+    
+    /**
+     * Decodes the whole FSE bitstream into {@code rawData} and verifies its 
+     * checksum, if any.
+     */
+    private static void decodeFse(final MemorySegment compressedData,
+                                  final ByteArrayHeaderReader headerReader,
+                                  final MemorySegment rawData) {
+        
+        headerReader.getFseTable()
+                    .decode(compressedData, 
+                            headerReader.getDataStartBitIndex() / Byte.SIZE, 
+                            headerReader.getFseBitLength(), 
+                            rawData);
+        
+        if (headerReader.hasChecksums()) {
+            checkChecksum(headerReader, 0, Utils.computeChecksum(rawData));
+        }
+    }
+    
+    private static void checkChecksum(final ByteArrayHeaderReader headerReader,
+                                      final int segmentIndex,
+                                      final int checksum) {
+        
+        if (headerReader.getChecksum(segmentIndex) != checksum) {
+            throw new ChecksumMismatchException(
+                    String.format(
+                            "Checksum mismatch in segment %d: expected " + 
+                            "%08x, computed %08x.", 
+                            segmentIndex,
+                            headerReader.getChecksum(segmentIndex),
+                            checksum));
+        }
+    }
+    
+    /**
+     * Copies the raw data bytes starting at {@code offset} into 
+     * {@code rawData} if the data is stored or run-length encoded. 
+     * 
+     * @param compressedData the compressed data.
+     * @param headerReader   the reader of the header of the compressed data.
+     * @param offset         the offset of the first raw data byte to copy.
+     * @param rawData        the segment receiving the raw data.
+     * @return {@code false} if the data is Huffman-coded and nothing was 
+     *         copied.
+     */
+    private static boolean copyUnencodedData(
+            final MemorySegment compressedData,
+            final ByteArrayHeaderReader headerReader,
+            final long offset,
+            final MemorySegment rawData) {
+        
+        final long dataStartByteIndex = 
+                headerReader.getDataStartBitIndex() / Byte.SIZE;
+        
+        if (headerReader.isStored()) {
+            MemorySegment.copy(compressedData, 
+                               dataStartByteIndex + offset, 
+                               rawData, 
+                               0L, 
+                               rawData.byteSize());
+            return true;
+        }
+        
+        if (headerReader.isRunLength()) {
+            rawData.fill(compressedData.get(ValueLayout.JAVA_BYTE, 
+                                            dataStartByteIndex));
+            return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Returns the decoder of the data whose header is read by 
+     * {@code headerReader}. The prebuilt decoding table of a dictionary is 
+     * reused instead of building a new one.
+     */
+    private static ByteHuffmanDecoder 
+        getDecoder(final ByteArrayHeaderReader headerReader) {
+            
+        if (headerReader.getDictionary() != null) {
+            return headerReader.getDictionary().getDecodingTable();
+        }
+        
+        return new ByteHuffmanDecodingTable(headerReader.getCodeTable());
+    }
+    
+    /**
+     * Runs {@code task} on {@code pool}, or on the calling thread if 
+     * {@code pool} is {@code null}.
+     */
+    private static void invoke(final ForkJoinPool pool, 
+                               final ForEachIndexTask task) {
+        if (pool == null) {
+            task.computeSequentially();
+        } else {
+            pool.invoke(task);
+        }
+    }
+    
+    /**
+     * Returns the pool decoding {@code compressedData} into {@code rawData}, 
+     * or {@code null} if either segment is confined to the calling thread and
+     * hence must be decoded on it.
+     */
+    private static ForkJoinPool getPool(final MemorySegment compressedData,
+                                        final MemorySegment rawData) {
+        
+        return compressedData.isAccessibleBy(ANY_OTHER_THREAD) 
+                && rawData.isAccessibleBy(ANY_OTHER_THREAD)
+                ? ForkJoinPool.commonPool()
+                : null;
+    }
+    
+    /**
+     * This task runs an action for each index in a range, splitting the range
+     * in halves until a single index remains.
+     */
+    private static final class ForEachIndexTask extends RecursiveAction {
+        
+        private final int fromIndex;
+        private final int toIndex;
+        private final IntConsumer action;
+        
+        ForEachIndexTask(final int fromIndex,
+                         final int toIndex,
+                         final IntConsumer action) {
+            
+            this.fromIndex = fromIndex;
+            this.toIndex   = toIndex;
+            this.action    = action;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toIndex - fromIndex <= 1) {
+                if (fromIndex < toIndex) {
+                    action.accept(fromIndex);
+                }
+                
+                return;
+            }
+            
+            final int middleIndex = (fromIndex + toIndex) >>> 1;
+            
+            invokeAll(new ForEachIndexTask(fromIndex, middleIndex, action),
+                      new ForEachIndexTask(middleIndex, toIndex, action));
+        }
+        
+        void computeSequentially() {
+            for (int index = fromIndex; index < toIndex; ++index) {
+                action.accept(index);
+            }
+        }
+    }
 }
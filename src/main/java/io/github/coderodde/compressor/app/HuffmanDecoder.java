@@ -0,0 +1,207 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements a reusable Huffman decoder for decompressing many 
+ * small inputs. Unlike {@link HuffmanByteDecompressor}, a decoder keeps its 
+ * codeword lengths, decoding table and output buffer between the calls, so 
+ * that decoding the containers of the current format version allocates no 
+ * code tables and no output arrays once the buffers are large enough. The 
+ * block containers and the containers of the older format versions are 
+ * delegated to {@link HuffmanByteDecompressor}.
+ * <p>
+ * A decoder is not thread-safe; use one decoder per thread.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanDecoder {
+    
+    /**
+     * The codeword lengths of the current input.
+     */
+    private final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+    
+    /**
+     * The canonical codewords of the current input.
+     */
+    private final long[] codes = new long[CODE_TABLE_CAPACITY];
+    
+    /**
+     * Computes the canonical codewords.
+     */
+    private final ByteHuffmanCodeLengthsBuilder codeLengthsBuilder = 
+            new ByteHuffmanCodeLengthsBuilder();
+    
+    /**
+     * The decoding table rebuilt for each input.
+     */
+    private final ReusableByteHuffmanDecodingTable decodingTable = 
+            new ReusableByteHuffmanDecodingTable();
+    
+    /**
+     * The pooled output buffer returned by 
+     * {@link #decode(byte[], int, int)}.
+     */
+    private final GrowableByteBuffer outputBuffer = new GrowableByteBuffer();
+    
+    /**
+     * Decompresses {@code compressedData} into the pooled output buffer.
+     * 
+     * @param compressedData the compressed data.
+     * @return the pooled output buffer holding the decompressed data. Valid 
+     *         until the next call to this decoder.
+     */
+    public GrowableByteBuffer decode(final byte[] compressedData) {
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        
+        return decode(compressedData, 0, compressedData.length);
+    }
+    
+    /**
+     * Decompresses the {@code length} bytes of {@code compressedData} 
+     * starting at {@code offset} into the pooled output buffer.
+     * 
+     * @param compressedData the compressed data.
+     * @param offset         the index of the first compressed byte.
+     * @param length         the number of compressed bytes.
+     * @return the pooled output buffer holding the decompressed data. Valid 
+     *         until the next call to this decoder.
+     */
+    public GrowableByteBuffer decode(final byte[] compressedData,
+                                     final int offset,
+                                     final int length) {
+        outputBuffer.clear();
+        decode(compressedData, offset, length, outputBuffer);
+        return outputBuffer;
+    }
+    
+    /**
+     * Decompresses the {@code length} bytes of {@code compressedData} 
+     * starting at {@code offset} appending the result to 
+     * {@code outputBuffer}.
+     * 
+     * @param compressedData the compressed data.
+     * @param offset         the index of the first compressed byte.
+     * @param length         the number of compressed bytes.
+     * @param outputBuffer   the buffer receiving the decompressed data.
+     * @return the number of bytes appended to {@code outputBuffer}.
+     */
+    public int decode(final byte[] compressedData,
+                      final int offset,
+                      final int length,
+                      final GrowableByteBuffer outputBuffer) {
+        
+        Objects.requireNonNull(compressedData, 
+                               "The input compressed data is null");
+        Objects.requireNonNull(outputBuffer, "The output buffer is null");
+        Objects.checkFromIndexSize(offset, length, compressedData.length);
+        
+        final MemorySegment compressedDataSegment = 
+                MemorySegment.ofArray(compressedData).asSlice(offset, length);
+        
+        if (!ByteArrayHeaderReader.hasCodeLengths(compressedDataSegment)) {
+            return decodeOtherContainer(compressedData, 
+                                        offset, 
+                                        length, 
+                                        outputBuffer);
+        }
+        
+        final long rawDataLength = 
+                ByteArrayHeaderReader.readRawDataLength(compressedDataSegment);
+        
+        if (rawDataLength < 1L) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid raw data length: %d.", 
+                                  rawDataLength));
+        }
+        
+        final long dataStartBitIndex = 
+                ByteArrayHeaderReader.readCodeLengths(compressedDataSegment, 
+                                                      codeLengths);
+        
+        codeLengthsBuilder.buildCanonicalCodes(codeLengths, codes);
+        decodingTable.build(codeLengths, codes);
+        
+        new ByteArrayCompressedDataReader(outputBuffer.append(rawDataLength), 
+                                          compressedDataSegment, 
+                                          dataStartBitIndex, 
+                                          decodingTable).read();
+        
+        return (int) rawDataLength;
+    }
+    
+    /**
+     * Decodes a container not accepted by 
+     * {@link ByteArrayHeaderReader#hasCodeLengths(MemorySegment)}. A single 
+     * container, such as the stored or the run-length encoded one, is 
+     * decompressed directly into {@code outputBuffer}; a block container is 
+     * decompressed via {@link HuffmanByteDecompressor} on a copy.
+     */
+    private static int decodeOtherContainer(
+            final byte[] compressedData,
+            final int offset,
+            final int length,
+            final GrowableByteBuffer outputBuffer) {
+        
+        final MemorySegment compressedDataSegment = 
+                MemorySegment.ofArray(compressedData).asSlice(offset, length);
+        
+        if (!ByteArrayBlockHeaderReader
+                .isBlockContainer(compressedDataSegment)) {
+            
+            final ByteArrayHeaderReader headerReader = 
+                    new ByteArrayHeaderReader(compressedDataSegment);
+            
+            final long rawDataLength = headerReader.getRawDataLength();
+            
+            if (rawDataLength < 1L) {
+                throw new IllegalArgumentException(
+                        String.format("Invalid raw data length: %d.", 
+                                      rawDataLength));
+            }
+            
+            HuffmanByteDecompressor.decompress(
+                    compressedDataSegment, 
+                    headerReader, 
+                    outputBuffer.append(rawDataLength), 
+                    ForkJoinPool.commonPool());
+            
+            return (int) rawDataLength;
+        }
+        
+        final byte[] rawData = 
+                HuffmanByteDecompressor.decompress(
+                        Arrays.copyOfRange(compressedData, 
+                                           offset, 
+                                           offset + length));
+        
+        MemorySegment.copy(rawData, 
+                           0, 
+                           outputBuffer.append(rawData.length), 
+                           ValueLayout.JAVA_BYTE, 
+                           0L, 
+                           rawData.length);
+        
+        return rawData.length;
+    }
+    
+    /**
+     * Returns this decoder to its initial state. The scratch tables and the 
+     * pooled output buffer keep their capacity, but the pooled output buffer
+     * no longer holds the last decompressed data.
+     */
+    public void reset() {
+        Arrays.fill(codeLengths, 0);
+        Arrays.fill(codes, 0L);
+        outputBuffer.clear();
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.ByteHuffmanEncodingTable.MAXIMUM_CODEWORD_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_MAXIMUM_CODE_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.HISTOGRAM_LANES;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements a reusable Huffman encoder for compressing many small
+ * inputs. Unlike {@link HuffmanByteCompressor}, an encoder keeps its 
+ * frequency tables, codeword lengths, encoding table and output buffer 
+ * between the calls, so that once the output buffer is large enough, 
+ * encoding allocates no tables and no output arrays. The output is readable 
+ * by {@link HuffmanByteDecompressor} and {@link HuffmanDecoder}; since the 
+ * inputs are expected to be small, it has no checkpoint index.
+ * <p>
+ * An encoder is not thread-safe; use one encoder per thread.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanEncoder {
+    
+    /**
+     * The byte frequencies of the current input.
+     */
+    private final long[] frequencies = new long[CODE_TABLE_CAPACITY];
+    
+    /**
+     * The count tables of the histogram.
+     */
+    private final int[] lanes = new int[HISTOGRAM_LANES * CODE_TABLE_CAPACITY];
+    
+    /**
+     * The codeword lengths of the current input.
+     */
+    private final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+    
+    /**
+     * The canonical codewords of the current input.
+     */
+    private final long[] codes = new long[CODE_TABLE_CAPACITY];
+    
+    /**
+     * Computes the codeword lengths and the canonical codewords.
+     */
+    private final ByteHuffmanCodeLengthsBuilder codeLengthsBuilder = 
+            new ByteHuffmanCodeLengthsBuilder();
+    
+    /**
+     * The encoding table of the current input.
+     */
+    private final ByteHuffmanEncodingTable encodingTable = 
+            new ByteHuffmanEncodingTable();
+    
+    /**
+     * The pooled output buffer returned by 
+     * {@link #encode(byte[], int, int)}.
+     */
+    private final GrowableByteBuffer outputBuffer = new GrowableByteBuffer();
+    
+    /**
+     * The maximum codeword length in bits.
+     */
+    private final int maximumCodeLength;
+    
+    /**
+     * Constructs this encoder limiting the codewords to 
+     * {@link Configuration#DEFAULT_MAXIMUM_CODE_LENGTH} bits.
+     */
+    public HuffmanEncoder() {
+        this(DEFAULT_MAXIMUM_CODE_LENGTH);
+    }
+    
+    /**
+     * Constructs this encoder.
+     * 
+     * @param maximumCodeLength the maximum codeword length in bits. Must be 
+     *                          long enough for all the 256 byte values.
+     */
+    public HuffmanEncoder(final int maximumCodeLength) {
+        if (maximumCodeLength < Byte.SIZE 
+                || maximumCodeLength > MAXIMUM_CODEWORD_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The maximum code length %d is out of range " + 
+                            "[%d, %d].",
+                            maximumCodeLength,
+                            Byte.SIZE,
+                            MAXIMUM_CODEWORD_LENGTH));
+        }
+        
+        this.maximumCodeLength = maximumCodeLength;
+    }
+    
+    /**
+     * Compresses {@code rawData} into the pooled output buffer.
+     * 
+     * @param rawData the raw data to compress.
+     * @return the pooled output buffer holding the compressed data. Valid 
+     *         until the next call to this encoder.
+     */
+    public GrowableByteBuffer encode(final byte[] rawData) {
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        return encode(rawData, 0, rawData.length);
+    }
+    
+    /**
+     * Compresses {@code length} bytes of {@code rawData} starting at 
+     * {@code offset} into the pooled output buffer.
+     * 
+     * @param rawData the raw data to compress.
+     * @param offset  the index of the first byte to compress.
+     * @param length  the number of bytes to compress.
+     * @return the pooled output buffer holding the compressed data. Valid 
+     *         until the next call to this encoder.
+     */
+    public GrowableByteBuffer encode(final byte[] rawData,
+                                     final int offset,
+                                     final int length) {
+        outputBuffer.clear();
+        encode(rawData, offset, length, outputBuffer);
+        return outputBuffer;
+    }
+    
+    /**
+     * Compresses {@code length} bytes of {@code rawData} starting at 
+     * {@code offset} appending the result to {@code outputBuffer}.
+     * 
+     * @param rawData      the raw data to compress.
+     * @param offset       the index of the first byte to compress.
+     * @param length       the number of bytes to compress.
+     * @param outputBuffer the buffer receiving the compressed data.
+     * @return the number of bytes appended to {@code outputBuffer}.
+     */
+    public int encode(final byte[] rawData,
+                      final int offset,
+                      final int length,
+                      final GrowableByteBuffer outputBuffer) {
+        
+        Objects.requireNonNull(rawData, "The input raw data is null");
+        Objects.requireNonNull(outputBuffer, "The output buffer is null");
+        Objects.checkFromIndexSize(offset, length, rawData.length);
+        
+        if (length == 0) {
+            throw new IllegalArgumentException("The input byte array is empty");
+        }
+        
+        final MemorySegment rawDataSegment = 
+                MemorySegment.ofArray(rawData).asSlice(offset, length);
+        
+        Arrays.fill(frequencies, 0L);
+        ByteWeightDistributionBuilder.countFrequencies(rawDataSegment, 
+                                                       frequencies, 
+                                                       lanes);
+        
+        final int codeSize = 
+                codeLengthsBuilder.buildCodeLengths(frequencies, 
+                                                    maximumCodeLength, 
+                                                    codeLengths);
+        
+        if (codeSize == 1) {
+            final int containerLength = 
+                    Utils.countBytesInRunLengthContainer();
+            
+            ByteArrayHeaderWriter.writeRunLengthContainer(
+                    outputBuffer.append(containerLength), 
+                    length, 
+                    rawData[offset],
+                    false);
+            
+            return containerLength;
+        }
+        
+        final long compressedLength = 
+                Utils.countBytesInCodeHeader(codeSize) + 
+                countBytesInEncodedData();
+        
+        if (compressedLength >= Utils.countBytesInStoredContainer(length)) {
+            // Huffman-coding does not pay off; store the data as is:
+            final long containerLength = 
+                    Utils.countBytesInStoredContainer(length);
+            
+            ByteArrayHeaderWriter.writeStoredContainer(
+                    outputBuffer.append(containerLength), 
+                    rawDataSegment,
+                    false);
+            
+            return (int) containerLength;
+        }
+        
+        codeLengthsBuilder.buildCanonicalCodes(codeLengths, codes);
+        encodingTable.setCodes(codeLengths, codes);
+        
+        final MemorySegment outputData = 
+                outputBuffer.append(compressedLength);
+        
+        final long dataStartBitIndex = 
+                ByteArrayHeaderWriter.writeHeader(outputData, 
+                                                  length, 
+                                                  codeLengths, 
+                                                  codeSize);
+        
+        new ByteArrayCompressedDataWriter(outputData, 
+                                          rawDataSegment, 
+                                          dataStartBitIndex, 
+                                          encodingTable).write();
+        
+        return (int) compressedLength;
+    }
+    
+    /**
+     * Returns this encoder to its initial state. The scratch tables and the 
+     * pooled output buffer keep their capacity, but the pooled output buffer
+     * no longer holds the last compressed data.
+     */
+    public void reset() {
+        Arrays.fill(frequencies, 0L);
+        Arrays.fill(codeLengths, 0);
+        Arrays.fill(codes, 0L);
+        outputBuffer.clear();
+    }
+    
+    private long countBytesInEncodedData() {
+        long bits = 0L;
+        
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            bits += frequencies[i] * Math.max(0, codeLengths[i]);
+        }
+        
+        return (bits + Byte.SIZE - 1) / Byte.SIZE;
+    }
+}
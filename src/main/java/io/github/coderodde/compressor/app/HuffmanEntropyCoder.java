@@ -0,0 +1,26 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_CHECKPOINT_INTERVAL;
+
+/**
+ * This class adapts {@link HuffmanByteCompressor} to 
+ * {@link ByteEntropyCoder}. The output has the default checkpoint interval.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanEntropyCoder implements ByteEntropyCoder {
+
+    @Override
+    public String getName() {
+        return "huffman";
+    }
+
+    @Override
+    public byte[] compress(final byte[] rawData, final boolean checksums) {
+        return HuffmanByteCompressor.compress(rawData, 
+                                              DEFAULT_CHECKPOINT_INTERVAL, 
+                                              checksums);
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FRAME_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.STREAM_MAGIC;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements an input stream decompressing the data written by
+ * {@link io.github.coderodde.compressor.app.HuffmanOutputStream}. Only one
+ * frame is held in memory at a time.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanInputStream extends InputStream {
+
+    /**
+     * The underlying input stream providing the compressed data.
+     */
+    private final InputStream in;
+
+    /**
+     * The decompressed data of the current frame.
+     */
+    private byte[] block = new byte[0];
+
+    /**
+     * The index of the next byte to return from {@code block}.
+     */
+    private int blockIndex;
+
+    /**
+     * Indicates whether the stream magic bytes are already read.
+     */
+    private boolean magicRead;
+
+    /**
+     * Indicates whether the end of the underlying stream is reached.
+     */
+    private boolean endOfStream;
+
+    /**
+     * Indicates whether this stream is closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs this input stream.
+     *
+     * @param in the input stream providing the compressed data.
+     */
+    public HuffmanInputStream(final InputStream in) {
+        this.in = Objects.requireNonNull(in, "The input stream is null");
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fillBlock()) {
+            return -1;
+        }
+
+        return Byte.toUnsignedInt(block[blockIndex++]);
+    }
+
+    @Override
+    public int read(final byte[] data,
+                    final int offset,
+                    final int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!fillBlock()) {
+            return -1;
+        }
+
+        final int chunkLength = Math.min(length, block.length - blockIndex);
+        System.arraycopy(block, blockIndex, data, offset, chunkLength);
+        blockIndex += chunkLength;
+        return chunkLength;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkNotClosed();
+        return block.length - blockIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        block = new byte[0];
+        in.close();
+    }
+
+    /**
+     * Makes sure that the current block has bytes to return.
+     *
+     * @return {@code false} if the end of the stream is reached.
+     * @throws IOException if an I/O error occurs or the stream is malformed.
+     */
+    private boolean fillBlock() throws IOException {
+        checkNotClosed();
+
+        while (blockIndex == block.length) {
+            if (endOfStream) {
+                return false;
+            }
+
+            readFrame();
+        }
+
+        return true;
+    }
+
+    private void readFrame() throws IOException {
+        if (!magicRead) {
+            final byte[] magic = in.readNBytes(STREAM_MAGIC.length);
+
+            if (magic.length == 0) {
+                // An empty input is an empty stream:
+                endOfStream = true;
+                return;
+            }
+
+            if (!Arrays.equals(magic, STREAM_MAGIC)) {
+                throw new IOException("Not a Huffman compressed stream");
+            }
+
+            magicRead = true;
+        }
+
+        final byte[] frameLengthBytes = in.readNBytes(BYTES_PER_FRAME_LENGTH);
+
+        if (frameLengthBytes.length == 0) {
+            endOfStream = true;
+            return;
+        }
+
+        if (frameLengthBytes.length != BYTES_PER_FRAME_LENGTH) {
+            throw new EOFException("Truncated frame length");
+        }
+
+        final int frameLength = ByteBuffer.wrap(frameLengthBytes)
+                                          .order(ByteOrder.LITTLE_ENDIAN)
+                                          .getInt();
+
+        if (frameLength < 1) {
+            throw new IOException(
+                    String.format("Invalid frame length: %d", frameLength));
+        }
+
+        final byte[] compressedData = in.readNBytes(frameLength);
+
+        if (compressedData.length != frameLength) {
+            throw new EOFException("Truncated frame");
+        }
+
+        block = HuffmanByteDecompressor.decompress(compressedData);
+        blockIndex = 0;
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (closed) {
+            throw new IOException("The stream is closed");
+        }
+    }
+}
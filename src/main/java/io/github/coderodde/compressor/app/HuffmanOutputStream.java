@@ -0,0 +1,178 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FRAME_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_STREAM_BLOCK_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.STREAM_MAGIC;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.foreign.MemorySegment;
+import java.util.Objects;
+
+/**
+ * This class implements an output stream compressing all the data written to
+ * it. The data is buffered into blocks of at most {@code blockSize} bytes, and
+ * each block is compressed via
+ * {@link io.github.coderodde.compressor.app.HuffmanByteCompressor} into a
+ * <i>frame</i> consisting of the length of the compressed block followed by
+ * the compressed block itself. This way, the memory consumption is bounded by
+ * the block size regardless of the amount of data being compressed.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanOutputStream extends OutputStream {
+
+    /**
+     * The underlying output stream receiving the compressed data.
+     */
+    private final OutputStream out;
+
+    /**
+     * The buffer holding the raw data of the current block.
+     */
+    private final byte[] block;
+
+    /**
+     * The number of raw data bytes in {@code block}.
+     */
+    private int blockLength;
+
+    /**
+     * The buffer holding the current frame. Reused for all the frames.
+     */
+    private final GrowableByteBuffer frame = new GrowableByteBuffer();
+
+    /**
+     * Indicates whether the stream magic bytes are already written.
+     */
+    private boolean magicWritten;
+
+    /**
+     * Indicates whether this stream is closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs this output stream with the default block size.
+     *
+     * @param out the output stream receiving the compressed data.
+     */
+    public HuffmanOutputStream(final OutputStream out) {
+        this(out, DEFAULT_STREAM_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructs this output stream.
+     *
+     * @param out       the output stream receiving the compressed data.
+     * @param blockSize the maximum number of raw data bytes per frame.
+     */
+    public HuffmanOutputStream(final OutputStream out, final int blockSize) {
+        this.out = Objects.requireNonNull(out, "The output stream is null");
+
+        if (blockSize < 1) {
+            throw new IllegalArgumentException(
+                    String.format("blockSize(%d) < 1", blockSize));
+        }
+
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        checkNotClosed();
+        block[blockLength++] = (byte) b;
+
+        if (blockLength == block.length) {
+            writeFrame();
+        }
+    }
+
+    @Override
+    public void write(final byte[] data,
+                      int offset,
+                      int length) throws IOException {
+
+        Objects.checkFromIndexSize(offset, length, data.length);
+        checkNotClosed();
+
+        while (length > 0) {
+            final int chunkLength = Math.min(length,
+                                             block.length - blockLength);
+
+            System.arraycopy(data, offset, block, blockLength, chunkLength);
+
+            blockLength += chunkLength;
+            offset      += chunkLength;
+            length      -= chunkLength;
+
+            if (blockLength == block.length) {
+                writeFrame();
+            }
+        }
+    }
+
+    /**
+     * Compresses the buffered data into a frame and flushes the underlying
+     * output stream. Note that flushing often hurts the compression ratio.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        checkNotClosed();
+        writeFrame();
+        out.flush();
+    }
+
+    /**
+     * Compresses the buffered data and closes the underlying output stream.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try (out) {
+            writeFrame();
+        } finally {
+            closed = true;
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (!magicWritten) {
+            out.write(STREAM_MAGIC);
+            magicWritten = true;
+        }
+
+        if (blockLength == 0) {
+            return;
+        }
+
+        frame.clear();
+        frame.append(BYTES_PER_FRAME_LENGTH);
+
+        final int compressedLength =
+                HuffmanByteCompressor.compress(
+                        MemorySegment.ofArray(block).asSlice(0, blockLength),
+                        frame);
+
+        // The frame may have grown, so its array is fetched only now:
+        MemorySegment.ofArray(frame.array())
+                     .set(Utils.INT_LE, 0L, compressedLength);
+
+        out.write(frame.array(), 0, frame.size());
+        blockLength = 0;
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (closed) {
+            throw new IOException("The stream is closed");
+        }
+    }
+}
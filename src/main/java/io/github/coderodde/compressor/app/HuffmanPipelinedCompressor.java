@@ -0,0 +1,237 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.Configuration.DEFAULT_BLOCK_SIZE;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * This class compresses a file into a block container while overlapping the
+ * I/O with the encoding: while the block {@code N} is being encoded on the
+ * calling thread, the block {@code N + 1} is read and the compressed block
+ * {@code N - 1} is written via {@link AsynchronousFileChannel}s. The raw
+ * blocks are double-buffered, and at most one read and one write are in
+ * flight, so that only two raw blocks and two compressed blocks are held in
+ * memory. On slow storage the wall time thus approaches the maximum of the
+ * I/O time and the encoding time instead of their sum.
+ * <p>
+ * The output is the same block container as produced by
+ * {@link HuffmanBlockCompressor} and is decompressed by
+ * {@link HuffmanByteDecompressor}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanPipelinedCompressor {
+
+    private HuffmanPipelinedCompressor() {
+
+    }
+
+    /**
+     * Compresses the file {@code inputPath} into a block container file
+     * {@code outputPath} using the default block size.
+     *
+     * @param inputPath  the path of the file to compress.
+     * @param outputPath the path of the resultant block container.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void compress(final Path inputPath, final Path outputPath)
+            throws IOException {
+        compress(inputPath, outputPath, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Compresses the file {@code inputPath} into a block container file
+     * {@code outputPath}.
+     *
+     * @param inputPath  the path of the file to compress.
+     * @param outputPath the path of the resultant block container.
+     * @param blockSize  the maximum number of raw data bytes per block.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void compress(final Path inputPath,
+                                final Path outputPath,
+                                final int blockSize) throws IOException {
+
+        Objects.requireNonNull(inputPath, "The input path is null");
+        Objects.requireNonNull(outputPath, "The output path is null");
+        HuffmanBlockCompressor.checkBlockSize(blockSize);
+
+        // The input is checked before the output is truncated:
+        try (final AsynchronousFileChannel inputChannel =
+                     AsynchronousFileChannel.open(inputPath,
+                                                  StandardOpenOption.READ);
+             final AsynchronousFileChannel outputChannel =
+                     AsynchronousFileChannel.open(
+                             Utils.checkFilesToCompress(inputPath,
+                                                        inputChannel.size(),
+                                                        outputPath),
+                             StandardOpenOption.CREATE,
+                             StandardOpenOption.TRUNCATE_EXISTING,
+                             StandardOpenOption.WRITE)) {
+
+            final long rawDataLength = inputChannel.size();
+
+            final int blockCount = Utils.countBlocks(rawDataLength, blockSize);
+            final int bufferSize = (int) Math.min(blockSize, rawDataLength);
+
+            final ByteBuffer[] rawBlocks = {
+                ByteBuffer.allocate(bufferSize),
+                ByteBuffer.allocate(bufferSize),
+            };
+
+            final long[] blockOffsets = new long[blockCount];
+            long position = Utils.countBytesInBlockHeader(blockCount);
+
+            Future<Integer> pendingRead =
+                    startRead(inputChannel, rawBlocks[0], rawDataLength, 0L);
+
+            ByteBuffer pendingWriteBuffer = null;
+            Future<Integer> pendingWrite = null;
+            long pendingWritePosition = 0L;
+
+            for (int i = 0; i < blockCount; ++i) {
+                final ByteBuffer rawBlock = rawBlocks[i & 1];
+                final long rawDataOffset = (long) i * blockSize;
+
+                finishRead(inputChannel, rawBlock, rawDataOffset, pendingRead);
+
+                if (i + 1 < blockCount) {
+                    // Read the next block while this one is being encoded:
+                    pendingRead = startRead(inputChannel,
+                                            rawBlocks[(i + 1) & 1],
+                                            rawDataLength,
+                                            rawDataOffset + blockSize);
+                }
+
+                final byte[] compressedBlock =
+                        HuffmanByteCompressor.compress(
+                                MemorySegment.ofArray(rawBlock.array())
+                                             .asSlice(0L, rawBlock.limit()));
+
+                if (pendingWrite != null) {
+                    finishWrite(outputChannel,
+                                pendingWriteBuffer,
+                                pendingWritePosition,
+                                pendingWrite);
+                }
+
+                blockOffsets[i] = position;
+                pendingWriteBuffer = ByteBuffer.wrap(compressedBlock);
+                pendingWritePosition = position;
+                pendingWrite = outputChannel.write(pendingWriteBuffer,
+                                                   position);
+
+                position += compressedBlock.length;
+            }
+
+            finishWrite(outputChannel,
+                        pendingWriteBuffer,
+                        pendingWritePosition,
+                        pendingWrite);
+
+            final byte[] header =
+                    new byte[(int) Utils.countBytesInBlockHeader(blockCount)];
+
+            new ByteArrayBlockHeaderWriter(rawDataLength,
+                                           blockSize,
+                                           blockOffsets,
+                                           MemorySegment.ofArray(header))
+                    .write();
+
+            final ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+
+            finishWrite(outputChannel,
+                        headerBuffer,
+                        0L,
+                        outputChannel.write(headerBuffer, 0L));
+        }
+    }
+
+    /**
+     * Starts reading the block beginning at {@code position} into
+     * {@code buffer}.
+     */
+    private static Future<Integer> startRead(
+            final AsynchronousFileChannel channel,
+            final ByteBuffer buffer,
+            final long rawDataLength,
+            final long position) {
+
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(),
+                                    rawDataLength - position));
+
+        return channel.read(buffer, position);
+    }
+
+    /**
+     * Waits for the {@code read} to complete and reads the rest of the block
+     * if the read was short. On return, {@code buffer} is flipped.
+     */
+    private static void finishRead(final AsynchronousFileChannel channel,
+                                   final ByteBuffer buffer,
+                                   final long position,
+                                   final Future<Integer> read)
+            throws IOException {
+
+        int bytesRead = await(read);
+
+        while (buffer.hasRemaining()) {
+            if (bytesRead < 0) {
+                throw new IOException(
+                        String.format(
+                                "The input file ended at %d bytes while " +
+                                "reading a block.",
+                                position + buffer.position()));
+            }
+
+            bytesRead = await(channel.read(buffer,
+                                           position + buffer.position()));
+        }
+
+        buffer.flip();
+    }
+
+    /**
+     * Waits for the {@code write} to complete and writes the rest of the
+     * {@code buffer} if the write was short.
+     */
+    private static void finishWrite(final AsynchronousFileChannel channel,
+                                    final ByteBuffer buffer,
+                                    final long position,
+                                    final Future<Integer> write)
+            throws IOException {
+
+        await(write);
+
+        while (buffer.hasRemaining()) {
+            await(channel.write(buffer, position + buffer.position()));
+        }
+    }
+
+    private static int await(final Future<Integer> future)
+            throws IOException {
+
+        try {
+            return future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for I/O.", ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            throw new IOException(ex.getCause());
+        }
+    }
+}
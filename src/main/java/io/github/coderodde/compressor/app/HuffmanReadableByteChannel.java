@@ -0,0 +1,105 @@
+package io.github.coderodde.compressor.app;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+
+/**
+ * This class implements a readable byte channel decompressing the data 
+ * written by {@link io.github.coderodde.compressor.app.HuffmanOutputStream} or
+ * {@link io.github.coderodde.compressor.app.HuffmanWritableByteChannel}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanReadableByteChannel implements ReadableByteChannel {
+
+    /**
+     * The size of the buffer used for transferring the data to direct byte 
+     * buffers.
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 1 << 16;
+    
+    /**
+     * The actual decompressing stream.
+     */
+    private final HuffmanInputStream in;
+    
+    /**
+     * The buffer used for transferring the data to direct byte buffers.
+     */
+    private byte[] transferBuffer;
+    
+    /**
+     * Indicates whether this channel is open.
+     */
+    private boolean open = true;
+    
+    /**
+     * Constructs this channel.
+     * 
+     * @param channel the channel providing the compressed data.
+     */
+    public HuffmanReadableByteChannel(final ReadableByteChannel channel) {
+        this.in = new HuffmanInputStream(
+                Channels.newInputStream(
+                        Objects.requireNonNull(channel,
+                                               "The channel is null")));
+    }
+
+    @Override
+    public int read(final ByteBuffer target) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        
+        if (!target.hasRemaining()) {
+            return 0;
+        }
+        
+        if (target.hasArray()) {
+            final int bytesRead = 
+                    in.read(target.array(),
+                            target.arrayOffset() + target.position(),
+                            target.remaining());
+            
+            if (bytesRead > 0) {
+                target.position(target.position() + bytesRead);
+            }
+            
+            return bytesRead;
+        }
+        
+        if (transferBuffer == null) {
+            transferBuffer = new byte[TRANSFER_BUFFER_SIZE];
+        }
+        
+        final int bytesRead = 
+                in.read(transferBuffer,
+                        0, 
+                        Math.min(target.remaining(), transferBuffer.length));
+        
+        if (bytesRead > 0) {
+            target.put(transferBuffer, 0, bytesRead);
+        }
+        
+        return bytesRead;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (open) {
+            open = false;
+            in.close();
+        }
+    }
+}
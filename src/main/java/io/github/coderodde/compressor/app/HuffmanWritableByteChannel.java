@@ -0,0 +1,113 @@
+package io.github.coderodde.compressor.app;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * This class implements a writable byte channel compressing all the data 
+ * written to it into the format of
+ * {@link io.github.coderodde.compressor.app.HuffmanOutputStream}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+public final class HuffmanWritableByteChannel implements WritableByteChannel {
+
+    /**
+     * The size of the buffer used for transferring the data of direct byte 
+     * buffers.
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 1 << 16;
+    
+    /**
+     * The actual compressing stream.
+     */
+    private final HuffmanOutputStream out;
+    
+    /**
+     * The buffer used for transferring the data of direct byte buffers.
+     */
+    private byte[] transferBuffer;
+    
+    /**
+     * Indicates whether this channel is open.
+     */
+    private boolean open = true;
+
+    /**
+     * Constructs this channel with the default block size.
+     * 
+     * @param channel the channel receiving the compressed data.
+     */
+    public HuffmanWritableByteChannel(final WritableByteChannel channel) {
+        this.out = new HuffmanOutputStream(
+                Channels.newOutputStream(
+                        Objects.requireNonNull(channel, 
+                                               "The channel is null")));
+    }
+    
+    /**
+     * Constructs this channel.
+     * 
+     * @param channel   the channel receiving the compressed data.
+     * @param blockSize the maximum number of raw data bytes per frame.
+     */
+    public HuffmanWritableByteChannel(final WritableByteChannel channel,
+                                      final int blockSize) {
+        this.out = new HuffmanOutputStream(
+                Channels.newOutputStream(
+                        Objects.requireNonNull(channel, 
+                                               "The channel is null")),
+                blockSize);
+    }
+    
+    @Override
+    public int write(final ByteBuffer source) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        
+        final int length = source.remaining();
+        
+        if (source.hasArray()) {
+            out.write(source.array(), 
+                      source.arrayOffset() + source.position(),
+                      length);
+            
+            source.position(source.limit());
+            return length;
+        }
+        
+        if (transferBuffer == null) {
+            transferBuffer = new byte[TRANSFER_BUFFER_SIZE];
+        }
+        
+        while (source.hasRemaining()) {
+            final int chunkLength = Math.min(source.remaining(),
+                                             transferBuffer.length);
+            
+            source.get(transferBuffer, 0, chunkLength);
+            out.write(transferBuffer, 0, chunkLength);
+        }
+        
+        return length;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (open) {
+            open = false;
+            out.close();
+        }
+    }
+}
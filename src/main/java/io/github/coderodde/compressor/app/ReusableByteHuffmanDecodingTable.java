@@ -0,0 +1,284 @@
+package io.github.coderodde.compressor.app;
+
+import static io.github.coderodde.compressor.app.ByteHuffmanCodeLengthsBuilder.NO_CODEWORD;
+import static io.github.coderodde.compressor.app.ByteHuffmanDecodingTable.INVALID_ENTRY;
+import static io.github.coderodde.compressor.app.ByteHuffmanDecodingTable.LINK_BITS_WIDTH;
+import static io.github.coderodde.compressor.app.ByteHuffmanDecodingTable.LINK_FLAG;
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import static io.github.coderodde.compressor.app.Configuration.DECODING_TABLE_PRIMARY_BITS;
+import static io.github.coderodde.compressor.app.Configuration.DECODING_TABLE_SECONDARY_BITS;
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+
+/**
+ * This class implements a decoding table that may be rebuilt for another 
+ * code in place. The table layout is the one of 
+ * {@link ByteHuffmanDecodingTable}, which builds its entries via this class.
+ * Unlike {@link ByteHuffmanDecodingTable}, this class is mutable and must not
+ * be shared by threads.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.2.0 (Oct 16, 2026)
+ * @since 1.2.0 (Oct 16, 2026)
+ */
+final class ReusableByteHuffmanDecodingTable implements ByteHuffmanDecoder {
+
+    /**
+     * The actual table entries. The primary table occupies the first
+     * {@code 2^primaryBits} entries and is followed by the secondary tables.
+     * Only the first {@code size} entries are in use.
+     */
+    private int[] entries = new int[0];
+
+    /**
+     * The number of bits resolved by the primary table.
+     */
+    private int primaryBits;
+
+    /**
+     * The codeword lengths indexed by unsigned byte values. Used only while
+     * building the table.
+     */
+    private final int[] codeLengths = new int[CODE_TABLE_CAPACITY];
+
+    /**
+     * The codewords indexed by unsigned byte values. The first bit of each
+     * codeword in the bit stream is the least significant bit. Used only
+     * while building the table.
+     */
+    private final long[] streamCodes = new long[CODE_TABLE_CAPACITY];
+
+    /**
+     * The present bytes. Used only while building the table.
+     */
+    private final int[] symbols = new int[CODE_TABLE_CAPACITY];
+
+    /**
+     * The number of table entries in use.
+     */
+    private int size;
+
+    /**
+     * Rebuilds this table for another code. The entry array is reused, so 
+     * rebuilding allocates only when the code needs more secondary tables 
+     * than any code before it. The codeword of the byte {@code i} is stored 
+     * in the {@code codeLengths[i]} least significant bits of 
+     * {@code codes[i]}, the most significant of them being the first one.
+     *
+     * @param codeLengths the codeword lengths indexed by unsigned byte values.
+     *                    The absent bytes have 
+     *                    {@link ByteHuffmanCodeLengthsBuilder#NO_CODEWORD}.
+     * @param codes       the codewords indexed by unsigned byte values.
+     */
+    void build(final int[] codeLengths, final long[] codes) {
+        int symbolCount = 0;
+        int maximumCodeLength = 0;
+
+        for (int value = 0; value < CODE_TABLE_CAPACITY; ++value) {
+            final int length = codeLengths[value];
+
+            if (length != NO_CODEWORD) {
+                this.codeLengths[value] = length;
+                this.streamCodes[value] = toStreamOrder(codes[value], length);
+                symbols[symbolCount++] = value;
+                maximumCodeLength = Math.max(maximumCodeLength, length);
+            }
+        }
+
+        if (symbolCount == 0) {
+            throw new EmptyCodeTableException();
+        }
+
+        this.primaryBits = Math.min(DECODING_TABLE_PRIMARY_BITS,
+                                    maximumCodeLength);
+
+        this.size = 0;
+
+        allocate(primaryBits);
+        fillTable(0, primaryBits, 0, symbols, symbolCount);
+    }
+
+    @Override
+    public int decode(final byte[] compressedData, final long bitIndex) {
+        return ByteHuffmanDecodingTable.decode(entries, 
+                                               primaryBits, 
+                                               compressedData, 
+                                               bitIndex);
+    }
+
+    @Override
+    public int decode(final MemorySegment compressedData, 
+                      final long bitIndex) {
+        return ByteHuffmanDecodingTable.decode(entries, 
+                                               primaryBits, 
+                                               compressedData, 
+                                               bitIndex);
+    }
+
+    /**
+     * Returns a copy of the entries in use.
+     *
+     * @return the table entries.
+     */
+    int[] copyEntries() {
+        return Arrays.copyOf(entries, size);
+    }
+
+    int getPrimaryBits() {
+        return primaryBits;
+    }
+
+    /**
+     * Fills a (primary or secondary) table with the codewords of the given
+     * symbols.
+     *
+     * @param tableOffset  the index of the first entry of the table.
+     * @param tableBits    the number of bits the table resolves.
+     * @param prefixLength the number of codeword bits resolved before this
+     *                     table.
+     * @param symbols      the symbols whose codewords fall into this table.
+     * @param symbolCount  the number of symbols in {@code symbols}.
+     */
+    private void fillTable(final int tableOffset,
+                           final int tableBits,
+                           final int prefixLength,
+                           final int[] symbols,
+                           final int symbolCount) {
+
+        final int tableMask = (1 << tableBits) - 1;
+        int[] longSymbols = null;
+        int longSymbolCount = 0;
+
+        for (int i = 0; i < symbolCount; ++i) {
+            final int symbol = symbols[i];
+            final int remainingLength = codeLengths[symbol] - prefixLength;
+            final long code = streamCodes[symbol] >>> prefixLength;
+
+            if (remainingLength <= tableBits) {
+                final int leaf = ByteHuffmanDecoder.toEntry((byte) symbol, 
+                                                          codeLengths[symbol]);
+
+                for (int index = (int) code;
+                         index <= tableMask;
+                         index += 1 << remainingLength) {
+
+                    setEntry(tableOffset + index, leaf);
+                }
+            } else {
+                if (longSymbols == null) {
+                    longSymbols = new int[symbolCount];
+                }
+
+                longSymbols[longSymbolCount++] = symbol;
+            }
+        }
+
+        if (longSymbolCount == 0) {
+            return;
+        }
+
+        // Group the long codewords by their index in this table and build a
+        // secondary table for each group:
+        final int[] group = new int[longSymbolCount];
+
+        for (int i = 0; i < longSymbolCount; ++i) {
+            final int index = getIndex(longSymbols[i], prefixLength, tableMask);
+
+            final int entry = entries[tableOffset + index];
+
+            if (entry != INVALID_ENTRY && entry < 0) {
+                // Already built the secondary table for this group.
+                continue;
+            }
+
+            int groupSize = 0;
+            int maximumRemainingLength = 0;
+
+            for (int j = i; j < longSymbolCount; ++j) {
+                final int symbol = longSymbols[j];
+
+                if (getIndex(symbol, prefixLength, tableMask) == index) {
+                    group[groupSize++] = symbol;
+                    maximumRemainingLength =
+                            Math.max(maximumRemainingLength,
+                                     codeLengths[symbol]
+                                             - prefixLength
+                                             - tableBits);
+                }
+            }
+
+            final int secondaryBits = Math.min(DECODING_TABLE_SECONDARY_BITS,
+                                               maximumRemainingLength);
+
+            final int secondaryOffset = allocate(secondaryBits);
+
+            setEntry(tableOffset + index,
+                     LINK_FLAG | (secondaryOffset << LINK_BITS_WIDTH)
+                               | secondaryBits);
+
+            fillTable(secondaryOffset,
+                      secondaryBits,
+                      prefixLength + tableBits,
+                      Arrays.copyOf(group, groupSize),
+                      groupSize);
+        }
+    }
+
+    private int getIndex(final int symbol,
+                         final int prefixLength,
+                         final int tableMask) {
+
+        return (int) (streamCodes[symbol] >>> prefixLength) & tableMask;
+    }
+
+    /**
+     * Allocates a new table of {@code 2^tableBits} invalid entries.
+     *
+     * @param tableBits the number of bits the new table resolves.
+     * @return the index of the first entry of the new table.
+     */
+    private int allocate(final int tableBits) {
+        final int tableOffset = size;
+        final int tableSize = 1 << tableBits;
+
+        if (size + tableSize > entries.length) {
+            entries = Arrays.copyOf(entries,
+                                    Math.max(2 * entries.length,
+                                             size + tableSize));
+        }
+
+        Arrays.fill(entries, tableOffset, tableOffset + tableSize,
+                    INVALID_ENTRY);
+
+        size += tableSize;
+        return tableOffset;
+    }
+
+    private void setEntry(final int index, final int entry) {
+        if (entries[index] != INVALID_ENTRY) {
+            throw new IllegalStateException(
+                    "The code table is not prefix-free: " +
+                    "two codewords share a prefix.");
+        }
+
+        entries[index] = entry;
+    }
+
+    /**
+     * Converts the codeword to the bit order in which it appears in the
+     * compressed data, i.e., the first bit in the stream becomes the least
+     * significant bit.
+     *
+     * @param code   the codeword bits, the first one being the most 
+     *               significant.
+     * @param length the codeword length.
+     * @return the codeword bits in stream order.
+     */
+    private static long toStreamOrder(final long code, final int length) {
+        if (length == 0) {
+            return 0L;
+        }
+
+        return Long.reverse(code) >>> (Long.SIZE - length);
+    }
+}
@@ -1,30 +1,122 @@
 package io.github.coderodde.compressor.app;
 
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_COUNT;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BLOCK_SIZE;
 import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_BYTE_DESCRIPTOR;
 import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODEWORD_LENGTH;
 import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODEWORD_MAX;
-import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CODE_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKPOINT_INTERVAL;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKPOINT_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CANONICAL_CODE_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_CHECKSUM;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_DICTIONARY_ID;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FLAGS;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_BIT_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_NORMALIZED_COUNT;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_FSE_TABLE_LOG;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_STREAM_OFFSET;
+import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_SYMBOL_BITMAP;
 import static io.github.coderodde.compressor.app.Configuration.BYTES_PER_RAW_DATA_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.CODE_TABLE_CAPACITY;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_MAGIC;
+import static io.github.coderodde.compressor.app.Configuration.FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.FULL_CODE_TABLE_FORMAT_VERSION;
+import static io.github.coderodde.compressor.app.Configuration.MAXIMUM_ARRAY_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.MINIMUM_STREAM_SEGMENT_LENGTH;
+import static io.github.coderodde.compressor.app.Configuration.SPARSE_CODE_TABLE_MAX_SIZE;
+import static io.github.coderodde.compressor.app.Configuration.STREAM_COUNT;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
 
 /**
  * This class contains some various helper methods.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.1.3 (Nov 23, 2025)
+ * @version 1.2.0 (Oct 16, 2026)
  * @since 1.0.0 (Nov 16, 2025)
  */
 public final class Utils {
 
+    /**
+     * The layout of the unaligned little-endian 16-bit integers in the 
+     * compressed data.
+     */
+    static final ValueLayout.OfShort SHORT_LE = 
+            ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(
+                    ByteOrder.LITTLE_ENDIAN);
+    
+    /**
+     * The layout of the unaligned little-endian 32-bit integers in the 
+     * compressed data.
+     */
+    static final ValueLayout.OfInt INT_LE = 
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    
+    /**
+     * The layout of the unaligned little-endian 64-bit integers in the 
+     * compressed data.
+     */
+    static final ValueLayout.OfLong LONG_LE = 
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    
+    /**
+     * The number of bytes materialized or copied at a time when computing the
+     * checksum of a run of a single byte or of off-heap data.
+     */
+    private static final int CHECKSUM_CHUNK_LENGTH = 1 << 16;
+    
     private Utils() {
         
     }
     
     public static long countBitsInRawData(final ByteHuffmanCodeTable code,
                                           final byte[] rawData) {
+        return countBitsInRawData(code, MemorySegment.ofArray(rawData));
+    }
+    
+    public static long countBitsInRawData(final ByteHuffmanCodeTable code,
+                                          final MemorySegment rawData) {
+        final long rawDataLength = rawData.byteSize();
+        long bits = 0;
+        
+        for (long i = 0; i != rawDataLength; ++i) {
+            bits += code.get(rawData.get(ValueLayout.JAVA_BYTE, i)).length();
+        }
+        
+        return bits / Byte.SIZE + (bits % Byte.SIZE != 0 ? 1L : 0L);
+    }
+    
+    /**
+     * Returns the number of bytes the compressed data occupies computed from
+     * the byte frequencies as the sum of the products of the frequencies and 
+     * the codeword lengths. Unlike 
+     * {@link #countBitsInRawData(ByteHuffmanCodeTable, MemorySegment)}, this 
+     * does not scan the raw data.
+     * 
+     * @param code                  the code table.
+     * @param frequencyDistribution the byte frequencies of the raw data.
+     * @return the number of bytes in the compressed data.
+     */
+    public static long countBitsInRawData(
+            final ByteHuffmanCodeTable code,
+            final ByteFrequencyDistribution frequencyDistribution) {
+        
         long bits = 0;
         
-        for (final byte b : rawData) {
-            bits += code.get(b).length();
+        for (int i = 0; i < CODE_TABLE_CAPACITY; ++i) {
+            final long frequency = frequencyDistribution.getFrequency((byte) i);
+            
+            if (frequency != 0L) {
+                bits += frequency * code.get((byte) i).length();
+            }
         }
         
         return bits / Byte.SIZE + (bits % Byte.SIZE != 0 ? 1L : 0L);
@@ -37,9 +129,429 @@ public final class Utils {
     }
     
     public static int countBytesInCodeHeader(final int codeSize) {
-        final int codeEntryLength = getCodeEntryLength();
+        return getHeaderPrefixLength() + BYTES_PER_CANONICAL_CODE_SIZE
+                                       + countBytesInCodeLengths(codeSize);
+    }
+    
+    /**
+     * Returns the number of bytes storing the codeword lengths of a canonical
+     * code of size {@code codeSize}.
+     * 
+     * @param codeSize the number of codewords.
+     * @return the number of bytes in the codeword length section.
+     */
+    public static int countBytesInCodeLengths(final int codeSize) {
+        if (codeSize <= SPARSE_CODE_TABLE_MAX_SIZE) {
+            return codeSize * (BYTES_PER_BYTE_DESCRIPTOR + 
+                               BYTES_PER_CODEWORD_LENGTH);
+        }
         
-        return (codeSize * codeEntryLength) + BYTES_PER_CODE_SIZE
-                                            + BYTES_PER_RAW_DATA_LENGTH;
+        return BYTES_PER_SYMBOL_BITMAP + codeSize * BYTES_PER_CODEWORD_LENGTH;
+    }
+    
+    /**
+     * Returns {@code true} if and only if {@code formatVersion} is a format 
+     * version that starts with {@link Configuration#FORMAT_MAGIC}.
+     * 
+     * @param formatVersion the format version to check.
+     * @return {@code true} if the format version is supported.
+     */
+    static boolean isSupportedFormatVersion(final byte formatVersion) {
+        return formatVersion == FORMAT_VERSION 
+            || formatVersion == FULL_CODE_TABLE_FORMAT_VERSION;
+    }
+    
+    /**
+     * Returns the number of header bytes including the checkpoint index of 
+     * {@code checkpointCount} checkpoints. No checkpoint index is written if 
+     * {@code checkpointCount} is zero.
+     * 
+     * @param codeSize        the number of codewords.
+     * @param checkpointCount the number of checkpoints.
+     * @return the length of the header.
+     */
+    public static long countBytesInCodeHeader(final int codeSize,
+                                              final int checkpointCount) {
+        return countBytesInCodeHeader(codeSize) 
+             + countBytesInCheckpointIndex(checkpointCount);
+    }
+    
+    /**
+     * Returns the number of header bytes of the data compressed with a 
+     * dictionary including the checkpoint index of {@code checkpointCount} 
+     * checkpoints.
+     * 
+     * @param checkpointCount the number of checkpoints.
+     * @return the length of the header.
+     */
+    public static long countBytesInDictionaryHeader(final int checkpointCount) {
+        return getHeaderPrefixLength() 
+             + BYTES_PER_DICTIONARY_ID 
+             + countBytesInCheckpointIndex(checkpointCount);
+    }
+    
+    /**
+     * Returns the number of header bytes of the data coded via tANS/FSE with
+     * {@code symbolCount} distinct bytes. The header ends with the length of
+     * the bitstream.
+     * 
+     * @param symbolCount the number of bytes having a normalized count.
+     * @param checksums   whether the raw data has a checksum.
+     * @return the length of the header.
+     */
+    public static int countBytesInFseHeader(final int symbolCount,
+                                            final boolean checksums) {
+        final int countsLength = 
+                symbolCount <= SPARSE_CODE_TABLE_MAX_SIZE 
+                ? symbolCount * (BYTES_PER_BYTE_DESCRIPTOR 
+                                 + BYTES_PER_FSE_NORMALIZED_COUNT)
+                : BYTES_PER_SYMBOL_BITMAP 
+                  + symbolCount * BYTES_PER_FSE_NORMALIZED_COUNT;
+        
+        return getHeaderPrefixLength() 
+             + BYTES_PER_FSE_TABLE_LOG
+             + BYTES_PER_CANONICAL_CODE_SIZE
+             + countsLength
+             + (checksums ? BYTES_PER_CHECKSUM : 0)
+             + BYTES_PER_FSE_BIT_LENGTH;
+    }
+    
+    /**
+     * Returns the length of the compressed file storing {@code rawDataLength}
+     * raw data bytes as is.
+     * 
+     * @param rawDataLength the length of the raw data.
+     * @return the length of the stored container.
+     */
+    public static long countBytesInStoredContainer(final long rawDataLength) {
+        return countBytesInStoredContainer(rawDataLength, false);
+    }
+    
+    /**
+     * Returns the length of the compressed file storing {@code rawDataLength}
+     * raw data bytes as is.
+     * 
+     * @param rawDataLength the length of the raw data.
+     * @param checksums     whether the raw data has a checksum.
+     * @return the length of the stored container.
+     */
+    public static long countBytesInStoredContainer(final long rawDataLength,
+                                                   final boolean checksums) {
+        return getHeaderPrefixLength() 
+             + (checksums ? countBytesInChecksumTable(0) : 0L)
+             + rawDataLength;
+    }
+    
+    /**
+     * Returns the length of the compressed file whose raw data consists of a
+     * single repeated byte.
+     * 
+     * @return the length of the run-length container.
+     */
+    public static int countBytesInRunLengthContainer() {
+        return countBytesInRunLengthContainer(false);
+    }
+    
+    /**
+     * Returns the length of the compressed file whose raw data consists of a
+     * single repeated byte.
+     * 
+     * @param checksums whether the raw data has a checksum.
+     * @return the length of the run-length container.
+     */
+    public static int countBytesInRunLengthContainer(final boolean checksums) {
+        return getHeaderPrefixLength() 
+             + (checksums ? BYTES_PER_CHECKSUM : 0)
+             + 1;
+    }
+    
+    /**
+     * Returns the number of bytes in the checksum table of the compressed 
+     * file with {@code checkpointCount} checkpoints. There is a checksum per
+     * checkpoint segment, or a single one if there are no checkpoints.
+     * 
+     * @param checkpointCount the number of checkpoints.
+     * @return the length of the checksum table.
+     */
+    public static long countBytesInChecksumTable(final int checkpointCount) {
+        return (long) countChecksums(checkpointCount) * BYTES_PER_CHECKSUM;
+    }
+    
+    /**
+     * Returns the number of checksums of the compressed file with 
+     * {@code checkpointCount} checkpoints.
+     * 
+     * @param checkpointCount the number of checkpoints.
+     * @return the number of checksums.
+     */
+    public static int countChecksums(final int checkpointCount) {
+        return countSegments(checkpointCount);
+    }
+    
+    /**
+     * Returns the number of checkpoint segments of the compressed file with 
+     * {@code checkpointCount} checkpoints. Without checkpoints, the whole raw
+     * data is a single segment.
+     * 
+     * @param checkpointCount the number of checkpoints.
+     * @return the number of segments.
+     */
+    public static int countSegments(final int checkpointCount) {
+        return Math.max(1, checkpointCount);
+    }
+    
+    /**
+     * Tells whether the checkpoint segments of {@code rawDataLength} raw data
+     * bytes split every {@code checkpointInterval} bytes are long enough to 
+     * be split into interleaved streams.
+     * 
+     * @param rawDataLength      the length of the raw data.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @return {@code true} if the segments should be split into streams.
+     */
+    public static boolean useStreams(final long rawDataLength,
+                                     final int checkpointInterval) {
+        return Math.min(rawDataLength, checkpointInterval) 
+                >= MINIMUM_STREAM_SEGMENT_LENGTH;
+    }
+    
+    /**
+     * Returns the number of bytes in the stream table of the compressed file 
+     * with {@code checkpointCount} checkpoints. The first stream of each 
+     * segment starts at the segment, so only the other ones are recorded.
+     * 
+     * @param checkpointCount the number of checkpoints.
+     * @return the length of the stream table.
+     */
+    public static long countBytesInStreamTable(final int checkpointCount) {
+        return (long) countStreamOffsets(checkpointCount) 
+                    * BYTES_PER_STREAM_OFFSET;
+    }
+    
+    /**
+     * Returns the number of the stream bit offsets of the compressed file 
+     * with {@code checkpointCount} checkpoints.
+     * 
+     * @param checkpointCount the number of checkpoints.
+     * @return the number of stream offsets.
+     */
+    public static int countStreamOffsets(final int checkpointCount) {
+        return (STREAM_COUNT - 1) * countSegments(checkpointCount);
+    }
+    
+    /**
+     * Returns the number of raw data bytes in each stream of the segment of 
+     * {@code segmentLength} bytes. The last stream may be shorter, or even 
+     * empty.
+     * 
+     * @param segmentLength the length of the segment.
+     * @return the length of a stream.
+     */
+    public static long getStreamLength(final long segmentLength) {
+        return (segmentLength + STREAM_COUNT - 1) / STREAM_COUNT;
+    }
+    
+    /**
+     * Computes the CRC32C checksum of {@code data}. The computation is 
+     * intrinsified by the JVM. A heap segment is checksummed in place; an 
+     * off-heap one, which may belong to a shared arena that cannot be viewed 
+     * as a byte buffer, is copied through a small chunk.
+     * 
+     * @param data the data to checksum.
+     * @return the checksum.
+     */
+    public static int computeChecksum(final MemorySegment data) {
+        final CRC32C crc = new CRC32C();
+        
+        if (!data.isNative() && data.byteSize() <= Integer.MAX_VALUE) {
+            crc.update(data.asByteBuffer());
+            return (int) crc.getValue();
+        }
+        
+        final byte[] chunk = 
+                new byte[(int) Math.min(data.byteSize(), 
+                                        CHECKSUM_CHUNK_LENGTH)];
+        
+        for (long offset = 0L; 
+                  offset < data.byteSize(); 
+                  offset += chunk.length) {
+            
+            final int length = 
+                    (int) Math.min(chunk.length, data.byteSize() - offset);
+            
+            MemorySegment.copy(data, 
+                               ValueLayout.JAVA_BYTE, 
+                               offset, 
+                               chunk, 
+                               0, 
+                               length);
+            
+            crc.update(chunk, 0, length);
+        }
+        
+        return (int) crc.getValue();
+    }
+    
+    /**
+     * Computes the CRC32C checksum of {@code length} copies of {@code value}
+     * without materializing them.
+     * 
+     * @param value  the repeated byte.
+     * @param length the number of the copies.
+     * @return the checksum.
+     */
+    public static int computeRunChecksum(final byte value, final long length) {
+        final byte[] chunk = new byte[(int) Math.min(length, 
+                                                     CHECKSUM_CHUNK_LENGTH)];
+        Arrays.fill(chunk, value);
+        
+        final CRC32C crc = new CRC32C();
+        
+        for (long remaining = length; remaining > 0; remaining -= chunk.length) {
+            crc.update(chunk, 0, (int) Math.min(remaining, chunk.length));
+        }
+        
+        return (int) crc.getValue();
+    }
+    
+    private static long countBytesInCheckpointIndex(final int checkpointCount) {
+        if (checkpointCount == 0) {
+            return 0L;
+        }
+        
+        return BYTES_PER_CHECKPOINT_INTERVAL 
+             + (long) checkpointCount * BYTES_PER_CHECKPOINT_OFFSET;
+    }
+    
+    /**
+     * Returns the number of checkpoints to record for the raw data of length 
+     * {@code rawDataLength}. Returns zero if the data is so short that a 
+     * single checkpoint would cover it.
+     * 
+     * @param rawDataLength      the length of the raw data.
+     * @param checkpointInterval the number of raw data bytes between two 
+     *                           consecutive checkpoints.
+     * @return the number of checkpoints.
+     */
+    public static int countCheckpoints(final long rawDataLength,
+                                       final int checkpointInterval) {
+        if (rawDataLength <= checkpointInterval) {
+            return 0;
+        }
+        
+        return countBlocks(rawDataLength, checkpointInterval);
+    }
+    
+    /**
+     * Returns the number of header bytes preceding the size of the code, i.e.,
+     * the magic, the format version, the flags and the raw data length.
+     * 
+     * @return the length of the header prefix.
+     */
+    public static int getHeaderPrefixLength() {
+        return FORMAT_MAGIC.length + BYTES_PER_FORMAT_VERSION
+                                   + BYTES_PER_FLAGS
+                                   + BYTES_PER_RAW_DATA_LENGTH;
+    }
+    
+    /**
+     * Returns the number of bytes in the header of a block container with 
+     * {@code blockCount} blocks.
+     * 
+     * @param blockCount the number of blocks.
+     * @return the length of the block container header.
+     */
+    public static long countBytesInBlockHeader(final int blockCount) {
+        return getHeaderPrefixLength() 
+                + BYTES_PER_BLOCK_SIZE 
+                + BYTES_PER_BLOCK_COUNT
+                + (long) blockCount * BYTES_PER_BLOCK_OFFSET;
+    }
+    
+    /**
+     * Returns the number of blocks needed for {@code rawDataLength} bytes.
+     * 
+     * @param rawDataLength the length of the raw data.
+     * @param blockSize     the maximum number of raw data bytes per block.
+     * @return the number of blocks.
+     */
+    public static int countBlocks(final long rawDataLength, 
+                                  final int blockSize) {
+        final long blockCount = (rawDataLength + blockSize - 1) / blockSize;
+        
+        if (blockCount > MAXIMUM_ARRAY_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format("Too many blocks: %d.", blockCount));
+        }
+        
+        return (int) blockCount;
+    }
+    
+    /**
+     * Converts the data length to an array length.
+     * 
+     * @param length the length of the data in bytes.
+     * @return the length as an {@code int}.
+     * @throws IllegalArgumentException if the data does not fit in an array.
+     */
+    public static int toArrayLength(final long length) {
+        if (length > MAXIMUM_ARRAY_LENGTH) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "The data of %d bytes does not fit in a byte " + 
+                            "array. Use the Path or MemorySegment API instead.",
+                            length));
+        }
+        
+        return (int) length;
+    }
+    
+    /**
+     * Checks that the input file {@code inputPath} of {@code inputSize} bytes
+     * may be compressed into {@code outputPath}. It is called before the 
+     * output file is created or truncated, so that a rejected input leaves 
+     * any existing output file intact.
+     * 
+     * @param inputPath  the path of the file to compress.
+     * @param inputSize  the length of the input file.
+     * @param outputPath the path of the resultant compressed file.
+     * @return the {@code outputPath}.
+     * @throws IllegalArgumentException if the input file is empty or is the 
+     *                                  output file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static Path checkFilesToCompress(final Path inputPath,
+                                            final long inputSize,
+                                            final Path outputPath) 
+            throws IOException {
+        
+        if (inputSize == 0L) {
+            throw new IllegalArgumentException("The input file is empty");
+        }
+        
+        checkDistinctFiles(inputPath, outputPath);
+        return outputPath;
+    }
+    
+    /**
+     * Checks that {@code outputPath} does not denote the input file 
+     * {@code inputPath}, which would be truncated before it is read.
+     * 
+     * @param inputPath  the path of the input file.
+     * @param outputPath the path of the output file.
+     * @throws IllegalArgumentException if the paths denote the same file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static void checkDistinctFiles(final Path inputPath,
+                                          final Path outputPath) 
+            throws IOException {
+        
+        if (Files.exists(outputPath) 
+                && Files.isSameFile(inputPath, outputPath)) {
+            throw new IllegalArgumentException(
+                    String.format("The input file '%s' is the output file.", 
+                                  inputPath));
+        }
     }
 }
@@ -1,5 +1,6 @@
 package io.github.coderodde.compressor.app;
 
+import java.lang.foreign.MemorySegment;
 import java.util.Arrays;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -42,6 +43,52 @@ public class ByteArrayCompressedDataReaderTest {
         assertTrue(Arrays.equals(rawData, resultRawData));
     }
     
+    @Test
+    public void readInterleavedStreams() {
+        // Short data leaves some of the streams empty:
+        for (int length = 1; length < 100; ++length) {
+            final byte[] rawData = 
+                    Arrays.copyOf(TestUtils.getCompressibleRawData(), length);
+            
+            final ByteHuffmanCodeTable codeTable = 
+                    ByteHuffmanCodeTableBuilder.buildCode(
+                            ByteWeightDistributionBuilder
+                                    .buildByteWeightDistribution(rawData));
+            
+            final byte[] compressedData = 
+                    new byte[(int) Utils.countBitsInRawData(codeTable, 
+                                                            rawData)];
+            
+            final long[] streamBitOffsets = 
+                    new long[Configuration.STREAM_COUNT - 1];
+            
+            new ByteArrayCompressedDataWriter(compressedData, 
+                                              rawData, 
+                                              0, 
+                                              codeTable)
+                    .write(Long.MAX_VALUE, null, null, streamBitOffsets);
+            
+            final long[] streamBitIndices = 
+                    new long[Configuration.STREAM_COUNT];
+            
+            System.arraycopy(streamBitOffsets, 
+                             0, 
+                             streamBitIndices, 
+                             1, 
+                             streamBitOffsets.length);
+            
+            final byte[] resultRawData = new byte[length];
+            
+            new ByteArrayCompressedDataReader(
+                    MemorySegment.ofArray(resultRawData),
+                    MemorySegment.ofArray(compressedData),
+                    streamBitIndices,
+                    new ByteHuffmanDecodingTable(codeTable)).read();
+            
+            assertArrayEquals(rawData, resultRawData);
+        }
+    }
+    
 //    @Test
     public void readStressTest() {
         for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
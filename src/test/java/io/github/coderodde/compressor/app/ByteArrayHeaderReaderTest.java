@@ -1,6 +1,8 @@
 package io.github.coderodde.compressor.app;
 
+import java.lang.foreign.MemorySegment;
 import java.util.Arrays;
+import java.util.Random;
 import org.junit.Test;
 import static org.junit.Assert.*;
 import org.junit.Before;
@@ -35,13 +37,130 @@ public final class ByteArrayHeaderReaderTest {
         final ByteArrayHeaderReader reader = 
                 new ByteArrayHeaderReader(COMPRESSED_DATA);
         
-        final int resultRawDataLength = reader.getRawDataLength();
+        final long resultRawDataLength = reader.getRawDataLength();
         final ByteHuffmanCodeTable resultCodeTable = reader.getCodeTable();
         
         assertEquals(rawData.length, resultRawDataLength);
         assertEquals(expectedCodeTable, resultCodeTable);
     }
     
+    @Test
+    public void rawDataLengthBeyondTwoGigabytes() {
+        final long rawDataLength = 50L * Integer.MAX_VALUE;
+        final ByteFrequencyDistribution wd = 
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(new byte[]{ 1, 2, 2 });
+        
+        final ByteHuffmanCodeTable expectedCodeTable = 
+                ByteHuffmanCodeTableBuilder.buildCode(wd);
+        
+        final ByteArrayHeaderWriter writer = 
+                new ByteArrayHeaderWriter(rawDataLength,
+                                          COMPRESSED_DATA,
+                                          expectedCodeTable);
+        writer.write();
+        
+        final ByteArrayHeaderReader reader = 
+                new ByteArrayHeaderReader(COMPRESSED_DATA);
+        
+        assertEquals(rawDataLength, reader.getRawDataLength());
+        assertEquals(expectedCodeTable, reader.getCodeTable());
+        assertEquals(writer.getDataStartBitIndex(), 
+                     reader.getDataStartBitIndex());
+    }
+    
+    @Test
+    public void legacyFormat() {
+        // Code size 2, raw data length 3, then the entries 
+        // (value, length, 4 codeword bytes) for 1 -> "1" and 2 -> "0":
+        final byte[] compressedData = {
+            2, 0, 0, 0, 
+            3, 0, 0, 0,
+            1, 1, 1, 0, 0, 0,
+            2, 1, 0, 0, 0, 0,
+            0b011
+        };
+        
+        final ByteArrayHeaderReader reader = 
+                new ByteArrayHeaderReader(compressedData);
+        
+        assertEquals(3L, reader.getRawDataLength());
+        assertEquals(2, reader.getCodeTable().size());
+        assertEquals((compressedData.length - 1) * Byte.SIZE, 
+                     reader.getDataStartBitIndex());
+        
+        assertArrayEquals(new byte[]{ 1, 1, 2 }, 
+                          HuffmanByteDecompressor.decompress(compressedData));
+    }
+    
+    @Test
+    public void fullCodeTableFormat() {
+        // The format version 2 with the raw data length 3, the code size 2, 
+        // then the entries for 1 -> "1" and 2 -> "0":
+        final byte[] compressedData = {
+            'H', 'U', 'F', 2, 0,
+            3, 0, 0, 0, 0, 0, 0, 0,
+            2, 0, 0, 0,
+            1, 1, 1, 0, 0, 0,
+            2, 1, 0, 0, 0, 0,
+            0b011
+        };
+        
+        final ByteArrayHeaderReader reader = 
+                new ByteArrayHeaderReader(compressedData);
+        
+        assertEquals(3L, reader.getRawDataLength());
+        assertEquals(2, reader.getCodeTable().size());
+        assertEquals((compressedData.length - 1) * Byte.SIZE, 
+                     reader.getDataStartBitIndex());
+        
+        assertArrayEquals(new byte[]{ 1, 1, 2 }, 
+                          HuffmanByteDecompressor.decompress(compressedData));
+    }
+    
+    @Test
+    public void compactCodeTable() {
+        final byte[] rawData = new byte[1000];
+        
+        for (int i = 0; i < rawData.length; ++i) {
+            rawData[i] = (byte) i;
+        }
+        
+        final ByteHuffmanCodeTable expectedCodeTable = 
+                ByteHuffmanCodeTableBuilder.buildCode(
+                        ByteWeightDistributionBuilder
+                                .buildByteWeightDistribution(rawData));
+        
+        final ByteArrayHeaderWriter writer = 
+                new ByteArrayHeaderWriter(rawData.length,
+                                          COMPRESSED_DATA,
+                                          expectedCodeTable);
+        writer.write();
+        
+        // The prefix, the code size, the bitmap and 256 codeword lengths:
+        assertEquals((13 + 1 + 32 + 256) * Byte.SIZE, 
+                     writer.getDataStartBitIndex());
+        
+        final ByteArrayHeaderReader reader = 
+                new ByteArrayHeaderReader(COMPRESSED_DATA);
+        
+        assertEquals(expectedCodeTable, reader.getCodeTable());
+        assertEquals(writer.getDataStartBitIndex(), 
+                     reader.getDataStartBitIndex());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonCanonicalCodeTable() {
+        final ByteHuffmanCodeTable codeTable = new ByteHuffmanCodeTable();
+        final CodeWord codeword = new CodeWord(1);
+        codeword.set(0);
+        
+        codeTable.put((byte) 1, codeword);
+        codeTable.put((byte) 2, new CodeWord(1));
+        
+        new ByteArrayHeaderWriter(3L, COMPRESSED_DATA, codeTable);
+    }
+    
     @Test
     public void stressTest() {
         for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
@@ -67,11 +186,46 @@ public final class ByteArrayHeaderReaderTest {
             final ByteArrayHeaderReader reader = 
                     new ByteArrayHeaderReader(COMPRESSED_DATA);
             
-            final int rawDataLength = reader.getRawDataLength();
+            final long rawDataLength = reader.getRawDataLength();
             final ByteHuffmanCodeTable readCodeTable = reader.getCodeTable();
             
             assertEquals(rawData.length, rawDataLength);
             assertEquals(expectedCodeTable, readCodeTable);
+            assertEquals(writer.getDataStartBitIndex(), 
+                         reader.getDataStartBitIndex());
+        }
+    }
+    
+    @Test
+    public void corruptCheckpointHeader() {
+        final byte[] rawData = new byte[50_000];
+        final Random random = new Random(13L);
+        
+        for (int i = 0; i < rawData.length; ++i) {
+            rawData[i] = (byte) (random.nextInt(10) * random.nextInt(10));
         }
+        
+        final byte[] compressedData = 
+                HuffmanByteCompressor.compress(MemorySegment.ofArray(rawData), 
+                                               4_096, 
+                                               true);
+        
+        // A single flipped bit makes the raw data length exceed a terabyte, 
+        // whose checkpoint offsets do not fit in the compressed data:
+        final byte[] corruptLength = compressedData.clone();
+        corruptLength[Utils.getHeaderPrefixLength() - 3] ^= 0x01;
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ByteArrayHeaderReader(corruptLength));
+        
+        // The header is cut inside the checksums:
+        final byte[] truncatedData = 
+                Arrays.copyOf(compressedData, 
+                              (int) new ByteArrayHeaderReader(compressedData)
+                                      .getDataStartBitIndex() / Byte.SIZE 
+                                      - 2);
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> new ByteArrayHeaderReader(truncatedData));
     }
 }
@@ -0,0 +1,160 @@
+package io.github.coderodde.compressor.app;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ByteHuffmanCodeTableBuilderTest {
+    
+    private static final int STRESS_TEST_ITERATIONS = 50;
+    
+    @Test
+    public void canonicalCode() {
+        // The lengths 1, 2, 3, 3 yield the codewords 0, 10, 110, 111:
+        final ByteHuffmanCodeTable codeTable = new ByteHuffmanCodeTable();
+        codeTable.put((byte) 'd', new CodeWord(3));
+        codeTable.put((byte) 'c', new CodeWord(3));
+        codeTable.put((byte) 'b', new CodeWord(2));
+        codeTable.put((byte) 'a', new CodeWord(1));
+        
+        final ByteHuffmanCodeTable canonicalCodeTable = 
+                ByteHuffmanCodeTableBuilder.buildCanonicalCode(codeTable);
+        
+        assertEquals("0",   canonicalCodeTable.get((byte) 'a').toString());
+        assertEquals("10",  canonicalCodeTable.get((byte) 'b').toString());
+        assertEquals("110", canonicalCodeTable.get((byte) 'c').toString());
+        assertEquals("111", canonicalCodeTable.get((byte) 'd').toString());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void oversubscribedLengths() {
+        final ByteHuffmanCodeTable codeTable = new ByteHuffmanCodeTable();
+        codeTable.put((byte) 1, new CodeWord(1));
+        codeTable.put((byte) 2, new CodeWord(1));
+        codeTable.put((byte) 3, new CodeWord(1));
+        
+        ByteHuffmanCodeTableBuilder.buildCanonicalCode(codeTable);
+    }
+    
+    @Test
+    public void buildCodeIsCanonical() {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final ByteHuffmanCodeTable codeTable = 
+                    ByteHuffmanCodeTableBuilder.buildCode(
+                            ByteWeightDistributionBuilder
+                                    .buildByteWeightDistribution(
+                                            TestUtils.getRawData()));
+            
+            assertEquals(
+                    codeTable, 
+                    ByteHuffmanCodeTableBuilder.buildCanonicalCode(codeTable));
+        }
+    }
+    
+    @Test
+    public void codeLengthsAreOptimal() {
+        // The cost of an optimal code equals the sum of the weights of the 
+        // internal nodes of any Huffman tree:
+        final Random random = new Random(13L);
+        final ByteHuffmanCodeLengthsBuilder builder = 
+                new ByteHuffmanCodeLengthsBuilder();
+        
+        final long[] frequencies = new long[256];
+        final int[] codeLengths = new int[256];
+        
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final PriorityQueue<Long> queue = new PriorityQueue<>();
+            
+            for (int value = 0; value < 256; ++value) {
+                frequencies[value] = random.nextInt(4) == 0 ? 
+                                     0L : 
+                                     1L + random.nextInt(1 << random.nextInt(20));
+                
+                if (frequencies[value] != 0L) {
+                    queue.add(frequencies[value]);
+                }
+            }
+            
+            long expectedCost = 0L;
+            
+            while (queue.size() > 1) {
+                final long weight = queue.remove() + queue.remove();
+                expectedCost += weight;
+                queue.add(weight);
+            }
+            
+            builder.buildCodeLengths(frequencies, 32, codeLengths);
+            
+            long cost = 0L;
+            
+            for (int value = 0; value < 256; ++value) {
+                if (frequencies[value] == 0L) {
+                    assertEquals(ByteHuffmanCodeLengthsBuilder.NO_CODEWORD, 
+                                 codeLengths[value]);
+                } else {
+                    cost += frequencies[value] * codeLengths[value];
+                }
+            }
+            
+            assertEquals(expectedCost, cost);
+        }
+    }
+    
+    @Test
+    public void lengthLimitedCode() {
+        final byte[] rawData = ByteHuffmanDecodingTableTest.getFibonacciData();
+        final ByteFrequencyDistribution distribution = 
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(rawData);
+        
+        for (final int maximumCodeLength : new int[]{ 5, 8, 12, 15 }) {
+            final ByteHuffmanCodeTable codeTable = 
+                    ByteHuffmanCodeTableBuilder.buildCode(distribution, 
+                                                          maximumCodeLength);
+            
+            // The code is complete: the Kraft sum equals one.
+            long kraftSum = 0L;
+            
+            for (int i = 0; i < 256; ++i) {
+                final CodeWord codeword = codeTable.get((byte) i);
+                
+                if (codeword != null) {
+                    assertTrue(codeword.length() <= maximumCodeLength);
+                    kraftSum += 1L << (32 - codeword.length());
+                }
+            }
+            
+            assertEquals(1L << 32, kraftSum);
+        }
+        
+        assertArrayEquals(
+                rawData, 
+                HuffmanByteDecompressor.decompress(
+                        HuffmanByteCompressor.compress(rawData)));
+    }
+    
+    @Test
+    public void lengthLimitIsOptimal() {
+        // The weights 1, 1, 2, 4 yield the lengths 3, 3, 2, 1; with the limit
+        // of 2 bits, the only complete code has all the lengths equal to 2:
+        final byte[] rawData = { 0, 1, 2, 2, 3, 3, 3, 3 };
+        final ByteHuffmanCodeTable codeTable = 
+                ByteHuffmanCodeTableBuilder.buildCode(
+                        ByteWeightDistributionBuilder
+                                .buildByteWeightDistribution(rawData), 
+                        2);
+        
+        for (int i = 0; i < 4; ++i) {
+            assertEquals(2, codeTable.get((byte) i).length());
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void tooShortLengthLimit() {
+        ByteHuffmanCodeTableBuilder.buildCode(
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(new byte[]{ 1, 2, 3 }), 
+                1);
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.coderodde.compressor.app;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ByteHuffmanDecodingTableTest {
+
+    private static final int STRESS_TEST_ITERATIONS = 50;
+
+    private static final int FIBONACCI_SYMBOLS = 25;
+
+    private static final int SHARING_THREADS = 64;
+
+    @Test
+    public void singleSymbol() {
+        final byte[] rawData = { 7, 7, 7, 7 };
+
+        assertTrue(Arrays.equals(rawData, encodeAndDecode(rawData)));
+    }
+
+    @Test
+    public void longCodewords() {
+        // Fibonacci frequencies yield the most skewed Huffman code possible, so
+        // that the longest codewords need several secondary tables:
+        final byte[] rawData = getFibonacciData();
+
+        final ByteHuffmanCodeTable codeTable =
+                ByteHuffmanCodeTableBuilder.buildCode(
+                        ByteWeightDistributionBuilder
+                                .buildByteWeightDistribution(rawData),
+                        ByteHuffmanEncodingTable.MAXIMUM_CODEWORD_LENGTH);
+
+        int maximumCodeLength = 0;
+
+        for (int i = 0; i < FIBONACCI_SYMBOLS; ++i) {
+            maximumCodeLength = Math.max(maximumCodeLength,
+                                         codeTable.get((byte) i).length());
+        }
+
+        assertTrue(maximumCodeLength >
+                   Configuration.DECODING_TABLE_PRIMARY_BITS +
+                   Configuration.DECODING_TABLE_SECONDARY_BITS);
+
+        assertTrue(Arrays.equals(rawData, encodeAndDecode(rawData, codeTable)));
+    }
+
+    @Test
+    public void stressTest() {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getRawData();
+            assertTrue(Arrays.equals(rawData, encodeAndDecode(rawData)));
+        }
+    }
+
+    @Test
+    public void sharedAcrossThreads() throws Exception {
+        // All the messages are encoded with the same static code, and a 
+        // single decoding table serves all the threads:
+        final byte[] rawData = getFibonacciData();
+        final ByteHuffmanCodeTable codeTable =
+                ByteHuffmanCodeTableBuilder.buildCode(
+                        ByteWeightDistributionBuilder
+                                .buildByteWeightDistribution(rawData));
+
+        final ByteHuffmanDecoder decoder =
+                new ByteHuffmanDecodingTable(codeTable);
+
+        final List<Future<Boolean>> futures = new ArrayList<>();
+
+        try (final ExecutorService executor =
+                Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int i = 0; i < SHARING_THREADS; ++i) {
+                final byte[] message =
+                        Arrays.copyOfRange(rawData, i, rawData.length - i);
+
+                futures.add(executor.submit(
+                        () -> Arrays.equals(message,
+                                            encodeAndDecode(message,
+                                                            codeTable,
+                                                            decoder))));
+            }
+        }
+
+        for (final Future<Boolean> future : futures) {
+            assertTrue(future.get());
+        }
+    }
+
+    private static byte[] encodeAndDecode(final byte[] rawData) {
+        return encodeAndDecode(
+                rawData,
+                ByteHuffmanCodeTableBuilder.buildCode(
+                        ByteWeightDistributionBuilder
+                                .buildByteWeightDistribution(rawData)));
+    }
+
+    private static byte[] encodeAndDecode(
+            final byte[] rawData,
+            final ByteHuffmanCodeTable codeTable) {
+
+        return encodeAndDecode(rawData,
+                               codeTable,
+                               new ByteHuffmanDecodingTable(codeTable));
+    }
+
+    private static byte[] encodeAndDecode(
+            final byte[] rawData,
+            final ByteHuffmanCodeTable codeTable,
+            final ByteHuffmanDecoder decoder) {
+
+        final byte[] compressedData =
+                new byte[(int) Utils.countBitsInRawData(codeTable, rawData)];
+
+        final ByteArrayCompressedDataWriter writer =
+                new ByteArrayCompressedDataWriter(compressedData,
+                                                  rawData,
+                                                  0,
+                                                  codeTable);
+        writer.write();
+
+        final byte[] resultRawData = new byte[rawData.length];
+
+        final ByteArrayCompressedDataReader reader =
+                new ByteArrayCompressedDataReader(
+                        resultRawData,
+                        compressedData,
+                        0,
+                        decoder);
+        reader.read();
+        return resultRawData;
+    }
+
+    static byte[] getFibonacciData() {
+        final int[] frequencies = new int[FIBONACCI_SYMBOLS];
+        int totalFrequency = 0;
+
+        for (int i = 0; i < FIBONACCI_SYMBOLS; ++i) {
+            frequencies[i] = i < 2 ? 1 : frequencies[i - 1] + frequencies[i - 2];
+            totalFrequency += frequencies[i];
+        }
+
+        final byte[] rawData = new byte[totalFrequency];
+        int index = 0;
+
+        for (int i = 0; i < FIBONACCI_SYMBOLS; ++i) {
+            Arrays.fill(rawData, index, index + frequencies[i], (byte) i);
+            index += frequencies[i];
+        }
+
+        return rawData;
+    }
+}
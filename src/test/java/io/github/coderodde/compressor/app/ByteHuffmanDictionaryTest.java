@@ -0,0 +1,139 @@
+package io.github.coderodde.compressor.app;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class ByteHuffmanDictionaryTest {
+
+    private static final int DICTIONARY_ID = 0x1234_5678;
+
+    private static final int SAMPLES = 100;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void unregisterDictionary() {
+        HuffmanByteDecompressor.unregisterDictionary(DICTIONARY_ID);
+    }
+
+    @Test
+    public void compressSmallMessages() {
+        final ByteHuffmanDictionary dictionary =
+                ByteHuffmanDictionary.train(DICTIONARY_ID, getSamples());
+
+        HuffmanByteDecompressor.registerDictionary(dictionary);
+
+        final byte[] message = getMessage(SAMPLES)
+                .getBytes(StandardCharsets.US_ASCII);
+
+        final byte[] compressedData =
+                HuffmanByteCompressor.compress(message, dictionary);
+
+        assertTrue(compressedData.length <
+                   HuffmanByteCompressor.compress(message).length);
+
+        assertArrayEquals(message,
+                          HuffmanByteDecompressor.decompress(compressedData));
+
+        assertArrayEquals(message,
+                          new HuffmanDecoder().decode(compressedData)
+                                              .toByteArray());
+
+        // Any byte may be compressed with a dictionary:
+        final byte[] rawData = TestUtils.getRawData();
+
+        assertArrayEquals(
+                rawData,
+                HuffmanByteDecompressor.decompress(
+                        HuffmanByteCompressor.compress(rawData, dictionary)));
+    }
+
+    @Test
+    public void decompressRange() {
+        final ByteHuffmanDictionary dictionary =
+                ByteHuffmanDictionary.train(DICTIONARY_ID, getSamples());
+
+        HuffmanByteDecompressor.registerDictionary(dictionary);
+
+        final byte[] rawData = new byte[3 * Configuration
+                                                .DEFAULT_CHECKPOINT_INTERVAL];
+
+        Arrays.fill(rawData, (byte) 'a');
+
+        final byte[] compressedData =
+                HuffmanByteCompressor.compress(rawData, dictionary);
+
+        assertArrayEquals(
+                Arrays.copyOfRange(rawData, 10, 20),
+                HuffmanByteDecompressor.decompressRange(compressedData,
+                                                        10L,
+                                                        10));
+
+        assertArrayEquals(rawData,
+                          HuffmanByteDecompressor.decompress(compressedData));
+    }
+
+    @Test
+    public void saveAndLoad() throws Exception {
+        final ByteHuffmanDictionary dictionary =
+                ByteHuffmanDictionary.train(DICTIONARY_ID, getSamples());
+
+        final Path path = temporaryFolder.newFile("dictionary.hufd").toPath();
+        dictionary.save(path);
+
+        final ByteHuffmanDictionary loadedDictionary =
+                ByteHuffmanDictionary.load(path);
+
+        assertEquals(dictionary, loadedDictionary);
+        assertEquals(DICTIONARY_ID, loadedDictionary.getId());
+
+        // The equal dictionary may be registered twice:
+        HuffmanByteDecompressor.registerDictionary(dictionary);
+        HuffmanByteDecompressor.registerDictionary(loadedDictionary);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void conflictingDictionaries() {
+        HuffmanByteDecompressor.registerDictionary(
+                ByteHuffmanDictionary.train(DICTIONARY_ID, getSamples()));
+
+        HuffmanByteDecompressor.registerDictionary(
+                ByteHuffmanDictionary.train(DICTIONARY_ID, List.of()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownDictionary() {
+        final ByteHuffmanDictionary dictionary =
+                ByteHuffmanDictionary.train(DICTIONARY_ID, getSamples());
+
+        final byte[] compressedData =
+                HuffmanByteCompressor.compress(TestUtils.getRawData(),
+                                               dictionary);
+
+        HuffmanByteDecompressor.decompress(compressedData);
+    }
+
+    private static List<byte[]> getSamples() {
+        final List<byte[]> samples = new ArrayList<>(SAMPLES);
+
+        for (int i = 0; i < SAMPLES; ++i) {
+            samples.add(getMessage(i).getBytes(StandardCharsets.US_ASCII));
+        }
+
+        return samples;
+    }
+
+    private static String getMessage(final int index) {
+        return String.format("{\"id\":%d,\"status\":\"ok\",\"items\":[]}",
+                             index);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.coderodde.compressor.app;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ByteWeightDistributionBuilderTest {
+    
+    private static final int STRESS_TEST_ITERATIONS = 50;
+    
+    @Test
+    public void matchesNaiveCount() {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            // Lengths not divisible by 8 exercise the tail loop:
+            final byte[] rawData = TestUtils.getRawData();
+            
+            assertDistribution(
+                    rawData, 
+                    ByteWeightDistributionBuilder
+                            .buildByteWeightDistribution(rawData));
+        }
+    }
+    
+    @Test
+    public void repeatedBytes() {
+        final byte[] rawData = new byte[1003];
+        
+        assertDistribution(
+                rawData, 
+                ByteWeightDistributionBuilder
+                        .buildByteWeightDistribution(rawData));
+    }
+    
+    @Test
+    public void parallelCount() {
+        final byte[] rawData = 
+                new byte[(int) (3 * Configuration.PARALLEL_HISTOGRAM_SLICE_LENGTH 
+                                + 13)];
+        
+        final Random random = new Random(13L);
+        
+        for (int i = 0; i < rawData.length; ++i) {
+            rawData[i] = (byte) Integer.numberOfTrailingZeros(
+                    random.nextInt() | Integer.MIN_VALUE);
+        }
+        
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            assertDistribution(
+                    rawData,
+                    ByteWeightDistributionBuilder.buildByteWeightDistribution(
+                            MemorySegment.ofArray(rawData), 
+                            pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private static void assertDistribution(
+            final byte[] rawData,
+            final ByteFrequencyDistribution distribution) {
+        
+        final long[] expectedFrequencies = new long[256];
+        
+        for (final byte value : rawData) {
+            expectedFrequencies[Byte.toUnsignedInt(value)]++;
+        }
+        
+        for (int i = 0; i < 256; ++i) {
+            assertEquals(expectedFrequencies[i], 
+                         distribution.getFrequency((byte) i));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.coderodde.compressor.app;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class ChecksumTest {
+
+    private static final int ITERATIONS = 20;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void roundTripWithChecksums() throws Exception {
+        for (int i = 0; i < ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getCompressibleRawData();
+
+            // Small intervals yield many checkpoint segments:
+            final byte[] compressedData =
+                    HuffmanByteCompressor.compress(rawData, 32 + i, true);
+
+            final ByteArrayHeaderReader headerReader =
+                    new ByteArrayHeaderReader(compressedData);
+
+            assertTrue(headerReader.hasChecksums());
+            assertArrayEquals(rawData,
+                              HuffmanByteDecompressor.decompress(
+                                      compressedData));
+            assertTrue(HuffmanByteDecompressor.verify(compressedData));
+        }
+
+        final byte[] randomData = new byte[1_000];
+        new Random(13L).nextBytes(randomData);
+
+        final byte[] runData = new byte[1_000];
+        Arrays.fill(runData, (byte) 7);
+
+        for (final byte[] rawData : new byte[][]{ randomData, runData }) {
+            final byte[] compressedData =
+                    HuffmanByteCompressor.compress(
+                            rawData,
+                            Configuration.DEFAULT_CHECKPOINT_INTERVAL,
+                            true);
+
+            assertTrue(new ByteArrayHeaderReader(compressedData)
+                               .hasUnencodedData());
+            assertArrayEquals(rawData,
+                              HuffmanByteDecompressor.decompress(
+                                      compressedData));
+            assertTrue(HuffmanByteDecompressor.verify(compressedData));
+        }
+
+        final Path inputPath = temporaryFolder.newFile("file.dat").toPath();
+        final Path outputPath = temporaryFolder.newFile("file.huf").toPath();
+        Files.write(inputPath, TestUtils.getCompressibleRawData());
+
+        HuffmanByteCompressor.compress(inputPath, outputPath, 64, true);
+
+        assertTrue(HuffmanByteDecompressor.verify(outputPath));
+    }
+
+    @Test
+    public void detectsCorruption() {
+        final byte[] rawData = TestUtils.getCompressibleRawData();
+        final byte[] compressedData =
+                HuffmanByteCompressor.compress(rawData, 64, true);
+
+        // Flip a bit of the last checksum, just before the encoded data:
+        final ByteArrayHeaderReader headerReader =
+                new ByteArrayHeaderReader(compressedData);
+
+        compressedData[(int) (headerReader.getDataStartBitIndex()
+                              / Byte.SIZE) - 1] ^= 1;
+
+        assertThrows(ChecksumMismatchException.class,
+                     () -> HuffmanByteDecompressor.decompress(compressedData));
+
+        assertThrows(ChecksumMismatchException.class,
+                     () -> HuffmanByteDecompressor.verify(compressedData));
+
+        final byte[] randomData = new byte[1_000];
+        new Random(13L).nextBytes(randomData);
+
+        final byte[] storedData =
+                HuffmanByteCompressor.compress(
+                        randomData,
+                        Configuration.DEFAULT_CHECKPOINT_INTERVAL,
+                        true);
+
+        storedData[storedData.length - 1] ^= 1;
+
+        assertThrows(ChecksumMismatchException.class,
+                     () -> HuffmanByteDecompressor.verify(storedData));
+    }
+
+    @Test
+    public void noChecksums() {
+        final byte[] compressedData =
+                HuffmanByteCompressor.compress(
+                        TestUtils.getCompressibleRawData());
+
+        assertFalse(new ByteArrayHeaderReader(compressedData).hasChecksums());
+        assertFalse(HuffmanByteDecompressor.verify(compressedData));
+        assertFalse(HuffmanByteDecompressor.verify(
+                HuffmanBlockCompressor.compress(TestUtils.getRawData())));
+    }
+}
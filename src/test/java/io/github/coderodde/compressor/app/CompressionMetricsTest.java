@@ -0,0 +1,167 @@
+package io.github.coderodde.compressor.app;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class CompressionMetricsTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void collectsMetrics() throws Exception {
+        final CompressionMetrics metrics = CompressionMetrics.getInstance();
+        final byte[] rawData = TestUtils.getCompressibleRawData();
+
+        CompressionMetrics.register();
+
+        try {
+            metrics.reset();
+
+            final byte[] compressedData =
+                    HuffmanByteCompressor.compress(rawData);
+
+            HuffmanByteDecompressor.decompress(compressedData);
+
+            final GrowableByteBuffer outputBuffer = new GrowableByteBuffer(0);
+            HuffmanByteCompressor.compress(rawData, outputBuffer);
+            outputBuffer.clear();
+            HuffmanByteCompressor.compress(rawData, outputBuffer);
+
+            assertEquals(3L, metrics.getCompressionCount());
+            assertEquals(3L * rawData.length, metrics.getCompressionBytesIn());
+            assertEquals(1L, metrics.getDecompressionCount());
+            assertEquals(compressedData.length,
+                         metrics.getDecompressionBytesIn());
+            assertEquals(rawData.length, metrics.getDecompressionBytesOut());
+            assertEquals(1L, metrics.getBufferPoolHits());
+            assertEquals(1L, metrics.getBufferPoolMisses());
+            assertEquals(3L,
+                         Arrays.stream(
+                                 metrics.getCompressionRawBytesHistogram())
+                               .sum());
+            assertEquals(1L,
+                         Arrays.stream(
+                                 metrics.getDecompressionRawBytesHistogram())
+                               .sum());
+            assertEquals(3L,
+                         Arrays.stream(metrics.getEncodeTimeHistogram())
+                               .sum());
+            assertTrue(metrics.getEncodeTime() > 0L);
+            assertTrue(metrics.getDecodeTime() > 0L);
+
+            final MBeanServer server =
+                    ManagementFactory.getPlatformMBeanServer();
+
+            assertEquals(3L,
+                         server.getAttribute(
+                                 new ObjectName(
+                                         CompressionMetrics.OBJECT_NAME),
+                                 "CompressionCount"));
+        } finally {
+            CompressionMetrics.unregister();
+        }
+
+        // Nothing is collected once unregistered:
+        HuffmanByteCompressor.compress(rawData);
+        assertEquals(3L, metrics.getCompressionCount());
+    }
+
+    @Test
+    public void separatesStages() throws Exception {
+        final CompressionMetrics metrics = CompressionMetrics.getInstance();
+        final byte[] runData = new byte[1_000];
+        Arrays.fill(runData, (byte) 7);
+
+        CompressionMetrics.register();
+
+        try {
+            metrics.reset();
+
+            // The run-length container is neither encoded nor decoded via a
+            // code table:
+            HuffmanByteDecompressor.decompress(
+                    HuffmanByteCompressor.compress(runData));
+
+            assertEquals(0L, sum(metrics.getEncodeTimeHistogram()));
+            assertEquals(0L,
+                         sum(metrics.getDecompressionTableBuildTimeHistogram()));
+
+            HuffmanByteDecompressor.decompress(
+                    HuffmanByteCompressor.compress(
+                            TestUtils.getCompressibleRawData()));
+
+            assertEquals(1L, sum(metrics.getEncodeTimeHistogram()));
+            // The code table is built before the run-length mode is chosen:
+            assertEquals(2L,
+                         sum(metrics.getCompressionTableBuildTimeHistogram()));
+            assertEquals(1L,
+                         sum(metrics.getDecompressionTableBuildTimeHistogram()));
+            assertTrue(metrics.getCompressionTableBuildTime() > 0L);
+            assertTrue(metrics.getDecompressionTableBuildTime() > 0L);
+        } finally {
+            CompressionMetrics.unregister();
+        }
+    }
+
+    @Test
+    public void emitsFlightRecorderEvents() throws Exception {
+        final byte[] rawData = TestUtils.getCompressibleRawData();
+        final Path recordingPath =
+                temporaryFolder.newFile("recording.jfr").toPath();
+
+        try (final Recording recording = new Recording()) {
+            recording.enable(CompressionEvent.class);
+            recording.enable(DecompressionEvent.class);
+            recording.start();
+
+            HuffmanByteDecompressor.decompress(
+                    HuffmanByteCompressor.compress(rawData));
+
+            recording.stop();
+            recording.dump(recordingPath);
+        }
+
+        final List<RecordedEvent> events =
+                RecordingFile.readAllEvents(recordingPath);
+
+        final RecordedEvent compressionEvent =
+                findEvent(events, "io.github.coderodde.compressor.Compression");
+
+        final RecordedEvent decompressionEvent =
+                findEvent(events,
+                          "io.github.coderodde.compressor.Decompression");
+
+        assertEquals(rawData.length, compressionEvent.getLong("rawBytes"));
+        assertEquals(rawData.length, decompressionEvent.getLong("rawBytes"));
+        assertEquals(decompressionEvent.getLong("compressedBytes"),
+                     compressionEvent.getLong("compressedBytes"));
+    }
+
+    private static long sum(final long[] histogram) {
+        return Arrays.stream(histogram).sum();
+    }
+
+    private static RecordedEvent findEvent(final List<RecordedEvent> events,
+                                           final String name) {
+        for (final RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(name)) {
+                return event;
+            }
+        }
+
+        fail("No event " + name);
+        return null;
+    }
+}
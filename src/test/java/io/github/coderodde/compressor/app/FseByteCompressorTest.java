@@ -0,0 +1,126 @@
+package io.github.coderodde.compressor.app;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FseByteCompressorTest {
+
+    private static final int ITERATIONS = 50;
+
+    @Test
+    public void roundTrip() {
+        for (int i = 0; i < ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getCompressibleRawData();
+            final byte[] compressedData = FseByteCompressor.compress(rawData);
+
+            assertArrayEquals(rawData,
+                              HuffmanByteDecompressor.decompress(
+                                      compressedData));
+        }
+
+        final Random random = new Random(13L);
+
+        for (int length = 1; length < 300; ++length) {
+            final byte[] rawData = getSkewedData(random, length);
+            final byte[] compressedData = FseByteCompressor.compress(rawData);
+
+            assertArrayEquals(rawData,
+                              HuffmanByteDecompressor.decompress(
+                                      compressedData));
+        }
+
+        // All the 256 byte values, so that the counts come with a bitmap:
+        final byte[] rawData = new byte[100_000];
+
+        for (int i = 0; i < rawData.length; ++i) {
+            rawData[i] = (byte) (i % 7 == 0 ? random.nextInt() : i % 3);
+        }
+
+        final byte[] compressedData = FseByteCompressor.compress(rawData);
+
+        assertTrue(new ByteArrayHeaderReader(compressedData).isFse());
+        assertArrayEquals(rawData,
+                          HuffmanByteDecompressor.decompress(compressedData));
+        assertArrayEquals(Arrays.copyOfRange(rawData, 12_345, 23_456),
+                          HuffmanByteDecompressor.decompressRange(
+                                  compressedData,
+                                  12_345,
+                                  23_456 - 12_345));
+        assertArrayEquals(rawData,
+                          new HuffmanDecoder().decode(compressedData)
+                                              .toByteArray());
+    }
+
+    @Test
+    public void beatsHuffmanOnSkewedData() {
+        final byte[] rawData = getSkewedData(new Random(13L), 100_000);
+
+        final byte[] fseData = FseByteCompressor.compress(rawData);
+        final byte[] huffmanData = HuffmanByteCompressor.compress(rawData);
+
+        assertTrue(new ByteArrayHeaderReader(fseData).isFse());
+        assertTrue(fseData.length < huffmanData.length);
+        assertArrayEquals(rawData, HuffmanByteDecompressor.decompress(fseData));
+    }
+
+    @Test
+    public void unencodedData() {
+        final byte[] runData = new byte[1_000];
+        Arrays.fill(runData, (byte) 7);
+
+        final byte[] randomData = new byte[1_000];
+        new Random(13L).nextBytes(randomData);
+
+        assertTrue(new ByteArrayHeaderReader(
+                FseByteCompressor.compress(runData)).isRunLength());
+        assertTrue(new ByteArrayHeaderReader(
+                FseByteCompressor.compress(randomData)).isStored());
+    }
+
+    @Test
+    public void checksums() {
+        final byte[] rawData = getSkewedData(new Random(13L), 10_000);
+        final byte[] compressedData = FseByteCompressor.compress(rawData, true);
+
+        assertTrue(new ByteArrayHeaderReader(compressedData).hasChecksums());
+        assertTrue(HuffmanByteDecompressor.verify(compressedData));
+        assertArrayEquals(rawData,
+                          HuffmanByteDecompressor.decompress(compressedData));
+
+        compressedData[compressedData.length / 2] ^= 0x10;
+
+        assertThrows(RuntimeException.class,
+                     () -> HuffmanByteDecompressor.verify(compressedData));
+    }
+
+    @Test
+    public void coders() {
+        final byte[] rawData = TestUtils.getCompressibleRawData();
+
+        for (final ByteEntropyCoder coder : ByteEntropyCoder.getCoders()) {
+            assertSame(coder, ByteEntropyCoder.forName(coder.getName()));
+            assertArrayEquals(rawData,
+                              coder.decompress(coder.compress(rawData)));
+        }
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> ByteEntropyCoder.forName("lzma"));
+    }
+
+    /**
+     * Returns the data whose nine bytes out of ten are zero.
+     */
+    private static byte[] getSkewedData(final Random random, final int length) {
+        final byte[] rawData = new byte[length];
+
+        for (int i = 0; i < length; ++i) {
+            rawData[i] = random.nextInt(10) == 0
+                       ? (byte) (1 + random.nextInt(15))
+                       : 0;
+        }
+
+        return rawData;
+    }
+}
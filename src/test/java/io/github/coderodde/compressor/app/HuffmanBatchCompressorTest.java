@@ -0,0 +1,106 @@
+package io.github.coderodde.compressor.app;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class HuffmanBatchCompressorTest {
+
+    private static final int FILES = 20;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void compressAndDecompress() throws Exception {
+        final List<Path> inputPaths = new ArrayList<>();
+        final List<byte[]> rawData = new ArrayList<>();
+        long inputBytes = 0L;
+
+        for (int i = 0; i < FILES; ++i) {
+            final Path inputPath =
+                    temporaryFolder.newFile("file" + i + ".dat").toPath();
+
+            final byte[] data = TestUtils.getCompressibleRawData();
+            Files.write(inputPath, data);
+            inputPaths.add(inputPath);
+            rawData.add(data);
+            inputBytes += data.length;
+        }
+
+        final HuffmanBatchCompressor.Result compressionResult =
+                HuffmanBatchCompressor.compress(inputPaths, 4);
+
+        assertEquals(FILES, compressionResult.getFileCount());
+        assertEquals(inputBytes, compressionResult.getInputBytes());
+        assertTrue(compressionResult.getFailures().isEmpty());
+
+        final List<Path> compressedPaths = new ArrayList<>();
+
+        for (final Path inputPath : inputPaths) {
+            compressedPaths.add(Path.of(inputPath + ".huf"));
+            Files.delete(inputPath);
+        }
+
+        final HuffmanBatchCompressor.Result decompressionResult =
+                HuffmanBatchCompressor.decompress(compressedPaths, 4);
+
+        assertEquals(FILES, decompressionResult.getFileCount());
+        assertEquals(compressionResult.getOutputBytes(),
+                     decompressionResult.getInputBytes());
+        assertEquals(inputBytes, decompressionResult.getOutputBytes());
+
+        for (int i = 0; i < FILES; ++i) {
+            assertArrayEquals(rawData.get(i),
+                              Files.readAllBytes(inputPaths.get(i)));
+        }
+    }
+
+    @Test
+    public void failuresDoNotStopTheBatch() throws Exception {
+        final Path emptyPath = temporaryFolder.newFile("empty.dat").toPath();
+        final Path inputPath = temporaryFolder.newFile("file.dat").toPath();
+        Files.write(inputPath, TestUtils.getRawData());
+
+        final HuffmanBatchCompressor.Result result =
+                HuffmanBatchCompressor.compress(List.of(emptyPath, inputPath),
+                                                2);
+
+        assertEquals(1, result.getFileCount());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey(emptyPath));
+        assertTrue(Files.exists(Path.of(inputPath + ".huf")));
+    }
+
+    @Test
+    public void repeatedFilesAreCompressedOnce() throws Exception {
+        final Path inputPath = temporaryFolder.newFile("file.dat").toPath();
+        final byte[] rawData = TestUtils.getCompressibleRawData();
+        Files.write(inputPath, rawData);
+
+        final Path relativePath =
+                Path.of("").toAbsolutePath().relativize(inputPath);
+
+        final HuffmanBatchCompressor.Result result =
+                HuffmanBatchCompressor.compress(
+                        List.of(inputPath,
+                                relativePath,
+                                inputPath.getParent()
+                                         .resolve(".")
+                                         .resolve("file.dat")),
+                        4);
+
+        assertEquals(1, result.getFileCount());
+        assertEquals(rawData.length, result.getInputBytes());
+        assertTrue(result.getFailures().isEmpty());
+        assertArrayEquals(rawData,
+                          HuffmanByteDecompressor.decompress(
+                                  Files.readAllBytes(
+                                          Path.of(inputPath + ".huf"))));
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.coderodde.compressor.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class HuffmanBlockCompressorTest {
+    
+    private static final int STRESS_TEST_ITERATIONS = 50;
+    
+    private static final int BLOCK_SIZE = 256;
+    
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+    
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+    
+    @Test
+    public void blocksAreIndependent() {
+        final byte[] rawData = TestUtils.getRawData();
+        final byte[] compressedData = 
+                HuffmanBlockCompressor.compress(rawData, BLOCK_SIZE, POOL);
+        
+        final ByteArrayBlockHeaderReader reader = 
+                new ByteArrayBlockHeaderReader(
+                        MemorySegment.ofArray(compressedData));
+        
+        assertEquals(rawData.length, reader.getRawDataLength());
+        assertEquals(Utils.countBlocks(rawData.length, BLOCK_SIZE), 
+                     reader.getBlockCount());
+        
+        for (int i = 0; i < reader.getBlockCount(); ++i) {
+            final byte[] compressedBlock = 
+                    Arrays.copyOfRange(
+                            compressedData, 
+                            (int) reader.getBlockOffset(i),
+                            (int) (reader.getBlockOffset(i) + 
+                                   reader.getBlockLength(i)));
+            
+            final int from = (int) reader.getRawDataOffset(i);
+            
+            assertArrayEquals(
+                    Arrays.copyOfRange(rawData, 
+                                       from, 
+                                       from + reader.getRawDataLength(i)),
+                    HuffmanByteDecompressor.decompress(compressedBlock));
+        }
+    }
+    
+    @Test
+    public void mappedFilesTest() throws IOException {
+        final byte[] rawData = TestUtils.getRawData();
+        final File rawFile = temporaryFolder.newFile();
+        final File compressedFile = temporaryFolder.newFile();
+        final File resultFile = temporaryFolder.newFile();
+        
+        Files.write(rawFile.toPath(), rawData);
+        
+        HuffmanBlockCompressor.compress(rawFile.toPath(),
+                                        compressedFile.toPath(), 
+                                        BLOCK_SIZE,
+                                        POOL);
+        
+        assertArrayEquals(
+                HuffmanBlockCompressor.compress(rawData, BLOCK_SIZE, POOL),
+                Files.readAllBytes(compressedFile.toPath()));
+        
+        HuffmanByteDecompressor.decompress(compressedFile.toPath(), 
+                                           resultFile.toPath());
+        
+        assertArrayEquals(rawData, Files.readAllBytes(resultFile.toPath()));
+    }
+    
+    @Test
+    public void emptyFileLeavesOutputIntact() throws IOException {
+        final byte[] rawData = TestUtils.getRawData();
+        final File emptyFile = temporaryFolder.newFile();
+        final File compressedFile = temporaryFolder.newFile();
+        
+        Files.write(compressedFile.toPath(), rawData);
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> HuffmanBlockCompressor.compress(
+                             emptyFile.toPath(), 
+                             compressedFile.toPath(), 
+                             BLOCK_SIZE,
+                             POOL));
+        
+        assertArrayEquals(rawData, 
+                          Files.readAllBytes(compressedFile.toPath()));
+    }
+    
+    @Test
+    public void stressTest() {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getRawData();
+            final byte[] compressedData = 
+                    HuffmanBlockCompressor.compress(rawData, BLOCK_SIZE, POOL);
+            
+            assertArrayEquals(rawData, 
+                              HuffmanByteDecompressor.decompress(
+                                      compressedData));
+        }
+    }
+    
+    @Test
+    public void decompressRangeAcrossBlocks() {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getRawData();
+            final byte[] compressedData = 
+                    HuffmanBlockCompressor.compress(rawData, BLOCK_SIZE, POOL);
+            
+            final int offset = rawData.length / 3;
+            final int length = rawData.length - 2 * offset;
+            
+            assertArrayEquals(
+                    Arrays.copyOfRange(rawData, offset, offset + length),
+                    HuffmanByteDecompressor.decompressRange(compressedData, 
+                                                            offset, 
+                                                            length));
+        }
+    }
+}
@@ -1,13 +1,29 @@
 package io.github.coderodde.compressor.app;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class HuffmanByteDecompressorTest {
 
     private static final int STRESS_TEST_ITERATIONS = 50;
     
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
     @Test
     public void smallTest() {
         final byte[] rawData = { 45, 46, 47, 47, 46, 47 };
@@ -27,6 +43,306 @@ public class HuffmanByteDecompressorTest {
         }
     }
     
+    @Test
+    public void mappedFilesTest() throws IOException {
+        final byte[] sourceData = TestUtils.getRawData();
+        final File sourceFile = temporaryFolder.newFile();
+        final File compressedFile = temporaryFolder.newFile();
+        final File targetFile = temporaryFolder.newFile();
+        
+        Files.write(sourceFile.toPath(), sourceData);
+        
+        HuffmanByteCompressor.compress(sourceFile.toPath(), 
+                                       compressedFile.toPath());
+        
+        assertTrue(Arrays.equals(
+                HuffmanByteCompressor.compress(sourceData),
+                Files.readAllBytes(compressedFile.toPath())));
+        
+        HuffmanByteDecompressor.decompress(compressedFile.toPath(), 
+                                           targetFile.toPath());
+        
+        assertTrue(Arrays.equals(sourceData, 
+                                 Files.readAllBytes(targetFile.toPath())));
+    }
+    
+    @Test
+    public void mappedFilesAreCheckedBeforeTruncation() throws IOException {
+        final byte[] sourceData = TestUtils.getRawData();
+        final File sourceFile = temporaryFolder.newFile();
+        final File emptyFile = temporaryFolder.newFile();
+        final File compressedFile = temporaryFolder.newFile();
+        
+        Files.write(sourceFile.toPath(), sourceData);
+        Files.write(compressedFile.toPath(), sourceData);
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> HuffmanByteCompressor.compress(
+                             emptyFile.toPath(), 
+                             compressedFile.toPath()));
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> HuffmanByteCompressor.compress(
+                             sourceFile.toPath(), 
+                             sourceFile.toPath()));
+        
+        // Neither the output nor the input file is truncated:
+        assertTrue(Arrays.equals(sourceData, 
+                                 Files.readAllBytes(compressedFile.toPath())));
+        assertTrue(Arrays.equals(sourceData, 
+                                 Files.readAllBytes(sourceFile.toPath())));
+    }
+    
+    @Test
+    public void decompressedFilesAreCheckedBeforeTruncation() 
+            throws IOException {
+        
+        final byte[] sourceData = TestUtils.getRawData();
+        final byte[] compressedData = HuffmanByteCompressor.compress(sourceData);
+        final File compressedFile = temporaryFolder.newFile();
+        final File corruptFile = temporaryFolder.newFile();
+        final File targetFile = temporaryFolder.newFile();
+        
+        Files.write(compressedFile.toPath(), compressedData);
+        Files.write(corruptFile.toPath(), new byte[]{ 'H', 'U', 'F' });
+        Files.write(targetFile.toPath(), sourceData);
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> HuffmanByteDecompressor.decompress(
+                             compressedFile.toPath(), 
+                             compressedFile.toPath()));
+        
+        assertThrows(IllegalArgumentException.class,
+                     () -> HuffmanByteDecompressor.decompress(
+                             corruptFile.toPath(), 
+                             targetFile.toPath()));
+        
+        // Neither the input nor the existing output file is truncated:
+        assertTrue(Arrays.equals(compressedData, 
+                                 Files.readAllBytes(compressedFile.toPath())));
+        assertTrue(Arrays.equals(sourceData, 
+                                 Files.readAllBytes(targetFile.toPath())));
+    }
+    
+    @Test
+    public void checkpointsTest() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+                final byte[] sourceData = TestUtils.getCompressibleRawData();
+                final int checkpointInterval = 32 + i;
+                final byte[] compressedData = 
+                        HuffmanByteCompressor.compress(sourceData, 
+                                                       checkpointInterval);
+                
+                final ByteArrayHeaderReader headerReader = 
+                        new ByteArrayHeaderReader(compressedData);
+                
+                // Too short data is stored with no checkpoints:
+                if (!headerReader.hasUnencodedData()) {
+                    assertEquals(Utils.countCheckpoints(sourceData.length, 
+                                                        checkpointInterval),
+                                 headerReader.getCheckpointCount());
+                }
+                
+                assertTrue(Arrays.equals(
+                        sourceData, 
+                        HuffmanByteDecompressor.decompress(compressedData, 
+                                                           pool)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void decompressRangeTest() {
+        final Random random = new Random(13L);
+        
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] sourceData = TestUtils.getCompressibleRawData();
+            final byte[] compressedData = 
+                    HuffmanByteCompressor.compress(sourceData, 1 + i % 3 * 50);
+            
+            final int offset = random.nextInt(sourceData.length);
+            final int length = random.nextInt(sourceData.length - offset + 1);
+            
+            assertTrue(Arrays.equals(
+                    Arrays.copyOfRange(sourceData, offset, offset + length),
+                    HuffmanByteDecompressor.decompressRange(compressedData, 
+                                                            offset, 
+                                                            length)));
+        }
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void decompressRangeOutOfBounds() {
+        final byte[] rawData = { 1, 2, 3 };
+        
+        HuffmanByteDecompressor.decompressRange(
+                HuffmanByteCompressor.compress(rawData), 
+                2, 
+                2);
+    }
+    
+    @Test
+    public void decompressRangeChecksBeforeAllocating() throws IOException {
+        final byte[] compressedData = 
+                HuffmanByteCompressor.compress(new byte[]{ 1, 2, 3 });
+        
+        final File compressedFile = temporaryFolder.newFile();
+        Files.write(compressedFile.toPath(), compressedData);
+        
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> HuffmanByteDecompressor.decompressRange(
+                             compressedData, 0, -1));
+        
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> HuffmanByteDecompressor.decompressRange(
+                             compressedData, -1, 2));
+        
+        // Past the end, yet too long to be allocated before the check:
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> HuffmanByteDecompressor.decompressRange(
+                             compressedData, 1, Integer.MAX_VALUE));
+        
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> HuffmanByteDecompressor.decompressRange(
+                             compressedFile.toPath(), 0, -1));
+        
+        assertThrows(IndexOutOfBoundsException.class,
+                     () -> HuffmanByteDecompressor.decompressRange(
+                             compressedFile.toPath(), 2, 2));
+    }
+    
+    @Test
+    public void growableBufferTest() {
+        final GrowableByteBuffer buffer = new GrowableByteBuffer(1);
+        
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] sourceData = TestUtils.getRawData();
+            final int offset = buffer.size();
+            final int length = HuffmanByteCompressor.compress(sourceData, 
+                                                              buffer);
+            
+            assertEquals(offset + length, buffer.size());
+            
+            final byte[] compressedData = 
+                    Arrays.copyOfRange(buffer.array(), 
+                                       offset, 
+                                       offset + length);
+            
+            assertTrue(Arrays.equals(
+                    HuffmanByteCompressor.compress(sourceData), 
+                    compressedData));
+            
+            assertTrue(Arrays.equals(
+                    sourceData, 
+                    HuffmanByteDecompressor.decompress(compressedData)));
+            
+            if (i % 10 == 9) {
+                buffer.clear();
+            }
+        }
+    }
+    
+    @Test
+    public void compressedLengthFromFrequencies() {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] sourceData = TestUtils.getRawData();
+            final ByteFrequencyDistribution distribution = 
+                    ByteWeightDistributionBuilder
+                            .buildByteWeightDistribution(sourceData);
+            
+            final ByteHuffmanCodeTable codeTable = 
+                    ByteHuffmanCodeTableBuilder.buildCode(distribution);
+            
+            assertEquals(Utils.countBitsInRawData(codeTable, sourceData), 
+                         Utils.countBitsInRawData(codeTable, distribution));
+        }
+    }
+    
+    @Test
+    public void storedAndRunLengthData() {
+        // Uniformly random data does not shrink, so it is stored as is:
+        final byte[] randomData = new byte[1_000];
+        new Random(13L).nextBytes(randomData);
+        
+        final byte[] storedData = HuffmanByteCompressor.compress(randomData);
+        
+        assertTrue(new ByteArrayHeaderReader(storedData).isStored());
+        assertEquals(Utils.countBytesInStoredContainer(randomData.length), 
+                     storedData.length);
+        assertTrue(Arrays.equals(randomData, 
+                                 HuffmanByteDecompressor
+                                         .decompress(storedData)));
+        assertTrue(Arrays.equals(
+                Arrays.copyOfRange(randomData, 100, 200),
+                HuffmanByteDecompressor.decompressRange(storedData, 
+                                                        100L, 
+                                                        100)));
+        
+        final byte[] runData = new byte[1_000];
+        Arrays.fill(runData, (byte) 7);
+        
+        final byte[] runLengthData = HuffmanByteCompressor.compress(runData);
+        
+        assertTrue(new ByteArrayHeaderReader(runLengthData).isRunLength());
+        assertEquals(Utils.countBytesInRunLengthContainer(), 
+                     runLengthData.length);
+        assertTrue(Arrays.equals(runData, 
+                                 HuffmanByteDecompressor
+                                         .decompress(runLengthData)));
+        assertTrue(Arrays.equals(
+                Arrays.copyOfRange(runData, 990, 1_000),
+                HuffmanByteDecompressor.decompressRange(runLengthData, 
+                                                        990L, 
+                                                        10)));
+    }
+    
+    @Test
+    public void interleavedStreams() {
+        final byte[] sourceData = new byte[200_000];
+        final Random random = new Random(13L);
+        
+        for (int i = 0; i < sourceData.length; ++i) {
+            sourceData[i] = (byte) Math.min(random.nextInt(64), 
+                                            random.nextInt(64));
+        }
+        
+        // One segment without checkpoints, and several with a short last one:
+        for (final int checkpointInterval : new int[]{ Integer.MAX_VALUE, 
+                                                       30_001 }) {
+            final byte[] compressedData = 
+                    HuffmanByteCompressor.compress(sourceData, 
+                                                   checkpointInterval, 
+                                                   true);
+            
+            assertTrue(new ByteArrayHeaderReader(compressedData).hasStreams());
+            assertTrue(Arrays.equals(sourceData, 
+                                     HuffmanByteDecompressor
+                                             .decompress(compressedData)));
+            assertTrue(HuffmanByteDecompressor.verify(compressedData));
+            
+            for (int offset = 0; 
+                     offset < sourceData.length; 
+                     offset += 7_777) {
+                
+                assertTrue(Arrays.equals(
+                        Arrays.copyOfRange(sourceData, offset, offset + 100),
+                        HuffmanByteDecompressor.decompressRange(compressedData, 
+                                                                offset, 
+                                                                100)));
+            }
+        }
+        
+        // Short segments are not split:
+        assertFalse(new ByteArrayHeaderReader(
+                HuffmanByteCompressor.compress(
+                        TestUtils.getCompressibleRawData())).hasStreams());
+    }
+    
     private void stressTest() {
         final byte[] sourceData = TestUtils.getRawData();
         final byte[] compressedData = 
@@ -37,4 +353,157 @@ public class HuffmanByteDecompressorTest {
         
         assertTrue(Arrays.equals(sourceData, targetData));
     }
+    
+    @Test
+    public void byteBuffers() {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getCompressibleRawData();
+            
+            final ByteBuffer rawBuffer = 
+                    ByteBuffer.allocateDirect(rawData.length + 10);
+            
+            rawBuffer.position(10);
+            rawBuffer.put(rawData).flip().position(10);
+            
+            final ByteBuffer compressedBuffer = 
+                    ByteBuffer.allocateDirect(
+                            (int) HuffmanByteCompressor
+                                    .getMaximumCompressedLength(
+                                            rawData.length) + 3);
+            
+            compressedBuffer.position(3);
+            
+            final int compressedLength = 
+                    HuffmanByteCompressor.compress(rawBuffer, 
+                                                   compressedBuffer);
+            
+            assertFalse(rawBuffer.hasRemaining());
+            assertEquals(3 + compressedLength, compressedBuffer.position());
+            
+            compressedBuffer.flip().position(3);
+            
+            final byte[] compressedData = new byte[compressedLength];
+            compressedBuffer.duplicate().get(compressedData);
+            
+            assertTrue(Arrays.equals(rawData, 
+                                     HuffmanByteDecompressor.decompress(
+                                             compressedData)));
+            
+            final ByteBuffer resultBuffer = ByteBuffer.allocate(rawData.length);
+            
+            assertEquals(rawData.length, 
+                         HuffmanByteDecompressor.decompress(compressedBuffer, 
+                                                            resultBuffer));
+            
+            assertFalse(compressedBuffer.hasRemaining());
+            assertTrue(Arrays.equals(rawData, resultBuffer.array()));
+        }
+        
+        final ByteBuffer compressedBuffer = 
+                ByteBuffer.wrap(HuffmanByteCompressor.compress(
+                        TestUtils.getCompressibleRawData()));
+        
+        assertThrows(IllegalArgumentException.class, 
+                     () -> HuffmanByteDecompressor.decompress(
+                             compressedBuffer, 
+                             ByteBuffer.allocate(1)));
+    }
+    
+    @Test
+    public void confinedSegments() {
+        final byte[] rawData = new byte[50_000];
+        final Random random = new Random(13L);
+        
+        for (int i = 0; i < rawData.length; ++i) {
+            rawData[i] = (byte) (random.nextInt(10) * random.nextInt(10));
+        }
+        
+        // The checkpoint segments of confined segments are decoded on the 
+        // calling thread:
+        try (final Arena arena = Arena.ofConfined()) {
+            final MemorySegment rawSegment = 
+                    arena.allocate(rawData.length);
+            
+            MemorySegment.copy(MemorySegment.ofArray(rawData), 
+                               0L, 
+                               rawSegment, 
+                               0L, 
+                               rawData.length);
+            
+            final MemorySegment compressedSegment = 
+                    arena.allocate(
+                            HuffmanByteCompressor.getMaximumCompressedLength(
+                                    rawData.length, 
+                                    true));
+            
+            final long compressedLength = 
+                    HuffmanByteCompressor.compress(rawSegment, 
+                                                   compressedSegment, 
+                                                   4_096, 
+                                                   true);
+            
+            final MemorySegment resultSegment = 
+                    arena.allocate(rawData.length);
+            
+            assertEquals(rawData.length, 
+                         HuffmanByteDecompressor.decompress(
+                                 compressedSegment.asSlice(0L, 
+                                                           compressedLength), 
+                                 resultSegment));
+            
+            assertEquals(-1L, rawSegment.mismatch(resultSegment));
+            
+            assertThrows(IllegalArgumentException.class,
+                         () -> HuffmanByteCompressor.compress(
+                                 rawSegment, 
+                                 compressedSegment.asSlice(0L, 10L)));
+        }
+    }
+    
+    @Test
+    public void confinedSegmentsInPoolTask() {
+        // Two blocks of three checkpoint segments each:
+        final byte[] rawData = new byte[6 << 20];
+        final Random random = new Random(13L);
+        
+        for (int i = 0; i < rawData.length; ++i) {
+            rawData[i] = (byte) (random.nextInt(10) * random.nextInt(10));
+        }
+        
+        final ForkJoinPool pool = new ForkJoinPool(8);
+        
+        try {
+            final byte[] compressedData = 
+                    HuffmanBlockCompressor.compress(rawData, 3 << 20, pool);
+            
+            // The confined segments belong to the pool worker decoding them,
+            // so no part of them may be forked onto another worker:
+            pool.submit(() -> {
+                try (final Arena arena = Arena.ofConfined()) {
+                    final MemorySegment compressedSegment = 
+                            arena.allocate(compressedData.length);
+                    
+                    MemorySegment.copy(MemorySegment.ofArray(compressedData), 
+                                       0L, 
+                                       compressedSegment, 
+                                       0L, 
+                                       compressedData.length);
+                    
+                    final MemorySegment resultSegment = 
+                            arena.allocate(rawData.length);
+                    
+                    assertEquals(rawData.length, 
+                                 HuffmanByteDecompressor.decompress(
+                                         compressedSegment, 
+                                         resultSegment));
+                    
+                    assertEquals(-1L, 
+                                 MemorySegment.ofArray(rawData)
+                                              .mismatch(resultSegment));
+                }
+            }).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -41,4 +41,31 @@ public class HuffmanDecodingTreeTest {
         
         assertTrue(Arrays.equals(sourceData, decompressedData));
     }
+    
+    @Test
+    public void decodeEntry() {
+        final ByteHuffmanCodeTable codeTable = new ByteHuffmanCodeTable();
+        codeTable.put((byte) 'a', new CodeWord(1));
+        codeTable.put((byte) 'b', new CodeWord(2));
+        codeTable.put((byte) 'c', new CodeWord(2));
+        
+        final ByteHuffmanCodeTable canonicalCodeTable = 
+                ByteHuffmanCodeTableBuilder.buildCanonicalCode(codeTable);
+        
+        final ByteHuffmanDecoderTree decoderTree = 
+                new ByteHuffmanDecoderTree(canonicalCodeTable);
+        
+        // The codeword of 'c' is 11:
+        final int entry = decoderTree.decodeEntry(new byte[]{ 0b11 }, 0L);
+        
+        assertEquals('c', ByteHuffmanDecoder.getSymbol(entry));
+        assertEquals(2, ByteHuffmanDecoder.getCodeLength(entry));
+        
+        // Decoding the entry leaves the tree intact:
+        assertEquals(-1L, decoderTree.getPreviousCodeLength());
+        
+        assertEquals(entry, 
+                     new ByteHuffmanDecodingTable(canonicalCodeTable)
+                             .decode(new byte[]{ 0b11 }, 0L));
+    }
 }
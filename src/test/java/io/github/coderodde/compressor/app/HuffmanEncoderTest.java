@@ -0,0 +1,124 @@
+package io.github.coderodde.compressor.app;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HuffmanEncoderTest {
+    
+    private static final int STRESS_TEST_ITERATIONS = 50;
+    
+    @Test
+    public void reusedInstances() {
+        final HuffmanEncoder encoder = new HuffmanEncoder();
+        final HuffmanDecoder decoder = new HuffmanDecoder();
+        
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getRawData();
+            final byte[] compressedData = 
+                    encoder.encode(rawData).toByteArray();
+            
+            // The same container as the one of the static compressor:
+            assertArrayEquals(HuffmanByteCompressor.compress(rawData), 
+                              compressedData);
+            
+            assertArrayEquals(rawData, 
+                              decoder.decode(compressedData).toByteArray());
+        }
+        
+        final byte[] rawData = ByteHuffmanDecodingTableTest.getFibonacciData();
+        
+        assertArrayEquals(
+                rawData, 
+                decoder.decode(encoder.encode(rawData).toByteArray())
+                       .toByteArray());
+    }
+    
+    @Test
+    public void appendsToBuffer() {
+        final HuffmanEncoder encoder = new HuffmanEncoder();
+        final HuffmanDecoder decoder = new HuffmanDecoder();
+        final GrowableByteBuffer compressedBuffer = new GrowableByteBuffer(1);
+        final byte[] rawData = TestUtils.getRawData();
+        
+        final int firstLength = encoder.encode(rawData, 
+                                               0, 
+                                               rawData.length, 
+                                               compressedBuffer);
+        
+        final int secondLength = encoder.encode(rawData, 
+                                                1, 
+                                                rawData.length - 1, 
+                                                compressedBuffer);
+        
+        assertEquals(firstLength + secondLength, compressedBuffer.size());
+        
+        final GrowableByteBuffer rawBuffer = new GrowableByteBuffer();
+        
+        decoder.decode(compressedBuffer.array(), 0, firstLength, rawBuffer);
+        decoder.decode(compressedBuffer.array(), 
+                       firstLength, 
+                       secondLength, 
+                       rawBuffer);
+        
+        final byte[] expectedRawData = new byte[2 * rawData.length - 1];
+        System.arraycopy(rawData, 0, expectedRawData, 0, rawData.length);
+        System.arraycopy(rawData, 
+                         1, 
+                         expectedRawData, 
+                         rawData.length, 
+                         rawData.length - 1);
+        
+        assertArrayEquals(expectedRawData, rawBuffer.toByteArray());
+    }
+    
+    @Test
+    public void decodesOtherContainers() {
+        final HuffmanDecoder decoder = new HuffmanDecoder();
+        final byte[] rawData = TestUtils.getRawData();
+        
+        assertArrayEquals(
+                rawData,
+                decoder.decode(HuffmanBlockCompressor.compress(
+                        rawData, 64, ForkJoinPool.commonPool()))
+                       .toByteArray());
+        
+        final byte[] checkpointedData = 
+                HuffmanByteCompressor.compress(rawData, 100);
+        
+        assertArrayEquals(rawData, 
+                          decoder.decode(checkpointedData).toByteArray());
+    }
+    
+    @Test
+    public void reset() {
+        final HuffmanEncoder encoder = new HuffmanEncoder();
+        final GrowableByteBuffer outputBuffer = 
+                encoder.encode(new byte[]{ 1, 2, 3 });
+        
+        assertTrue(outputBuffer.size() > 0);
+        
+        encoder.reset();
+        
+        assertEquals(0, outputBuffer.size());
+        
+        final byte[] rawData = { 4, 4, 4 };
+        
+        assertArrayEquals(
+                rawData,
+                HuffmanByteDecompressor.decompress(
+                        encoder.encode(rawData).toByteArray()));
+        
+        assertTrue(Arrays.equals(rawData, 
+                                 new HuffmanDecoder()
+                                         .decode(encoder.encode(rawData)
+                                                        .toByteArray())
+                                         .toByteArray()));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void tooShortLengthLimit() {
+        new HuffmanEncoder(Byte.SIZE - 1);
+    }
+}
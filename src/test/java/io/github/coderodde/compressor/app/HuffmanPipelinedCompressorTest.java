@@ -0,0 +1,102 @@
+package io.github.coderodde.compressor.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+public class HuffmanPipelinedCompressorTest {
+
+    private static final int BLOCK_SIZE = 256;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @AfterClass
+    public static void shutdownPool() {
+        POOL.shutdown();
+    }
+
+    @Test
+    public void sameAsBlockCompressor() throws IOException {
+        final byte[] rawData = TestUtils.getRawData();
+        final File rawFile = temporaryFolder.newFile();
+        final File compressedFile = temporaryFolder.newFile();
+
+        Files.write(rawFile.toPath(), rawData);
+
+        HuffmanPipelinedCompressor.compress(rawFile.toPath(),
+                                            compressedFile.toPath(),
+                                            BLOCK_SIZE);
+
+        final byte[] compressedData =
+                Files.readAllBytes(compressedFile.toPath());
+
+        assertArrayEquals(
+                HuffmanBlockCompressor.compress(rawData, BLOCK_SIZE, POOL),
+                compressedData);
+
+        assertArrayEquals(rawData,
+                          HuffmanByteDecompressor.decompress(compressedData));
+    }
+
+    @Test
+    public void shortLastBlock() throws IOException {
+        final byte[] rawData = new byte[10 * BLOCK_SIZE + 37];
+        final Random random = new Random(13L);
+
+        for (int i = 0; i < rawData.length; ++i) {
+            rawData[i] = (byte) (random.nextInt(10) * random.nextInt(10));
+        }
+
+        final File rawFile = temporaryFolder.newFile();
+        final File compressedFile = temporaryFolder.newFile();
+        final File resultFile = temporaryFolder.newFile();
+
+        Files.write(rawFile.toPath(), rawData);
+
+        HuffmanPipelinedCompressor.compress(rawFile.toPath(),
+                                            compressedFile.toPath(),
+                                            BLOCK_SIZE);
+
+        final ByteArrayBlockHeaderReader reader =
+                new ByteArrayBlockHeaderReader(
+                        MemorySegment.ofArray(
+                                Files.readAllBytes(compressedFile.toPath())));
+
+        assertEquals(11, reader.getBlockCount());
+        assertEquals(37L, reader.getRawDataLength(10));
+
+        HuffmanByteDecompressor.decompress(compressedFile.toPath(),
+                                           resultFile.toPath());
+
+        assertArrayEquals(rawData, Files.readAllBytes(resultFile.toPath()));
+    }
+
+    @Test
+    public void emptyFileLeavesOutputIntact() throws IOException {
+        final byte[] rawData = TestUtils.getRawData();
+        final File emptyFile = temporaryFolder.newFile();
+        final File compressedFile = temporaryFolder.newFile();
+
+        Files.write(compressedFile.toPath(), rawData);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> HuffmanPipelinedCompressor.compress(
+                             emptyFile.toPath(),
+                             compressedFile.toPath(),
+                             BLOCK_SIZE));
+
+        assertArrayEquals(rawData,
+                          Files.readAllBytes(compressedFile.toPath()));
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.coderodde.compressor.app;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class HuffmanStreamTest {
+
+    private static final int STRESS_TEST_ITERATIONS = 50;
+    
+    private static final int BLOCK_SIZE = 300;
+    
+    @Test
+    public void emptyStream() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new HuffmanOutputStream(bos).close();
+        
+        final InputStream in = 
+                new HuffmanInputStream(
+                        new ByteArrayInputStream(bos.toByteArray()));
+        
+        assertEquals(-1, in.read());
+    }
+    
+    @Test
+    public void singleBytes() throws IOException {
+        final byte[] rawData = { 45, 46, 47, 47, 46, 47 };
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        
+        try (final OutputStream out = new HuffmanOutputStream(bos, 4)) {
+            for (final byte b : rawData) {
+                out.write(b);
+            }
+        }
+        
+        final InputStream in = 
+                new HuffmanInputStream(
+                        new ByteArrayInputStream(bos.toByteArray()));
+        
+        for (final byte b : rawData) {
+            assertEquals(Byte.toUnsignedInt(b), in.read());
+        }
+        
+        assertEquals(-1, in.read());
+    }
+    
+    @Test(expected = IOException.class)
+    public void truncatedStream() throws IOException {
+        final byte[] rawData = TestUtils.getRawData();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        
+        try (final OutputStream out = new HuffmanOutputStream(bos)) {
+            out.write(rawData);
+        }
+        
+        final byte[] compressedData = bos.toByteArray();
+        
+        new HuffmanInputStream(
+                new ByteArrayInputStream(
+                        Arrays.copyOf(compressedData, 
+                                      compressedData.length - 1)))
+                .readAllBytes();
+    }
+    
+    @Test
+    public void streamStressTest() throws IOException {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getRawData();
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            
+            try (final OutputStream out = 
+                    new HuffmanOutputStream(bos, BLOCK_SIZE)) {
+                out.write(rawData);
+            }
+            
+            final byte[] resultData = 
+                    new HuffmanInputStream(
+                            new ByteArrayInputStream(bos.toByteArray()))
+                            .readAllBytes();
+            
+            assertTrue(Arrays.equals(rawData, resultData));
+        }
+    }
+    
+    @Test
+    public void channelStressTest() throws IOException {
+        for (int i = 0; i < STRESS_TEST_ITERATIONS; ++i) {
+            final byte[] rawData = TestUtils.getRawData();
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            
+            try (final WritableByteChannel channel = 
+                    new HuffmanWritableByteChannel(
+                            Channels.newChannel(bos), 
+                            BLOCK_SIZE)) {
+                
+                final ByteBuffer source = 
+                        ByteBuffer.allocateDirect(rawData.length);
+                
+                source.put(rawData).flip();
+                channel.write(source);
+            }
+            
+            final ReadableByteChannel channel = 
+                    new HuffmanReadableByteChannel(
+                            Channels.newChannel(
+                                    new ByteArrayInputStream(
+                                            bos.toByteArray())));
+            
+            final ByteBuffer target = ByteBuffer.allocateDirect(rawData.length);
+            
+            while (target.hasRemaining() && channel.read(target) != -1) {
+                
+            }
+            
+            final byte[] resultData = new byte[rawData.length];
+            target.flip().get(resultData);
+            
+            assertTrue(Arrays.equals(rawData, resultData));
+            assertEquals(-1, channel.read(ByteBuffer.allocate(1)));
+        }
+    }
+}
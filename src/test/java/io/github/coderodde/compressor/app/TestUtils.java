@@ -18,4 +18,20 @@ public class TestUtils {
         RANDOM.nextBytes(rawData);
         return rawData;
     }
+    
+    /**
+     * Returns random data of a skewed distribution over 32 byte values, so 
+     * that the data is Huffman-coded instead of being stored as is.
+     */
+    public static final byte[] getCompressibleRawData() {
+        final int length = 1 + RANDOM.nextInt(MAXIMUM_BYTE_ARRAY_LENGTH);
+        final byte[] rawData = new byte[length];
+        
+        for (int i = 0; i < length; ++i) {
+            rawData[i] = (byte) Math.min(RANDOM.nextInt(32), 
+                                         RANDOM.nextInt(32));
+        }
+        
+        return rawData;
+    }
 }